@@ -60,6 +60,15 @@ public class BackOfficeController {
         return new ResponseDTO<>();
     }
 
+    // 콘텐츠 삭제 정리 진행 상황 가져오기
+    @MyLog
+    @SwaggerResponses.GetBoardPurge
+    @GetMapping("/admin/boards/purge")
+    public ResponseDTO<BackOfficeResponse.BoardPurgeDTO> getBoardPurge() {
+        BackOfficeResponse.BoardPurgeDTO boardPurgeDTO = backOfficeService.getBoardPurge();
+        return new ResponseDTO<>(boardPurgeDTO);
+    }
+
     // 상담 내역의 각 건수 및 승인 대기 중인 PB 수 가져오기
     @MyLog
     @SwaggerResponses.GetReservationsCount
@@ -73,9 +82,10 @@ public class BackOfficeController {
     @MyLog
     @SwaggerResponses.GetReservations
     @GetMapping("/admin/reservations")
-    public ResponseDTO<PageDTO<BackOfficeResponse.ReservationTotalDTO>> getReservations(@RequestParam(defaultValue = "0") int page) {
+    public ResponseDTO<PageDTO<BackOfficeResponse.ReservationTotalDTO>> getReservations(@RequestParam(defaultValue = "0") int page,
+                                                                                        @RequestParam(defaultValue = "false") Boolean exact) {
         Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.ASC, "id"));
-        PageDTO<BackOfficeResponse.ReservationTotalDTO> pageDTO = backOfficeService.getReservations(pageable);
+        PageDTO<BackOfficeResponse.ReservationTotalDTO> pageDTO = backOfficeService.getReservations(pageable, exact);
         return new ResponseDTO<>(pageDTO);
     }
 
@@ -120,10 +130,11 @@ public class BackOfficeController {
     @SwaggerResponses.GetMembers
     @GetMapping("/admin/members")
     public ResponseDTO<PageDTO<BackOfficeResponse.MemberOutDTO>> getMembers(@RequestParam(defaultValue = "user") String type,
-                                                                   @RequestParam(defaultValue = "0") int page) {
+                                                                   @RequestParam(defaultValue = "0") int page,
+                                                                   @RequestParam(defaultValue = "false") Boolean exact) {
         if(!type.equals("user") && !type.equals("pb")) throw new Exception400("type", "user과 pb만 가능합니다");
         Pageable pbPageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.ASC, "id"));
-        PageDTO<BackOfficeResponse.MemberOutDTO> pageDTO = backOfficeService.getMembers(type, pbPageable);
+        PageDTO<BackOfficeResponse.MemberOutDTO> pageDTO = backOfficeService.getMembers(type, pbPageable, exact);
         return new ResponseDTO<>(pageDTO);
     }
 
@@ -140,9 +151,10 @@ public class BackOfficeController {
     @MyLog
     @SwaggerResponses.GetPBPending
     @GetMapping("/admin/pbs")
-    public ResponseDTO<PageDTO<BackOfficeResponse.PBPendingDTO>> getPBPending(@RequestParam(defaultValue = "0") int page) {
+    public ResponseDTO<PageDTO<BackOfficeResponse.PBPendingDTO>> getPBPending(@RequestParam(defaultValue = "0") int page,
+                                                                              @RequestParam(defaultValue = "false") Boolean exact) {
         Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.ASC, "id"));
-        PageDTO<BackOfficeResponse.PBPendingDTO> pageDTO = backOfficeService.getPBPending(pageable);
+        PageDTO<BackOfficeResponse.PBPendingDTO> pageDTO = backOfficeService.getPBPending(pageable, exact);
         return new ResponseDTO<>(pageDTO);
     }
 
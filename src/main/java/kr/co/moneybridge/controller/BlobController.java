@@ -0,0 +1,167 @@
+package kr.co.moneybridge.controller;
+
+import kr.co.moneybridge.core.exception.Exception400;
+import kr.co.moneybridge.core.exception.Exception403;
+import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.LocalBlobStore;
+import kr.co.moneybridge.core.upload.UploadTarget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// 로컬 저장소(storage.type=local) 파일 서빙/직접 업로드
+// GET은 ETag/Last-Modified 조건부 요청(304)과 단일 Range 요청(206)을 지원하고,
+// 본문은 Tomcat sendfile이 켜져 있으면 커널이 바로 소켓으로 보내고, 아니면 FileChannel.transferTo로 보냄
+// API와 같은 출처에서 나가므로 올린 사람이 정한 형식을 그대로 믿지 않음 - 허용한 이미지 형식만 화면에 띄우고
+// 나머지(html, svg 등)는 application/octet-stream 첨부로 내려서 브라우저가 실행하지 않게 하고, 확인 전 임시 업로드(upload/)는 내주지 않음
+// PUT은 LocalBlobStore가 발급한 서명 url로만 받음
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+@RestController
+public class BlobController {
+    private static final String PREFIX = "/blob/";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024; // 이보다 작으면 그냥 쓰는 편이 빠름 (Tomcat DefaultServlet 기준)
+    private static final Set<String> INLINE_TYPES = Set.of("image/png", "image/jpeg", "image/gif", "image/webp");
+
+    private final LocalBlobStore localBlobStore;
+
+    @GetMapping("/blob/**")
+    public void download(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String key = keyOf(request);
+        BlobInfo info = key.startsWith(UploadTarget.STAGING_FOLDER) ? null : localBlobStore.getMetadata(key);
+        if (info == null) {
+            throw new Exception404("파일이 없습니다");
+        }
+        long size = info.getSize();
+        long lastModified = info.getLastModified().getTime();
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(1, TimeUnit.HOURS).getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long start = 0;
+        long length = size;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && size > 0 && isRangeApplicable(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    length = ranges.get(0).getRangeEnd(size) - start + 1;
+                    if (start >= size || length <= 0) {
+                        throw new IllegalArgumentException("범위 밖");
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            // 여러 구간 요청은 multipart 응답 대신 전체를 보냄
+            if (ranges.size() == 1) {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + length - 1) + "/" + size);
+            }
+        }
+        setContentType(response, key, info.getContentType());
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        send(request, response, localBlobStore.pathOf(key), start, length);
+    }
+
+    @PutMapping("/blob/**")
+    public void upload(@RequestParam long size, @RequestParam long expires, @RequestParam String signature,
+                       HttpServletRequest request) throws IOException {
+        String key = keyOf(request);
+        String contentType = request.getContentType();
+        if (!localBlobStore.verifyPut(key, contentType, size, expires, signature)) {
+            throw new Exception403("만료되었거나 잘못된 업로드 url입니다");
+        }
+        if (request.getContentLengthLong() != size) {
+            throw new Exception400("size", "파일 크기가 발급받은 크기와 다릅니다");
+        }
+        localBlobStore.upload(request.getInputStream(), size, key, contentType);
+    }
+
+    private void setContentType(HttpServletResponse response, String key, String contentType) {
+        String type = contentType == null ? "" : contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        if (INLINE_TYPES.contains(type)) {
+            response.setContentType(type);
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(key.substring(key.lastIndexOf('/') + 1), StandardCharsets.UTF_8).build().toString());
+    }
+
+    // If-Range가 없거나 현재 파일과 같을 때만 구간 요청을 따름 (바뀌었으면 전체를 다시 보냄)
+    private boolean isRangeApplicable(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) return true;
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) return ifRange.equals(etag);
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void send(HttpServletRequest request, HttpServletResponse response, Path path, long start, long length) throws IOException {
+        if (length >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", path.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", start + length);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) break;
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    private String keyOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return UriUtils.decode(path.substring(PREFIX.length()), StandardCharsets.UTF_8);
+    }
+}
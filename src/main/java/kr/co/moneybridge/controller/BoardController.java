@@ -7,12 +7,15 @@ import kr.co.moneybridge.core.annotation.SwaggerResponses;
 import kr.co.moneybridge.core.auth.session.MyUserDetails;
 import kr.co.moneybridge.core.exception.Exception400;
 import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.core.util.MyETagUtil;
+import kr.co.moneybridge.dto.CursorDTO;
 import kr.co.moneybridge.dto.PageDTO;
 import kr.co.moneybridge.dto.ResponseDTO;
 import kr.co.moneybridge.dto.board.BoardRequest;
 import kr.co.moneybridge.dto.board.BoardResponse;
 import kr.co.moneybridge.dto.board.ReplyRequest;
 import kr.co.moneybridge.model.Role;
+import kr.co.moneybridge.model.board.BoardBody;
 import kr.co.moneybridge.model.board.BoardStatus;
 import kr.co.moneybridge.model.pb.PB;
 import kr.co.moneybridge.model.user.User;
@@ -24,11 +27,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -72,12 +81,25 @@ public class BoardController {
         return new ResponseDTO<>(pageDTO);
     }
 
-    @ApiOperation("조회수 높은 컨텐츠순 가져오기")
+    @ApiOperation("최신 컨텐츠순 가져오기(커서 페이지)")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "cursor", value = "20", dataType = "Long", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "10", dataType = "int", paramType = "query")})
+    @GetMapping("/boards/cursor")
+    public ResponseDTO<CursorDTO<BoardResponse.BoardPageDTO>> getBoardsByNewCursor(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                                                  @RequestParam(value = "size", defaultValue = "10") int size) {
+        validateCursorSize(size);
+        CursorDTO<BoardResponse.BoardPageDTO> cursorDTO = boardService.getNewBoardCursor(cursor, size);
+
+        return new ResponseDTO<>(cursorDTO);
+    }
+
+    @ApiOperation("인기 컨텐츠순 가져오기(최근 조회/북마크 기준)")
     @SwaggerResponses.DefaultApiResponses
     @ApiImplicitParam(name = "page", value = "0")
     @GetMapping("/boards/hot")
     public ResponseDTO<PageDTO<BoardResponse.BoardPageDTO>> getBoardsByHot(@RequestParam(defaultValue = "0") int page) {
-        Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "clickCount"));
+        Pageable pageable = PageRequest.of(page, 10);
         PageDTO<BoardResponse.BoardPageDTO> pageDTO = boardService.getBoardWithHot(pageable);
 
         return new ResponseDTO<>(pageDTO);
@@ -116,6 +138,38 @@ public class BoardController {
         return new ResponseDTO<>(boardDetailDTO);
     }
 
+    @ApiOperation("컨텐츠 본문 가져오기")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "id", value = "1", dataType = "Long", paramType = "query")})
+    @GetMapping("/auth/board/{id}/content")
+    public ResponseEntity<?> getBoardContent(@PathVariable Long id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 본문이 바뀌지 않았으면(해시가 같으면) 본문 없이 304
+        BoardBody boardBody = boardService.getBoardBody(id);
+        if (MyETagUtil.matches(boardBody.getETag(), ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(boardBody.getETag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(boardBody.getETag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .body(boardBody.getContent().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @ApiOperation("컨텐츠 댓글 가져오기(커서 페이지)")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "cursor", value = "0", dataType = "Long", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "20", dataType = "int", paramType = "query")})
+    @GetMapping("/auth/board/{id}/replies")
+    public ResponseDTO<CursorDTO<BoardResponse.ReplyOutDTO>> getReplies(@PathVariable Long id,
+                                                                        @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                        @RequestParam(value = "size", defaultValue = "20") int size) {
+        validateCursorSize(size);
+        CursorDTO<BoardResponse.ReplyOutDTO> cursorDTO = boardService.getReplyPage(id, cursor, size);
+
+        return new ResponseDTO<>(cursorDTO);
+    }
+
     @ApiOperation("컨텐츠 상세 가져오기(비로그인)")
     @SwaggerResponses.DefaultApiResponses
     @ApiImplicitParam(name = "id", value = "1", dataType = "Long")
@@ -322,6 +376,20 @@ public class BoardController {
         return new ResponseDTO<>(pageDTO);
     }
 
+    @ApiOperation("북마크한 컨텐츠 목록 가져오기(커서 페이지)")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "cursor", value = "20", dataType = "Long", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "10", dataType = "int", paramType = "query")})
+    @GetMapping("/auth/bookmarks/boards/cursor")
+    public ResponseDTO<CursorDTO<BoardResponse.BoardPageDTO>> getBookmarkBoardsCursor(@AuthenticationPrincipal MyUserDetails myUserDetails,
+                                                                                     @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                                     @RequestParam(value = "size", defaultValue = "10") int size) {
+        validateCursorSize(size);
+        CursorDTO<BoardResponse.BoardPageDTO> cursorDTO = boardService.getBookmarkBoardCursor(myUserDetails, cursor, size);
+
+        return new ResponseDTO<>(cursorDTO);
+    }
+
     @ApiOperation("맞춤컨텐츠 2개 가져오기")
     @SwaggerResponses.DefaultApiResponses
     @GetMapping("/user/main/board")
@@ -357,4 +425,25 @@ public class BoardController {
 
         return new ResponseDTO<>(pageDTO);
     }
+
+    @ApiOperation("특정 PB의 컨텐츠 리스트 가져오기(커서 페이지)")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "cursor", value = "20", dataType = "Long", paramType = "query"),
+            @ApiImplicitParam(name = "size", value = "10", dataType = "int", paramType = "query")})
+    @GetMapping("/auth/boards/{pbId}/cursor")
+    public ResponseDTO<CursorDTO<BoardResponse.BoardPageDTO>> getPBBoardsCursor(@AuthenticationPrincipal MyUserDetails myUserDetails,
+                                                                               @PathVariable(value = "pbId") Long pbId,
+                                                                               @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                               @RequestParam(value = "size", defaultValue = "10") int size) {
+        validateCursorSize(size);
+        CursorDTO<BoardResponse.BoardPageDTO> cursorDTO = boardService.getPBBoardCursor(myUserDetails, pbId, cursor, size);
+
+        return new ResponseDTO<>(cursorDTO);
+    }
+
+    private void validateCursorSize(int size) {
+        if (size < 1 || size > 50) {
+            throw new Exception400("size", "1~50 사이로 요청해주세요");
+        }
+    }
 }
@@ -6,25 +6,34 @@ import io.swagger.annotations.ApiOperation;
 import kr.co.moneybridge.core.annotation.MyLog;
 import kr.co.moneybridge.core.annotation.SwaggerResponses;
 import kr.co.moneybridge.core.auth.session.MyUserDetails;
+import kr.co.moneybridge.core.exception.Exception400;
 import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.core.index.CompanyCatalog;
 import kr.co.moneybridge.dto.PageDTO;
 import kr.co.moneybridge.dto.PageDTOV2;
 import kr.co.moneybridge.dto.ResponseDTO;
 import kr.co.moneybridge.dto.pb.PBRequest;
 import kr.co.moneybridge.dto.pb.PBResponse;
 import kr.co.moneybridge.model.pb.PBSpeciality;
+import kr.co.moneybridge.model.pb.PortfolioMetric;
 import kr.co.moneybridge.service.PBService;
+import kr.co.moneybridge.service.UploadService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.List;
 import java.util.ArrayList;
@@ -33,6 +42,7 @@ import java.util.ArrayList;
 @RestController
 public class PBController {
     private final PBService pbService;
+    private final UploadService uploadService;
 
     // 투자 성향에 따라 맞춤 분야별 PB리스트 필터링 3개 (나의 투자 성향 분석페이지 하단의 맞춤 PB리스트)
     @MyLog
@@ -57,13 +67,14 @@ public class PBController {
     @SwaggerResponses.SearchBranch
     @GetMapping("/branch")
     public ResponseDTO<PageDTO<PBResponse.BranchDTO>> searchBranch(@RequestParam Long companyId,
-                                                                   @RequestParam(required = false) String keyword) {
+                                                                   @RequestParam(required = false) String keyword,
+                                                                   @RequestParam(defaultValue = "0") int page) {
         keyword = keyword == null ? "" : keyword.replaceAll("\\s", "");
         if (keyword.isEmpty()) {
             List<PBResponse.BranchDTO> empty = new ArrayList<>();
             return new ResponseDTO<>(new PageDTO<>(empty, new PageImpl<>(empty))); // 빈칸 검색시
         }
-        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+        Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.ASC, "id"));
         PageDTO<PBResponse.BranchDTO> pageDTO = pbService.searchBranch(companyId, keyword, pageable);
         return new ResponseDTO<>(pageDTO);
     }
@@ -72,28 +83,47 @@ public class PBController {
     @MyLog
     @SwaggerResponses.GetCompanies
     @GetMapping("/companies")
-    public ResponseEntity<?> getCompanies(@RequestParam(defaultValue = "true") Boolean includeLogo) {
-        ResponseDTO<?> responseDTO = null;
-        if (includeLogo) {
-            PBResponse.CompanyOutDTO companyOutDTO = pbService.getCompanies();
-            responseDTO = new ResponseDTO<>(companyOutDTO);
-        } else {
-            PBResponse.CompanyNameOutDTO companyNameOutDTO = pbService.getCompanyNames();
-            responseDTO = new ResponseDTO<>(companyNameOutDTO);
+    public ResponseEntity<?> getCompanies(@RequestParam(defaultValue = "true") Boolean includeLogo,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // 기준정보가 바뀌지 않았으면 본문 없이 304, 바뀌었으면 미리 직렬화해 둔 본문을 그대로 내려줌
+        CompanyCatalog.SerializedBody body = pbService.getCompaniesJson(includeLogo);
+        if (body.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(body.getETag()).build();
         }
-        return ResponseEntity.ok().body(responseDTO);
+        return ResponseEntity.ok()
+                .eTag(body.getETag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBody());
     }
 
     // PB 회원가입
     @MyLog
     @SwaggerResponses.JoinPB
     @PostMapping("/join/pb")
-    public ResponseDTO<PBResponse.JoinOutDTO> joinPB(@RequestPart(value = "businessCard") MultipartFile businessCard,
+    public ResponseDTO<PBResponse.JoinOutDTO> joinPB(@RequestPart(value = "businessCard", required = false) MultipartFile businessCard,
                                                      @RequestPart(value = "joinInDTO") @Valid PBRequest.JoinInDTO joinInDTO, Errors errors) {
         PBResponse.JoinOutDTO joinOutDTO = pbService.joinPB(businessCard, joinInDTO);
         return new ResponseDTO<>(joinOutDTO);
     }
 
+    @ApiOperation("PB 회원가입용 명함 직접 업로드 url 발급하기 (업로드 후 joinInDTO.businessCardKey로 보냄)")
+    @SwaggerResponses.DefaultApiResponses
+    @PostMapping("/join/pb/upload")
+    public ResponseDTO<PBResponse.UploadOutDTO> issueJoinUpload(@RequestBody @Valid PBRequest.UploadInDTO uploadInDTO, Errors errors,
+                                                               HttpServletRequest request) {
+        PBResponse.UploadOutDTO uploadOutDTO = uploadService.issueForJoin(request.getRemoteAddr(), uploadInDTO);
+        return new ResponseDTO<>(uploadOutDTO);
+    }
+
+    @ApiOperation("프로필/포트폴리오/썸네일 직접 업로드 url 발급하기 (업로드 후 임시 키를 수정/등록 요청에 담아 보냄)")
+    @SwaggerResponses.DefaultApiResponses
+    @PostMapping("/pb/upload")
+    public ResponseDTO<PBResponse.UploadOutDTO> issueUpload(@RequestBody @Valid PBRequest.UploadInDTO uploadInDTO, Errors errors) {
+        PBResponse.UploadOutDTO uploadOutDTO = uploadService.issue(uploadInDTO.getTarget(), uploadInDTO);
+        return new ResponseDTO<>(uploadOutDTO);
+    }
+
     @ApiOperation("북마크한 PB 목록 가져오기")
     @SwaggerResponses.DefaultApiResponses
     @ApiImplicitParam(name = "page", value = "0")
@@ -115,12 +145,28 @@ public class PBController {
     public ResponseDTO<PageDTO<PBResponse.PBPageDTO>> getPBWithName(@RequestParam(value = "name") String name,
                                                                     @RequestParam(defaultValue = "0") int page) {
 
-        Pageable pageable = PageRequest.of(page, 10, Sort.by(Sort.Direction.DESC, "id"));
+        Pageable pageable = PageRequest.of(page, 10);
         PageDTO<PBResponse.PBPageDTO> pageDTO = pbService.getPBWithName(name, pageable);
 
         return new ResponseDTO<>(pageDTO);
     }
 
+    @ApiOperation("PB 이름 자동완성")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "name", value = "김ㅍ", dataType = "String", paramType = "query", required = true),
+            @ApiImplicitParam(name = "size", value = "10", dataType = "int", paramType = "query")})
+    @GetMapping("/pbs/autocomplete")
+    public ResponseDTO<List<PBResponse.PBNameDTO>> getPBNameAutocomplete(@RequestParam(value = "name") String name,
+                                                                        @RequestParam(defaultValue = "10") int size) {
+
+        if (size < 1 || size > 20) {
+            throw new Exception400("size", "1에서 20 사이로 입력해주세요");
+        }
+        List<PBResponse.PBNameDTO> list = pbService.getPBNameAutocomplete(name, size);
+
+        return new ResponseDTO<>(list);
+    }
+
     @ApiOperation("PB 리스트 가져오기(거리순)")
     @SwaggerResponses.DefaultApiResponses
     @ApiImplicitParams({@ApiImplicitParam(name = "latitude", value = "127.0000", dataType = "Double", paramType = "query", required = true),
@@ -151,6 +197,27 @@ public class PBController {
         return new ResponseDTO<>(pageDTO);
     }
 
+    @ApiOperation("반경 내 PB 리스트 가져오기(거리순)")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "latitude", value = "37.5326", dataType = "Double", paramType = "query", required = true),
+            @ApiImplicitParam(name = "longitude", value = "126.9246", dataType = "Double", paramType = "query", required = true),
+            @ApiImplicitParam(name = "radius", value = "3", dataType = "Double", paramType = "query"),
+            @ApiImplicitParam(name = "page", value = "0")})
+    @GetMapping("/list/pb/radius")
+    public ResponseDTO<PageDTO<PBResponse.PBPageDTO>> getRadiusPBList(@RequestParam(value = "latitude") Double latitude,
+                                                                      @RequestParam(value = "longitude") Double longitude,
+                                                                      @RequestParam(value = "radius", defaultValue = "5") Double radius,
+                                                                      @RequestParam(defaultValue = "0") int page) {
+
+        if (radius <= 0 || radius > 50) {
+            throw new Exception400("radius", "반경은 0km 초과 50km 이하로 입력해주세요.");
+        }
+        Pageable pageable = PageRequest.of(page, 10);
+        PageDTO<PBResponse.PBPageDTO> pageDTO = pbService.getPBWithinRadius(latitude, longitude, radius, pageable);
+
+        return new ResponseDTO<>(pageDTO);
+    }
+
     @ApiOperation("PB 리스트 가져오기(경력순)")
     @SwaggerResponses.DefaultApiResponses
     @ApiImplicitParams({@ApiImplicitParam(name = "speciality", value = "ETF", dataType = "String", paramType = "query"),
@@ -177,6 +244,46 @@ public class PBController {
         return new ResponseDTO<>(pageDTO);
     }
 
+    @ApiOperation("PB 리스트 가져오기(인기순)")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "speciality", value = "ETF", dataType = "String", paramType = "query"),
+            @ApiImplicitParam(name = "company", value = "1", dataType = "Long", paramType = "query"),
+            @ApiImplicitParam(name = "page", value = "0")})
+    @GetMapping("/list/pb/popularity")
+    public ResponseDTO<PageDTO<PBResponse.PBPageDTO>> getPopularPBList(@RequestParam(value = "speciality", required = false) PBSpeciality speciality,
+                                                                       @RequestParam(value = "company", required = false) Long company,
+                                                                       @RequestParam(defaultValue = "0") int page) {
+
+        if (speciality != null && company != null) {
+            throw new Exception404("잘못된 요청입니다.");
+        }
+        Pageable pageable = PageRequest.of(page, 10);
+        PageDTO<PBResponse.PBPageDTO> pageDTO = pbService.getPBWithPopularity(speciality, company, pageable);
+
+        return new ResponseDTO<>(pageDTO);
+    }
+
+    @ApiOperation("PB 리스트 가져오기(포트폴리오 지표 순위)")
+    @SwaggerResponses.DefaultApiResponses
+    @ApiImplicitParams({@ApiImplicitParam(name = "metric", value = "CUMULATIVE_RETURN", dataType = "String", paramType = "query"),
+            @ApiImplicitParam(name = "speciality", value = "ETF", dataType = "String", paramType = "query"),
+            @ApiImplicitParam(name = "company", value = "1", dataType = "Long", paramType = "query"),
+            @ApiImplicitParam(name = "page", value = "0")})
+    @GetMapping("/list/pb/leaderboard")
+    public ResponseDTO<PageDTO<PBResponse.PBRankDTO>> getPBLeaderboard(@RequestParam(value = "metric", defaultValue = "CUMULATIVE_RETURN") PortfolioMetric metric,
+                                                                     @RequestParam(value = "speciality", required = false) PBSpeciality speciality,
+                                                                     @RequestParam(value = "company", required = false) Long company,
+                                                                     @RequestParam(defaultValue = "0") int page) {
+
+        if (speciality != null && company != null) {
+            throw new Exception404("잘못된 요청입니다.");
+        }
+        Pageable pageable = PageRequest.of(page, 10);
+        PageDTO<PBResponse.PBRankDTO> pageDTO = pbService.getPBLeaderboard(metric, speciality, company, pageable);
+
+        return new ResponseDTO<>(pageDTO);
+    }
+
     @ApiOperation("맞춤성향 PB 리스트")
     @SwaggerResponses.DefaultApiResponses
     @ApiImplicitParam(name = "page", value = "0")
@@ -37,6 +37,12 @@ public class MyExceptionAdvice {
         return new ResponseEntity<>(e.body(), e.status());
     }
 
+    @MyErrorLog
+    @ExceptionHandler(Exception429.class)
+    public ResponseEntity<?> tooManyRequests(Exception429 e){
+        return new ResponseEntity<>(e.body(), e.status());
+    }
+
     @MyErrorLog
     @ExceptionHandler(Exception500.class)
     public ResponseEntity<?> serverError(Exception500 e){
@@ -0,0 +1,295 @@
+package kr.co.moneybridge.core.analytics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Locale;
+
+// 포트폴리오 수익률 CSV 분석 - 파일을 처음부터 끝까지 한 번만 읽으면서
+// 누적수익률/최대자본인하율/profit factor/평균손익률/변동성/샤프지수를 같이 계산
+// 형식: 날짜,수익률(%) - 한 행이 한 기간(일/주/월)의 수익률 또는 한 거래의 손익률, 날짜 순서대로
+//   date,return
+//   2023-01-02,1.25
+//   2023-01-03,-0.4%
+// 첫 행은 헤더여도 되고, 셋째 열부터는 무시함. 날짜는 yyyy-MM-dd (/, . 구분도 가능), yyyyMMdd, 뒤에 시각이 붙어도 됨
+// 행마다 String을 만들지 않고 고정 크기 char 버퍼에서 바로 날짜/숫자를 읽어서, 행이 수십만 개여도 버퍼 크기만큼의 메모리만 씀
+// 분산은 Welford 방식으로 한 번에 구하고, 첫/마지막 날짜로 1년에 몇 행인지 추정해서 연율화함
+public class PortfolioAnalyzer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_LINE_LENGTH = 4096;
+    private static final int MAX_FAST_DIGITS = 15; // 이 자릿수까지는 double로 정확히 표현되는 정수라 나눗셈 한 번으로 읽음
+    private static final double DAYS_PER_YEAR = 365.25;
+    private static final long INVALID_DATE = Long.MIN_VALUE;
+    private static final double[] POW10 = new double[MAX_FAST_DIGITS + 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final Accumulator accumulator = new Accumulator();
+    private long line = 0;
+    private boolean headerChecked = false;
+
+    private PortfolioAnalyzer() {
+    }
+
+    // csv 파일만 분석함 (pdf 등 다른 포트폴리오 파일은 그대로 첨부만)
+    public static boolean supports(String fileName, String contentType) {
+        return (fileName != null && fileName.toLowerCase(Locale.ROOT).endsWith(".csv"))
+                || (contentType != null && contentType.startsWith("text/csv"));
+    }
+
+    // 스트림은 호출한 쪽에서 닫음, 형식이 틀린 행이 있으면 몇 번째 행인지 담아 IllegalArgumentException
+    public static PortfolioMetrics analyze(InputStream inputStream) throws IOException {
+        return analyze(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    public static PortfolioMetrics analyze(Reader reader) throws IOException {
+        PortfolioAnalyzer analyzer = new PortfolioAnalyzer();
+        analyzer.read(reader);
+        return analyzer.accumulator.toMetrics();
+    }
+
+    private void read(Reader reader) throws IOException {
+        char[] buffer = new char[BUFFER_SIZE];
+        int start = 0; // 아직 처리하지 않은 줄의 시작
+        int scan = 0; // 줄바꿈을 찾을 위치
+        int end = 0;
+        while (true) {
+            while (scan < end && buffer[scan] != '\n') {
+                scan++;
+            }
+            if (scan < end) {
+                parseLine(buffer, start, scan);
+                start = ++scan;
+                continue;
+            }
+            int remaining = end - start;
+            if (remaining > MAX_LINE_LENGTH) {
+                throw new IllegalArgumentException((line + 1) + "행이 너무 깁니다");
+            }
+            // 처리하지 못한 줄 조각을 앞으로 당기고 뒤를 채움
+            System.arraycopy(buffer, start, buffer, 0, remaining);
+            start = 0;
+            scan = remaining;
+            end = remaining;
+            int read = reader.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                if (remaining > 0) {
+                    parseLine(buffer, 0, remaining);
+                }
+                return;
+            }
+            end += read;
+        }
+    }
+
+    private void parseLine(char[] buffer, int from, int to) {
+        line++;
+        if (line == 1 && from < to && buffer[from] == '\uFEFF') from++; // 엑셀이 붙이는 BOM
+        while (from < to && isBlank(buffer[to - 1])) to--;
+        while (from < to && isBlank(buffer[from])) from++;
+        if (from == to) return;
+
+        int comma = indexOf(buffer, ',', from, to);
+        int dateEnd = comma < 0 ? to : comma;
+        int valueStart = comma < 0 ? to : comma + 1;
+        int valueEnd = indexOf(buffer, ',', valueStart, to);
+        if (valueEnd < 0) valueEnd = to;
+        long day = parseDate(buffer, trimStart(buffer, from, dateEnd), trimEnd(buffer, from, dateEnd));
+        double value = parseNumber(buffer, trimStart(buffer, valueStart, valueEnd), trimEnd(buffer, valueStart, valueEnd));
+
+        // 첫 행이 날짜/숫자가 아니면 헤더
+        boolean first = !headerChecked;
+        headerChecked = true;
+        if (first && (day == INVALID_DATE || Double.isNaN(value))) return;
+
+        if (day == INVALID_DATE) {
+            throw new IllegalArgumentException(line + "행: 날짜 형식이 잘못되었습니다 (yyyy-MM-dd)");
+        }
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException(line + "행: 수익률이 숫자가 아닙니다");
+        }
+        if (value < -100) {
+            throw new IllegalArgumentException(line + "행: 수익률은 -100% 보다 작을 수 없습니다");
+        }
+        if (accumulator.count > 0 && day < accumulator.lastDay) {
+            throw new IllegalArgumentException(line + "행: 날짜 순서대로 정렬되어 있어야 합니다");
+        }
+        accumulator.add(day, value);
+    }
+
+    // 에포크 일수, 날짜가 아니면 INVALID_DATE
+    private static long parseDate(char[] buffer, int from, int to) {
+        int i = from;
+        int number = 0;
+        while (i < to && isDigit(buffer[i]) && i - from < 8) {
+            number = number * 10 + (buffer[i++] - '0');
+        }
+        int year;
+        int month;
+        int day;
+        if (i - from == 8) {
+            year = number / 10000;
+            month = number / 100 % 100;
+            day = number % 100;
+        } else if (i - from == 4 && i < to && (buffer[i] == '-' || buffer[i] == '/' || buffer[i] == '.')) {
+            char separator = buffer[i++];
+            year = number;
+            month = 0;
+            int digits = 0;
+            while (i < to && isDigit(buffer[i]) && digits < 2) {
+                month = month * 10 + (buffer[i++] - '0');
+                digits++;
+            }
+            if (digits == 0 || i >= to || buffer[i++] != separator) return INVALID_DATE;
+            day = 0;
+            digits = 0;
+            while (i < to && isDigit(buffer[i]) && digits < 2) {
+                day = day * 10 + (buffer[i++] - '0');
+                digits++;
+            }
+            if (digits == 0) return INVALID_DATE;
+        } else {
+            return INVALID_DATE;
+        }
+        // 뒤에 붙은 시각은 무시
+        if (i < to && buffer[i] != ' ' && buffer[i] != 'T') return INVALID_DATE;
+        try {
+            return LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return INVALID_DATE;
+        }
+    }
+
+    // 부호/소수점/끝의 %만 있는 흔한 경우는 직접 읽고, 자릿수가 많거나 지수 표기면 Double.parseDouble, 숫자가 아니면 NaN
+    private static double parseNumber(char[] buffer, int from, int to) {
+        if (from < to && buffer[to - 1] == '%') {
+            to--;
+            while (from < to && isBlank(buffer[to - 1])) to--;
+        }
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i++] == '-';
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        for (; i < to; i++) {
+            char c = buffer[i];
+            if (isDigit(c) && digits < MAX_FAST_DIGITS) {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (dot) scale++;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return parseSlow(buffer, from, to);
+            }
+        }
+        if (digits == 0) return Double.NaN;
+        double value = mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+
+    private static double parseSlow(char[] buffer, int from, int to) {
+        try {
+            double value = Double.parseDouble(new String(buffer, from, to - from));
+            return Double.isFinite(value) ? value : Double.NaN;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // 열 앞뒤의 공백과 따옴표를 뗀 구간
+    private static int trimStart(char[] buffer, int from, int to) {
+        while (from < to && (isBlank(buffer[from]) || buffer[from] == '"')) from++;
+        return from;
+    }
+
+    private static int trimEnd(char[] buffer, int from, int to) {
+        while (from < to && (isBlank(buffer[to - 1]) || buffer[to - 1] == '"')) to--;
+        return to;
+    }
+
+    private static int indexOf(char[] buffer, char target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == target) return i;
+        }
+        return -1;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\r';
+    }
+
+    private static Double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // 행을 하나씩 더하면서 지표에 필요한 값만 들고 있음
+    private static class Accumulator {
+        private long count;
+        private long firstDay;
+        private long lastDay;
+        private double mean;
+        private double m2; // 편차 제곱합 (Welford)
+        private double grossProfit;
+        private double grossLoss;
+        private double equity = 1; // 1로 시작한 자산의 복리 가치
+        private double peak = 1;
+        private double maxDrawdown;
+
+        private void add(long day, double value) {
+            if (count == 0) firstDay = day;
+            lastDay = day;
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            m2 += delta * (value - mean);
+            if (value > 0) {
+                grossProfit += value;
+            } else {
+                grossLoss -= value;
+            }
+            equity *= 1 + value / 100;
+            if (equity > peak) {
+                peak = equity;
+            } else {
+                maxDrawdown = Math.max(maxDrawdown, (peak - equity) / peak);
+            }
+        }
+
+        private PortfolioMetrics toMetrics() {
+            if (count == 0) {
+                throw new IllegalArgumentException("수익률 행이 없습니다");
+            }
+            double deviation = count > 1 ? Math.sqrt(m2 / (count - 1)) : 0;
+            // 날짜 범위가 있어야 1년에 몇 행인지 알 수 있음 (하루 안의 거래만 있으면 연율화하지 않음)
+            double periodsPerYear = lastDay > firstDay ? (count - 1) * DAYS_PER_YEAR / (lastDay - firstDay) : 0;
+            Double volatility = count > 1 && periodsPerYear > 0 ? round(deviation * Math.sqrt(periodsPerYear)) : null;
+            Double sharpe = deviation > 0 && periodsPerYear > 0 ? round(mean / deviation * Math.sqrt(periodsPerYear)) : null;
+            return new PortfolioMetrics(
+                    count,
+                    round((equity - 1) * 100),
+                    round(maxDrawdown * 100),
+                    grossLoss > 0 ? round(grossProfit / grossLoss) : null,
+                    round(mean),
+                    volatility,
+                    sharpe);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package kr.co.moneybridge.core.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 수익률 파일 하나에서 계산한 지표 - 값은 모두 %(샤프지수, profit factor 제외), 계산할 수 없으면 null
+@Getter
+@AllArgsConstructor
+public class PortfolioMetrics {
+    private final long rows;
+    private final Double cumulativeReturn; // 복리 누적수익률
+    private final Double maxDrawdown; // 고점 대비 최대 하락률 (양수)
+    private final Double profitFactor; // 이익 합 / 손실 합, 손실이 없으면 null
+    private final Double averageProfit; // 행(기간/거래)당 평균손익률
+    private final Double volatility; // 연율화 표준편차, 날짜 범위가 없으면 null
+    private final Double sharpe; // 연율화 샤프지수 (무위험수익률 0)
+}
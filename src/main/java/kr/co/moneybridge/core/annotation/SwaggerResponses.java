@@ -165,6 +165,21 @@ public class SwaggerResponses {
     public @interface DeleteBoard {
     }
 
+    @ApiOperation(value = "콘텐츠 삭제 정리 진행 상황 가져오기")
+    @ApiResponses({
+            @ApiResponse(code = 401,
+                    message = UNAUTHORIZED),
+            @ApiResponse(code = 403,
+                    message = FORBIDDEN),
+            @ApiResponse(code = 500,
+                    message = INTERNAL_SERVER_ERROR)
+    })
+    @ResponseStatus(HttpStatus.OK)
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface GetBoardPurge {
+    }
+
     @ApiOperation(value = "로그인 계정 정보 받아오기")
     @ApiResponses({
             @ApiResponse(code = 400,
@@ -209,7 +224,8 @@ public class SwaggerResponses {
                     message = INTERNAL_SERVER_ERROR)
     })
     @ApiImplicitParams({
-            @ApiImplicitParam(name = "page", example = "0", value = "curPage 번호")})
+            @ApiImplicitParam(name = "page", example = "0", value = "curPage 번호"),
+            @ApiImplicitParam(name = "exact", example = "false", value = "true면 전체 개수를 캐시 대신 다시 셈")})
     @ResponseStatus(HttpStatus.OK)
     @Target(ElementType.METHOD)
     @Retention(RetentionPolicy.RUNTIME)
@@ -306,7 +322,8 @@ public class SwaggerResponses {
     })
     @ApiImplicitParams({
             @ApiImplicitParam(name = "type", example = "user", value = "user(디폴트) 또는 pb"),
-            @ApiImplicitParam(name = "page", example = "0", value = "현재 페이지 번호")})
+            @ApiImplicitParam(name = "page", example = "0", value = "현재 페이지 번호"),
+            @ApiImplicitParam(name = "exact", example = "false", value = "true면 전체 개수를 캐시 대신 다시 셈")})
     @ResponseStatus(HttpStatus.OK)
     @Target(ElementType.METHOD)
     @Retention(RetentionPolicy.RUNTIME)
@@ -346,6 +363,9 @@ public class SwaggerResponses {
             @ApiResponse(code = 500,
                     message = INTERNAL_SERVER_ERROR)
     })
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "page", example = "0", value = "현재 페이지 번호"),
+            @ApiImplicitParam(name = "exact", example = "false", value = "true면 전체 개수를 캐시 대신 다시 셈")})
     @ResponseStatus(HttpStatus.OK)
     @Target(ElementType.METHOD)
     @Retention(RetentionPolicy.RUNTIME)
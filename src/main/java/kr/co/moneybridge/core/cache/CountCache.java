@@ -0,0 +1,81 @@
+package kr.co.moneybridge.core.cache;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+// 백오피스 목록의 전체 개수 캐시
+// 관리자 화면이 자주 새로고침되므로 페이지마다 COUNT(*)를 치지 않고 (쿼리+필터) 키별로 들고 있다가
+// 일정 시간이 지나면 다시 세고, 그 사이 백오피스에서 일어난 변경은 증감으로 맞춰 둠
+@Component
+public class CountCache {
+    @Value("${BACKOFFICE_COUNT_TTL_MS:60000}")
+    private long ttlMillis;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // 캐시가 살아 있으면 캐시값(근사치), 없거나 만료됐으면 새로 센 값(정확한 값)
+    public Count get(String key, LongSupplier counter) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.currentTimeMillis() - entry.countedAt < ttlMillis) {
+            return new Count(entry.value, true);
+        }
+        return recount(key, counter);
+    }
+
+    // 요청 시 바로 다시 세서 캐시도 갱신
+    public Count recount(String key, LongSupplier counter) {
+        long value = counter.getAsLong();
+        entries.put(key, new Entry(value, System.currentTimeMillis()));
+        return new Count(value, false);
+    }
+
+    // 캐시된 값이 있을 때만 증감, 만료 시각은 그대로 둠
+    public void adjust(String key, long delta) {
+        afterCommit(() -> entries.computeIfPresent(key, (k, entry) -> new Entry(Math.max(0, entry.value + delta), entry.countedAt)));
+    }
+
+    public void evict(String key) {
+        afterCommit(() -> entries.remove(key));
+    }
+
+    // 롤백된 변경이 개수에 남지 않도록 커밋 이후에 반영
+    private void afterCommit(Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        } else {
+            runnable.run();
+        }
+    }
+
+    @Getter
+    public static class Count {
+        private final long value;
+        private final boolean approximate;
+
+        public Count(long value, boolean approximate) {
+            this.value = value;
+            this.approximate = approximate;
+        }
+    }
+
+    private static class Entry {
+        private final long value;
+        private final long countedAt;
+
+        private Entry(long value, long countedAt) {
+            this.value = value;
+            this.countedAt = countedAt;
+        }
+    }
+}
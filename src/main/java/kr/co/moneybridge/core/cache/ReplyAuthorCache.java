@@ -0,0 +1,129 @@
+package kr.co.moneybridge.core.cache;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.event.UserChangedEvent;
+import kr.co.moneybridge.dto.board.BoardResponse;
+import kr.co.moneybridge.model.board.ReplyAuthorRole;
+import kr.co.moneybridge.model.pb.PBRepository;
+import kr.co.moneybridge.model.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+// 댓글/대댓글 작성자 요약(이름, 프로필, 역할) 캐시
+// 같은 작성자가 여러 컨텐츠에 반복해서 나오므로 (역할, id)로 들고 있다가 없는 것만 한 번에 조회함
+// 최근에 안 쓴 것부터 밀어내서 크기를 제한하고, 이름/프로필 변경이나 탈퇴가 커밋되면 해당 작성자만 비움
+// 다른 서버 인스턴스에서 생긴 변경은 TTL이 지나면 반영됨
+@RequiredArgsConstructor
+@Component
+public class ReplyAuthorCache {
+    private static final int MAX_SIZE = 10000;
+    private static final long TTL_MILLIS = 5 * 60 * 1000L;
+
+    private final UserRepository userRepository;
+    private final PBRepository pbRepository;
+
+    private final Map<Key, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ReplyAuthorCache.Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+    // 조회 쿼리가 도는 사이에 비우기가 있었으면 그 결과는 캐시에 넣지 않기 위한 카운터
+    private long version = 0;
+
+    // 작성자 id -> 요약, 탈퇴 등으로 없는 작성자는 결과에서 빠짐
+    public Map<Long, BoardResponse.ReplyAuthorDTO> getAuthors(ReplyAuthorRole role, Collection<Long> ids) {
+        Map<Long, BoardResponse.ReplyAuthorDTO> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long before;
+        synchronized (cache) {
+            long now = System.currentTimeMillis();
+            for (Long id : ids) {
+                Entry entry = cache.get(new Key(role, id));
+                if (entry == null || now - entry.loadedAt >= TTL_MILLIS) {
+                    missing.add(id);
+                } else {
+                    result.put(id, entry.author);
+                }
+            }
+            before = version;
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        List<BoardResponse.ReplyAuthorDTO> loaded = role.equals(ReplyAuthorRole.USER)
+                ? userRepository.findReplyAuthorsByIdIn(missing)
+                : pbRepository.findReplyAuthorsByIdIn(missing);
+        synchronized (cache) {
+            // 읽는 동안 이름 변경 등이 커밋돼 비워졌으면 옛 값일 수 있으므로 이번 응답에만 쓰고 캐시에는 넣지 않음
+            boolean cacheable = version == before;
+            long now = System.currentTimeMillis();
+            loaded.forEach(author -> {
+                if (cacheable) {
+                    cache.put(new Key(role, author.getId()), new Entry(author, now));
+                }
+                result.put(author.getId(), author);
+            });
+        }
+        return result;
+    }
+
+    public void evict(ReplyAuthorRole role, Long id) {
+        synchronized (cache) {
+            version++;
+            cache.remove(new Key(role, id));
+        }
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(ReplyAuthorRole.USER, event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPBChanged(PBChangedEvent event) {
+        evict(ReplyAuthorRole.PB, event.getPbId());
+    }
+
+    private static class Entry {
+        private final BoardResponse.ReplyAuthorDTO author;
+        private final long loadedAt;
+
+        private Entry(BoardResponse.ReplyAuthorDTO author, long loadedAt) {
+            this.author = author;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class Key {
+        private final ReplyAuthorRole role;
+        private final Long id;
+
+        private Key(ReplyAuthorRole role, Long id) {
+            this.role = role;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return role == key.role && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(role, id);
+        }
+    }
+}
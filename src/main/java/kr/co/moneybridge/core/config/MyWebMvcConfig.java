@@ -2,27 +2,11 @@ package kr.co.moneybridge.core.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.servlet.resource.PathResourceResolver;
 
 
 @Configuration
 public class MyWebMvcConfig implements WebMvcConfigurer {
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        WebMvcConfigurer.super.addResourceHandlers(registry);
-
-        // 1. 절대경로 file:///c:/upload/
-        // 2. 상대경로 file:./upload/
-        registry
-                .addResourceHandler("/upload/**")
-                .addResourceLocations("file:" + "./upload/")
-                .setCachePeriod(60 * 60) // 초 단위 => 한시간
-                .resourceChain(true)
-                .addResolver(new PathResourceResolver());
-    }
-
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
 //        registry.addInterceptor(adminInterceptor)
@@ -32,5 +16,6 @@ public class MyWebMvcConfig implements WebMvcConfigurer {
 //                .addPathPatterns("/seller/**");
     }
 
+    // 업로드 파일 서빙은 로컬 저장소(storage.type=local)일 때 BlobController가 /blob/** 로
     // CORS, Interceptor, Resource, addArgumentResolvers, viewResolver, MessageConverter
 }
\ No newline at end of file
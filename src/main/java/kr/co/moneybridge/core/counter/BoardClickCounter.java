@@ -0,0 +1,83 @@
+package kr.co.moneybridge.core.counter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 컨텐츠 클릭수 버퍼
+// 조회 때마다 board_tb 행을 잠그지 않도록 메모리(LongAdder)에 모았다가 주기적으로 한 번에 반영함
+// 노드가 죽으면 마지막 반영 이후 몇 초치 클릭만 유실되고, 정상 종료 시에는 남은 것까지 반영함
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BoardClickCounter {
+    private static final String FLUSH_SQL = "UPDATE board_tb SET click_count = click_count + ? WHERE id = ?";
+    private static final int FLUSH_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void increment(Long boardId) {
+        LongAdder adder = pending.computeIfAbsent(boardId, id -> new LongAdder());
+        adder.increment();
+        // flush가 그 사이 한가한 엔트리로 보고 맵에서 뺐으면, 떨어져 나간 adder에 더한 값을 맵으로 옮김
+        if (pending.get(boardId) != adder) {
+            moveBack(boardId, adder);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${BOARD_CLICK_FLUSH_MS:3000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        pending.forEach((boardId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                batch.add(new Object[]{delta, boardId});
+            } else if (pending.remove(boardId, adder)) {
+                // 지난 주기 이후 클릭이 없던 컨텐츠는 맵에서 빼서, 한 번이라도 조회된 컨텐츠 수만큼 계속 쌓이지 않게 함
+                moveBack(boardId, adder);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+        // 여러 노드가 동시에 반영해도 같은 순서로 행을 잠그도록 id순 정렬
+        batch.sort(Comparator.comparing(args -> (Long) args[1]));
+        // 묶음마다 따로 커밋 - 실패한 묶음은 통째로 롤백되므로 그 묶음의 클릭만 되돌리면 두 번 세지 않음
+        for (int from = 0; from < batch.size(); from += FLUSH_CHUNK_SIZE) {
+            List<Object[]> chunk = batch.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, batch.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, chunk));
+            } catch (Exception e) {
+                log.error("클릭수 반영 실패 : " + e.getMessage());
+                // 다음 주기에 다시 반영되도록 되돌려 둠
+                chunk.forEach(args -> pending.computeIfAbsent((Long) args[1], id -> new LongAdder()).add((Long) args[0]));
+            }
+        }
+    }
+
+    // 맵에서 빠진 adder에 남은 클릭을 현재 맵의 adder로 옮김
+    private void moveBack(Long boardId, LongAdder detached) {
+        long late = detached.sumThenReset();
+        if (late > 0) {
+            pending.computeIfAbsent(boardId, id -> new LongAdder()).add(late);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
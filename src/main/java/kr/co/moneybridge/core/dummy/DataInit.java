@@ -10,6 +10,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class DataInit extends DummyEntity{
 
@@ -25,6 +27,7 @@ public class DataInit extends DummyEntity{
                            CareerRepository careerRepository,
                            UserAgreementRepository userAgreementRepository,
                            BoardRepository boardRepository,
+                           BoardBodyRepository boardBodyRepository,
                            ReplyRepository replyRepository,
                            ReReplyRepository reReplyRepository,
                            UserBookmarkRepository userBookmarkRepository,
@@ -94,6 +97,8 @@ public class DataInit extends DummyEntity{
             Board board4 =boardRepository.save(newTempBoard("제목4", pb2));
             Board board5 =boardRepository.save(newBoard("제목5", pb3));
             Board board6 = boardRepository.save(newTempBoard("제목6", pb3));
+            List.of(board1, board2, board3, board4, board5, board6).forEach(board ->
+                    boardBodyRepository.save(newBoardBody(board)));
 
             Reply reply1 = replyRepository.save(newUserReply(board1, user1));
             Reply reply2 = replyRepository.save(newUserReply(board1, user2));
@@ -133,7 +133,7 @@ public class DummyEntity {
                 .pb(pb)
                 .title(title)
                 .thumbnail("thumbnail.png")
-                .content("content 입니다")
+                .excerpt("content 입니다")
                 .tag1("시장정보")
                 .tag2("쉽게읽혀요")
                 .clickCount(0L)
@@ -146,13 +146,18 @@ public class DummyEntity {
                 .pb(pb)
                 .title(title)
                 .thumbnail("thumbnail.png")
-                .content("content 입니다")
+                .excerpt("content 입니다")
                 .tag1("시장정보")
                 .tag2("쉽게읽혀요")
                 .clickCount(0L)
                 .status(BoardStatus.TEMP)
                 .build();
     }
+
+    public BoardBody newBoardBody(Board board) {
+        return BoardBody.of(board.getId(), "<p>content 입니다</p>");
+    }
+
     public Reply newUserReply(Board board, User user) {
         return Reply.builder()
                 .board(board)
@@ -271,6 +276,15 @@ public class DummyEntity {
                 .build();
     }
 
+    public PBStats newPBStats(PB pb, Long reserveCount, Long reviewCount, Long bookmarkCount) {
+        return PBStats.builder()
+                .pbId(pb.getId())
+                .reserveCount(reserveCount)
+                .reviewCount(reviewCount)
+                .bookmarkCount(bookmarkCount)
+                .build();
+    }
+
     public BoardBookmark newBoardBookmark(User user, Board board) {
         return BoardBookmark.builder()
                 .bookmarkerId(user.getId())
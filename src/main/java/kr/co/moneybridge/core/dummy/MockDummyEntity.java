@@ -163,7 +163,7 @@ public class MockDummyEntity {
                 .pb(pb)
                 .title(title)
                 .thumbnail("thumbnail.png")
-                .content("content 입니다")
+                .excerpt("content 입니다")
                 .tag1("시장정보")
                 .tag2("쉽게읽혀요")
                 .clickCount(0L)
@@ -178,7 +178,7 @@ public class MockDummyEntity {
                 .pb(pb)
                 .title(title)
                 .thumbnail("thumbnail.png")
-                .content("content 입니다")
+                .excerpt("content 입니다")
                 .tag1("시장정보")
                 .tag2("쉽게읽혀요")
                 .clickCount(0L)
@@ -325,6 +325,15 @@ public class MockDummyEntity {
                 .build();
     }
 
+    public PBStats newMockPBStats(Long pbId, Long reserveCount, Long reviewCount, Long bookmarkCount) {
+        return PBStats.builder()
+                .pbId(pbId)
+                .reserveCount(reserveCount)
+                .reviewCount(reviewCount)
+                .bookmarkCount(bookmarkCount)
+                .build();
+    }
+
     public BoardBookmark newMockBoardBookmark(Long id, User user, Board board) {
         return BoardBookmark.builder()
                 .id(id)
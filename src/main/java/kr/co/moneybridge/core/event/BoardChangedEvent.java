@@ -0,0 +1,12 @@
+package kr.co.moneybridge.core.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 컨텐츠의 등록/수정/삭제가 생겼을 때 발행
+// 커밋 이후에 검색 인덱스가 해당 컨텐츠만 다시 읽어서 갱신함
+@Getter
+@RequiredArgsConstructor
+public class BoardChangedEvent {
+    private final Long boardId;
+}
@@ -0,0 +1,12 @@
+package kr.co.moneybridge.core.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 지점이 추가/변경되었을 때 발행
+// 커밋 이후에 지점 검색 인덱스가 해당 지점만 다시 읽어서 갱신함
+@Getter
+@RequiredArgsConstructor
+public class BranchChangedEvent {
+    private final Long branchId;
+}
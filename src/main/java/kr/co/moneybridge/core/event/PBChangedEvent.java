@@ -0,0 +1,12 @@
+package kr.co.moneybridge.core.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// PB의 승인/지점 변경/전문분야 변경/탈퇴 등 목록 노출에 영향을 주는 변경이 생겼을 때 발행
+// 커밋 이후에 각 인메모리 인덱스가 해당 PB만 다시 읽어서 갱신함
+@Getter
+@RequiredArgsConstructor
+public class PBChangedEvent {
+    private final Long pbId;
+}
@@ -0,0 +1,12 @@
+package kr.co.moneybridge.core.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 투자자의 이름 변경/탈퇴 등 다른 화면에 보이는 정보가 바뀌었을 때 발행
+// 커밋 이후에 인메모리 캐시가 해당 투자자만 비움
+@Getter
+@RequiredArgsConstructor
+public class UserChangedEvent {
+    private final Long userId;
+}
@@ -0,0 +1,22 @@
+package kr.co.moneybridge.core.exception;
+
+import kr.co.moneybridge.dto.ResponseDTO;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+
+// 요청 횟수 초과
+@Getter
+public class Exception429 extends RuntimeException {
+    public Exception429(String message) {
+        super(message);
+    }
+
+    public ResponseDTO<?> body(){
+        return new ResponseDTO<>(HttpStatus.TOO_MANY_REQUESTS, "tooManyRequests", getMessage());
+    }
+
+    public HttpStatus status(){
+        return HttpStatus.TOO_MANY_REQUESTS;
+    }
+}
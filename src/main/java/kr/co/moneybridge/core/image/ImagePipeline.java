@@ -0,0 +1,258 @@
+package kr.co.moneybridge.core.image;
+
+import kr.co.moneybridge.core.exception.Exception500;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.core.upload.UploadTarget;
+import kr.co.moneybridge.service.ImageWriteBackService;
+import kr.co.moneybridge.service.StorageDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import marvin.image.MarvinImage;
+import org.marvinproject.image.transform.scale.Scale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 이미지 업로드 파이프라인
+// 요청 스레드에서는 업로드 파일을 임시 파일로 옮겨두고 바로 응답하고,
+// 커밋 후 작업 스레드(크기 제한 풀)가 한 번만 디코딩해서 목록/상세/원본 사본을 저장소에 올린 뒤 상세 url을 DB에 반영
+// 디코딩은 ImageReadParam 소스 서브샘플링으로 상세 크기에 필요한 만큼만 읽어서 큰 사진도 힙을 많이 쓰지 않음
+// 대기열이 차면 요청 스레드가 자리가 날 때까지 기다려서 업로드가 몰려도 메모리/임시 파일이 한없이 늘지 않음
+// (요청 스레드에서 직접 처리하지 않음 - 커밋이 끝난 트랜잭션의 동기화 안이라 DB 반영이 그 트랜잭션에 묶여 사라짐)
+// 작업은 메모리에만 있으므로 커밋 후 처리 전에 서버가 죽으면 그 행은 이전 값(새 글/PB는 기본 이미지)으로 남음
+// 그래도 화면이 깨지지는 않고 다시 올리면 되며, 직접 업로드의 임시 키는 고아 파일 수거로 지워짐
+// 직접 업로드(UploadService)된 이미지는 작업 스레드가 임시 키에서 내려받고, 원본 사본은 저장소 안에서 복사함
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ImagePipeline {
+    private final BlobStore blobStore;
+    private final ImageWriteBackService imageWriteBackService;
+    private final StorageDeletionService storageDeletionService;
+
+    @Value("${IMAGE_WORKERS:2}")
+    private int workers;
+
+    @Value("${IMAGE_QUEUE:50}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    if (pool.isShutdown()) {
+                        throw new RejectedExecutionException("이미지 작업 풀이 종료됨");
+                    }
+                    try {
+                        pool.getQueue().put(runnable);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException(e);
+                    }
+                });
+    }
+
+    // 남은 작업은 마저 처리하고 종료
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    // 업로드 파일을 넘겨받아 커밋 후에 처리 시작 (롤백되면 임시 파일만 지움)
+    // expected - 지금 DB에 들어있는 값, 처리가 끝났을 때도 그대로일 때만 새 url로 바꿈
+    public void submit(MultipartFile file, ImageTarget target, Long id, String expected) {
+        Job job;
+        try {
+            Path temp = Files.createTempFile("image-", null);
+            file.transferTo(temp);
+            job = new Job(temp.toFile(), null, file.getContentType(),
+                    blobStore.newKey(target.getFolder(), file.getOriginalFilename()), target, id, expected);
+        } catch (IOException e) {
+            throw new Exception500("이미지 임시 저장 실패: " + e.getMessage());
+        }
+        executeAfterCommit(job);
+    }
+
+    // 직접 업로드된 임시 키(upload/폴더/uuid_파일명)를 넘겨받아 커밋 후에 처리 시작, 사본은 upload/ 를 뗀 기준 키로 올림
+    // 롤백되면 아무것도 하지 않음 (임시 파일은 고아 파일로 수거됨)
+    public void submitStaged(String stagingKey, String contentType, ImageTarget target, Long id, String expected) {
+        executeAfterCommit(new Job(null, stagingKey, contentType, UploadTarget.finalKeyOf(stagingKey), target, id, expected));
+    }
+
+    private void executeAfterCommit(Job job) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        dispatch(job);
+                    } else if (job.file != null) {
+                        job.file.delete();
+                    }
+                }
+            });
+        } else {
+            dispatch(job);
+        }
+    }
+
+    private void dispatch(Job job) {
+        try {
+            executor.execute(() -> process(job));
+        } catch (RejectedExecutionException e) {
+            log.error("이미지 처리 건너뜀 " + job.target + " id=" + job.id + " : " + e.getMessage());
+            if (job.file != null) job.file.delete();
+        }
+    }
+
+    private void process(Job job) {
+        File file = job.file;
+        try {
+            if (file == null) {
+                file = Files.createTempFile("image-", null).toFile();
+                blobStore.download(job.stagingKey, file);
+            }
+            String url = render(job, file);
+            imageWriteBackService.apply(job.target, job.id, job.expected, url);
+            if (job.stagingKey != null) {
+                storageDeletionService.enqueue(blobStore.toUrl(job.stagingKey));
+            }
+        } catch (Exception e) {
+            log.error("이미지 처리 실패 " + job.target + " id=" + job.id + " : " + e.getMessage());
+        } finally {
+            if (file != null) file.delete();
+        }
+    }
+
+    // 원본은 그대로 올리고, 한 번 디코딩한 이미지로 상세/목록 사본을 만듦. 상세 사본의 url을 돌려줌
+    private String render(Job job, File file) throws IOException {
+        store(job, file, ImageRendition.ORIGINAL.keyOf(job.key));
+        BufferedImage image = decode(file, job.target.getDetailWidth(), job.target.getDetailHeight());
+        for (ImageRendition rendition : new ImageRendition[]{ImageRendition.LIST, ImageRendition.DETAIL}) {
+            String key = rendition.keyOf(job.key);
+            int width = job.target.width(rendition);
+            int height = job.target.height(rendition);
+            // 디코딩할 수 없는 형식(svg 등)이거나 이미 목표 크기보다 작으면 원본을 그대로
+            if (image == null || (image.getWidth() < width && image.getHeight() < height)) {
+                store(job, file, key);
+                continue;
+            }
+            EncodedImage encoded = encode(scale(image, width, height), job.contentType);
+            blobStore.upload(encoded.data, key, encoded.contentType);
+        }
+        return blobStore.toUrl(ImageRendition.DETAIL.keyOf(job.key));
+    }
+
+    // 올라온 파일 그대로 저장 - 직접 업로드된 파일은 저장소 안에서 복사해서 다시 올리지 않음
+    private void store(Job job, File file, String key) {
+        if (job.stagingKey != null) {
+            blobStore.copy(job.stagingKey, key);
+        } else {
+            blobStore.upload(file, key, job.contentType);
+        }
+    }
+
+    // 목표 크기 이상은 남도록 가로/세로 중 여유가 적은 쪽 기준으로 건너뛰며 읽음
+    static int subsampling(int width, int height, int targetWidth, int targetHeight) {
+        return Math.max(1, Math.min(width / targetWidth, height / targetHeight));
+    }
+
+    private BufferedImage decode(File file, int targetWidth, int targetHeight) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file)) {
+            if (input == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = subsampling(reader.getWidth(0), reader.getHeight(0), targetWidth, targetHeight);
+                param.setSourceSubsampling(factor, factor, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image, int width, int height) {
+        MarvinImage imageMarvin = new MarvinImage(image);
+        Scale scale = new Scale();
+        scale.load();
+        scale.setAttribute("newWidth", width);
+        scale.setAttribute("newHeight", height);
+        scale.process(imageMarvin.clone(), imageMarvin, null, null, false);
+        return imageMarvin.getBufferedImageNoAlpha();
+    }
+
+    // 올라온 형식으로 다시 인코딩, 그 형식으로 쓸 수 없으면 png로
+    private EncodedImage encode(BufferedImage image, String contentType) throws IOException {
+        Iterator<ImageWriter> writers = contentType == null ? null : ImageIO.getImageWritersByMIMEType(contentType);
+        String type = writers != null && writers.hasNext() ? contentType : "image/png";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, type.substring(type.indexOf('/') + 1), out);
+        return new EncodedImage(out.toByteArray(), type);
+    }
+
+    private static class EncodedImage {
+        private final byte[] data;
+        private final String contentType;
+
+        private EncodedImage(byte[] data, String contentType) {
+            this.data = data;
+            this.contentType = contentType;
+        }
+    }
+
+    private static class Job {
+        private final File file; // 직접 업로드면 null (작업 스레드가 임시 키에서 내려받음)
+        private final String stagingKey;
+        private final String contentType;
+        private final String key;
+        private final ImageTarget target;
+        private final Long id;
+        private final String expected;
+
+        private Job(File file, String stagingKey, String contentType, String key, ImageTarget target, Long id, String expected) {
+            this.file = file;
+            this.stagingKey = stagingKey;
+            this.contentType = contentType;
+            this.key = key;
+            this.target = target;
+            this.id = id;
+            this.expected = expected;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package kr.co.moneybridge.core.image;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// 이미지 사본 - 상세 사본이 DB에 저장되는 기준 키(폴더/uuid_파일명)이고,
+// 목록/원본 사본은 같은 폴더 아래 list/, original/ 에 같은 파일명으로 둠
+// 예) thumbnail/uuid_a.png (상세), thumbnail/list/uuid_a.png (목록), thumbnail/original/uuid_a.png (원본)
+public enum ImageRendition {
+    LIST("list/"),
+    DETAIL(""),
+    ORIGINAL("original/");
+
+    private final String dir;
+
+    ImageRendition(String dir) {
+        this.dir = dir;
+    }
+
+    // 기준 키 -> 이 사본의 키
+    public String keyOf(String baseKey) {
+        int slash = baseKey.indexOf('/');
+        return baseKey.substring(0, slash + 1) + dir + baseKey.substring(slash + 1);
+    }
+
+    // 이미지 폴더의 기준 키면 모든 사본의 키, 아니면 그 키 하나
+    public static List<String> keysOf(String baseKey) {
+        if (!ImageTarget.isImageKey(baseKey) || !baseKey.equals(baseKeyOf(baseKey))) {
+            return Collections.singletonList(baseKey);
+        }
+        List<String> keys = new ArrayList<>();
+        for (ImageRendition rendition : values()) {
+            keys.add(rendition.keyOf(baseKey));
+        }
+        return keys;
+    }
+
+    // 사본의 키 -> 기준 키 (사본이 아니면 그대로)
+    public static String baseKeyOf(String key) {
+        if (!ImageTarget.isImageKey(key)) {
+            return key;
+        }
+        int slash = key.indexOf('/');
+        String rest = key.substring(slash + 1);
+        for (ImageRendition rendition : values()) {
+            if (!rendition.dir.isEmpty() && rest.startsWith(rendition.dir)) {
+                return key.substring(0, slash + 1) + rest.substring(rendition.dir.length());
+            }
+        }
+        return key;
+    }
+}
@@ -0,0 +1,34 @@
+package kr.co.moneybridge.core.image;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 이미지 업로드 대상 - 저장 폴더와 상세/목록 사본 크기(px)
+@Getter
+@RequiredArgsConstructor
+public enum ImageTarget {
+    PB_PROFILE("profile", 500, 500, 100, 100),
+    PB_BUSINESS_CARD("business-card", 450, 250, 225, 125),
+    BOARD_THUMBNAIL("thumbnail", 500, 500, 250, 250);
+
+    private final String folder;
+    private final int detailWidth;
+    private final int detailHeight;
+    private final int listWidth;
+    private final int listHeight;
+
+    public int width(ImageRendition rendition) {
+        return rendition.equals(ImageRendition.LIST) ? listWidth : detailWidth;
+    }
+
+    public int height(ImageRendition rendition) {
+        return rendition.equals(ImageRendition.LIST) ? listHeight : detailHeight;
+    }
+
+    public static boolean isImageKey(String key) {
+        for (ImageTarget target : values()) {
+            if (key.startsWith(target.folder + "/")) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,222 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.util.MyHangulUtil;
+import kr.co.moneybridge.core.util.MyTextUtil;
+import kr.co.moneybridge.dto.board.BoardResponse;
+import kr.co.moneybridge.model.board.BoardRepository;
+import kr.co.moneybridge.model.board.BoardStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// ACTIVE 컨텐츠 전문 검색용 역색인 (제목, 태그, HTML을 걷어낸 본문, 작성 PB 이름)
+// 필드별 가중치를 준 BM25로 점수를 매기고, 컨텐츠/PB 변경이 커밋되면 해당 문서만 빼고 다시 넣음
+// 문서 하나 갱신에 전체를 다시 만들 수는 없어서 스냅샷 교체 대신 읽기/쓰기 락을 씀
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BoardSearchIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int TAG_WEIGHT = 2;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private final BoardRepository boardRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>(); // term -> (boardId -> 가중 빈도)
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, Set<Long>> boardIdsByPB = new HashMap<>();
+    private final Map<Long, String> authorNames = new HashMap<>(); // pbId -> normalize된 이름
+    private long totalLength;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<BoardResponse.BoardSearchDTO> list = boardRepository.findAllSearchDocuments(BoardStatus.ACTIVE);
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            boardIdsByPB.clear();
+            authorNames.clear();
+            totalLength = 0;
+            list.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("컨텐츠 검색 인덱스 적재 : " + list.size() + "개");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        Optional<BoardResponse.BoardSearchDTO> dtoOP = boardRepository.findSearchDocumentById(event.getBoardId(), BoardStatus.ACTIVE);
+        lock.writeLock().lock();
+        try {
+            remove(event.getBoardId());
+            dtoOP.ifPresent(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // PB 이름 변경/탈퇴 - 그 PB의 컨텐츠를 모두 다시 넣음
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPBChanged(PBChangedEvent event) {
+        List<BoardResponse.BoardSearchDTO> list = boardRepository.findSearchDocumentsByPBId(event.getPbId(), BoardStatus.ACTIVE);
+        lock.writeLock().lock();
+        try {
+            new ArrayList<>(boardIdsByPB.getOrDefault(event.getPbId(), Collections.emptySet())).forEach(this::remove);
+            list.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 검색어의 모든 토큰을 포함하는 컨텐츠 id 한 페이지 - 점수 높은 순, 같으면 최신순
+    public Page<Long> search(String query, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(MyTextUtil.tokenize(query));
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = rank(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return toPage(ids, pageable);
+    }
+
+    // 작성 PB 이름에 검색어가 들어간 컨텐츠 id 한 페이지 - 최신순
+    public Page<Long> searchByAuthor(String name, Pageable pageable) {
+        String normalized = MyHangulUtil.normalize(name);
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            authorNames.forEach((pbId, authorName) -> {
+                if (authorName.contains(normalized)) ids.addAll(boardIdsByPB.get(pbId));
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        ids.sort(Comparator.reverseOrder());
+        return toPage(ids, pageable);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> rank(Set<String> terms) {
+        if (terms.isEmpty() || documents.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Map<Long, Integer>> termPostings = new ArrayList<>();
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) return new ArrayList<>();
+            termPostings.add(posting);
+        }
+        // 가장 짧은 목록을 기준으로 나머지에 다 있는 문서만 후보
+        termPostings.sort(Comparator.comparingInt(Map::size));
+        int n = documents.size();
+        double averageLength = Math.max(1.0, (double) totalLength / n);
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long id : termPostings.get(0).keySet()) {
+            double lengthNorm = K1 * (1 - B + B * documents.get(id).length / averageLength);
+            double score = 0;
+            for (Map<Long, Integer> posting : termPostings) {
+                Integer tf = posting.get(id);
+                if (tf == null) {
+                    score = -1;
+                    break;
+                }
+                double idf = Math.log(1 + (n - posting.size() + 0.5) / (posting.size() + 0.5));
+                score += idf * tf * (K1 + 1) / (tf + lengthNorm);
+            }
+            if (score >= 0) scores.put(id, score);
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    private void add(BoardResponse.BoardSearchDTO dto) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(frequencies, dto.getTitle(), TITLE_WEIGHT)
+                + count(frequencies, dto.getTag1(), TAG_WEIGHT)
+                + count(frequencies, dto.getTag2(), TAG_WEIGHT)
+                + count(frequencies, dto.getPbName(), AUTHOR_WEIGHT)
+                + count(frequencies, MyTextUtil.stripHtml(dto.getContent()), CONTENT_WEIGHT);
+        frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(dto.getId(), tf));
+        documents.put(dto.getId(), new Document(dto.getPbId(), length, frequencies.keySet()));
+        boardIdsByPB.computeIfAbsent(dto.getPbId(), k -> new HashSet<>()).add(dto.getId());
+        authorNames.put(dto.getPbId(), MyHangulUtil.normalize(dto.getPbName()));
+        totalLength += length;
+    }
+
+    private void remove(Long boardId) {
+        Document document = documents.remove(boardId);
+        if (document == null) return;
+        for (String term : document.terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(boardId);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+        Set<Long> boardIds = boardIdsByPB.get(document.pbId);
+        boardIds.remove(boardId);
+        if (boardIds.isEmpty()) {
+            boardIdsByPB.remove(document.pbId);
+            authorNames.remove(document.pbId);
+        }
+        totalLength -= document.length;
+    }
+
+    private static int count(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = MyTextUtil.tokenize(text);
+        tokens.forEach(token -> frequencies.merge(token, weight, Integer::sum));
+        return tokens.size() * weight;
+    }
+
+    private static Page<Long> toPage(List<Long> ids, Pageable pageable) {
+        int start = (int) Math.min(pageable.getOffset(), ids.size());
+        int end = Math.min(start + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(new ArrayList<>(ids.subList(start, end)), pageable, ids.size());
+    }
+
+    private static class Document {
+        private final Long pbId;
+        private final int length;
+        private final Set<String> terms;
+
+        private Document(Long pbId, int length, Set<String> terms) {
+            this.pbId = pbId;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.board.BoardResponse;
+import kr.co.moneybridge.model.board.BoardRepository;
+import kr.co.moneybridge.model.board.BoardStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.stream.Collectors;
+
+// ACTIVE 컨텐츠 인기순 인덱스
+// 조회/북마크마다 가중치를 더하고 시간이 지날수록 지수적으로 감쇠(반감기 24시간)시켜, 누적 조회수가 많은 옛날 글이 계속 위에 있지 않게 함
+// 점수는 고정 기준 시각에 대한 로그값(ln Σ w·e^(λ(t - 기준)))으로 들고 있음
+// 감쇠가 모든 글에 똑같이 적용되므로 순위는 이벤트가 들어올 때만 바뀜
+// 조회/북마크는 요청 스레드에서 DoubleAdder 버퍼에 더하기만 하고, 1초마다 모아서 정렬 집합에 반영한 뒤 순서대로 id 배열을 새로 발행함
+// 조회는 발행된 배열을 잠금 없이 offset부터 잘라 쓰므로 O(page)
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BoardTrendingIndex {
+    private static final double HALF_LIFE_MILLIS = 24 * 60 * 60 * 1000.0;
+    private static final double LAMBDA = Math.log(2) / HALF_LIFE_MILLIS;
+    private static final long EPOCH_MILLIS = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final double BASE_WEIGHT = 1; // 새 글도 바로 노출되도록 작성 시점에 주는 기본 점수
+    private static final double VIEW_WEIGHT = 1;
+    private static final double BOOKMARK_WEIGHT = 5;
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble((Entry entry) -> entry.logScore).reversed()
+            .thenComparing(entry -> entry.id, Comparator.reverseOrder());
+
+    private final BoardRepository boardRepository;
+
+    // entries/ranking은 synchronized 안에서만 고침
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+    // 인기순 id - 고칠 때마다 통째로 바꿔 끼움
+    private volatile long[] order = new long[0];
+    // 아직 반영하지 않은 글별 가중치 합
+    private final ConcurrentHashMap<Long, DoubleAdder> pending = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<BoardResponse.BoardTrendDTO> list = boardRepository.findAllTrendDocuments(BoardStatus.ACTIVE);
+        synchronized (this) {
+            entries.clear();
+            ranking.clear();
+            list.forEach(this::add);
+            publish();
+        }
+        log.info("인기 컨텐츠 인덱스 적재 : " + list.size() + "개");
+    }
+
+    // 새 글은 기본 점수로 넣고, 이미 있는 글은 수정돼도 쌓인 점수를 유지함
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        Optional<BoardResponse.BoardTrendDTO> dtoOP = boardRepository.findTrendDocumentById(event.getBoardId(), BoardStatus.ACTIVE);
+        synchronized (this) {
+            if (dtoOP.isEmpty()) {
+                remove(event.getBoardId());
+            } else if (!entries.containsKey(event.getBoardId())) {
+                add(dtoOP.get());
+            }
+            publish();
+        }
+    }
+
+    // PB 탈퇴 시 그 PB의 컨텐츠가 함께 지워지므로 남아있는 것만 유지
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPBChanged(PBChangedEvent event) {
+        List<BoardResponse.BoardTrendDTO> list = boardRepository.findTrendDocumentsByPBId(event.getPbId(), BoardStatus.ACTIVE);
+        Set<Long> activeIds = list.stream().map(BoardResponse.BoardTrendDTO::getId).collect(Collectors.toSet());
+        synchronized (this) {
+            entries.values().stream()
+                    .filter(entry -> entry.pbId.equals(event.getPbId()) && !activeIds.contains(entry.id))
+                    .map(entry -> entry.id)
+                    .collect(Collectors.toList())
+                    .forEach(this::remove);
+            list.stream().filter(dto -> !entries.containsKey(dto.getId())).forEach(this::add);
+            publish();
+        }
+    }
+
+    public void recordView(Long boardId) {
+        record(boardId, VIEW_WEIGHT);
+    }
+
+    // 북마크가 롤백되면 점수에 남지 않도록 커밋 이후에 반영
+    public void recordBookmark(Long boardId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(boardId, BOOKMARK_WEIGHT);
+                }
+            });
+        } else {
+            record(boardId, BOOKMARK_WEIGHT);
+        }
+    }
+
+    // 인기순 컨텐츠 id 한 페이지
+    public Page<Long> page(Pageable pageable) {
+        long[] snapshot = order;
+        int from = (int) Math.min(pageable.getOffset(), snapshot.length);
+        int to = Math.min(from + pageable.getPageSize(), snapshot.length);
+        return new PageImpl<>(slice(snapshot, from, to), pageable, snapshot.length);
+    }
+
+    // 인기순 상위 k개 컨텐츠 id
+    public List<Long> top(int k) {
+        long[] snapshot = order;
+        return slice(snapshot, 0, Math.min(k, snapshot.length));
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    // 버퍼에 쌓인 조회/북마크를 반영 시각 기준 점수로 더함 (반영 주기만큼의 시차는 반감기 24시간에 비하면 무시할 수준)
+    @Scheduled(fixedDelayString = "${BOARD_TREND_APPLY_MS:1000}")
+    public void applyPending() {
+        apply(System.currentTimeMillis());
+    }
+
+    void record(Long boardId, double weight) {
+        DoubleAdder adder = pending.computeIfAbsent(boardId, id -> new DoubleAdder());
+        adder.add(weight);
+        // 반영하면서 한가한 엔트리로 보고 맵에서 뺐으면, 떨어져 나간 adder에 더한 값을 맵으로 옮김
+        if (pending.get(boardId) != adder) {
+            moveBack(boardId, adder);
+        }
+    }
+
+    synchronized void apply(long atMillis) {
+        boolean changed = false;
+        for (Map.Entry<Long, DoubleAdder> pendingEntry : pending.entrySet()) {
+            Long boardId = pendingEntry.getKey();
+            DoubleAdder adder = pendingEntry.getValue();
+            double weight = adder.sumThenReset();
+            if (weight <= 0) {
+                // 지난 주기 이후 조회가 없던 글은 맵에서 빼서, 한 번이라도 조회된 글 수만큼 계속 쌓이지 않게 함
+                if (pending.remove(boardId, adder)) {
+                    moveBack(boardId, adder);
+                }
+                continue;
+            }
+            Entry entry = entries.get(boardId);
+            if (entry == null) {
+                continue; // ACTIVE가 아니거나 아직 인덱스에 없는 글
+            }
+            ranking.remove(entry);
+            entry.logScore = logAdd(entry.logScore, logScore(weight, atMillis));
+            ranking.add(entry);
+            changed = true;
+        }
+        if (changed) {
+            publish();
+        }
+    }
+
+    private void moveBack(Long boardId, DoubleAdder detached) {
+        double late = detached.sumThenReset();
+        if (late > 0) {
+            pending.computeIfAbsent(boardId, id -> new DoubleAdder()).add(late);
+        }
+    }
+
+    // 정렬 집합을 순서대로 배열에 옮겨 발행 - O(n)이지만 반영 주기마다 한 번뿐
+    private void publish() {
+        long[] ids = new long[ranking.size()];
+        int i = 0;
+        for (Entry entry : ranking) {
+            ids[i++] = entry.id;
+        }
+        order = ids;
+    }
+
+    private static List<Long> slice(long[] ids, int from, int to) {
+        List<Long> list = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            list.add(ids[i]);
+        }
+        return list;
+    }
+
+    private void add(BoardResponse.BoardTrendDTO dto) {
+        double weight = BASE_WEIGHT
+                + VIEW_WEIGHT * (dto.getClickCount() == null ? 0 : dto.getClickCount())
+                + BOOKMARK_WEIGHT * (dto.getBookmarkCount() == null ? 0 : dto.getBookmarkCount());
+        Entry entry = new Entry(dto.getId(), dto.getPbId(), logScore(weight, toMillis(dto.getCreatedAt())));
+        entries.put(entry.id, entry);
+        ranking.add(entry);
+    }
+
+    private void remove(Long boardId) {
+        Entry entry = entries.remove(boardId);
+        if (entry != null) {
+            ranking.remove(entry);
+        }
+    }
+
+    private static double logScore(double weight, long atMillis) {
+        return Math.log(weight) + LAMBDA * (atMillis - EPOCH_MILLIS);
+    }
+
+    // ln(e^a + e^b)를 넘치지 않게 계산
+    private static double logAdd(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return System.currentTimeMillis();
+        }
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static class Entry {
+        private final Long id;
+        private final Long pbId;
+        private double logScore;
+
+        private Entry(Long id, Long pbId, double logScore) {
+            this.id = id;
+            this.pbId = pbId;
+            this.logScore = logScore;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.model.Role;
+import kr.co.moneybridge.model.board.BoardBookmarkRepository;
+import kr.co.moneybridge.model.board.BookmarkerRole;
+import kr.co.moneybridge.model.user.UserBookmarkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 회원별로 북마크한 컨텐츠/PB id 집합을 들고 있다가 목록의 isBookmarked를 한 번에 채워줌
+// 처음 조회할 때 회원의 북마크 id를 쿼리 한 번으로 읽어두고, 이후엔 북마크/북마크 취소가 커밋될 때 집합을 고쳐씀
+// 다른 서버 인스턴스에서 생긴 변경은 TTL이 지나면 반영됨
+@RequiredArgsConstructor
+@Component
+public class BookmarkIndex {
+    private static final int MAX_MEMBERS = 10_000;
+    private static final long TTL_MILLIS = 5 * 60 * 1000L;
+
+    private final BoardBookmarkRepository boardBookmarkRepository;
+    private final UserBookmarkRepository userBookmarkRepository;
+
+    private final Map<String, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BookmarkIndex.Entry> eldest) {
+            return size() > MAX_MEMBERS;
+        }
+    };
+    // 조회 쿼리가 도는 사이에 변경이 커밋됐으면 그 결과는 캐시에 넣지 않기 위한 카운터
+    private final AtomicLong version = new AtomicLong();
+
+    // 회원이 북마크한 컨텐츠 id
+    public Set<Long> getBookmarkedBoardIds(Long memberId, BookmarkerRole role) {
+        return get(boardKey(memberId, role),
+                () -> boardBookmarkRepository.findBoardIdsByBookmarker(memberId, role));
+    }
+
+    // 투자자가 북마크한 PB id
+    public Set<Long> getBookmarkedPBIds(Long userId) {
+        return get(pbKey(userId), () -> userBookmarkRepository.findPBIdsByUserId(userId));
+    }
+
+    public void addBoard(Long memberId, BookmarkerRole role, Long boardId) {
+        afterCommit(() -> update(boardKey(memberId, role), boardId, true));
+    }
+
+    public void removeBoard(Long memberId, BookmarkerRole role, Long boardId) {
+        afterCommit(() -> update(boardKey(memberId, role), boardId, false));
+    }
+
+    public void addPB(Long userId, Long pbId) {
+        afterCommit(() -> update(pbKey(userId), pbId, true));
+    }
+
+    public void removePB(Long userId, Long pbId) {
+        afterCommit(() -> update(pbKey(userId), pbId, false));
+    }
+
+    // 탈퇴한 회원의 집합을 버림
+    public void evictMember(Long memberId, Role role) {
+        afterCommit(() -> {
+            version.incrementAndGet();
+            synchronized (cache) {
+                if (role.equals(Role.PB)) {
+                    cache.remove(boardKey(memberId, BookmarkerRole.PB));
+                } else {
+                    cache.remove(boardKey(memberId, BookmarkerRole.USER));
+                    cache.remove(pbKey(memberId));
+                }
+            }
+        });
+    }
+
+    public void clear() {
+        version.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private Set<Long> get(String key, Supplier<List<Long>> loader) {
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry != null && !entry.isExpired()) {
+                return entry.ids;
+            }
+        }
+        long before = version.get();
+        Set<Long> ids = Collections.unmodifiableSet(new HashSet<>(loader.get()));
+        synchronized (cache) {
+            if (version.get() == before) {
+                cache.put(key, new Entry(ids));
+            }
+        }
+        return ids;
+    }
+
+    private void update(String key, Long id, boolean add) {
+        version.incrementAndGet();
+        synchronized (cache) {
+            Entry entry = cache.get(key);
+            if (entry == null) return; // 아직 안 읽은 회원은 다음 조회 때 DB에서 읽음
+            Set<Long> ids = new HashSet<>(entry.ids);
+            if (add) ids.add(id);
+            else ids.remove(id);
+            cache.put(key, new Entry(Collections.unmodifiableSet(ids), entry.loadedAt));
+        }
+    }
+
+    // 롤백된 변경이 캐시에 남지 않도록 커밋 이후에 반영
+    private void afterCommit(Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        } else {
+            runnable.run();
+        }
+    }
+
+    private static String boardKey(Long memberId, BookmarkerRole role) {
+        return "board:" + role + ":" + memberId;
+    }
+
+    private static String pbKey(Long userId) {
+        return "pb:" + userId;
+    }
+
+    private static class Entry {
+        private final Set<Long> ids;
+        private final long loadedAt;
+
+        Entry(Set<Long> ids) {
+            this(ids, System.currentTimeMillis());
+        }
+
+        Entry(Set<Long> ids, long loadedAt) {
+            this.ids = ids;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - loadedAt > TTL_MILLIS;
+        }
+    }
+}
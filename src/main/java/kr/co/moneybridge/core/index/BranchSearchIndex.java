@@ -0,0 +1,144 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.BranchChangedEvent;
+import kr.co.moneybridge.core.util.MyHangulUtil;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.Branch;
+import kr.co.moneybridge.model.pb.BranchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// PB 회원가입 시 지점 검색용 인덱스
+// 지점명/도로명주소/지번주소를 공백 제거한 검색키로 한 번만 만들어 두고, 증권사별로 bigram -> 지점 id 목록을 들고 있음
+// 지점이 추가되면 그 증권사 것만 다시 만들어서 교체함
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BranchSearchIndex {
+    private static final Shard EMPTY = Shard.build(Collections.emptyList());
+
+    private final BranchRepository branchRepository;
+
+    private final Map<Long, Map<Long, Entry>> entries = new HashMap<>(); // companyId -> (branchId -> Entry)
+    private final Map<Long, Shard> shards = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<Branch> branches = branchRepository.findAll();
+        synchronized (this) {
+            entries.clear();
+            branches.forEach(branch -> entries.computeIfAbsent(branch.getCompany().getId(), k -> new HashMap<>())
+                    .put(branch.getId(), new Entry(branch)));
+            shards.clear();
+            entries.forEach((companyId, map) -> shards.put(companyId, Shard.build(map.values())));
+        }
+        log.info("지점 검색 인덱스 적재 : " + branches.size() + "개");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBranchChanged(BranchChangedEvent event) {
+        Optional<Branch> branchOP = branchRepository.findById(event.getBranchId());
+        synchronized (this) {
+            // 다른 증권사로 옮겨졌을 수도 있으니 기존 위치에서 먼저 뺌
+            for (Map.Entry<Long, Map<Long, Entry>> company : entries.entrySet()) {
+                if (company.getValue().remove(event.getBranchId()) != null) {
+                    shards.put(company.getKey(), Shard.build(company.getValue().values()));
+                }
+            }
+            branchOP.ifPresent(branch -> {
+                Map<Long, Entry> map = entries.computeIfAbsent(branch.getCompany().getId(), k -> new HashMap<>());
+                map.put(branch.getId(), new Entry(branch));
+                shards.put(branch.getCompany().getId(), Shard.build(map.values()));
+            });
+        }
+    }
+
+    // 지점명/주소에 검색어가 들어간 지점 한 페이지 - id 오름차순
+    public Page<PBResponse.BranchDTO> search(Long companyId, String keyword, Pageable pageable) {
+        List<PBResponse.BranchDTO> list = shards.getOrDefault(companyId, EMPTY).search(MyHangulUtil.normalize(keyword));
+        int start = (int) Math.min(pageable.getOffset(), list.size());
+        int end = Math.min(start + pageable.getPageSize(), list.size());
+        return new PageImpl<>(new ArrayList<>(list.subList(start, end)), pageable, list.size());
+    }
+
+    private static class Entry {
+        private final PBResponse.BranchDTO dto;
+        private final String[] keys;
+
+        private Entry(Branch branch) {
+            this.dto = new PBResponse.BranchDTO(branch);
+            this.keys = new String[]{
+                    MyHangulUtil.normalize(branch.getName()),
+                    MyHangulUtil.normalize(branch.getRoadAddress()),
+                    MyHangulUtil.normalize(branch.getStreetAddress())};
+        }
+
+        boolean contains(String keyword) {
+            for (String key : keys) {
+                if (key.contains(keyword)) return true;
+            }
+            return false;
+        }
+    }
+
+    private static class Shard {
+        private final Map<Long, Entry> entries;
+        private final Map<String, long[]> postings; // gram -> 오름차순 지점 id
+
+        private Shard(Map<Long, Entry> entries, Map<String, long[]> postings) {
+            this.entries = entries;
+            this.postings = postings;
+        }
+
+        static Shard build(Collection<Entry> list) {
+            Map<Long, Entry> entries = new HashMap<>();
+            Map<String, TreeSet<Long>> grams = new HashMap<>();
+            for (Entry entry : list) {
+                entries.put(entry.dto.getId(), entry);
+                for (String key : entry.keys) {
+                    Set<String> keyGrams = new HashSet<>(MyHangulUtil.bigrams(key));
+                    for (int i = 0; i < key.length(); i++) {
+                        keyGrams.add(key.substring(i, i + 1));
+                    }
+                    keyGrams.forEach(gram -> grams.computeIfAbsent(gram, k -> new TreeSet<>()).add(entry.dto.getId()));
+                }
+            }
+            Map<String, long[]> postings = new HashMap<>();
+            grams.forEach((gram, ids) -> postings.put(gram, ids.stream().mapToLong(Long::longValue).toArray()));
+            return new Shard(entries, postings);
+        }
+
+        List<PBResponse.BranchDTO> search(String keyword) {
+            List<PBResponse.BranchDTO> list = new ArrayList<>();
+            if (keyword.isEmpty()) {
+                return list;
+            }
+            // 가장 짧은 bigram 목록만 훑으면서 실제 포함 여부를 확인
+            long[] candidates = null;
+            for (String gram : MyHangulUtil.bigrams(keyword)) {
+                long[] posting = postings.get(gram);
+                if (posting == null) return list;
+                if (candidates == null || posting.length < candidates.length) candidates = posting;
+            }
+            for (long id : candidates) {
+                Entry entry = entries.get(id);
+                if (entry.contains(keyword)) list.add(entry.dto);
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package kr.co.moneybridge.core.index;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.moneybridge.core.exception.Exception500;
+import kr.co.moneybridge.core.util.MyETagUtil;
+import kr.co.moneybridge.dto.ResponseDTO;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.Company;
+import kr.co.moneybridge.model.pb.CompanyRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 증권사 기준정보의 불변 스냅샷
+// 목록 응답 JSON까지 미리 직렬화해서 ETag와 함께 들고 있음 (증권사는 운영 중에 바뀌지 않으므로 시작할 때 한 번 만듦)
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CompanyCatalog {
+    private final CompanyRepository companyRepository;
+    private final ObjectMapper om;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<Company> companies = companyRepository.findAll();
+        snapshot = build(companies);
+        log.info("증권사 스냅샷 적재 : " + companies.size() + "개");
+    }
+
+    public List<PBResponse.CompanyDTO> getCompanies() {
+        return current().companies;
+    }
+
+    public List<PBResponse.CompanyNameDTO> getCompanyNames() {
+        return current().companyNames;
+    }
+
+    // /companies 응답 본문 - includeLogo에 따라 로고 포함/불포함
+    public SerializedBody getCompaniesBody(boolean includeLogo) {
+        return includeLogo ? current().companiesBody : current().companyNamesBody;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            throw new Exception500("증권사 정보를 아직 불러오지 못했습니다");
+        }
+        return current;
+    }
+
+    private Snapshot build(List<Company> companies) {
+        List<Company> sorted = companies.stream()
+                .sorted(Comparator.comparing(Company::getId))
+                .collect(Collectors.toList());
+        List<PBResponse.CompanyDTO> companyDTOs = sorted.stream()
+                .map(PBResponse.CompanyDTO::new)
+                .collect(Collectors.toUnmodifiableList());
+        List<PBResponse.CompanyNameDTO> companyNameDTOs = sorted.stream()
+                .map(PBResponse.CompanyNameDTO::new)
+                .collect(Collectors.toUnmodifiableList());
+
+        return new Snapshot(companyDTOs, companyNameDTOs,
+                serialize(new ResponseDTO<>(new PBResponse.CompanyOutDTO(companyDTOs))),
+                serialize(new ResponseDTO<>(new PBResponse.CompanyNameOutDTO(companyNameDTOs))));
+    }
+
+    private SerializedBody serialize(Object body) {
+        try {
+            return new SerializedBody(om.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new Exception500("증권사 목록 직렬화 실패 : " + e.getMessage());
+        }
+    }
+
+    // 미리 직렬화한 응답 본문과 내용 기반 ETag
+    @Getter
+    public static class SerializedBody {
+        private final byte[] body;
+        private final String eTag;
+
+        public SerializedBody(byte[] body) {
+            this.body = body;
+            this.eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        }
+
+        public boolean matches(String ifNoneMatch) {
+            return MyETagUtil.matches(eTag, ifNoneMatch);
+        }
+    }
+
+    private static class Snapshot {
+        private final List<PBResponse.CompanyDTO> companies;
+        private final List<PBResponse.CompanyNameDTO> companyNames;
+        private final SerializedBody companiesBody;
+        private final SerializedBody companyNamesBody;
+
+        private Snapshot(List<PBResponse.CompanyDTO> companies, List<PBResponse.CompanyNameDTO> companyNames,
+                         SerializedBody companiesBody, SerializedBody companyNamesBody) {
+            this.companies = companies;
+            this.companyNames = companyNames;
+            this.companiesBody = companiesBody;
+            this.companyNamesBody = companyNamesBody;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.util.MyGeoUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+
+// 위도/경도를 단위구 위의 3차원 좌표로 바꿔서 만든 불변 k-d 트리
+// 3차원 직선거리(현의 길이)는 대권거리와 단조 관계라서 박스 하한으로 최근접 탐색 가지치기가 가능함
+// 한 번 만든 트리는 수정하지 않고, 변경이 생기면 새로 만들어서 통째로 교체함
+public class GeoKdTree {
+    private final long[] ids;
+    private final double[] points; // 트리 순서대로 x, y, z
+    private final double[] boxes; // 노드(=구간의 중앙 인덱스)별 minX, minY, minZ, maxX, maxY, maxZ
+    private final byte[] axes;
+
+    private GeoKdTree(long[] ids, double[] points, double[] boxes, byte[] axes) {
+        this.ids = ids;
+        this.points = points;
+        this.boxes = boxes;
+        this.axes = axes;
+    }
+
+    public static GeoKdTree build(long[] ids, double[] latitudes, double[] longitudes) {
+        int n = ids.length;
+        double[] xyz = new double[n * 3];
+        for (int i = 0; i < n; i++) {
+            toXYZ(latitudes[i], longitudes[i], xyz, i * 3);
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+
+        byte[] axes = new byte[n];
+        double[] boxes = new double[n * 6];
+        split(order, xyz, axes, boxes, 0, n);
+
+        long[] sortedIds = new long[n];
+        double[] sortedPoints = new double[n * 3];
+        for (int i = 0; i < n; i++) {
+            sortedIds[i] = ids[order[i]];
+            System.arraycopy(xyz, order[i] * 3, sortedPoints, i * 3, 3);
+        }
+        return new GeoKdTree(sortedIds, sortedPoints, boxes, axes);
+    }
+
+    private static void split(Integer[] order, double[] xyz, byte[] axes, double[] boxes, int lo, int hi) {
+        if (lo >= hi) return;
+        int mid = (lo + hi) >>> 1;
+
+        double[] min = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+        double[] max = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (int i = lo; i < hi; i++) {
+            for (int a = 0; a < 3; a++) {
+                double v = xyz[order[i] * 3 + a];
+                if (v < min[a]) min[a] = v;
+                if (v > max[a]) max[a] = v;
+            }
+        }
+        // 가장 넓게 퍼진 축으로 나눔
+        int axis = 0;
+        for (int a = 1; a < 3; a++) {
+            if (max[a] - min[a] > max[axis] - min[axis]) axis = a;
+        }
+        for (int a = 0; a < 3; a++) {
+            boxes[mid * 6 + a] = min[a];
+            boxes[mid * 6 + 3 + a] = max[a];
+        }
+        axes[mid] = (byte) axis;
+
+        final int sortAxis = axis;
+        Arrays.sort(order, lo, hi, Comparator.comparingDouble(i -> xyz[i * 3 + sortAxis]));
+        split(order, xyz, axes, boxes, lo, mid);
+        split(order, xyz, axes, boxes, mid + 1, hi);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // 가까운 순서대로 하나씩 꺼내는 best-first 탐색
+    // k개를 꺼내는 비용은 트리 전체를 정렬하지 않고 O(k log n) 수준
+    public Iterator<Neighbor> nearest(double latitude, double longitude) {
+        double[] q = new double[3];
+        toXYZ(latitude, longitude, q, 0);
+        return new NearestIterator(q);
+    }
+
+    // 거리순으로 offset 만큼 건너뛰고 limit 개를 가져옴
+    public List<Neighbor> nearest(double latitude, double longitude, long offset, int limit) {
+        List<Neighbor> list = new ArrayList<>(Math.max(0, Math.min(limit, size())));
+        Iterator<Neighbor> iterator = nearest(latitude, longitude);
+        long skipped = 0;
+        while (iterator.hasNext() && list.size() < limit) {
+            Neighbor neighbor = iterator.next();
+            if (skipped++ < offset) continue;
+            list.add(neighbor);
+        }
+        return list;
+    }
+
+    private static void toXYZ(double latitude, double longitude, double[] out, int offset) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        out[offset] = cosLat * Math.cos(lon);
+        out[offset + 1] = cosLat * Math.sin(lon);
+        out[offset + 2] = Math.sin(lat);
+    }
+
+    // 단위구 위 두 점 사이 현의 길이(제곱) -> 대권거리(km)
+    private static double toKm(double chordSquared) {
+        double chord = Math.sqrt(chordSquared);
+        return 2 * Math.asin(Math.min(1.0, chord / 2)) * MyGeoUtil.EARTH_RADIUS_KM;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Neighbor {
+        private final long id;
+        private final double distance; // km
+    }
+
+    private class NearestIterator implements Iterator<Neighbor> {
+        private final double[] q;
+        private final PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        private Neighbor next;
+
+        NearestIterator(double[] q) {
+            this.q = q;
+            if (ids.length > 0) {
+                queue.add(node(0, ids.length));
+            }
+        }
+
+        private Candidate node(int lo, int hi) {
+            int mid = (lo + hi) >>> 1;
+            double d = 0;
+            for (int a = 0; a < 3; a++) {
+                double min = boxes[mid * 6 + a];
+                double max = boxes[mid * 6 + 3 + a];
+                double v = q[a] < min ? min - q[a] : (q[a] > max ? q[a] - max : 0);
+                d += v * v;
+            }
+            return new Candidate(d, lo, hi, -1);
+        }
+
+        private Candidate point(int index) {
+            double d = 0;
+            for (int a = 0; a < 3; a++) {
+                double v = points[index * 3 + a] - q[a];
+                d += v * v;
+            }
+            return new Candidate(d, index, index + 1, index);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !queue.isEmpty()) {
+                Candidate candidate = queue.poll();
+                if (candidate.point >= 0) {
+                    next = new Neighbor(ids[candidate.point], toKm(candidate.distance));
+                    break;
+                }
+                int mid = (candidate.lo + candidate.hi) >>> 1;
+                queue.add(point(mid));
+                if (candidate.lo < mid) queue.add(node(candidate.lo, mid));
+                if (mid + 1 < candidate.hi) queue.add(node(mid + 1, candidate.hi));
+            }
+            return next != null;
+        }
+
+        @Override
+        public Neighbor next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Neighbor neighbor = next;
+            next = null;
+            return neighbor;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Candidate implements Comparable<Candidate> {
+        private final double distance;
+        private final int lo;
+        private final int hi;
+        private final int point; // 노드면 -1
+
+        @Override
+        public int compareTo(Candidate o) {
+            int c = Double.compare(distance, o.distance);
+            if (c != 0) return c;
+            // 같은 거리면 실제 점을 먼저 꺼내서 결과를 빨리 확정
+            return Integer.compare(o.point >= 0 ? 1 : 0, point >= 0 ? 1 : 0);
+        }
+    }
+}
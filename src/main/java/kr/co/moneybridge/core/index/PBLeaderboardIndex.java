@@ -0,0 +1,282 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.PBSpeciality;
+import kr.co.moneybridge.model.pb.PortfolioMetric;
+import kr.co.moneybridge.model.pb.PortfolioRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// ACTIVE PB의 포트폴리오 지표별 순위 인덱스
+// 지표마다 전체/전문분야별/증권사별로 (정렬키, id) 순서의 배열을 들고 있어서, 한 페이지는 배열을 잘라오기만 하고
+// 같은 값의 공동 순위는 페이지 첫 행만 이분탐색으로 구함 - O(log n + page)
+// PB 변경(프로필 수정으로 지표가 바뀜/승인/탈퇴)이 커밋되면 해당 PB만 다시 읽어서,
+// 그 PB가 들어있는 배열만 이분탐색한 자리에서 빼고/넣은 새 배열로 바꿔 끼움 (나머지 배열은 그대로 공유)
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PBLeaderboardIndex {
+    private final PortfolioRepository portfolioRepository;
+
+    private final Map<Long, PBResponse.PBPortfolioRankDTO> entries = new ConcurrentHashMap<>();
+    private volatile Map<PortfolioMetric, Boards> boards = build(Collections.emptyList());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<PBResponse.PBPortfolioRankDTO> list = portfolioRepository.findAllRanks();
+        synchronized (this) {
+            entries.clear();
+            list.forEach(dto -> entries.put(dto.getId(), dto));
+            boards = build(entries.values());
+        }
+        log.info("PB 포트폴리오 순위 인덱스 적재 : " + list.size() + "명");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPBChanged(PBChangedEvent event) {
+        Optional<PBResponse.PBPortfolioRankDTO> dtoOP = portfolioRepository.findRankByPbId(event.getPbId());
+        synchronized (this) {
+            PBResponse.PBPortfolioRankDTO old = dtoOP.isPresent()
+                    ? entries.put(event.getPbId(), dtoOP.get())
+                    : entries.remove(event.getPbId());
+            if (old == null && dtoOP.isEmpty()) {
+                return; // 포트폴리오가 없거나 ACTIVE가 아닌 PB
+            }
+            Map<PortfolioMetric, Boards> next = new EnumMap<>(PortfolioMetric.class);
+            for (PortfolioMetric metric : PortfolioMetric.values()) {
+                Boards current = boards.get(metric);
+                if (old != null) current = current.change(old, metric, false);
+                if (dtoOP.isPresent()) current = current.change(dtoOP.get(), metric, true);
+                next.put(metric, current);
+            }
+            boards = next;
+        }
+    }
+
+    // 지표 순위 한 페이지 - speciality, companyId는 둘 중 하나만 주거나 둘 다 null, 지표 값이 없는 PB는 빠짐
+    public Page<Entry> findRanked(PortfolioMetric metric, PBSpeciality speciality, Long companyId, Pageable pageable) {
+        Board board = boards.get(metric).select(speciality, companyId);
+        List<Entry> list = board.page(metric, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(list, pageable, board.size());
+    }
+
+    public int size(PortfolioMetric metric) {
+        return boards.get(metric).all.size();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final Long id;
+        private final Long rank;
+        private final Double value;
+    }
+
+    private static Map<PortfolioMetric, Boards> build(Collection<PBResponse.PBPortfolioRankDTO> list) {
+        Map<PortfolioMetric, Boards> boards = new EnumMap<>(PortfolioMetric.class);
+        for (PortfolioMetric metric : PortfolioMetric.values()) {
+            boards.put(metric, Boards.build(list, metric));
+        }
+        return boards;
+    }
+
+    // 높을수록 좋은 지표는 부호를 뒤집어서 모든 배열이 오름차순이 되게 함 (+ 0.0 으로 -0.0을 0.0으로 맞춤)
+    private static double keyOf(double value, PortfolioMetric metric) {
+        return (metric.isAscending() ? value : -value) + 0.0;
+    }
+
+    // 같은 값이면 최근 가입(큰 id) 먼저
+    private static int compare(double key1, long id1, double key2, long id2) {
+        int cmp = Double.compare(key1, key2);
+        return cmp != 0 ? cmp : Long.compare(id2, id1);
+    }
+
+    private static List<PBSpeciality> specialitiesOf(PBResponse.PBPortfolioRankDTO dto) {
+        List<PBSpeciality> specialities = new ArrayList<>(2);
+        if (dto.getSpeciality1() != null) {
+            specialities.add(dto.getSpeciality1());
+        }
+        if (dto.getSpeciality2() != null && dto.getSpeciality2() != dto.getSpeciality1()) {
+            specialities.add(dto.getSpeciality2());
+        }
+        return specialities;
+    }
+
+    // 한 지표의 전체/전문분야별/증권사별 순위 배열 - 바꿀 때는 새 객체를 만듦
+    private static class Boards {
+        private final Board all;
+        private final Map<PBSpeciality, Board> bySpeciality;
+        private final Map<Long, Board> byCompany;
+
+        private Boards(Board all, Map<PBSpeciality, Board> bySpeciality, Map<Long, Board> byCompany) {
+            this.all = all;
+            this.bySpeciality = bySpeciality;
+            this.byCompany = byCompany;
+        }
+
+        static Boards build(Collection<PBResponse.PBPortfolioRankDTO> list, PortfolioMetric metric) {
+            Map<PBSpeciality, List<PBResponse.PBPortfolioRankDTO>> specialityGroups = new EnumMap<>(PBSpeciality.class);
+            Map<Long, List<PBResponse.PBPortfolioRankDTO>> companyGroups = new HashMap<>();
+            for (PBResponse.PBPortfolioRankDTO dto : list) {
+                for (PBSpeciality speciality : specialitiesOf(dto)) {
+                    specialityGroups.computeIfAbsent(speciality, k -> new ArrayList<>()).add(dto);
+                }
+                companyGroups.computeIfAbsent(dto.getCompanyId(), k -> new ArrayList<>()).add(dto);
+            }
+            Map<PBSpeciality, Board> bySpeciality = new EnumMap<>(PBSpeciality.class);
+            specialityGroups.forEach((speciality, group) -> bySpeciality.put(speciality, Board.of(group, metric)));
+            Map<Long, Board> byCompany = new HashMap<>();
+            companyGroups.forEach((companyId, group) -> byCompany.put(companyId, Board.of(group, metric)));
+            return new Boards(Board.of(list, metric), bySpeciality, byCompany);
+        }
+
+        Board select(PBSpeciality speciality, Long companyId) {
+            if (speciality != null) return bySpeciality.getOrDefault(speciality, Board.EMPTY);
+            if (companyId != null) return byCompany.getOrDefault(companyId, Board.EMPTY);
+            return all;
+        }
+
+        // 이 PB가 들어가는 배열만 새로 만들고 나머지는 그대로 공유, 지표 값이 없으면 어느 배열에도 없음
+        Boards change(PBResponse.PBPortfolioRankDTO dto, PortfolioMetric metric, boolean insert) {
+            Double value = dto.valueOf(metric);
+            if (value == null) return this;
+            double key = keyOf(value, metric);
+            long id = dto.getId();
+
+            Map<PBSpeciality, Board> specialities = new EnumMap<>(PBSpeciality.class);
+            specialities.putAll(bySpeciality);
+            for (PBSpeciality speciality : specialitiesOf(dto)) {
+                put(specialities, speciality, specialities.getOrDefault(speciality, Board.EMPTY).change(key, id, insert));
+            }
+            Map<Long, Board> companies = new HashMap<>(byCompany);
+            put(companies, dto.getCompanyId(), companies.getOrDefault(dto.getCompanyId(), Board.EMPTY).change(key, id, insert));
+            return new Boards(all.change(key, id, insert), specialities, companies);
+        }
+
+        private static <K> void put(Map<K, Board> map, K key, Board board) {
+            if (board.size() == 0) {
+                map.remove(key);
+            } else {
+                map.put(key, board);
+            }
+        }
+    }
+
+    // (정렬키, id) 순서로 정렬된 배열 한 쌍 - 불변
+    private static class Board {
+        private static final Board EMPTY = new Board(new long[0], new double[0]);
+
+        private final long[] ids;
+        private final double[] keys;
+
+        private Board(long[] ids, double[] keys) {
+            this.ids = ids;
+            this.keys = keys;
+        }
+
+        static Board of(Collection<PBResponse.PBPortfolioRankDTO> list, PortfolioMetric metric) {
+            List<PBResponse.PBPortfolioRankDTO> ranked = list.stream()
+                    .filter(dto -> dto.valueOf(metric) != null)
+                    .sorted((a, b) -> compare(keyOf(a.valueOf(metric), metric), a.getId(),
+                            keyOf(b.valueOf(metric), metric), b.getId()))
+                    .collect(Collectors.toList());
+            long[] ids = new long[ranked.size()];
+            double[] keys = new double[ranked.size()];
+            for (int i = 0; i < ranked.size(); i++) {
+                ids[i] = ranked.get(i).getId();
+                keys[i] = keyOf(ranked.get(i).valueOf(metric), metric);
+            }
+            return new Board(ids, keys);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        // offset부터 size개, 같은 값은 같은 순위 - 페이지 첫 행만 이분탐색하고 나머지는 앞 행과 값이 같은지만 봄
+        List<Entry> page(PortfolioMetric metric, long offset, int size) {
+            int start = (int) Math.min(offset, ids.length);
+            int end = Math.min(start + size, ids.length);
+            List<Entry> list = new ArrayList<>(end - start);
+            long rank = 0;
+            for (int i = start; i < end; i++) {
+                if (i == start) {
+                    rank = lowerBound(keys[i]) + 1;
+                } else if (keys[i] != keys[i - 1]) {
+                    rank = i + 1;
+                }
+                list.add(new Entry(ids[i], rank, (metric.isAscending() ? keys[i] : -keys[i]) + 0.0));
+            }
+            return list;
+        }
+
+        // 넣거나 뺀 새 배열, 이미 있거나(넣기) 없으면(빼기) 그대로
+        Board change(double key, long id, boolean insert) {
+            int index = search(key, id);
+            if (insert == index >= 0) return this;
+            int n = ids.length;
+            if (insert) {
+                index = -index - 1;
+                long[] newIds = new long[n + 1];
+                double[] newKeys = new double[n + 1];
+                System.arraycopy(ids, 0, newIds, 0, index);
+                System.arraycopy(keys, 0, newKeys, 0, index);
+                newIds[index] = id;
+                newKeys[index] = key;
+                System.arraycopy(ids, index, newIds, index + 1, n - index);
+                System.arraycopy(keys, index, newKeys, index + 1, n - index);
+                return new Board(newIds, newKeys);
+            }
+            if (n == 1) return EMPTY;
+            long[] newIds = new long[n - 1];
+            double[] newKeys = new double[n - 1];
+            System.arraycopy(ids, 0, newIds, 0, index);
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(ids, index + 1, newIds, index, n - index - 1);
+            System.arraycopy(keys, index + 1, newKeys, index, n - index - 1);
+            return new Board(newIds, newKeys);
+        }
+
+        // 있으면 위치, 없으면 -(넣을 위치) - 1
+        private int search(double key, long id) {
+            int low = 0, high = ids.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(keys[mid], ids[mid], key, id);
+                if (cmp < 0) low = mid + 1;
+                else if (cmp > 0) high = mid - 1;
+                else return mid;
+            }
+            return -(low + 1);
+        }
+
+        // key가 처음 나오는 위치
+        private int lowerBound(double key) {
+            int low = 0, high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Double.compare(keys[mid], key) < 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.PBRepository;
+import kr.co.moneybridge.model.pb.PBSpeciality;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// ACTIVE PB들의 지점 좌표로 만든 거리순 인덱스
+// 전체/전문분야별/증권사별 트리를 한 스냅샷으로 들고 있고, PB 변경이 커밋되면 해당 PB만 다시 읽어서 스냅샷을 교체함
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PBLocationIndex {
+    private final PBRepository pbRepository;
+
+    private final Map<Long, PBResponse.PBLocationDTO> locations = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.build(Collections.emptyList());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<PBResponse.PBLocationDTO> list = pbRepository.findAllLocations();
+        synchronized (this) {
+            locations.clear();
+            list.forEach(location -> locations.put(location.getId(), location));
+            snapshot = Snapshot.build(locations.values());
+        }
+        log.info("PB 거리순 인덱스 적재 : " + list.size() + "명");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPBChanged(PBChangedEvent event) {
+        Optional<PBResponse.PBLocationDTO> locationOP = pbRepository.findLocationById(event.getPbId());
+        synchronized (this) {
+            if (locationOP.isPresent()) {
+                locations.put(event.getPbId(), locationOP.get());
+            } else if (locations.remove(event.getPbId()) == null) {
+                return; // 인덱스에 없던 PENDING PB의 삭제 등은 스냅샷 교체 불필요
+            }
+            snapshot = Snapshot.build(locations.values());
+        }
+    }
+
+    // 거리순 PB id 한 페이지 - speciality, companyId는 둘 중 하나만 주거나 둘 다 null
+    public Page<Long> findNearest(double latitude, double longitude, PBSpeciality speciality, Long companyId, Pageable pageable) {
+        GeoKdTree tree = snapshot.select(speciality, companyId);
+        List<Long> ids = tree.nearest(latitude, longitude, pageable.getOffset(), pageable.getPageSize()).stream()
+                .map(GeoKdTree.Neighbor::getId)
+                .collect(Collectors.toList());
+        return new PageImpl<>(ids, pageable, tree.size());
+    }
+
+    public int size() {
+        return snapshot.all.size();
+    }
+
+    private static class Snapshot {
+        private static final GeoKdTree EMPTY = GeoKdTree.build(new long[0], new double[0], new double[0]);
+
+        private final GeoKdTree all;
+        private final Map<PBSpeciality, GeoKdTree> bySpeciality;
+        private final Map<Long, GeoKdTree> byCompany;
+
+        private Snapshot(GeoKdTree all, Map<PBSpeciality, GeoKdTree> bySpeciality, Map<Long, GeoKdTree> byCompany) {
+            this.all = all;
+            this.bySpeciality = bySpeciality;
+            this.byCompany = byCompany;
+        }
+
+        static Snapshot build(Collection<PBResponse.PBLocationDTO> locations) {
+            List<PBResponse.PBLocationDTO> list = new ArrayList<>(locations);
+            Map<PBSpeciality, List<PBResponse.PBLocationDTO>> specialityGroups = new EnumMap<>(PBSpeciality.class);
+            Map<Long, List<PBResponse.PBLocationDTO>> companyGroups = new HashMap<>();
+            for (PBResponse.PBLocationDTO location : list) {
+                if (location.getSpeciality1() != null) {
+                    specialityGroups.computeIfAbsent(location.getSpeciality1(), k -> new ArrayList<>()).add(location);
+                }
+                if (location.getSpeciality2() != null && location.getSpeciality2() != location.getSpeciality1()) {
+                    specialityGroups.computeIfAbsent(location.getSpeciality2(), k -> new ArrayList<>()).add(location);
+                }
+                companyGroups.computeIfAbsent(location.getCompanyId(), k -> new ArrayList<>()).add(location);
+            }
+
+            Map<PBSpeciality, GeoKdTree> bySpeciality = new EnumMap<>(PBSpeciality.class);
+            specialityGroups.forEach((speciality, group) -> bySpeciality.put(speciality, toTree(group)));
+            Map<Long, GeoKdTree> byCompany = new HashMap<>();
+            companyGroups.forEach((companyId, group) -> byCompany.put(companyId, toTree(group)));
+            return new Snapshot(toTree(list), bySpeciality, byCompany);
+        }
+
+        private static GeoKdTree toTree(List<PBResponse.PBLocationDTO> list) {
+            int n = list.size();
+            long[] ids = new long[n];
+            double[] latitudes = new double[n];
+            double[] longitudes = new double[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = list.get(i).getId();
+                latitudes[i] = list.get(i).getLatitude();
+                longitudes[i] = list.get(i).getLongitude();
+            }
+            return GeoKdTree.build(ids, latitudes, longitudes);
+        }
+
+        GeoKdTree select(PBSpeciality speciality, Long companyId) {
+            if (speciality != null) return bySpeciality.getOrDefault(speciality, EMPTY);
+            if (companyId != null) return byCompany.getOrDefault(companyId, EMPTY);
+            return all;
+        }
+    }
+}
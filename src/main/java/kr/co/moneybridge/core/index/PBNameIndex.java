@@ -0,0 +1,207 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.util.MyHangulUtil;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.PBRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// ACTIVE PB 이름 검색용 역색인
+// 음절 bigram(한 글자 검색용 unigram 포함) -> PB id 목록으로 부분일치를, 자모로 풀어쓴 이름의 정렬 배열로 입력 중 접두어 일치를 찾음
+// PB 변경(승인/프로필 수정/탈퇴)이 커밋되면 해당 PB만 다시 읽어서 스냅샷을 교체함
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PBNameIndex {
+    private final PBRepository pbRepository;
+
+    private final Map<Long, PBResponse.PBNameDTO> entries = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = Snapshot.build(Collections.emptyList());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<PBResponse.PBNameDTO> list = pbRepository.findAllNames();
+        synchronized (this) {
+            entries.clear();
+            list.forEach(dto -> entries.put(dto.getId(), dto));
+            snapshot = Snapshot.build(entries.values());
+        }
+        log.info("PB 이름 검색 인덱스 적재 : " + list.size() + "명");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPBChanged(PBChangedEvent event) {
+        Optional<PBResponse.PBNameDTO> dtoOP = pbRepository.findNameById(event.getPbId());
+        synchronized (this) {
+            if (dtoOP.isPresent()) {
+                entries.put(event.getPbId(), dtoOP.get());
+            } else if (entries.remove(event.getPbId()) == null) {
+                return;
+            }
+            snapshot = Snapshot.build(entries.values());
+        }
+    }
+
+    // 이름에 검색어가 들어간 PB id 한 페이지
+    // 이름 전체 일치 > 접두어 일치 > 앞쪽에서 일치 > 짧은 이름 > 최신 가입 순
+    public Page<Long> search(String query, Pageable pageable) {
+        List<Long> ids = snapshot.search(MyHangulUtil.normalize(query));
+        int start = (int) Math.min(pageable.getOffset(), ids.size());
+        int end = Math.min(start + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(new ArrayList<>(ids.subList(start, end)), pageable, ids.size());
+    }
+
+    // 자동완성 - 입력 중인 글자까지 자모 단위로 접두어 일치하는 이름을 먼저, 남는 자리는 부분일치로 채움
+    public List<PBResponse.PBNameDTO> autocomplete(String query, int limit) {
+        String normalized = MyHangulUtil.normalize(query);
+        if (normalized.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Snapshot current = snapshot;
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(current.prefix(MyHangulUtil.decompose(normalized), limit));
+        for (Long id : current.search(normalized)) {
+            if (ids.size() >= limit) break;
+            ids.add(id);
+        }
+        return ids.stream()
+                .map(current.entries::get)
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return snapshot.entries.size();
+    }
+
+    private static class Snapshot {
+        private static final long[] EMPTY = new long[0];
+
+        private final Map<Long, PBResponse.PBNameDTO> entries;
+        private final Map<Long, String> names; // normalize된 이름
+        private final Map<String, long[]> postings; // gram -> 오름차순 id
+        private final String[] jamoKeys; // 자모로 풀어쓴 이름, 오름차순
+        private final long[] jamoIds;
+
+        private Snapshot(Map<Long, PBResponse.PBNameDTO> entries, Map<Long, String> names,
+                         Map<String, long[]> postings, String[] jamoKeys, long[] jamoIds) {
+            this.entries = entries;
+            this.names = names;
+            this.postings = postings;
+            this.jamoKeys = jamoKeys;
+            this.jamoIds = jamoIds;
+        }
+
+        static Snapshot build(Collection<PBResponse.PBNameDTO> list) {
+            Map<Long, PBResponse.PBNameDTO> entries = new HashMap<>();
+            Map<Long, String> names = new HashMap<>();
+            Map<String, List<Long>> grams = new HashMap<>();
+            List<PBResponse.PBNameDTO> sorted = list.stream()
+                    .sorted(Comparator.comparing(PBResponse.PBNameDTO::getId))
+                    .collect(Collectors.toList());
+            for (PBResponse.PBNameDTO dto : sorted) {
+                String name = MyHangulUtil.normalize(dto.getName());
+                entries.put(dto.getId(), dto);
+                names.put(dto.getId(), name);
+                Set<String> keys = new HashSet<>(MyHangulUtil.bigrams(name));
+                for (int i = 0; i < name.length(); i++) {
+                    keys.add(name.substring(i, i + 1));
+                }
+                keys.forEach(key -> grams.computeIfAbsent(key, k -> new ArrayList<>()).add(dto.getId()));
+            }
+            Map<String, long[]> postings = new HashMap<>();
+            grams.forEach((key, ids) -> postings.put(key, ids.stream().mapToLong(Long::longValue).toArray()));
+
+            List<Map.Entry<String, Long>> jamo = names.entrySet().stream()
+                    .map(e -> Map.entry(MyHangulUtil.decompose(e.getValue()), e.getKey()))
+                    .sorted(Map.Entry.<String, Long>comparingByKey().thenComparing(Map.Entry.comparingByValue()))
+                    .collect(Collectors.toList());
+            String[] jamoKeys = new String[jamo.size()];
+            long[] jamoIds = new long[jamo.size()];
+            for (int i = 0; i < jamo.size(); i++) {
+                jamoKeys[i] = jamo.get(i).getKey();
+                jamoIds[i] = jamo.get(i).getValue();
+            }
+            return new Snapshot(entries, names, postings, jamoKeys, jamoIds);
+        }
+
+        List<Long> search(String query) {
+            if (query.isEmpty()) {
+                return names.keySet().stream()
+                        .sorted(Comparator.reverseOrder())
+                        .collect(Collectors.toList());
+            }
+            // bigram만으로는 연속 여부를 보장 못하니 후보를 뽑은 뒤 실제 포함 여부를 확인
+            long[] candidates = null;
+            for (String gram : MyHangulUtil.bigrams(query)) {
+                long[] posting = postings.getOrDefault(gram, EMPTY);
+                candidates = candidates == null ? posting : intersect(candidates, posting);
+                if (candidates.length == 0) break;
+            }
+            List<Long> ids = new ArrayList<>();
+            for (long id : candidates) {
+                if (names.get(id).contains(query)) ids.add(id);
+            }
+            ids.sort(Comparator.comparingInt((Long id) -> rank(names.get(id), query))
+                    .thenComparingInt(id -> names.get(id).indexOf(query))
+                    .thenComparingInt(id -> names.get(id).length())
+                    .thenComparing(Comparator.reverseOrder()));
+            return ids;
+        }
+
+        // 자모 접두어가 일치하는 이름들 중 짧은 이름 > 최신 가입 순으로 limit개
+        List<Long> prefix(String jamoQuery, int limit) {
+            int low = 0, high = jamoKeys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (jamoKeys[mid].compareTo(jamoQuery) < 0) low = mid + 1;
+                else high = mid;
+            }
+            List<Integer> matched = new ArrayList<>();
+            for (int i = low; i < jamoKeys.length && jamoKeys[i].startsWith(jamoQuery); i++) {
+                matched.add(i);
+            }
+            return matched.stream()
+                    .sorted(Comparator.comparingInt((Integer i) -> jamoKeys[i].length())
+                            .thenComparing(i -> -jamoIds[i]))
+                    .limit(limit)
+                    .map(i -> jamoIds[i])
+                    .collect(Collectors.toList());
+        }
+
+        private static int rank(String name, String query) {
+            if (name.equals(query)) return 0;
+            if (name.startsWith(query)) return 1;
+            return 2;
+        }
+
+        private static long[] intersect(long[] a, long[] b) {
+            long[] result = new long[Math.min(a.length, b.length)];
+            int i = 0, j = 0, n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) i++;
+                else if (a[i] > b[j]) j++;
+                else {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.PBRepository;
+import kr.co.moneybridge.model.pb.PBSpeciality;
+import kr.co.moneybridge.model.user.UserPropensity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 투자성향별로 추천 가능한 ACTIVE PB id를 long[]로 들고 있는 풀
+// PB 전문분야/상태가 바뀌면 해당 PB만 다시 읽어서 배열들을 새로 만들어 교체함
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PBPropensityPool {
+    private final PBRepository pbRepository;
+
+    private final Map<Long, PBResponse.PBSpecialityDTO> specialities = new ConcurrentHashMap<>();
+    private volatile Map<UserPropensity, long[]> pools = build(Collections.emptyList());
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<PBResponse.PBSpecialityDTO> list = pbRepository.findAllSpecialities();
+        synchronized (this) {
+            specialities.clear();
+            list.forEach(dto -> specialities.put(dto.getId(), dto));
+            pools = build(specialities.values());
+        }
+        log.info("투자성향별 PB 풀 적재 : " + list.size() + "명");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPBChanged(PBChangedEvent event) {
+        Optional<PBResponse.PBSpecialityDTO> dtoOP = pbRepository.findSpecialityById(event.getPbId());
+        synchronized (this) {
+            if (dtoOP.isPresent()) {
+                specialities.put(event.getPbId(), dtoOP.get());
+            } else if (specialities.remove(event.getPbId()) == null) {
+                return;
+            }
+            pools = build(specialities.values());
+        }
+    }
+
+    // 풀에서 서로 다른 id를 최대 k개 무작위로 뽑음 - 풀 크기와 상관없이 O(k)
+    public List<Long> sample(UserPropensity propensity, int k) {
+        long[] pool = pools.get(propensity);
+        int n = pool.length;
+        int count = Math.min(k, n);
+        // Floyd 알고리즘 - [0, n)에서 중복 없는 인덱스 count개
+        Random random = ThreadLocalRandom.current();
+        Set<Integer> picked = new LinkedHashSet<>();
+        for (int j = n - count; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            if (!picked.add(t)) picked.add(j);
+        }
+        List<Long> ids = new ArrayList<>(count);
+        for (int index : picked) {
+            ids.add(pool[index]);
+        }
+        return ids;
+    }
+
+    public int size(UserPropensity propensity) {
+        return pools.get(propensity).length;
+    }
+
+    // 공격형 - 전문분야가 부동산만 아니면 됨
+    // 적극형 - 전문분야가 부동산과 파생만 아니면 됨
+    // 그 외 - 전문분야가 채권, 펀드, 랩 중에 하나를 가지면 됨
+    static boolean isEligible(UserPropensity propensity, PBSpeciality speciality1, PBSpeciality speciality2) {
+        if (propensity.equals(UserPropensity.SPECULATIVE)) {
+            return none(speciality1, speciality2, EnumSet.of(PBSpeciality.REAL_ESTATE));
+        }
+        if (propensity.equals(UserPropensity.AGGRESSIVE)) {
+            return none(speciality1, speciality2, EnumSet.of(PBSpeciality.REAL_ESTATE, PBSpeciality.DERIVATIVE));
+        }
+        EnumSet<PBSpeciality> safe = EnumSet.of(PBSpeciality.FUND, PBSpeciality.BOND, PBSpeciality.WRAP);
+        return safe.contains(speciality1) || safe.contains(speciality2);
+    }
+
+    private static boolean none(PBSpeciality speciality1, PBSpeciality speciality2, EnumSet<PBSpeciality> excluded) {
+        return (speciality1 == null || !excluded.contains(speciality1))
+                && (speciality2 == null || !excluded.contains(speciality2));
+    }
+
+    private static Map<UserPropensity, long[]> build(Collection<PBResponse.PBSpecialityDTO> list) {
+        Map<UserPropensity, long[]> pools = new EnumMap<>(UserPropensity.class);
+        for (UserPropensity propensity : UserPropensity.values()) {
+            pools.put(propensity, list.stream()
+                    .filter(dto -> isEligible(propensity, dto.getSpeciality1(), dto.getSpeciality2()))
+                    .mapToLong(PBResponse.PBSpecialityDTO::getId)
+                    .sorted()
+                    .toArray());
+        }
+        return pools;
+    }
+}
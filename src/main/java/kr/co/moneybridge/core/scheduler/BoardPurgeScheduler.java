@@ -0,0 +1,59 @@
+package kr.co.moneybridge.core.scheduler;
+
+import kr.co.moneybridge.service.BoardPurgeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 삭제 대기(DELETED) 컨텐츠 정리
+// 묶음마다 트랜잭션을 따로 써서 잠금을 짧게 잡고, 묶음이 실패하면 한 건씩 다시 지워서 문제 있는 컨텐츠만 남김
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class BoardPurgeScheduler {
+    private final BoardPurgeService boardPurgeService;
+
+    @Scheduled(fixedDelayString = "${BOARD_PURGE_MS:10000}")
+    public synchronized void purge() {
+        Long cursor = 0L;
+        while (true) {
+            List<Long> ids = boardPurgeService.findPurgeTargets(cursor);
+            if (ids.isEmpty()) {
+                return;
+            }
+            cursor = ids.get(ids.size() - 1);
+            purgeChunk(ids.stream().filter(id -> !boardPurgeService.isGivenUp(id)).collect(Collectors.toList()));
+            if (ids.size() < BoardPurgeService.CHUNK_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private void purgeChunk(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            boardPurgeService.purge(ids);
+            boardPurgeService.recordPurged(ids);
+        } catch (Exception e) {
+            log.warn("컨텐츠 묶음 정리 실패, 한 건씩 재시도 : " + e.getMessage());
+            ids.forEach(this::purgeOne);
+        }
+    }
+
+    private void purgeOne(Long id) {
+        List<Long> ids = Collections.singletonList(id);
+        try {
+            boardPurgeService.purge(ids);
+            boardPurgeService.recordPurged(ids);
+        } catch (Exception e) {
+            boardPurgeService.recordFailure(id, e);
+        }
+    }
+}
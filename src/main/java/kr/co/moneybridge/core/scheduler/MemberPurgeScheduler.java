@@ -0,0 +1,31 @@
+package kr.co.moneybridge.core.scheduler;
+
+import kr.co.moneybridge.service.MemberPurgeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 탈퇴 계정 정리
+// 묶음마다 트랜잭션을 따로 커밋해서 잠금을 짧게 잡고, 실패하면 그 계정은 다음 주기에 저장된 단계부터 재시도
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class MemberPurgeScheduler {
+    private final MemberPurgeService memberPurgeService;
+
+    @Scheduled(fixedDelayString = "${MEMBER_PURGE_MS:10000}")
+    public synchronized void purge() {
+        memberPurgeService.findRunnable().forEach(this::drain);
+    }
+
+    private void drain(Long purgeId) {
+        try {
+            while (memberPurgeService.runStep(purgeId)) {
+                // 단계가 끝날 때까지 묶음 반복
+            }
+        } catch (Exception e) {
+            memberPurgeService.recordFailure(purgeId, e);
+        }
+    }
+}
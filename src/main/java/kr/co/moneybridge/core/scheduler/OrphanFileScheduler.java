@@ -0,0 +1,40 @@
+package kr.co.moneybridge.core.scheduler;
+
+import kr.co.moneybridge.core.storage.BlobPage;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.service.StorageDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Date;
+
+// 고아 파일 수거
+// 저장소를 1000개씩 페이지로 훑으면서 DB에서 참조하지 않는 파일을 삭제 큐에 넣음 (실제 삭제는 StorageDeletionScheduler)
+// 삭제 실패로 남은 파일, 교체되면서 떨어져 나간 파일, 업로드 후 롤백된 파일이 여기서 정리됨
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class OrphanFileScheduler {
+    private final StorageDeletionService storageDeletionService;
+    private final BlobStore blobStore;
+
+    @Scheduled(fixedDelayString = "${ORPHAN_FILE_MS:86400000}", initialDelayString = "${ORPHAN_FILE_MS:86400000}")
+    public synchronized void collect() {
+        Date uploadedBefore = Date.from(Instant.now().minus(StorageDeletionService.ORPHAN_GRACE));
+        int collected = 0;
+        String continuationToken = null;
+        try {
+            do {
+                BlobPage page = blobStore.listObjects(continuationToken);
+                collected += storageDeletionService.collectOrphans(page.getItems(), uploadedBefore);
+                continuationToken = page.getNextToken();
+            } while (continuationToken != null);
+        } catch (Exception e) {
+            log.error("고아 파일 수거 실패 : " + e.getMessage());
+        }
+        log.info("고아 파일 " + collected + "개 삭제 대기");
+    }
+}
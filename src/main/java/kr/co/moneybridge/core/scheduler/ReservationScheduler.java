@@ -2,6 +2,7 @@ package kr.co.moneybridge.core.scheduler;
 
 import kr.co.moneybridge.model.reservation.ReservationProcess;
 import kr.co.moneybridge.model.reservation.ReservationRepository;
+import kr.co.moneybridge.service.PBStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 @Component
 public class ReservationScheduler {
     private final ReservationRepository reservationRepository;
+    private final PBStatsService pbStatsService;
 
     // 상담일로부터 3일이 지난 예약은 상담완료 처리
     // 매일 0시에 실행
@@ -26,6 +28,7 @@ public class ReservationScheduler {
                     .forEach(reservation -> {
                         reservation.updateProcess(ReservationProcess.COMPLETE);
                         reservationRepository.save(reservation);
+                        pbStatsService.increaseReserveCount(reservation.getPb().getId());
                     });
         } catch (Exception e) {
             log.error("스케쥴러 작업 실패 : " + e.getMessage());
@@ -0,0 +1,52 @@
+package kr.co.moneybridge.core.scheduler;
+
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.model.StorageDeletion;
+import kr.co.moneybridge.service.StorageDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 저장소 삭제 큐 처리
+// 최대 1000개씩 다건 삭제 요청 한 번으로 지우고, 요청 자체가 실패하면 그 묶음 전체를 실패로 남겨 다음 주기에 재시도
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class StorageDeletionScheduler {
+    private final StorageDeletionService storageDeletionService;
+    private final BlobStore blobStore;
+
+    @Scheduled(fixedDelayString = "${STORAGE_DELETE_MS:10000}")
+    public synchronized void delete() {
+        Long cursor = 0L;
+        while (true) {
+            List<StorageDeletion> batch = storageDeletionService.findBatch(cursor);
+            if (batch.isEmpty()) {
+                return;
+            }
+            cursor = batch.get(batch.size() - 1).getId();
+            storageDeletionService.complete(batch, deleteObjects(batch));
+            if (batch.size() < StorageDeletionService.BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private Map<String, String> deleteObjects(List<StorageDeletion> batch) {
+        List<String> keys = batch.stream().map(StorageDeletion::getObjectKey).distinct().collect(Collectors.toList());
+        try {
+            return blobStore.deleteObjects(keys);
+        } catch (Exception e) {
+            log.warn("s3 다건 삭제 요청 실패 : " + e.getMessage());
+            Map<String, String> failedKeys = new HashMap<>();
+            keys.forEach(key -> failedKeys.put(key, e.getMessage()));
+            return failedKeys;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package kr.co.moneybridge.core.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+// 저장소 파일 정보 - 목록 조회에서는 contentType이 null일 수 있음
+@Getter
+@AllArgsConstructor
+public class BlobInfo {
+    private final String key;
+    private final long size;
+    private final String contentType;
+    private final Date lastModified;
+}
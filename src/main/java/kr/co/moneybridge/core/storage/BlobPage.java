@@ -0,0 +1,14 @@
+package kr.co.moneybridge.core.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 저장소 목록 한 페이지 - 마지막 페이지면 nextToken이 null
+@Getter
+@AllArgsConstructor
+public class BlobPage {
+    private final List<BlobInfo> items;
+    private final String nextToken;
+}
@@ -0,0 +1,86 @@
+package kr.co.moneybridge.core.storage;
+
+import kr.co.moneybridge.core.exception.Exception500;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.*;
+import java.net.URL;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// 파일 저장소 - storage.type 으로 구현을 고름
+// s3(기본값): S3Util, local: LocalBlobStore (단일 서버/사내 설치/테스트용, 파일을 직접 서빙)
+// 키는 폴더/uuid_파일명 형태의 상대 경로이고, url은 클라이언트가 그대로 받아갈 수 있는 주소
+public interface BlobStore {
+    int BATCH_SIZE = 1000; // 다건 삭제/목록 조회 한 번의 최대 키 수
+    String DEFAULT_FOLDER = "default/";
+    int MAX_FILE_NAME_LENGTH = 100;
+
+    // 크기를 아는 스트림을 정해둔 키로 저장하고 url을 돌려줌
+    String upload(InputStream inputStream, long size, String key, String contentType);
+
+    default String upload(MultipartFile file, String folderName) {
+        try (InputStream inputStream = file.getInputStream()) {
+            return upload(inputStream, file.getSize(), newKey(folderName, file.getOriginalFilename()), file.getContentType());
+        } catch (IOException e) {
+            throw new Exception500("파일 저장 실패: " + e.getMessage());
+        }
+    }
+
+    default String upload(File file, String key, String contentType) {
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return upload(inputStream, file.length(), key, contentType);
+        } catch (IOException e) {
+            throw new Exception500("파일 저장 실패: " + e.getMessage());
+        }
+    }
+
+    default String upload(byte[] data, String key, String contentType) {
+        return upload(new ByteArrayInputStream(data), data.length, key, contentType);
+    }
+
+    // 새 파일 키 - 폴더/uuid_원래파일명, 파일명은 클라이언트가 보낸 값이라 safeFileName을 거침
+    default String newKey(String folderName, String originalFilename) {
+        return folderName + "/" + UUID.randomUUID() + "_" + safeFileName(originalFilename);
+    }
+
+    // 키에 쓸 수 있게 경로 구분자/공백 등은 _로 바꾸고 길이를 자름
+    static String safeFileName(String fileName) {
+        if (fileName == null || fileName.isEmpty()) {
+            return "file";
+        }
+        String name = fileName.replaceAll("[^\\p{L}\\p{N}._-]", "_").replaceAll("\\.{2,}", "_");
+        if (name.length() > MAX_FILE_NAME_LENGTH) {
+            name = name.substring(name.length() - MAX_FILE_NAME_LENGTH);
+        }
+        return name;
+    }
+
+    // 파일 url -> 키, 이 저장소 파일이 아니거나 디폴트 폴더에 있는 파일이면 null (삭제 안함)
+    String toKey(String fileUrl);
+
+    // 키 -> 파일 url
+    String toUrl(String key);
+
+    // 클라이언트가 직접 올릴 수 있는 PUT url, 형식/크기가 다르거나 만료되면 거절됨
+    URL presignPut(String key, String contentType, long size, Date expiration);
+
+    // 파일 정보, 없으면 null
+    BlobInfo getMetadata(String key);
+
+    // 저장소 안에서 복사하고 복사본의 url을 돌려줌
+    String copy(String sourceKey, String targetKey);
+
+    void download(String key, File file);
+
+    // 파일을 처음부터 읽는 스트림 (다 읽고 닫아야 함)
+    InputStream open(String key);
+
+    // 다건 삭제, 삭제에 실패한 키와 사유를 돌려줌 (없는 키를 지우는 것은 성공)
+    Map<String, String> deleteObjects(List<String> keys);
+
+    // 키 순서로 최대 BATCH_SIZE개, 다음 페이지는 결과의 nextToken으로
+    BlobPage listObjects(String continuationToken);
+}
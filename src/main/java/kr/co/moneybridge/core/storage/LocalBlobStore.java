@@ -0,0 +1,304 @@
+package kr.co.moneybridge.core.storage;
+
+import kr.co.moneybridge.core.exception.Exception400;
+import kr.co.moneybridge.core.exception.Exception500;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.*;
+
+// 로컬 파일 시스템 저장소 (storage.type=local) - 단일 서버/사내 설치/테스트용
+// 키는 storage.local.root 아래 상대 경로, 파일은 BlobController가 /blob/** 로 직접 서빙함
+// 쓰기는 같은 폴더의 임시 파일에 FileChannel로 받은 뒤 원자적으로 옮겨서, 읽는 쪽이 쓰다 만 파일을 보지 않음
+// 형식(Content-Type)은 파일의 사용자 확장 속성에 두고, 지원하지 않는 파일 시스템이면 확장자로 추측함
+// 직접 업로드 url은 만료 시각/키/형식/크기를 HMAC으로 서명한 BlobController PUT 주소
+@Slf4j
+@ConditionalOnProperty(name = "storage.type", havingValue = "local")
+@Component
+public class LocalBlobStore implements BlobStore {
+    private static final String TEMP_PREFIX = ".blob-";
+    private static final String CONTENT_TYPE_ATTRIBUTE = "content-type";
+
+    @Value("${storage.local.root:./upload}")
+    private String root;
+
+    @Value("${storage.local.base-url:http://localhost:8080/blob}")
+    private String baseUrl;
+
+    @Value("${storage.local.secret:}")
+    private String secret;
+
+    private Path rootPath;
+
+    @PostConstruct
+    public void init() throws IOException {
+        rootPath = Paths.get(root).toAbsolutePath().normalize();
+        Files.createDirectories(rootPath);
+        // 서버 한 대에서만 쓰므로 지정하지 않으면 기동할 때마다 새로 만듦 (재기동 전에 발급한 url은 무효)
+        if (secret == null || secret.isBlank()) {
+            secret = UUID.randomUUID().toString();
+        }
+    }
+
+    @Override
+    public String upload(InputStream inputStream, long size, String key, String contentType) {
+        try (ReadableByteChannel source = Channels.newChannel(inputStream)) {
+            return write(source, size, key, contentType);
+        } catch (IOException e) {
+            throw new Exception500("파일 저장 실패: " + e.getMessage());
+        }
+    }
+
+    // 파일끼리는 FileChannel 사이 전송으로 커널 안에서 복사
+    @Override
+    public String upload(File file, String key, String contentType) {
+        try (FileChannel source = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return write(source, source.size(), key, contentType);
+        } catch (IOException e) {
+            throw new Exception500("파일 저장 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public String copy(String sourceKey, String targetKey) {
+        Path source = resolve(sourceKey);
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            return write(channel, channel.size(), targetKey, contentTypeOf(source));
+        } catch (NoSuchFileException e) {
+            throw new Exception500("파일 복사 실패, 원본이 없습니다: " + sourceKey);
+        } catch (IOException e) {
+            throw new Exception500("파일 복사 실패: " + e.getMessage());
+        }
+    }
+
+    private String write(ReadableByteChannel source, long size, String key, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), TEMP_PREFIX, null);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long written = 0;
+                while (written < size) {
+                    long transferred = channel.transferFrom(source, written, size - written);
+                    if (transferred <= 0) break;
+                    written += transferred;
+                }
+                if (written != size || source.read(ByteBuffer.allocate(1)) > 0) {
+                    throw new IOException("파일 크기가 " + size + "byte와 다릅니다");
+                }
+            }
+            setContentType(temp, contentType);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return toUrl(key);
+    }
+
+    @Override
+    public void download(String key, File file) {
+        try {
+            Files.copy(resolve(key), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new Exception500("파일 읽기 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        try {
+            return Files.newInputStream(resolve(key));
+        } catch (IOException e) {
+            throw new Exception500("파일 읽기 실패: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public BlobInfo getMetadata(String key) {
+        Path path = resolve(key);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) return null;
+            return new BlobInfo(key, attributes.size(), contentTypeOf(path), new Date(attributes.lastModifiedTime().toMillis()));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new Exception500("파일 조회 실패: " + e.getMessage());
+        }
+    }
+
+    // 서빙용 실제 경로
+    public Path pathOf(String key) {
+        return resolve(key);
+    }
+
+    @Override
+    public Map<String, String> deleteObjects(List<String> keys) {
+        Map<String, String> failedKeys = new HashMap<>();
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException | RuntimeException e) {
+                failedKeys.put(key, e.getClass().getSimpleName() + " " + e.getMessage());
+            }
+        }
+        return failedKeys;
+    }
+
+    // 키 순서로 continuationToken(직전 페이지 마지막 키) 다음부터
+    // 폴더마다 키 순서로 정렬해 내려가면서 토큰 이전 하위 폴더는 열지 않고, 한 페이지(+1)가 차면 멈춤
+    @Override
+    public BlobPage listObjects(String continuationToken) {
+        List<String> keys = new ArrayList<>(BATCH_SIZE + 1);
+        try {
+            collectKeys(rootPath, "", continuationToken, keys);
+        } catch (IOException e) {
+            throw new Exception500("파일 목록 조회 실패: " + e.getMessage());
+        }
+        boolean truncated = keys.size() > BATCH_SIZE;
+        List<BlobInfo> items = new ArrayList<>();
+        for (String key : keys.subList(0, Math.min(keys.size(), BATCH_SIZE))) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(resolve(key), BasicFileAttributes.class);
+                items.add(new BlobInfo(key, attributes.size(), null, new Date(attributes.lastModifiedTime().toMillis())));
+            } catch (IOException e) {
+                // 목록을 만드는 사이에 지워진 파일
+            }
+        }
+        return new BlobPage(items, truncated ? keys.get(BATCH_SIZE - 1) : null);
+    }
+
+    // 폴더는 "이름/"로 비교해야 형제 파일과의 순서가 키 문자열 순서와 같음 (예: "a.txt" < "a/b" < "a0")
+    private void collectKeys(Path dir, String prefix, String continuationToken, List<String> keys) throws IOException {
+        TreeMap<String, Path> children = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path child : stream) {
+                String name = child.getFileName().toString();
+                if (name.startsWith(TEMP_PREFIX)) continue;
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue;
+                }
+                if (attributes.isDirectory()) {
+                    children.put(prefix + name + "/", child);
+                } else if (attributes.isRegularFile()) {
+                    children.put(prefix + name, child);
+                }
+            }
+        }
+        for (Map.Entry<String, Path> child : children.entrySet()) {
+            if (keys.size() > BATCH_SIZE) return;
+            String key = child.getKey();
+            if (key.endsWith("/")) {
+                // 토큰보다 앞이고 토큰을 품지도 않는 폴더는 통째로 건너뜀
+                if (continuationToken != null && key.compareTo(continuationToken) < 0 && !continuationToken.startsWith(key)) continue;
+                collectKeys(child.getValue(), key, continuationToken, keys);
+            } else if (continuationToken == null || key.compareTo(continuationToken) > 0) {
+                keys.add(key);
+            }
+        }
+    }
+
+    @Override
+    public String toKey(String fileUrl) {
+        String prefix = baseUrl + "/";
+        if (fileUrl == null || !fileUrl.startsWith(prefix)) return null;
+        String key = fileUrl.substring(prefix.length());
+        if (key.isEmpty() || key.startsWith(DEFAULT_FOLDER)) return null;
+        return key;
+    }
+
+    @Override
+    public String toUrl(String key) {
+        return baseUrl + "/" + key;
+    }
+
+    @Override
+    public URL presignPut(String key, String contentType, long size, Date expiration) {
+        long expires = expiration.getTime() / 1000;
+        try {
+            return new URL(toUrl(key) + "?size=" + size + "&expires=" + expires
+                    + "&signature=" + sign(key, contentType, size, expires));
+        } catch (MalformedURLException e) {
+            throw new Exception500("업로드 url 생성 실패: " + e.getMessage());
+        }
+    }
+
+    // 발급한 PUT url이 맞는지, 아직 만료되지 않았는지 확인
+    public boolean verifyPut(String key, String contentType, long size, long expires, String signature) {
+        if (signature == null || expires * 1000 < System.currentTimeMillis()) return false;
+        byte[] expected = sign(key, contentType, size, expires).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String sign(String key, String contentType, long size, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal(("PUT\n" + key + "\n" + contentType + "\n" + size + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 정규화하면 달라지는 키(../, ./, // 등)와 루트 밖을 가리키는 키는 거절
+    private Path resolve(String key) {
+        Path path = rootPath.resolve(key).normalize();
+        if (key.isEmpty() || !path.startsWith(rootPath) || path.equals(rootPath)
+                || !rootPath.relativize(path).toString().replace(File.separatorChar, '/').equals(key)) {
+            throw new Exception400("key", "잘못된 파일 키입니다");
+        }
+        return path;
+    }
+
+    private void setContentType(Path path, String contentType) {
+        if (contentType == null) return;
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(path, UserDefinedFileAttributeView.class);
+        if (view == null) return;
+        try {
+            view.write(CONTENT_TYPE_ATTRIBUTE, StandardCharsets.UTF_8.encode(contentType));
+        } catch (IOException | UnsupportedOperationException e) {
+            // 확장 속성을 지원하지 않는 파일 시스템 - 읽을 때 확장자로 추측
+        }
+    }
+
+    private String contentTypeOf(Path path) {
+        UserDefinedFileAttributeView view = Files.getFileAttributeView(path, UserDefinedFileAttributeView.class);
+        if (view != null) {
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(view.size(CONTENT_TYPE_ATTRIBUTE));
+                view.read(CONTENT_TYPE_ATTRIBUTE, buffer);
+                buffer.flip();
+                return StandardCharsets.UTF_8.decode(buffer).toString();
+            } catch (IOException | UnsupportedOperationException e) {
+                // 속성이 없거나 지원하지 않음
+            }
+        }
+        String guessed = URLConnection.guessContentTypeFromName(path.getFileName().toString());
+        return guessed != null ? guessed : "application/octet-stream";
+    }
+}
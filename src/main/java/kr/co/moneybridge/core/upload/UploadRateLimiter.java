@@ -0,0 +1,50 @@
+package kr.co.moneybridge.core.upload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 로그인 없이 받는 업로드 url 발급(PB 회원가입 명함) 횟수 제한
+// 클라이언트 IP마다 고정 창(기본 10분)에 정해진 횟수(기본 10번)까지만 발급해서, 익명으로 url을 무한정 받아 저장소를 채우지 못하게 함
+// 노드마다 따로 세므로 전체 한도는 노드 수만큼 늘어남
+@Component
+public class UploadRateLimiter {
+    @Value("${JOIN_UPLOAD_LIMIT:10}")
+    private int limit;
+
+    @Value("${JOIN_UPLOAD_WINDOW_MS:600000}")
+    private long windowMillis;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    // 이번 창에서 한도 안이면 true
+    public boolean tryAcquire(String clientKey) {
+        long now = System.currentTimeMillis();
+        Window window = windows.compute(clientKey,
+                (key, old) -> old == null || now - old.startedAt >= windowMillis ? new Window(now) : old);
+        return window.count.incrementAndGet() <= limit;
+    }
+
+    // 끝난 창은 지워서 한 번 온 IP가 계속 쌓이지 않게 함
+    @Scheduled(fixedDelayString = "${JOIN_UPLOAD_WINDOW_MS:600000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        windows.values().removeIf(window -> now - window.startedAt >= windowMillis);
+    }
+
+    int size() {
+        return windows.size();
+    }
+
+    private static class Window {
+        private final long startedAt;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
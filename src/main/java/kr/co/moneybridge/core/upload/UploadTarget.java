@@ -0,0 +1,36 @@
+package kr.co.moneybridge.core.upload;
+
+import kr.co.moneybridge.core.image.ImageTarget;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 직접 업로드 대상 - 저장 폴더, 이미지 파이프라인 대상(이미지가 아니면 null), 최대 크기(byte)
+// 클라이언트는 upload/폴더/ 아래 임시 키로 올리고, 확인 요청이 오면 서버가 폴더/ 아래로 옮겨서 붙임
+@Getter
+@RequiredArgsConstructor
+public enum UploadTarget {
+    PROFILE("profile", ImageTarget.PB_PROFILE, 10L * 1024 * 1024),
+    BUSINESS_CARD("business-card", ImageTarget.PB_BUSINESS_CARD, 10L * 1024 * 1024),
+    THUMBNAIL("thumbnail", ImageTarget.BOARD_THUMBNAIL, 10L * 1024 * 1024),
+    PORTFOLIO("portfolio", null, 1024L * 1024 * 1024);
+
+    public static final String STAGING_FOLDER = "upload/";
+
+    private final String folder;
+    private final ImageTarget imageTarget;
+    private final long maxSize;
+
+    public boolean isImage() {
+        return imageTarget != null;
+    }
+
+    // 이 대상의 임시 키 접두어 - upload/폴더/
+    public String stagingPrefix() {
+        return STAGING_FOLDER + folder + "/";
+    }
+
+    // 임시 키 -> 최종 키 (upload/ 를 뗌)
+    public static String finalKeyOf(String stagingKey) {
+        return stagingKey.substring(STAGING_FOLDER.length());
+    }
+}
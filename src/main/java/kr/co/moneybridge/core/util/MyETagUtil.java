@@ -0,0 +1,16 @@
+package kr.co.moneybridge.core.util;
+
+public class MyETagUtil {
+
+    // If-None-Match 헤더 값(여러 개일 수 있음, W/ 약한 비교 허용)에 현재 ETag가 있는지
+    public static boolean matches(String eTag, String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*")) return true;
+            if (trimmed.startsWith("W/")) trimmed = trimmed.substring(2);
+            if (trimmed.equals(eTag)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package kr.co.moneybridge.core.util;
+
+public class MyGeoUtil {
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    // 두 좌표 사이 대권거리(km), haversine
+    public static double distance(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // 중심에서 반경 radiusKm 원을 감싸는 위경도 사각형 {minLat, maxLat, minLon, maxLon}
+    // 원 밖의 점이 섞일 수는 있어도 원 안의 점이 빠지지는 않음 -> DB에서 후보를 줄이는 용도
+    public static double[] boundingBox(double latitude, double longitude, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double minLat = Math.max(-90, latitude - dLat);
+        double maxLat = Math.min(90, latitude + dLat);
+        // 박스 안에서 가장 극에 가까운 위도 기준으로 경도 폭을 잡아야 원을 다 덮음
+        double maxAbsLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+        double cos = Math.cos(Math.toRadians(maxAbsLat));
+        if (maxAbsLat >= 90 || radiusKm / KM_PER_DEGREE / cos >= 180) {
+            return new double[]{minLat, maxLat, -180, 180};
+        }
+        double dLon = dLat / cos;
+        return new double[]{minLat, maxLat, longitude - dLon, longitude + dLon};
+    }
+}
@@ -0,0 +1,94 @@
+package kr.co.moneybridge.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class MyTextUtil {
+    private static final Pattern TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern ENTITY = Pattern.compile("&(#[0-9]+|#[xX][0-9a-fA-F]+|[a-zA-Z]+);");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    // 에디터에서 저장된 HTML 본문에서 태그를 걷어내고 자주 쓰는 엔티티만 글자로 되돌림
+    public static String stripHtml(String html) {
+        if (html == null) return "";
+        String text = TAG.matcher(html).replaceAll(" ");
+        Matcher matcher = ENTITY.matcher(text);
+        StringBuffer sb = new StringBuffer(text.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(decodeEntity(matcher.group(1))));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    // 목록/임시저장 화면용 요약 - 태그를 걷어낸 본문 앞부분, 공백은 한 칸으로 합치고 넘치면 말줄임
+    public static String excerpt(String html, int maxLength) {
+        String text = SPACES.matcher(stripHtml(html)).replaceAll(" ").trim();
+        if (text.length() <= maxLength) return text;
+        int end = maxLength - 1;
+        if (Character.isHighSurrogate(text.charAt(end - 1))) end--;
+        return text.substring(0, end) + "…";
+    }
+
+    // 검색용 토큰 (중복 포함 - 빈도 계산용)
+    // 영문/숫자는 단어 단위, 한글은 형태소 분석 대신 연속한 음절 bigram(한 글자면 그 글자)
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        String lower = text.toLowerCase();
+        int i = 0;
+        while (i < lower.length()) {
+            char c = lower.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                i++;
+                continue;
+            }
+            boolean hangul = isHangul(c);
+            int start = i;
+            while (i < lower.length() && Character.isLetterOrDigit(lower.charAt(i)) && isHangul(lower.charAt(i)) == hangul) {
+                i++;
+            }
+            if (!hangul || i - start == 1) {
+                tokens.add(lower.substring(start, i));
+            } else {
+                for (int j = start; j + 1 < i; j++) {
+                    tokens.add(lower.substring(j, j + 2));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣') || (c >= 'ㄱ' && c <= 'ㅣ');
+    }
+
+    private static String decodeEntity(String entity) {
+        try {
+            if (entity.startsWith("#x") || entity.startsWith("#X")) {
+                return new String(Character.toChars(Integer.parseInt(entity.substring(2), 16)));
+            }
+            if (entity.startsWith("#")) {
+                return new String(Character.toChars(Integer.parseInt(entity.substring(1))));
+            }
+        } catch (IllegalArgumentException e) {
+            return " ";
+        }
+        switch (entity) {
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            default:
+                return " "; // &nbsp; 등
+        }
+    }
+}
@@ -1,34 +1,52 @@
 package kr.co.moneybridge.core.util;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
 import com.amazonaws.services.s3.model.*;
 import kr.co.moneybridge.core.exception.Exception500;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.BlobPage;
+import kr.co.moneybridge.core.storage.BlobStore;
 import lombok.RequiredArgsConstructor;
-import marvin.image.MarvinImage;
-import org.marvinproject.image.transform.scale.Scale;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.annotation.PostConstruct;
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import javax.annotation.PreDestroy;
 import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
 
+// s3 저장소 (storage.type=s3, 기본값)
+@Slf4j
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3", matchIfMissing = true)
 @Component
-public class S3Util {
+public class S3Util implements BlobStore {
+    public static final int PART_SIZE = 8 * 1024 * 1024; // 멀티파트 업로드 조각 크기 (s3 최소 5MB)
+    // 노드 전체가 같이 쓰는 조각 버퍼 수 = 조각 업로드 스레드 수, 힙은 최대 PART_SIZE * PART_BUFFERS(32MB)
+    private static final int PART_BUFFERS = 4;
+
     private AmazonS3 s3Client;
+    private final Semaphore partPermits = new Semaphore(PART_BUFFERS);
+    private final Queue<byte[]> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final ExecutorService partExecutor = Executors.newFixedThreadPool(PART_BUFFERS, runnable -> {
+        Thread thread = new Thread(runnable, "s3-part");
+        thread.setDaemon(true);
+        return thread;
+    });
     private String cloudFrontDomain = "https://d2ky5wm6akosox.cloudfront.net";
 
     @Value("${cloud.aws.credentials.accessKey}")
@@ -43,142 +61,281 @@ public class S3Util {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    // 로컬 S3 호환 서버(MinIO, LocalStack 등) 주소, 비어 있으면 AWS로 연결
+    @Value("${cloud.aws.s3.endpoint:}")
+    private String endpoint;
+
     @PostConstruct // 스프링 Bean이 초기화될 때 이 어노테이션이 붙은 메소드가 자동으로 호출되어 초기화
     public void setS3Client() {
         AWSCredentials credentials = new BasicAWSCredentials(this.accessKey, this.secretKey);
-        s3Client = AmazonS3ClientBuilder.standard()
-                .withCredentials(new AWSStaticCredentialsProvider(credentials))
-                .withRegion(this.region)
-                .build();
+        AmazonS3ClientBuilder builder = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(credentials));
+        if (endpoint == null || endpoint.isBlank()) {
+            builder.withRegion(this.region);
+        } else {
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(this.endpoint, this.region))
+                    .withPathStyleAccessEnabled(true);
+        }
+        s3Client = builder.build();
     }
 
     // s3에 파일 업로드
+    @Override
     public String upload(MultipartFile file, String folderName) {
-        try{
-            UUID uuid = UUID.randomUUID();
-            String originalFilename = file.getOriginalFilename();
-            String uuidFilename = folderName + "/" + uuid + "_" + originalFilename;
-
-            InputStream inputStream = file.getInputStream();
-            ObjectMetadata objectMetadata = new ObjectMetadata();
-            objectMetadata.setContentType(file.getContentType());
-            objectMetadata.setContentLength(file.getSize());
-
-            s3Client.putObject(new PutObjectRequest(bucket, uuidFilename, inputStream, objectMetadata)
-                    .withCannedAcl(CannedAccessControlList.PublicRead)
-                    .withMetadata(objectMetadata));
-            return cloudFrontDomain + "/"+ uuidFilename;
+        try (InputStream inputStream = file.getInputStream()) {
+            return upload(inputStream, file.getSize(), newKey(folderName, file.getOriginalFilename()), file.getContentType());
         } catch (IOException e) {
             throw new Exception500("s3에 저장 실패: " + e.getMessage());
         }
     }
 
-    // s3에서 파일 삭제
-    public void delete(String fileName) {
-        // 디폴트 폴더에 있는 파일은 삭제 안함
-        if(fileName.startsWith(cloudFrontDomain+"/default")) return;
-
-        int index = cloudFrontDomain.length();
-        if(fileName.length() < index) return;
-        String key = fileName.substring(index + 1);
-
-        s3Client.deleteObject(new DeleteObjectRequest(bucket, key));
-    }
-
-    // 이미지 리사이징
-    public MultipartFile resize(MultipartFile multipartFile, int targetWidth, int targetHeight) {
-        try (InputStream is = multipartFile.getInputStream()){
-            // MultipartFile -> BufferedImage Convert
-            BufferedImage image = ImageIO.read(is);
-            // 원하는 px로 Width와 Height 수정
-            int originWidth = image.getWidth();
-            int originHeight = image.getHeight();
-            // origin 이미지가 resizing될 사이즈보다 작을 경우 resizing 작업 안 함
-            if (originWidth < targetWidth && originHeight < targetHeight)
-                return multipartFile;
-            MarvinImage imageMarvin = new MarvinImage(image);
-            Scale scale = new Scale();
-            scale.load();
-            scale.setAttribute("newWidth", targetWidth);
-            scale.setAttribute("newHeight", targetHeight);
-            scale.process(imageMarvin.clone(), imageMarvin, null, null, false);
-            return toMultipartFile(imageMarvin.getBufferedImageNoAlpha(), multipartFile);
+    // 정해둔 키로 파일 업로드 (이미지 파이프라인에서 사본마다)
+    @Override
+    public String upload(File file, String key, String contentType) {
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return upload(inputStream, file.length(), key, contentType);
         } catch (IOException e) {
-            // 파일 리사이징 실패시 예외 처리
-            throw new Exception500("파일 리사이징에 실패" + e.getMessage());
+            throw new Exception500("s3에 저장 실패: " + e.getMessage());
         }
     }
 
-    // MultipartFile로 바꾸기
-    private MultipartFile toMultipartFile(BufferedImage image, MultipartFile origin) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        String fileExtension = origin.getContentType().split("/")[1];
-        ImageIO.write(image, fileExtension, baos); // use JPEG or PNG depending on your image
-
-        byte[] imageInByte = baos.toByteArray();
-        baos.close();
+    // 스트림 업로드 - 조각 크기 이하면 한 번에, 넘으면 멀티파트 업로드로 조각을 병렬로 올림
+    @Override
+    public String upload(InputStream inputStream, long size, String key, String contentType) {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentType(contentType);
+        if (size > PART_SIZE) {
+            return multipartUpload(inputStream, key, objectMetadata);
+        }
+        objectMetadata.setContentLength(size);
+        s3Client.putObject(new PutObjectRequest(bucket, key, inputStream, objectMetadata)
+                .withCannedAcl(CannedAccessControlList.PublicRead)
+                .withMetadata(objectMetadata));
+        return toUrl(key);
+    }
 
-        return new MultipartFile() {
-            @Override
-            public String getName() {
-                return origin.getName();
+    // 스트림을 조각 크기만큼씩 공용 버퍼에 읽어서 작업 스레드로 넘기고, 읽은 조각의 MD5를 바로 계산해 s3가 검증하게 함
+    // 버퍼가 모두 쓰이는 중이면 반납될 때까지 읽기를 멈추므로 파일 크기/동시 업로드 수와 상관없이 힙은 버퍼 수만큼만 씀
+    // 조각 하나라도 실패하면 남은 읽기를 멈추고, 올라간 조각이 남지 않게 업로드를 취소함
+    private String multipartUpload(InputStream inputStream, String key, ObjectMetadata objectMetadata) {
+        String uploadId = s3Client.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, objectMetadata)
+                .withCannedACL(CannedAccessControlList.PublicRead)).getUploadId();
+        List<Future<PartETag>> parts = new ArrayList<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        try {
+            for (int partNumber = 1; failure.get() == null; partNumber++) {
+                byte[] buffer = acquireBuffer();
+                int length;
+                try {
+                    length = inputStream.readNBytes(buffer, 0, PART_SIZE);
+                } catch (IOException e) {
+                    releaseBuffer(buffer);
+                    throw e;
+                }
+                if (length == 0) {
+                    releaseBuffer(buffer);
+                    break;
+                }
+                UploadPartRequest request = new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+                        .withPartSize(length)
+                        .withMD5Digest(md5(buffer, length));
+                parts.add(partExecutor.submit(() -> {
+                    try {
+                        return s3Client.uploadPart(request).getPartETag();
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        releaseBuffer(buffer);
+                    }
+                }));
+                if (length < PART_SIZE) break;
             }
-
-            @Override
-            public String getOriginalFilename() {
-                return origin.getOriginalFilename();
+            List<PartETag> partETags = new ArrayList<>();
+            for (Future<PartETag> part : parts) {
+                partETags.add(part.get());
             }
+            s3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags));
+            return toUrl(key);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            abortMultipartUpload(key, uploadId, parts);
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            throw new Exception500("s3에 저장 실패: " + cause.getMessage());
+        }
+    }
 
-            @Override
-            public String getContentType() {
-                return origin.getContentType();
+    // 진행 중인 조각이 버퍼를 모두 돌려줄 때까지 기다린 뒤 취소 (취소 후에 조각이 올라가면 저장 공간이 남음)
+    private void abortMultipartUpload(String key, String uploadId, List<Future<PartETag>> parts) {
+        for (Future<PartETag> part : parts) {
+            try {
+                part.get();
+            } catch (Exception ignored) {
+                // 실패한 조각은 이미 기록됨
             }
+        }
+        try {
+            s3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (Exception e) {
+            log.error("s3 멀티파트 업로드 취소 실패 " + key + " : " + e.getMessage());
+        }
+    }
 
-            @Override
-            public boolean isEmpty() {
-                return imageInByte.length == 0;
-            }
+    private byte[] acquireBuffer() throws InterruptedException {
+        partPermits.acquire();
+        byte[] buffer = freeBuffers.poll();
+        return buffer != null ? buffer : new byte[PART_SIZE];
+    }
 
-            @Override
-            public long getSize() {
-                return imageInByte.length;
-            }
+    private void releaseBuffer(byte[] buffer) {
+        freeBuffers.offer(buffer);
+        partPermits.release();
+    }
 
-            @Override
-            public byte[] getBytes() throws IOException {
-                return imageInByte;
-            }
+    private static String md5(byte[] buffer, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("MD5");
+            digest.update(buffer, 0, length);
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
-            @Override
-            public InputStream getInputStream() throws IOException {
-                return new ByteArrayInputStream(imageInByte);
-            }
+    @PreDestroy
+    public void shutdown() {
+        partExecutor.shutdown();
+    }
 
-            @Override
-            public void transferTo(File dest) throws IOException, IllegalStateException {
-                Files.write(dest.toPath(), imageInByte);
-            }
+    @Override
+    public String upload(byte[] data, String key, String contentType) {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentType(contentType);
+        objectMetadata.setContentLength(data.length);
 
-            @Override
-            public void transferTo(Path dest) throws IOException, IllegalStateException {
-                Files.write(dest, imageInByte);
+        s3Client.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(data), objectMetadata)
+                .withCannedAcl(CannedAccessControlList.PublicRead)
+                .withMetadata(objectMetadata));
+        return toUrl(key);
+    }
+
+    // 클라이언트가 직접 올릴 수 있는 PUT url 발급 - Content-Type과 Content-Length도 서명에 넣어서
+    // 발급받은 형식/크기와 다르게 올리면 s3가 거절함 (공개 읽기 권한 없이 비공개로 저장)
+    @Override
+    public URL presignPut(String key, String contentType, long size, Date expiration) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key, HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(contentType);
+        request.putCustomRequestHeader("Content-Length", String.valueOf(size));
+        return s3Client.generatePresignedUrl(request);
+    }
+
+    // 버킷에 있는 파일의 메타데이터, 없으면 null
+    @Override
+    public BlobInfo getMetadata(String key) {
+        try {
+            ObjectMetadata metadata = s3Client.getObjectMetadata(bucket, key);
+            return new BlobInfo(key, metadata.getContentLength(), metadata.getContentType(), metadata.getLastModified());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) return null;
+            throw new Exception500("s3 파일 조회 실패: " + e.getMessage());
+        }
+    }
+
+    // 버킷 안에서 복사 (파일 바이트가 서버를 거치지 않음), 복사본은 공개 읽기
+    @Override
+    public String copy(String sourceKey, String targetKey) {
+        s3Client.copyObject(new CopyObjectRequest(bucket, sourceKey, bucket, targetKey)
+                .withCannedAccessControlList(CannedAccessControlList.PublicRead));
+        return toUrl(targetKey);
+    }
+
+    // 버킷 파일을 로컬 파일로 내려받음
+    @Override
+    public void download(String key, File file) {
+        s3Client.getObject(new GetObjectRequest(bucket, key), file);
+    }
+
+    // 버킷 파일을 내려받으면서 읽음 (로컬에 저장하지 않음)
+    @Override
+    public InputStream open(String key) {
+        try {
+            return s3Client.getObject(bucket, key).getObjectContent();
+        } catch (AmazonS3Exception e) {
+            throw new Exception500("s3 파일 읽기 실패: " + e.getMessage());
+        }
+    }
+
+    // 파일 url -> 버킷 키, 우리 버킷 파일이 아니거나 디폴트 폴더에 있는 파일이면 null (삭제 안함)
+    @Override
+    public String toKey(String fileUrl) {
+        String prefix = cloudFrontDomain + "/";
+        if (fileUrl == null || !fileUrl.startsWith(prefix)) return null;
+        String key = fileUrl.substring(prefix.length());
+        if (key.isEmpty() || key.startsWith(DEFAULT_FOLDER)) return null;
+        return key;
+    }
+
+    // 버킷 키 -> 파일 url
+    @Override
+    public String toUrl(String key) {
+        return cloudFrontDomain + "/" + key;
+    }
+
+    // s3에서 파일 다건 삭제 (요청 한 번에 최대 1000개), 삭제에 실패한 키와 사유를 돌려줌
+    // 없는 키를 지우는 것은 성공으로 처리되므로 같은 키를 여러 번 지워도 됨
+    @Override
+    public Map<String, String> deleteObjects(List<String> keys) {
+        Map<String, String> failedKeys = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            List<String> batch = keys.subList(from, Math.min(from + BATCH_SIZE, keys.size()));
+            try {
+                s3Client.deleteObjects(new DeleteObjectsRequest(bucket)
+                        .withKeys(batch.toArray(new String[0]))
+                        .withQuiet(true));
+            } catch (MultiObjectDeleteException e) {
+                e.getErrors().forEach(error -> failedKeys.put(error.getKey(), error.getCode() + " " + error.getMessage()));
             }
-        };
+        }
+        return failedKeys;
     }
 
+    // 버킷 목록 한 페이지 (최대 1000개)
+    @Override
+    public BlobPage listObjects(String continuationToken) {
+        ListObjectsV2Result result = s3Client.listObjectsV2(new ListObjectsV2Request()
+                .withBucketName(bucket)
+                .withMaxKeys(BATCH_SIZE)
+                .withContinuationToken(continuationToken));
+        List<BlobInfo> items = new ArrayList<>();
+        for (S3ObjectSummary objectSummary : result.getObjectSummaries()) {
+            items.add(new BlobInfo(objectSummary.getKey(), objectSummary.getSize(), null, objectSummary.getLastModified()));
+        }
+        return new BlobPage(items, result.isTruncated() ? result.getNextContinuationToken() : null);
+    }
+
+    // 버킷 전체를 페이지 단위로 훑어서 suffix로 끝나는 가장 최근 파일 삭제
     public void deleteLatestFileWithSuffixFromS3Bucket(String suffix) {
-        ObjectListing objectListing = s3Client.listObjects(bucket);
-        List<S3ObjectSummary> objectSummaries = objectListing.getObjectSummaries();
-
-        Comparator<S3ObjectSummary> lastModifiedComparator = Comparator.comparing(S3ObjectSummary::getLastModified).reversed();
-        Optional<S3ObjectSummary> latestFileOptional = objectSummaries.stream()
-                .filter(objectSummary -> objectSummary.getKey().endsWith(suffix))
-                .max(lastModifiedComparator);
-
-        if (latestFileOptional.isPresent()) {
-            S3ObjectSummary latestFile = latestFileOptional.get();
-            DeleteObjectRequest deleteObjectRequest = new DeleteObjectRequest(bucket, latestFile.getKey());
-            s3Client.deleteObject(deleteObjectRequest);
+        BlobInfo latestFile = null;
+        String continuationToken = null;
+        do {
+            BlobPage page = listObjects(continuationToken);
+            for (BlobInfo objectSummary : page.getItems()) {
+                if (objectSummary.getKey().endsWith(suffix) &&
+                        (latestFile == null || objectSummary.getLastModified().after(latestFile.getLastModified()))) {
+                    latestFile = objectSummary;
+                }
+            }
+            continuationToken = page.getNextToken();
+        } while (continuationToken != null);
+
+        if (latestFile != null) {
+            s3Client.deleteObject(new DeleteObjectRequest(bucket, latestFile.getKey()));
         }
     }
 }
@@ -0,0 +1,29 @@
+package kr.co.moneybridge.dto;
+
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// 커서(마지막으로 받은 id) 기반 페이지 - 전체 개수를 세지 않음
+@ApiModel
+@Getter
+@Setter
+public class CursorDTO<T> {
+    @ApiModelProperty
+    private List<T> list;
+
+    @ApiModelProperty(example = "20", value = "다음 페이지 요청 시 cursor로 넘길 값, 마지막 페이지면 null")
+    private Long nextCursor;
+
+    @ApiModelProperty(example = "true")
+    private Boolean hasNext;
+
+    public CursorDTO(List<T> list, Long nextCursor, Boolean hasNext) {
+        this.list = list;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+}
@@ -33,6 +33,9 @@ public class PageDTO<T> {
     @ApiModelProperty(example = "false")
     private Boolean empty;
 
+    @ApiModelProperty(example = "false", value = "true면 totalElements/totalPages가 캐시된 근사값")
+    private Boolean approximate = false;
+
     public PageDTO(List<T> list, Page<T> page) {
         this.list = list;
         this.totalElements = page.getTotalElements();
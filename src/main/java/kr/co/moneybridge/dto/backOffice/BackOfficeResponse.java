@@ -171,6 +171,30 @@ public class BackOfficeResponse {
         }
     }
 
+    @ApiModel(description = "컨텐츠 삭제 정리 진행 상황")
+    @Getter
+    @Setter
+    public static class BoardPurgeDTO {
+        @ApiModelProperty(example = "3", value = "정리 대기 중인 삭제 컨텐츠 수")
+        private Long pending;
+
+        @ApiModelProperty(example = "120", value = "서버 기동 후 정리 완료한 컨텐츠 수")
+        private Long purged;
+
+        @ApiModelProperty(example = "1", value = "정리 실패 후 재시도 중이거나 포기한 컨텐츠 수")
+        private Integer failed;
+
+        @ApiModelProperty(example = "[15]", value = "재시도 한도를 넘겨 정리를 포기한 컨텐츠 id")
+        private List<Long> givenUp;
+
+        public BoardPurgeDTO(Long pending, Long purged, Integer failed, List<Long> givenUp) {
+            this.pending = pending;
+            this.purged = purged;
+            this.failed = failed;
+            this.givenUp = givenUp;
+        }
+    }
+
     @ApiModel(description = "회원수")
     @Getter
     @Setter
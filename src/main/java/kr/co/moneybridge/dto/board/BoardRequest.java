@@ -26,6 +26,8 @@ public class BoardRequest {
         @ApiModelProperty(example = "태그2")
         @Size(max = 30)
         private String tag2;
+        @ApiModelProperty(example = "upload/thumbnail/7b1d..._a.png", value = "직접 업로드한 썸네일의 임시 키 (thumbnail 파일 대신)")
+        private String thumbnailKey;
 
     }
 
@@ -47,6 +49,8 @@ public class BoardRequest {
         private String tag2;
         @ApiModelProperty(example = "false")
         private Boolean deleteThumbnail;
+        @ApiModelProperty(example = "upload/thumbnail/7b1d..._a.png", value = "직접 업로드한 썸네일의 임시 키 (thumbnail 파일 대신)")
+        private String thumbnailKey;
 
     }
 }
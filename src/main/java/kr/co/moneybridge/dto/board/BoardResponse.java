@@ -50,6 +50,46 @@ public class BoardResponse {
         }
     }
 
+    // 인기 컨텐츠 인덱스 적재용 - 누적 클릭수/북마크수를 작성 시점 점수로 넣음
+    @Getter
+    public static class BoardTrendDTO {
+        private Long id;
+        private Long pbId;
+        private LocalDateTime createdAt;
+        private Long clickCount;
+        private Long bookmarkCount;
+
+        public BoardTrendDTO(Long id, Long pbId, LocalDateTime createdAt, Long clickCount, Long bookmarkCount) {
+            this.id = id;
+            this.pbId = pbId;
+            this.createdAt = createdAt;
+            this.clickCount = clickCount;
+            this.bookmarkCount = bookmarkCount;
+        }
+    }
+
+    // 검색 인덱스 적재용 - 본문이 아직 없는 컨텐츠는 요약으로 대신함
+    @Getter
+    public static class BoardSearchDTO {
+        private Long id;
+        private Long pbId;
+        private String pbName;
+        private String title;
+        private String content;
+        private String tag1;
+        private String tag2;
+
+        public BoardSearchDTO(Board board, PB pb, BoardBody boardBody) {
+            this.id = board.getId();
+            this.pbId = pb.getId();
+            this.pbName = pb.getName();
+            this.title = board.getTitle();
+            this.content = boardBody == null ? board.getExcerpt() : boardBody.getContent();
+            this.tag1 = board.getTag1();
+            this.tag2 = board.getTag2();
+        }
+    }
+
     @Getter
     @Setter
     public static class BoardDetailDTO {
@@ -68,6 +108,7 @@ public class BoardResponse {
         private PBSpeciality speciality2;
         private int career;
         private String content;
+        private String contentHash;
         private Boolean isBookmarked;
         private List<ReplyOutDTO> reply;
 
@@ -85,7 +126,6 @@ public class BoardResponse {
             this.speciality1 = pb.getSpeciality1();
             this.speciality2 = pb.getSpeciality2();
             this.career = pb.getCareer();
-            this.content = board.getContent();
         }
     }
 
@@ -111,6 +151,15 @@ public class BoardResponse {
             this.authorId = user.getId();
             this.role = reply.getAuthorRole();
         }
+        public ReplyOutDTO(Reply reply, ReplyAuthorDTO author) {
+            this.id = reply.getId();
+            this.name = author.getName();
+            this.profile = author.getProfile();
+            this.content = reply.getContent();
+            this.createdAt = reply.getCreatedAt();
+            this.authorId = author.getId();
+            this.role = reply.getAuthorRole();
+        }
         public ReplyOutDTO(Reply reply, PB pb) {
             this.id = reply.getId();
             this.name = pb.getName();
@@ -122,6 +171,28 @@ public class BoardResponse {
         }
     }
 
+    // 댓글 작성자 요약 - 투자자는 기존처럼 프로필 없이 이름만 내려줌
+    @Getter
+    public static class ReplyAuthorDTO {
+        private Long id;
+        private String name;
+        private String profile;
+        private ReplyAuthorRole role;
+
+        public ReplyAuthorDTO(Long id, String name) {
+            this.id = id;
+            this.name = name;
+            this.role = ReplyAuthorRole.USER;
+        }
+
+        public ReplyAuthorDTO(Long id, String name, String profile) {
+            this.id = id;
+            this.name = name;
+            this.profile = profile;
+            this.role = ReplyAuthorRole.PB;
+        }
+    }
+
     @Getter
     @Setter
     public static class ReReplyOutDTO {
@@ -145,6 +216,16 @@ public class BoardResponse {
             this.role = reReply.getAuthorRole();
             this.uniqueValue = reReply.getUniqueValue();
         }
+        public ReReplyOutDTO(ReReply reReply, ReplyAuthorDTO author) {
+            this.id = reReply.getId();
+            this.name = author.getName();
+            this.profile = author.getProfile();
+            this.content = reReply.getContent();
+            this.createdAt = reReply.getCreatedAt();
+            this.authorId = author.getId();
+            this.role = reReply.getAuthorRole();
+            this.uniqueValue = reReply.getUniqueValue();
+        }
         public ReReplyOutDTO(ReReply reReply, PB pb) {
             this.id = reReply.getId();
             this.name = pb.getName();
@@ -163,7 +244,7 @@ public class BoardResponse {
 
         private Long id;
         private String title;
-        private String content;
+        private String content; // 본문 대신 요약
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
 
@@ -175,6 +256,7 @@ public class BoardResponse {
 
         private String title;
         private String content;
+        private String contentHash;
         private String tag1;
         private String tag2;
         private String thumbnail;
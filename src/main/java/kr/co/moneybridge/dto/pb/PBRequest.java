@@ -2,6 +2,7 @@ package kr.co.moneybridge.dto.pb;
 
 import io.swagger.annotations.ApiModel;
 import io.swagger.annotations.ApiModelProperty;
+import kr.co.moneybridge.core.upload.UploadTarget;
 import kr.co.moneybridge.model.Role;
 import kr.co.moneybridge.model.pb.*;
 import lombok.Getter;
@@ -80,6 +81,9 @@ public class PBRequest {
         @ApiModelProperty
         private List<AgreementDTO> agreements;
 
+        @ApiModelProperty(example = "upload/business-card/7b1d..._card.png", value = "직접 업로드한 명함의 임시 키 (businessCard 파일 대신)")
+        private String businessCardKey;
+
         public PB toEntity(Branch branch, String businessCard, String defaultProfile) {
             return PB.builder()
                     .email(email)
@@ -132,6 +136,10 @@ public class PBRequest {
         private Boolean deletePortfolio;
         @ApiModelProperty(example = "false", value = "프로필삭제여부")
         private Boolean deleteProfile;
+        @ApiModelProperty(example = "upload/profile/7b1d..._me.png", value = "직접 업로드한 프로필 사진의 임시 키 (profile 파일 대신)")
+        private String profileKey;
+        @ApiModelProperty(example = "upload/portfolio/7b1d..._portfolio.pdf", value = "직접 업로드한 포트폴리오 파일의 임시 키 (portfolio 파일 대신)")
+        private String portfolioKey;
 
         public Portfolio portfolioEntity(PB pb) {
             return Portfolio.builder()
@@ -177,4 +185,24 @@ public class PBRequest {
         }
     }
 
+    @ApiModel(description = "직접 업로드 url 발급 요청")
+    @Getter
+    @Setter
+    public static class UploadInDTO {
+        @ApiModelProperty(example = "PROFILE", value = "PROFILE, BUSINESS_CARD, THUMBNAIL, PORTFOLIO (PB 회원가입 중에는 BUSINESS_CARD만)")
+        private UploadTarget target;
+
+        @ApiModelProperty(example = "me.png", value = "원래 파일명")
+        @NotBlank
+        private String fileName;
+
+        @ApiModelProperty(example = "image/png", value = "업로드할 때 그대로 보내야 하는 Content-Type")
+        @NotBlank
+        private String contentType;
+
+        @ApiModelProperty(example = "102400", value = "파일 크기(byte), 업로드할 때 그대로 보내야 하는 Content-Length")
+        @NotNull
+        @Positive
+        private Long size;
+    }
 }
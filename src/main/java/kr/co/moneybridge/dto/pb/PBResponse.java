@@ -8,7 +8,9 @@ import kr.co.moneybridge.model.user.UserPropensity;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 public class PBResponse {
 
@@ -258,6 +260,118 @@ public class PBResponse {
             this.branchLat = branch.getLatitude();
             this.branchLon = branch.getLongitude();
         }
+
+        // pb_stats_tb를 left join 해서 가져올 때 - 집계 행이 없으면 0
+        public PBPageDTO(PB pb, Branch branch, Company company, Long reserveCount, Long reviewCount) {
+            this(pb, branch, company);
+            this.reserveCount = reserveCount == null ? 0L : reserveCount;
+            this.reviewCount = reviewCount == null ? 0L : reviewCount;
+        }
+    }
+
+    // 거리순 인덱스 적재용 - PB 위치와 필터 조건만 담음
+    @Getter
+    public static class PBLocationDTO {
+        private Long id;
+        private Double latitude;
+        private Double longitude;
+        private Long companyId;
+        private PBSpeciality speciality1;
+        private PBSpeciality speciality2;
+
+        public PBLocationDTO(PB pb, Branch branch, Company company) {
+            this.id = pb.getId();
+            this.latitude = branch.getLatitude();
+            this.longitude = branch.getLongitude();
+            this.companyId = company.getId();
+            this.speciality1 = pb.getSpeciality1();
+            this.speciality2 = pb.getSpeciality2();
+        }
+    }
+
+    // 포트폴리오 순위 인덱스 적재용 - 순위 지표와 필터 조건만 담음
+    @Getter
+    public static class PBPortfolioRankDTO {
+        private Long id;
+        private Long companyId;
+        private PBSpeciality speciality1;
+        private PBSpeciality speciality2;
+        private Double cumulativeReturn;
+        private Double maxDrawdown;
+        private Double profitFactor;
+
+        public PBPortfolioRankDTO(PB pb, Company company, Portfolio portfolio) {
+            this.id = pb.getId();
+            this.companyId = company.getId();
+            this.speciality1 = pb.getSpeciality1();
+            this.speciality2 = pb.getSpeciality2();
+            this.cumulativeReturn = portfolio.getCumulativeReturn();
+            this.maxDrawdown = portfolio.getMaxDrawdown();
+            this.profitFactor = portfolio.getProfitFactor();
+        }
+
+        public Double valueOf(PortfolioMetric metric) {
+            switch (metric) {
+                case CUMULATIVE_RETURN:
+                    return cumulativeReturn;
+                case MAX_DRAWDOWN:
+                    return maxDrawdown;
+                default:
+                    return profitFactor;
+            }
+        }
+    }
+
+    @ApiModel(description = "포트폴리오 지표 순위 PB 리스트 응답 데이터")
+    @Getter
+    @Setter
+    public static class PBRankDTO {
+        @ApiModelProperty(example = "1", value = "순위 (값이 같으면 같은 순위)")
+        private Long rank;
+        @ApiModelProperty(example = "28.8", value = "순위 기준 지표 값")
+        private Double value;
+        @ApiModelProperty
+        private PBPageDTO pb;
+
+        public PBRankDTO(Long rank, Double value, PBPageDTO pb) {
+            this.rank = rank;
+            this.value = value;
+            this.pb = pb;
+        }
+    }
+
+    // 투자성향별 PB 풀 적재용
+    @Getter
+    public static class PBSpecialityDTO {
+        private Long id;
+        private PBSpeciality speciality1;
+        private PBSpeciality speciality2;
+
+        public PBSpecialityDTO(PB pb) {
+            this.id = pb.getId();
+            this.speciality1 = pb.getSpeciality1();
+            this.speciality2 = pb.getSpeciality2();
+        }
+    }
+
+    @ApiModel(description = "PB 이름 자동완성 응답 데이터")
+    @Getter
+    public static class PBNameDTO {
+        @ApiModelProperty(example = "1", value = "PB의 id")
+        private Long id;
+        @ApiModelProperty(example = "김피비", value = "PB의 이름")
+        private String name;
+        @ApiModelProperty(example = "미래에셋증권 여의도점", value = "지점 이름")
+        private String branchName;
+        @ApiModelProperty(example = "profile.png", value = "PB의 프로필")
+        private String profile;
+
+        public PBNameDTO(PB pb, Branch branch) {
+            this.id = pb.getId();
+            this.name = pb.getName();
+            this.branchName = branch.getName();
+            this.profile = pb.getProfile();
+        }
     }
 
     @ApiModel(description = "메인페이지 PB 리스트 응답 데이터")
@@ -400,6 +514,10 @@ public class PBResponse {
         private Double profitFactor;
         @ApiModelProperty(example = "88.1", value = "평균수익률")
         private Double averageProfit;
+        @ApiModelProperty(example = "12.3", value = "연율화 변동성 (수익률 csv를 올린 경우)")
+        private Double volatility;
+        @ApiModelProperty(example = "1.2", value = "샤프지수 (수익률 csv를 올린 경우)")
+        private Double sharpe;
         @ApiModelProperty(example = "portfolio.pdf", value = "포트폴리오")
         private String file;
         @ApiModelProperty(example = "김피비", value = "pb의 이름")
@@ -431,6 +549,10 @@ public class PBResponse {
         private Double profitFactor;
         @ApiModelProperty(example = "34.7", value = "평균수익률")
         private Double averageProfit;
+        @ApiModelProperty(example = "12.3", value = "연율화 변동성 (수익률 csv를 올린 경우)")
+        private Double volatility;
+        @ApiModelProperty(example = "1.2", value = "샤프지수 (수익률 csv를 올린 경우)")
+        private Double sharpe;
         @ApiModelProperty(example = "profile.png", value = "프로필사진")
         private String profile;
         @ApiModelProperty(example = "portfolio.pdf", value = "포트폴리오")
@@ -452,6 +574,8 @@ public class PBResponse {
             this.maxDrawdown = portfolio.getMaxDrawdown();
             this.profitFactor = portfolio.getProfitFactor();
             this.averageProfit = portfolio.getAverageProfit();
+            this.volatility = portfolio.getVolatility();
+            this.sharpe = portfolio.getSharpe();
             this.profile = pb.getProfile();
             this.portfolio = portfolio.getFile();
             this.intro = pb.getIntro();
@@ -482,4 +606,24 @@ public class PBResponse {
         }
     }
 
+    @ApiModel(description = "직접 업로드 url 발급 응답 데이터")
+    @Getter
+    @Setter
+    public static class UploadOutDTO {
+        @ApiModelProperty(example = "upload/profile/7b1d..._me.png", value = "업로드가 끝나면 확인 요청에 보낼 임시 키")
+        private String key;
+        @ApiModelProperty(value = "PUT으로 파일을 올릴 url")
+        private String url;
+        @ApiModelProperty(value = "업로드할 때 그대로 보내야 하는 헤더")
+        private Map<String, String> headers;
+        @ApiModelProperty(example = "2023-06-01T10:10:00", value = "url 만료 시각")
+        private LocalDateTime expiresAt;
+
+        public UploadOutDTO(String key, String url, Map<String, String> headers, LocalDateTime expiresAt) {
+            this.key = key;
+            this.url = url;
+            this.headers = headers;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
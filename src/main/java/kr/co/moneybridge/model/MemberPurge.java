@@ -0,0 +1,84 @@
+package kr.co.moneybridge.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// 탈퇴 계정 정리 작업
+// 행이 있는 동안 계정은 로그인/인증이 막히고, 단계(step)를 커밋마다 저장해서 서버가 죽어도 이어서 정리함
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "member_purge_tb", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"memberId", "role"})
+})
+@Entity
+public class MemberPurge {
+    public static final int LAST_ERROR_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Role role;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MemberPurgeStep step;
+
+    @Column(nullable = false)
+    private Integer attempts; // 연속 실패 횟수, 단계가 진행되면 0으로
+
+    @Column(length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public static MemberPurge of(Long memberId, Role role) {
+        return MemberPurge.builder()
+                .memberId(memberId)
+                .role(role)
+                .step(MemberPurgeStep.FILES)
+                .attempts(0)
+                .build();
+    }
+
+    public void advance() {
+        this.step = step.next();
+        this.attempts = 0;
+        this.lastError = null;
+    }
+
+    // 앞 단계로 되돌림 - 이미 지난 단계에서 다시 지울 게 생겼을 때
+    public void rewind(MemberPurgeStep step) {
+        this.step = step;
+        this.attempts = 0;
+        this.lastError = null;
+    }
+
+    public void fail(String message) {
+        this.attempts++;
+        this.lastError = message == null || message.length() <= LAST_ERROR_LENGTH ?
+                message : message.substring(0, LAST_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,18 @@
+package kr.co.moneybridge.model;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MemberPurgeRepository extends JpaRepository<MemberPurge, Long> {
+    Optional<MemberPurge> findByMemberIdAndRole(Long memberId, Role role);
+
+    boolean existsByMemberIdAndRole(Long memberId, Role role);
+
+    // 재시도 한도 안의 작업을 들어온 순서대로
+    @Query("SELECT mp.id FROM MemberPurge mp WHERE mp.attempts < :maxAttempts ORDER BY mp.id")
+    List<Long> findRunnableIds(@Param("maxAttempts") Integer maxAttempts);
+}
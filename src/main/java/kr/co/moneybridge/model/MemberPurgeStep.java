@@ -0,0 +1,15 @@
+package kr.co.moneybridge.model;
+
+// 탈퇴 계정 정리 단계 - 이 순서대로 진행하고, 각 단계는 다 지울 때까지 묶음 단위로 반복함
+public enum MemberPurgeStep {
+    FILES,        // s3 파일 (PB만)
+    RESERVATIONS, // 상담 예약 + 후기 + 스타일
+    REPLIES,      // 작성한 댓글(달린 대댓글 포함) + 대댓글
+    BOARDS,       // 작성한 컨텐츠 (PB만)
+    BOOKMARKS,    // 컨텐츠 북마크 + PB 북마크
+    ACCOUNT;      // 약관 동의/경력/수상/포트폴리오/집계 + 계정 행
+
+    public MemberPurgeStep next() {
+        return values()[ordinal() + 1];
+    }
+}
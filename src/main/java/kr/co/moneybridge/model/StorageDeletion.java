@@ -0,0 +1,61 @@
+package kr.co.moneybridge.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+// s3 삭제 대기 파일
+// 파일을 떼어낸 트랜잭션과 같이 커밋되고, StorageDeletionScheduler가 다건 삭제 요청으로 모아서 지운 뒤 행을 지움
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "storage_deletion_tb", indexes = {
+        @Index(columnList = "objectKey")
+})
+@Entity
+public class StorageDeletion {
+    public static final int LAST_ERROR_LENGTH = 255;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 512)
+    private String objectKey; // 버킷 키
+
+    @Column(nullable = false)
+    private Integer attempts; // 실패 횟수
+
+    @Column(length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public static StorageDeletion of(String objectKey) {
+        return StorageDeletion.builder()
+                .objectKey(objectKey)
+                .attempts(0)
+                .build();
+    }
+
+    public void fail(String message) {
+        this.attempts++;
+        this.lastError = message == null || message.length() <= LAST_ERROR_LENGTH ?
+                message : message.substring(0, LAST_ERROR_LENGTH);
+    }
+}
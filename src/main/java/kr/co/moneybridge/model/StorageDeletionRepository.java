@@ -0,0 +1,19 @@
+package kr.co.moneybridge.model;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+    // 재시도 한도 안의 삭제 대기 파일을 cursor 다음부터 id순으로
+    @Query("SELECT sd FROM StorageDeletion sd WHERE sd.id > :cursor AND sd.attempts < :maxAttempts ORDER BY sd.id")
+    List<StorageDeletion> findRunnableAfterId(@Param("cursor") Long cursor, @Param("maxAttempts") Integer maxAttempts, Pageable pageable);
+
+    // 이미 삭제 대기 중인 키 (고아 파일 수거에서 중복 등록 방지)
+    @Query("SELECT sd.objectKey FROM StorageDeletion sd WHERE sd.objectKey IN :keys")
+    List<String> findObjectKeysIn(@Param("keys") Collection<String> keys);
+}
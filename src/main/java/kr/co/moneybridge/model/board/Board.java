@@ -1,5 +1,6 @@
 package kr.co.moneybridge.model.board;
 
+import kr.co.moneybridge.core.util.MyTextUtil;
 import kr.co.moneybridge.dto.board.BoardRequest;
 import kr.co.moneybridge.model.pb.PB;
 import lombok.*;
@@ -14,6 +15,8 @@ import java.time.LocalDateTime;
 @Table(name = "board_tb")
 @Entity
 public class Board {
+    public static final int EXCERPT_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,8 +29,8 @@ public class Board {
 
     private String thumbnail;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String content; // 블로그글이니 사이즈크니 longtext, HTML 코드저장.
+    @Column(nullable = false, length = EXCERPT_LENGTH)
+    private String excerpt; // 본문(HTML)은 board_body_tb에 압축 저장, 여기엔 목록용 텍스트 요약만
 
     @Column(nullable = false, length = 30)
     private String tag1; // 7자 이내
@@ -57,13 +60,9 @@ public class Board {
         this.updatedAt = LocalDateTime.now();
     }
 
-    public void increaseCount() {
-        this.clickCount++;
-    }
-
     public void modifyBoard(BoardRequest.BoardUpdateDTO boardUpdateDTO) {
         this.title = boardUpdateDTO.getTitle();
-        this.content = boardUpdateDTO.getContent();
+        this.excerpt = MyTextUtil.excerpt(boardUpdateDTO.getContent(), EXCERPT_LENGTH);
         this.tag1 = boardUpdateDTO.getTag1();
         this.tag2 = boardUpdateDTO.getTag2();
     }
@@ -0,0 +1,83 @@
+package kr.co.moneybridge.model.board;
+
+import kr.co.moneybridge.core.util.MyCompressUtil;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+import org.springframework.util.DigestUtils;
+
+import javax.persistence.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+// 컨텐츠 본문 저장소 - 목록/카운터 조회가 본문을 끌고 다니지 않도록 board_tb와 분리, 상세/수정 화면에서만 조회
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "board_body_tb")
+@Entity
+public class BoardBody implements Persistable<Long> {
+    @Id
+    private Long boardId; // board_tb의 id를 그대로 씀
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data; // deflate 압축한 HTML 본문
+
+    @Column(nullable = false, length = 32)
+    private String contentHash; // 원문 md5, ETag로 사용
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public Long getId() {
+        return boardId;
+    }
+
+    // id를 직접 넣는 엔티티라 저장 전 merge용 select가 나가지 않도록 새 엔티티 여부를 직접 판단
+    @Override
+    public boolean isNew() {
+        return createdAt == null;
+    }
+
+    public static BoardBody of(Long boardId, String content) {
+        return BoardBody.builder()
+                .boardId(boardId)
+                .data(MyCompressUtil.deflate(content))
+                .contentHash(hash(content))
+                .build();
+    }
+
+    // 내용이 같으면 다시 압축하지 않음
+    public void modifyContent(String content) {
+        String contentHash = hash(content);
+        if (contentHash.equals(this.contentHash)) return;
+        this.data = MyCompressUtil.deflate(content);
+        this.contentHash = contentHash;
+    }
+
+    public String getContent() {
+        return MyCompressUtil.inflate(data);
+    }
+
+    public String getETag() {
+        return "\"" + contentHash + "\"";
+    }
+
+    private static String hash(String content) {
+        return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,27 @@
+package kr.co.moneybridge.model.board;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BoardBodyRepository extends JpaRepository<BoardBody, Long> {
+
+    @Query("SELECT bb FROM BoardBody bb JOIN Board b ON b.id = bb.boardId WHERE bb.boardId = :boardId AND b.status = :status")
+    Optional<BoardBody> findByBoardIdAndStatus(@Param("boardId") Long boardId, @Param("status") BoardStatus status);
+
+    @Modifying
+    @Query("DELETE FROM BoardBody bb WHERE bb.boardId = :boardId")
+    void deleteByBoardId(@Param("boardId") Long boardId);
+
+    @Modifying
+    @Query("DELETE FROM BoardBody bb WHERE bb.boardId IN :boardIds")
+    void deleteByBoardIdIn(@Param("boardIds") List<Long> boardIds);
+
+    @Modifying
+    @Query("DELETE FROM BoardBody bb WHERE bb.boardId IN (SELECT b.id FROM Board b WHERE b.pb.id = :pbId)")
+    void deleteByPBId(@Param("pbId") Long pbId);
+}
@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
-@Table(name = "board_bookmark_tb")
+// 북마크 피드 커서 페이지(bookmarkerId, bookmarkerRole로 거르고 board_id 역순)를 인덱스 범위 탐색으로 끝내기 위한 인덱스
+@Table(name = "board_bookmark_tb", indexes = @Index(name = "idx_board_bookmark_bookmarker_board",
+        columnList = "bookmarkerId, bookmarkerRole, board_id"))
 @Entity
 public class BoardBookmark {
     @Id
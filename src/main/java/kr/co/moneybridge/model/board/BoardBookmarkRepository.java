@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface BoardBookmarkRepository extends JpaRepository<BoardBookmark, Long> {
@@ -25,6 +26,10 @@ public interface BoardBookmarkRepository extends JpaRepository<BoardBookmark, Lo
     @Query("DELETE FROM BoardBookmark b WHERE b.board.id = :boardId")
     void deleteByBoardId(@Param("boardId") Long boardId);
 
+    @Modifying
+    @Query("DELETE FROM BoardBookmark b WHERE b.board.id IN :boardIds")
+    void deleteByBoardIdIn(@Param("boardIds") List<Long> boardIds);
+
     @Modifying
     void deleteById(Long id);
 
@@ -35,6 +40,9 @@ public interface BoardBookmarkRepository extends JpaRepository<BoardBookmark, Lo
     @Query("SELECT bm FROM BoardBookmark bm WHERE bm.bookmarkerId = :bookmarkerId AND bm.board.id = :boardId")
     Optional<BoardBookmark> findByMemberAndBoardId(@Param("bookmarkerId") Long bookmarkerId, @Param("boardId") Long boardId);
 
+    @Query("SELECT bm.board.id FROM BoardBookmark bm WHERE bm.bookmarkerId = :bookmarkerId AND bm.bookmarkerRole = :bookmarkerRole")
+    List<Long> findBoardIdsByBookmarker(@Param("bookmarkerId") Long bookmarkerId, @Param("bookmarkerRole") BookmarkerRole bookmarkerRole);
+
     @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END " +
             "FROM BoardBookmark b " +
             "WHERE b.bookmarkerId = :bookmarkerId AND b.bookmarkerRole = :bookmarkerRole AND b.board.id = :id")
@@ -10,31 +10,56 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BoardRepository extends JpaRepository<Board, Long> {
+    // 삭제 대기(DELETED) 컨텐츠는 정리되기 전까지도 id로 조회되지 않게 함
+    @Override
+    @Query("SELECT b FROM Board b WHERE b.id = :id AND b.status <> 'DELETED'")
+    Optional<Board> findById(@Param("id") Long id);
+
     @Query("select b.thumbnail from Board b where b.id = :boardId")
     Optional<String> findThumbnailByBoardId(@Param("boardId") Long boardId);
 
+    // 삭제 대기 컨텐츠도 포함
     @Query("select b.thumbnail from Board b where b.pb.id = :pbId")
     List<String> findThumbnailsByPBId(@Param("pbId") Long pbId);
 
+    @Query("select b.thumbnail from Board b where b.id in :ids and b.thumbnail is not null")
+    List<String> findThumbnailsByIdIn(@Param("ids") List<Long> ids);
+
+    // 이미지 파이프라인 결과 반영 - 처리하는 동안 값이 그대로일 때만
+    @Modifying
+    @Query("update Board b set b.thumbnail = :url where b.id = :id and b.thumbnail = :expected")
+    int updateThumbnailIfUnchanged(@Param("id") Long id, @Param("expected") String expected, @Param("url") String url);
+
+    // 고아 파일 수거 - 주어진 url 중 썸네일로 쓰이고 있는 것 (정리 전의 삭제 대기 컨텐츠도 포함)
+    @Query("select b.thumbnail from Board b where b.thumbnail in :urls")
+    List<String> findThumbnailsIn(@Param("urls") Collection<String> urls);
+
     @Query("SELECT new kr.co.moneybridge.dto.user.UserResponse$BookmarkDTO(b) FROM Board b " +
-            "JOIN BoardBookmark bb ON bb.board = b WHERE bb.bookmarkerRole = :role AND bb.bookmarkerId = :id")
+            "JOIN BoardBookmark bb ON bb.board = b WHERE bb.bookmarkerRole = :role AND bb.bookmarkerId = :id AND b.status <> 'DELETED'")
     Page<UserResponse.BookmarkDTO> findTwoByBookmarker(@Param("role") BookmarkerRole role, @Param("id") Long id, Pageable pageable);
 
     @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, p, c) " +
             "FROM Board b " +
             "JOIN b.pb p JOIN p.branch bh JOIN bh.company c " +
-            "WHERE (b.title LIKE CONCAT('%', :search, '%') OR p.name LIKE CONCAT('%', :search, '%')) AND b.status = :status")
-    Page<BoardResponse.BoardPageDTO> findBySearch(@Param("search") String search, @Param("status") BoardStatus status, Pageable pageable);
+            "WHERE b.id IN :ids AND b.status = :status")
+    List<BoardResponse.BoardPageDTO> findBoardPageByIdIn(@Param("ids") List<Long> ids, @Param("status") BoardStatus status);
 
-    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, p, c) " +
-            "FROM Board b " +
-            "JOIN b.pb p JOIN p.branch bh JOIN bh.company c " +
-            "WHERE p.name LIKE CONCAT('%', :name, '%') AND b.status = :status")
-    Page<BoardResponse.BoardPageDTO> findByPbName(@Param("name") String name, @Param("status") BoardStatus status, Pageable pageable);
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardSearchDTO(b, p, bd) " +
+            "FROM Board b JOIN b.pb p LEFT JOIN BoardBody bd ON bd.boardId = b.id WHERE b.status = :status")
+    List<BoardResponse.BoardSearchDTO> findAllSearchDocuments(@Param("status") BoardStatus status);
+
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardSearchDTO(b, p, bd) " +
+            "FROM Board b JOIN b.pb p LEFT JOIN BoardBody bd ON bd.boardId = b.id WHERE b.id = :boardId AND b.status = :status")
+    Optional<BoardResponse.BoardSearchDTO> findSearchDocumentById(@Param("boardId") Long boardId, @Param("status") BoardStatus status);
+
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardSearchDTO(b, p, bd) " +
+            "FROM Board b JOIN b.pb p LEFT JOIN BoardBody bd ON bd.boardId = b.id WHERE p.id = :pbId AND b.status = :status")
+    List<BoardResponse.BoardSearchDTO> findSearchDocumentsByPBId(@Param("pbId") Long pbId, @Param("status") BoardStatus status);
 
     @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, p, c) " +
             "FROM Board b JOIN b.pb p JOIN p.branch bh JOIN bh.company c " +
@@ -46,10 +71,20 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
             "WHERE b.status = :status ORDER BY b.id DESC")
     List<BoardResponse.BoardPageDTO> findTop2ByNew(@Param("status") BoardStatus status, Pageable pageable);
 
-    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, p, c) " +
-            "FROM Board b JOIN b.pb p JOIN p.branch bh JOIN bh.company c " +
-            "WHERE b.status = :status ORDER BY b.clickCount DESC")
-    List<BoardResponse.BoardPageDTO> findTop2ByHot(@Param("status") BoardStatus status, Pageable pageable);
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardTrendDTO(b.id, b.pb.id, b.createdAt, b.clickCount, COUNT(bb.id)) " +
+            "FROM Board b LEFT JOIN BoardBookmark bb ON bb.board.id = b.id " +
+            "WHERE b.status = :status GROUP BY b.id, b.pb.id, b.createdAt, b.clickCount")
+    List<BoardResponse.BoardTrendDTO> findAllTrendDocuments(@Param("status") BoardStatus status);
+
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardTrendDTO(b.id, b.pb.id, b.createdAt, b.clickCount, COUNT(bb.id)) " +
+            "FROM Board b LEFT JOIN BoardBookmark bb ON bb.board.id = b.id " +
+            "WHERE b.id = :id AND b.status = :status GROUP BY b.id, b.pb.id, b.createdAt, b.clickCount")
+    Optional<BoardResponse.BoardTrendDTO> findTrendDocumentById(@Param("id") Long id, @Param("status") BoardStatus status);
+
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardTrendDTO(b.id, b.pb.id, b.createdAt, b.clickCount, COUNT(bb.id)) " +
+            "FROM Board b LEFT JOIN BoardBookmark bb ON bb.board.id = b.id " +
+            "WHERE b.pb.id = :pbId AND b.status = :status GROUP BY b.id, b.pb.id, b.createdAt, b.clickCount")
+    List<BoardResponse.BoardTrendDTO> findTrendDocumentsByPBId(@Param("pbId") Long pbId, @Param("status") BoardStatus status);
 
     @Query("SELECT NEW kr.co.moneybridge.dto.board.BoardResponse$BoardDetailDTO(b, pb) " +
             "FROM Board b " +
@@ -60,7 +95,7 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
     @Query("SELECT b FROM Board b WHERE b.pb.id = :pbId AND b.status = :status")
     List<Board> findBoardsByPbId(@Param("pbId") Long pbId, @Param("status") BoardStatus status);
 
-    @Query("SELECT b FROM Board b JOIN PB pb ON b.pb.id = pb.id WHERE b.id = :boardId AND pb.id = :pbId")
+    @Query("SELECT b FROM Board b JOIN PB pb ON b.pb.id = pb.id WHERE b.id = :boardId AND pb.id = :pbId AND b.status <> 'DELETED'")
     Optional<Board> findByIdAndPbId(@Param("boardId") Long boardId, @Param("pbId") Long pbId);
 
     @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, pb, c) " +
@@ -69,7 +104,7 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
             "JOIN Branch br ON pb.branch = br " +
             "JOIN Company c ON br.company = c " +
             "JOIN BoardBookmark bb ON bb.board = b " +
-            "WHERE bb.bookmarkerId = :userId AND bb.bookmarkerRole = 'USER'")
+            "WHERE bb.bookmarkerId = :userId AND bb.bookmarkerRole = 'USER' AND b.status <> 'DELETED'")
     Page<BoardResponse.BoardPageDTO> findBookmarkBoardsWithUserId(@Param("userId") Long userId, Pageable pageable);
 
     @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, pb, c) " +
@@ -78,7 +113,7 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
             "JOIN Branch br ON pb.branch = br " +
             "JOIN Company c ON br.company = c " +
             "JOIN BoardBookmark bb ON bb.board = b " +
-            "WHERE bb.bookmarkerId = :pbId AND bb.bookmarkerRole = 'PB'")
+            "WHERE bb.bookmarkerId = :pbId AND bb.bookmarkerRole = 'PB' AND b.status <> 'DELETED'")
     Page<BoardResponse.BoardPageDTO> findBookmarkBoardsWithPbId(@Param("pbId") Long pbId, Pageable pageable);
     @Modifying
     void deleteById(Long boardId);
@@ -90,6 +125,30 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
     @Query("select b from Board b where b.pb.id = :pbId")
     List<Board> findAllByPBId(@Param("pbId") Long pbId);
 
+    @Modifying
+    @Query("delete from Board b where b.id in :ids")
+    void deleteByIdIn(@Param("ids") List<Long> ids);
+
+    // 삭제 표시 - 이미 삭제 대기인 컨텐츠는 건드리지 않고 0을 돌려줌
+    @Modifying
+    @Query("update Board b set b.status = 'DELETED' where b.id = :id and b.status <> 'DELETED'")
+    int markDeleted(@Param("id") Long id);
+
+    // PB 탈퇴 - 그 PB의 컨텐츠를 한 번에 삭제 대기로
+    @Modifying
+    @Query("update Board b set b.status = 'DELETED' where b.pb.id = :pbId and b.status <> 'DELETED'")
+    int markDeletedByPBId(@Param("pbId") Long pbId);
+
+    // 정리할 삭제 대기 컨텐츠를 id순으로 잘라옴
+    @Query("select b.id from Board b where b.status = :status and b.id > :cursor order by b.id")
+    List<Long> findIdsByStatusAfterId(@Param("status") BoardStatus status, @Param("cursor") Long cursor, Pageable pageable);
+
+    Long countByStatus(BoardStatus status);
+
+    // PB 탈퇴 시 정리할 컨텐츠 (삭제 대기 포함)
+    @Query("select b.id from Board b where b.pb.id = :pbId and b.id > :cursor order by b.id")
+    List<Long> findIdsByPBIdAfterId(@Param("pbId") Long pbId, @Param("cursor") Long cursor, Pageable pageable);
+
 
     @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, pb, c) FROM Board b " +
             "JOIN PB pb ON b.pb = pb " +
@@ -113,4 +172,21 @@ public interface BoardRepository extends JpaRepository<Board, Long> {
             "JOIN Company c ON br.company = c " +
             "WHERE pb.id = :pbId AND b.status = 'ACTIVE' ")
     Page<BoardResponse.BoardPageDTO> findByPBId(@Param("pbId") Long pbId, Pageable pageable);
+
+    // 커서 페이지 - 마지막으로 받은 id보다 작은 것부터 id 역순, COUNT 없이 pageable은 LIMIT로만 씀
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, p, c) " +
+            "FROM Board b JOIN b.pb p JOIN p.branch bh JOIN bh.company c " +
+            "WHERE b.status = :status AND b.id < :cursor ORDER BY b.id DESC")
+    List<BoardResponse.BoardPageDTO> findPageBeforeId(@Param("status") BoardStatus status, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, p, c) " +
+            "FROM Board b JOIN b.pb p JOIN p.branch bh JOIN bh.company c " +
+            "WHERE p.id = :pbId AND b.status = 'ACTIVE' AND b.id < :cursor ORDER BY b.id DESC")
+    List<BoardResponse.BoardPageDTO> findPBPageBeforeId(@Param("pbId") Long pbId, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$BoardPageDTO(b, p, c) " +
+            "FROM BoardBookmark bb JOIN bb.board b JOIN b.pb p JOIN p.branch bh JOIN bh.company c " +
+            "WHERE bb.bookmarkerId = :bookmarkerId AND bb.bookmarkerRole = :bookmarkerRole AND b.status <> 'DELETED' AND b.id < :cursor ORDER BY b.id DESC")
+    List<BoardResponse.BoardPageDTO> findBookmarkPageBeforeId(@Param("bookmarkerId") Long bookmarkerId, @Param("bookmarkerRole") BookmarkerRole bookmarkerRole,
+                                                              @Param("cursor") Long cursor, Pageable pageable);
 }
@@ -2,5 +2,6 @@ package kr.co.moneybridge.model.board;
 
 public enum BoardStatus {
     ACTIVE,
-    TEMP // 임시저장
+    TEMP, // 임시저장
+    DELETED // 삭제 대기 - 모든 조회에서 빠지고, 연관 데이터는 BoardPurgeScheduler가 정리한 뒤 행 삭제
 }
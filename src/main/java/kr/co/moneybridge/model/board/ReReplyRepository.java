@@ -1,6 +1,6 @@
 package kr.co.moneybridge.model.board;
 
-import kr.co.moneybridge.dto.board.BoardResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,19 +13,24 @@ public interface ReReplyRepository extends JpaRepository<ReReply, Long> {
     @Query("delete from ReReply r where r.reply.id = :replyId")
     void deleteByReplyId(@Param("replyId") Long replyId);
 
+    @Modifying
+    @Query("delete from ReReply r where r.reply.id in (select rp.id from Reply rp where rp.board.id in :boardIds)")
+    void deleteByBoardIdIn(@Param("boardIds") List<Long> boardIds);
+
+    @Modifying
+    @Query("delete from ReReply r where r.reply.id in :replyIds")
+    void deleteByReplyIdIn(@Param("replyIds") List<Long> replyIds);
+
+    @Query("select r.id from ReReply r where r.authorId = :authorId and r.authorRole = :authorRole order by r.id")
+    List<Long> findIdsByAuthor(@Param("authorId") Long authorId, @Param("authorRole") ReplyAuthorRole authorRole, Pageable pageable);
+
     @Modifying
     @Query("delete from ReReply r where r.authorId = :authorId and r.authorRole = :authorRole")
     void deleteByAuthor(@Param("authorId") Long authorId, @Param("authorRole")ReplyAuthorRole authorRole);
 
-    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$ReReplyOutDTO(rr, u) " +
-            "FROM ReReply rr " +
-            "JOIN User u ON rr.authorId = u.id " +
-            "WHERE rr.authorRole = 'USER' AND rr.reply.id = :replyId")
-    List<BoardResponse.ReReplyOutDTO> findUserReReplyByReplyId(@Param("replyId") Long replyId);
-
-    @Query("SELECT new kr.co.moneybridge.dto.board.BoardResponse$ReReplyOutDTO(rr, pb) " +
-            "FROM ReReply rr " +
-            "JOIN PB pb ON rr.authorId = pb.id " +
-            "WHERE rr.authorRole = 'PB' AND rr.reply.id = :replyId")
-    List<BoardResponse.ReReplyOutDTO> findPBReReplyByReplyId(@Param("replyId") Long replyId);
+    @Query("SELECT rr FROM ReReply rr WHERE rr.reply.board.id = :boardId ORDER BY rr.createdAt, rr.id")
+    List<ReReply> findOrderedByBoardId(@Param("boardId") Long boardId);
+
+    @Query("SELECT rr FROM ReReply rr WHERE rr.reply.id IN :replyIds ORDER BY rr.createdAt, rr.id")
+    List<ReReply> findOrderedByReplyIdIn(@Param("replyIds") List<Long> replyIds);
 }
@@ -1,6 +1,6 @@
 package kr.co.moneybridge.model.board;
 
-import kr.co.moneybridge.dto.board.BoardResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,26 +10,28 @@ import java.util.List;
 
 public interface ReplyRepository extends JpaRepository<Reply, Long> {
 
-    @Query("SELECT NEW kr.co.moneybridge.dto.board.BoardResponse$ReplyOutDTO(r, u) " +
-            "FROM Reply r " +
-            "INNER JOIN User u ON r.authorId = u.id " +
-            "WHERE r.board.id = :boardId AND r.authorRole = 'USER'")
-    List<BoardResponse.ReplyOutDTO> findUserRepliesByBoardId(@Param("boardId") Long boardId);
+    @Query("SELECT r FROM Reply r WHERE r.board.id = :boardId ORDER BY r.createdAt, r.id")
+    List<Reply> findOrderedByBoardId(@Param("boardId") Long boardId);
 
-    @Query("SELECT NEW kr.co.moneybridge.dto.board.BoardResponse$ReplyOutDTO(r, pb) " +
-            "FROM Reply r " +
-            "INNER JOIN PB pb ON r.authorId = pb.id " +
-            "WHERE r.board.id = :boardId AND r.authorRole = 'PB'")
-    List<BoardResponse.ReplyOutDTO> findPBRepliesByBoardId(@Param("boardId") Long boardId);
+    // id는 작성 순서대로 증가하므로 마지막으로 받은 id 다음부터 잘라옴
+    @Query("SELECT r FROM Reply r WHERE r.board.id = :boardId AND r.id > :cursor ORDER BY r.id")
+    List<Reply> findPageByBoardId(@Param("boardId") Long boardId, @Param("cursor") Long cursor, Pageable pageable);
 
     @Modifying
     @Query("DELETE FROM Reply r WHERE r.board.id = :boardId")
     void deleteByBoardId(@Param("boardId") Long boardId);
 
+    @Modifying
+    @Query("DELETE FROM Reply r WHERE r.board.id IN :boardIds")
+    void deleteByBoardIdIn(@Param("boardIds") List<Long> boardIds);
+
     @Modifying
     @Query("delete from Reply r where r.authorId = :authorId and r.authorRole = :authorRole")
     void deleteByAuthor(@Param("authorId") Long authorId, @Param("authorRole")ReplyAuthorRole authorRole);
 
+    @Query("select r.id from Reply r where r.authorId = :authorId and r.authorRole = :authorRole order by r.id")
+    List<Long> findIdsByAuthor(@Param("authorId") Long authorId, @Param("authorRole") ReplyAuthorRole authorRole, Pageable pageable);
+
     @Query("select r from Reply r where r.authorId = :authorId and r.authorRole = :authorRole")
     List<Reply> findAllByAuthor(@Param("authorId") Long authorId, @Param("authorRole")ReplyAuthorRole authorRole);
 
@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
-@Table(name = "branch_tb")
+@Table(name = "branch_tb", indexes = @Index(name = "idx_branch_latitude_longitude", columnList = "latitude, longitude"))
 @Entity
 public class Branch {
     @Id
@@ -132,6 +132,10 @@ public class PB implements Member {
         this.status = PBStatus.ACTIVE;
     }
 
+    public void withdrawn() {
+        this.status = PBStatus.WITHDRAWN;
+    }
+
     public void updateConsultStart(LocalTime start) {
         this.consultStart = start;
     }
@@ -1,14 +1,18 @@
 package kr.co.moneybridge.model.pb;
 
+import kr.co.moneybridge.dto.board.BoardResponse;
 import kr.co.moneybridge.dto.pb.PBResponse;
 import kr.co.moneybridge.dto.user.UserResponse;
 import kr.co.moneybridge.model.reservation.ReservationProcess;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,9 +26,29 @@ public interface PBRepository extends JpaRepository<PB, Long> {
     @Query("select p.profile from PB p where p.id = :id")
     Optional<String> findProfileById(@Param("id") Long id);
 
+    // 이미지 파이프라인 결과 반영 - 처리하는 동안 값이 그대로일 때만
+    @Modifying
+    @Query("update PB p set p.profile = :url where p.id = :id and p.profile = :expected")
+    int updateProfileIfUnchanged(@Param("id") Long id, @Param("expected") String expected, @Param("url") String url);
+
+    @Modifying
+    @Query("update PB p set p.businessCard = :url where p.id = :id and p.businessCard = :expected")
+    int updateBusinessCardIfUnchanged(@Param("id") Long id, @Param("expected") String expected, @Param("url") String url);
+
+    // 고아 파일 수거 - 주어진 url 중 프로필/명함으로 쓰이고 있는 것
+    @Query("select p.profile from PB p where p.profile in :urls")
+    List<String> findProfilesIn(@Param("urls") Collection<String> urls);
+
+    @Query("select p.businessCard from PB p where p.businessCard in :urls")
+    List<String> findBusinessCardsIn(@Param("urls") Collection<String> urls);
+
     @Query("select p from PB p where p.status = :status")
     Page<PB> findAllByStatus(@Param("status") PBStatus status, Pageable pageable);
 
+    // COUNT 없이 한 페이지만 (전체 개수는 CountCache에서)
+    @Query("select p from PB p where p.status = :status")
+    Slice<PB> findSliceByStatus(@Param("status") PBStatus status, Pageable pageable);
+
     @Query("select p from PB p where p.id in :list")
     List<PB> findByIdIn(@Param("list") List<Long> list);
 
@@ -40,12 +64,17 @@ public interface PBRepository extends JpaRepository<PB, Long> {
             "join UserBookmark ub on ub.pb = pb where ub.user.id = :userId")
     Page<UserResponse.BookmarkDTO> findTwoByBookmarker(@Param("userId") Long userId, Pageable pageable);
 
+    // 탈퇴 처리 중(WITHDRAWN)인 PB는 없는 것으로 봄 - 데이터 정리가 끝나기 전에 예약/북마크 등이 새로 생기지 않도록
+    @Query("select p from PB p where p.id = :id and p.status <> 'WITHDRAWN'")
+    Optional<PB> findNotWithdrawnById(@Param("id") Long id);
+
     @Query("select p from PB p where p.email = :email")
     Optional<PB> findByEmail(@Param("email") String email);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) FROM PB pb " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) FROM PB pb " +
             "JOIN Branch b ON pb.branch = b " +
             "JOIN Company c ON b.company = c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "JOIN UserBookmark ub ON ub.pb = pb " +
             "WHERE ub.user.id = :userId")
     Page<PBResponse.PBPageDTO> findByUserId(@Param("userId") Long userId, Pageable pageable);
@@ -59,60 +88,130 @@ public interface PBRepository extends JpaRepository<PB, Long> {
     @Query("select p from PB p where p.name = :name and p.phoneNumber = :phoneNumber")
     List<PB> findByNameAndPhoneNumber(@Param("name") String name, @Param("phoneNumber") String phoneNumber);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) FROM PB pb " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBNameDTO(pb, b) FROM PB pb " +
             "JOIN Branch b ON pb.branch = b " +
-            "JOIN Company c ON b.company = c " +
-            "WHERE pb.name LIKE CONCAT('%', :name, '%') AND pb.status = 'ACTIVE' ")
-    Page<PBResponse.PBPageDTO> findByName(@Param("name") String name, Pageable pageable);
+            "WHERE pb.status = 'ACTIVE' ")
+    List<PBResponse.PBNameDTO> findAllNames();
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBNameDTO(pb, b) FROM PB pb " +
+            "JOIN Branch b ON pb.branch = b " +
+            "WHERE pb.id = :id AND pb.status = 'ACTIVE' ")
+    Optional<PBResponse.PBNameDTO> findNameById(@Param("id") Long id);
+
+    @Query("select new kr.co.moneybridge.dto.board.BoardResponse$ReplyAuthorDTO(pb.id, pb.name, pb.profile) from PB pb where pb.id in :ids")
+    List<BoardResponse.ReplyAuthorDTO> findReplyAuthorsByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) " +
             "FROM PB pb " +
             "JOIN Branch b ON pb.branch = b " +
             "JOIN Company c ON b.company = c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE (pb.speciality1 = :speciality OR pb.speciality2 = :speciality) AND pb.status = 'ACTIVE' ")
     List<PBResponse.PBPageDTO> findByPBListSpeciality(@Param(("speciality")) PBSpeciality speciality);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) " +
             "FROM PB pb " +
             "JOIN Branch b ON pb.branch = b " +
             "JOIN Company c ON b.company = c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE c.id = :companyId AND pb.status = 'ACTIVE' ")
     List<PBResponse.PBPageDTO> findByPBListCompany(@Param("companyId") Long companyId);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) " +
             "FROM PB pb " +
             "JOIN Branch b ON pb.branch = b " +
             "JOIN Company c ON b.company = c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE pb.status = 'ACTIVE' ")
     List<PBResponse.PBPageDTO> findAllPB();
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) FROM PB pb " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) " +
+            "FROM PB pb " +
+            "JOIN Branch b ON pb.branch = b " +
+            "JOIN Company c ON b.company = c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
+            "WHERE pb.id IN :ids AND pb.status = 'ACTIVE' ")
+    List<PBResponse.PBPageDTO> findPBPageByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBLocationDTO(pb, b, c) " +
+            "FROM PB pb " +
+            "JOIN Branch b ON pb.branch = b " +
+            "JOIN Company c ON b.company = c " +
+            "WHERE pb.status = 'ACTIVE' ")
+    List<PBResponse.PBLocationDTO> findAllLocations();
+
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBSpecialityDTO(pb) FROM PB pb WHERE pb.status = 'ACTIVE' ")
+    List<PBResponse.PBSpecialityDTO> findAllSpecialities();
+
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBSpecialityDTO(pb) FROM PB pb WHERE pb.id = :id AND pb.status = 'ACTIVE' ")
+    Optional<PBResponse.PBSpecialityDTO> findSpecialityById(@Param("id") Long id);
+
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBLocationDTO(pb, b, c) " +
+            "FROM PB pb " +
+            "JOIN Branch b ON pb.branch = b " +
+            "JOIN Company c ON b.company = c " +
+            "WHERE pb.id = :id AND pb.status = 'ACTIVE' ")
+    Optional<PBResponse.PBLocationDTO> findLocationById(@Param("id") Long id);
+
+    // 위경도 사각형 안의 지점에 속한 PB - branch_tb(latitude, longitude) 인덱스로 후보만 가져옴
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) " +
+            "FROM PB pb " +
+            "JOIN Branch b ON pb.branch = b " +
+            "JOIN Company c ON b.company = c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
+            "WHERE b.latitude BETWEEN :minLat AND :maxLat " +
+            "AND b.longitude BETWEEN :minLon AND :maxLon " +
+            "AND pb.status = 'ACTIVE' ")
+    List<PBResponse.PBPageDTO> findPBPageInBox(@Param("minLat") Double minLat, @Param("maxLat") Double maxLat,
+                                               @Param("minLon") Double minLon, @Param("maxLon") Double maxLon);
+
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) FROM PB pb " +
             "JOIN pb.branch b " +
             "JOIN b.company c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE (pb.speciality1 = :speciality OR pb.speciality2 = :speciality) AND pb.status = 'ACTIVE' " +
             "ORDER BY pb.career DESC")
     Page<PBResponse.PBPageDTO> findBySpecialityOrderedByCareer(@Param("speciality") PBSpeciality speciality, Pageable pageable);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) FROM PB pb " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) FROM PB pb " +
             "JOIN pb.branch b " +
             "JOIN b.company c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE c.id = :companyId AND pb.status = 'ACTIVE' " +
             "ORDER BY pb.career DESC")
     Page<PBResponse.PBPageDTO> findByCompanyIdOrderedByCareer(@Param("companyId") Long companyId, Pageable pageable);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) FROM PB pb " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) FROM PB pb " +
             "JOIN pb.branch b " +
             "JOIN b.company c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE pb.status = 'ACTIVE' " +
             "ORDER BY pb.career DESC")
     Page<PBResponse.PBPageDTO> findAllPBWithCareer(Pageable pageable);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) FROM PB pb " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) FROM PB pb " +
             "JOIN pb.branch b " +
             "JOIN b.company c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE (pb.speciality1 IN (:specialities) OR pb.speciality2 IN (:specialities)) AND pb.status = 'ACTIVE' ")
     Page<PBResponse.PBPageDTO> findRecommendedPBList(Pageable pageable, @Param("specialities") PBSpeciality... specialities);
 
+    // 인기순 - 완료된 상담 수, 후기 수, 북마크 수 순서로 정렬, speciality/companyId가 null이면 필터 없음
+    @Query(value = "SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) FROM PB pb " +
+            "JOIN pb.branch b " +
+            "JOIN b.company c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
+            "WHERE (:speciality IS NULL OR pb.speciality1 = :speciality OR pb.speciality2 = :speciality) " +
+            "AND (:companyId IS NULL OR c.id = :companyId) AND pb.status = 'ACTIVE' " +
+            "ORDER BY COALESCE(s.reserveCount, 0) DESC, COALESCE(s.reviewCount, 0) DESC, COALESCE(s.bookmarkCount, 0) DESC, pb.id DESC",
+            countQuery = "SELECT COUNT(pb) FROM PB pb " +
+                    "JOIN pb.branch b " +
+                    "JOIN b.company c " +
+                    "WHERE (:speciality IS NULL OR pb.speciality1 = :speciality OR pb.speciality2 = :speciality) " +
+                    "AND (:companyId IS NULL OR c.id = :companyId) AND pb.status = 'ACTIVE' ")
+    Page<PBResponse.PBPageDTO> findAllPBWithPopularity(@Param("speciality") PBSpeciality speciality,
+                                                       @Param("companyId") Long companyId, Pageable pageable);
+
     @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBSimpleProfileDTO(pb, c) FROM PB pb " +
             "JOIN pb.branch b " +
             "JOIN b.company c " +
@@ -122,7 +221,7 @@ public interface PBRepository extends JpaRepository<PB, Long> {
     @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBProfileDTO(pb, b, c) FROM PB pb " +
             "JOIN pb.branch b " +
             "JOIN b.company c " +
-            "WHERE pb.id = :id")
+            "WHERE pb.id = :id AND pb.status <> 'WITHDRAWN'")
     Optional<PBResponse.PBProfileDTO> findPBProfile(@Param("id") Long id);
 
     @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBUpdateOutDTO(pb, b, c) " +
@@ -132,16 +231,18 @@ public interface PBRepository extends JpaRepository<PB, Long> {
             "WHERE pb.id = :pbId")
     Optional<PBResponse.PBUpdateOutDTO> findPBDetailByPbId(@Param("pbId") Long pbId);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) FROM PB pb " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) FROM PB pb " +
             "JOIN pb.branch b " +
             "JOIN b.company c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE (pb.speciality1 = :speciality1 OR pb.speciality2 = :speciality1 OR pb.speciality1 = :speciality2 OR pb.speciality2 = :speciality2) AND pb.status = 'ACTIVE' " +
             "ORDER BY pb.id DESC")
     List<PBResponse.PBPageDTO> findBySpeciality1And2(@Param("speciality1") PBSpeciality speciality1, @Param("speciality2") PBSpeciality speciality2, Pageable pageable);
 
-    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c) FROM PB pb " +
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPageDTO(pb, b, c, s.reserveCount, s.reviewCount) FROM PB pb " +
             "JOIN pb.branch b " +
             "JOIN b.company c " +
+            "LEFT JOIN PBStats s ON s.pbId = pb.id " +
             "WHERE (pb.speciality1 = :speciality1 OR pb.speciality2 = :speciality1) AND pb.status = 'ACTIVE' " +
             "ORDER BY pb.id DESC")
     List<PBResponse.PBPageDTO> findBySpeciality1(@Param("speciality1")PBSpeciality speciality1, Pageable pageable);
@@ -0,0 +1,27 @@
+package kr.co.moneybridge.model.pb;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+// PB별 집계(완료된 상담 수, 후기 수, 북마크 수)
+// 원본 테이블을 매번 COUNT 하지 않도록 상담 완료/후기 작성/북마크 시점에 같은 트랜잭션 안에서 갱신함
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Getter
+@Table(name = "pb_stats_tb")
+@Entity
+public class PBStats {
+    @Id
+    private Long pbId; // pb_tb의 id
+
+    @Column(nullable = false)
+    private Long reserveCount; // 완료된 상담 수
+
+    @Column(nullable = false)
+    private Long reviewCount;
+
+    @Column(nullable = false)
+    private Long bookmarkCount;
+}
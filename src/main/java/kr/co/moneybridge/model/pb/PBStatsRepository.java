@@ -0,0 +1,45 @@
+package kr.co.moneybridge.model.pb;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PBStatsRepository extends JpaRepository<PBStats, Long> {
+    @Modifying
+    @Query("update PBStats s set s.reserveCount = s.reserveCount + :delta where s.pbId = :pbId")
+    int addReserveCount(@Param("pbId") Long pbId, @Param("delta") Long delta);
+
+    @Modifying
+    @Query("update PBStats s set s.reviewCount = s.reviewCount + :delta where s.pbId = :pbId")
+    int addReviewCount(@Param("pbId") Long pbId, @Param("delta") Long delta);
+
+    @Modifying
+    @Query("update PBStats s set s.bookmarkCount = s.bookmarkCount + :delta where s.pbId = :pbId")
+    int addBookmarkCount(@Param("pbId") Long pbId, @Param("delta") Long delta);
+
+    @Modifying
+    @Query("update PBStats s set s.reserveCount = s.reserveCount + :reserveDelta, s.reviewCount = s.reviewCount + :reviewDelta, " +
+            "s.bookmarkCount = s.bookmarkCount + :bookmarkDelta where s.pbId = :pbId")
+    int addCounts(@Param("pbId") Long pbId, @Param("reserveDelta") Long reserveDelta,
+                  @Param("reviewDelta") Long reviewDelta, @Param("bookmarkDelta") Long bookmarkDelta);
+
+    @Modifying
+    @Query("update PBStats s set s.reserveCount = :reserveCount, s.reviewCount = :reviewCount, " +
+            "s.bookmarkCount = :bookmarkCount where s.pbId = :pbId")
+    int overwrite(@Param("pbId") Long pbId, @Param("reserveCount") Long reserveCount,
+                  @Param("reviewCount") Long reviewCount, @Param("bookmarkCount") Long bookmarkCount);
+
+    // 집계 행이 없을 때만 넣음 - 이미 있으면(다른 트랜잭션이 먼저 넣었으면) 0건
+    @Modifying
+    @Query(value = "insert into pb_stats_tb (pb_id, reserve_count, review_count, bookmark_count) " +
+            "select p.id, :reserveCount, :reviewCount, :bookmarkCount from pb_tb p " +
+            "where p.id = :pbId and not exists (select 1 from pb_stats_tb s where s.pb_id = :pbId)", nativeQuery = true)
+    int insertIfAbsent(@Param("pbId") Long pbId, @Param("reserveCount") Long reserveCount,
+                       @Param("reviewCount") Long reviewCount, @Param("bookmarkCount") Long bookmarkCount);
+
+    @Query("select p.id from PB p where not exists (select s from PBStats s where s.pbId = p.id)")
+    List<Long> findPBIdsWithoutStats();
+}
@@ -2,5 +2,6 @@ package kr.co.moneybridge.model.pb;
 
 public enum PBStatus {
     PENDING,    //승인대기
-    ACTIVE     //활성
+    ACTIVE,     //활성
+    WITHDRAWN   //탈퇴 처리 중 - 정리가 끝나면 행이 지워짐
 }
@@ -26,6 +26,10 @@ public class Portfolio {
     private Double profitFactor;
     private Double averageProfit; // 평균손익률
 
+    private Double volatility; // 연율화 변동성, 수익률 CSV에서만 계산됨
+
+    private Double sharpe; // 연율화 샤프지수, 수익률 CSV에서만 계산됨
+
     private String file; // 첨부 파일
 
     @Column(nullable = false)
@@ -49,5 +53,7 @@ public class Portfolio {
     public void updateMaxDrawdown(Double maxDrawdown) { this.maxDrawdown = maxDrawdown; }
     public void updateProfitFactor(Double profitFactor) { this.profitFactor = profitFactor; }
     public void updateAverageProfit(Double averageProfit) { this.averageProfit = averageProfit; }
+    public void updateVolatility(Double volatility) { this.volatility = volatility; }
+    public void updateSharpe(Double sharpe) { this.sharpe = sharpe; }
 
 }
@@ -0,0 +1,15 @@
+package kr.co.moneybridge.model.pb;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// PB 순위에 쓰는 포트폴리오 지표 - ascending이면 값이 작을수록 높은 순위
+@Getter
+@RequiredArgsConstructor
+public enum PortfolioMetric {
+    CUMULATIVE_RETURN(false), // 누적수익률
+    MAX_DRAWDOWN(true), // 최대자본인하율
+    PROFIT_FACTOR(false); // profit factor
+
+    private final boolean ascending;
+}
@@ -1,20 +1,44 @@
 package kr.co.moneybridge.model.pb;
 
+import kr.co.moneybridge.dto.pb.PBResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
     @Query("select p.file from Portfolio p where p.pb.id = :pbId")
     Optional<String> findFileByPBId(@Param("pbId") Long pbId);
 
+    // 고아 파일 수거 - 주어진 url 중 포트폴리오 파일로 쓰이고 있는 것
+    @Query("select p.file from Portfolio p where p.file in :urls")
+    List<String> findFilesIn(@Param("urls") Collection<String> urls);
+
     @Modifying
     @Query("delete from Portfolio p where p.pb.id = :pbId")
     void deleteByPBId(@Param("pbId") Long pbId);
 
     @Query("SELECT p FROM Portfolio p WHERE p.pb.id = :pbId")
     Optional<Portfolio> findByPbId(@Param("pbId") Long pbId);
+
+    // 포트폴리오 순위 인덱스 적재용 - ACTIVE PB의 지표
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPortfolioRankDTO(pb, c, p) " +
+            "FROM Portfolio p " +
+            "JOIN p.pb pb " +
+            "JOIN Branch b ON pb.branch = b " +
+            "JOIN Company c ON b.company = c " +
+            "WHERE pb.status = 'ACTIVE' ")
+    List<PBResponse.PBPortfolioRankDTO> findAllRanks();
+
+    @Query("SELECT new kr.co.moneybridge.dto.pb.PBResponse$PBPortfolioRankDTO(pb, c, p) " +
+            "FROM Portfolio p " +
+            "JOIN p.pb pb " +
+            "JOIN Branch b ON pb.branch = b " +
+            "JOIN Company c ON b.company = c " +
+            "WHERE pb.id = :pbId AND pb.status = 'ACTIVE' ")
+    Optional<PBResponse.PBPortfolioRankDTO> findRankByPbId(@Param("pbId") Long pbId);
 }
@@ -3,6 +3,7 @@ package kr.co.moneybridge.model.reservation;
 import kr.co.moneybridge.dto.reservation.ReservationResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -12,6 +13,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+    // COUNT 없이 한 페이지만 (전체 개수는 CountCache에서)
+    @Query("select r from Reservation r")
+    Slice<Reservation> findSliceAll(Pageable pageable);
+
     @Query(value = "select count(r) from Reservation r where r.process = :process and r.status <> 'CANCEL'")
     Long countByProcess(@Param("process") ReservationProcess process);
 
@@ -23,6 +28,16 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("delete from Reservation r where r.pb.id = :pbId")
     void deleteByPBId(@Param("pbId") Long pbId);
 
+    // 탈퇴 정리 - 취소된 예약까지 모두, 묶음 단위로
+    @Query("select r.id from Reservation r where r.user.id = :userId order by r.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("select r.id from Reservation r where r.pb.id = :pbId order by r.id")
+    List<Long> findIdsByPBId(@Param("pbId") Long pbId, Pageable pageable);
+
+    @Query("select distinct r.pb.id from Reservation r where r.id in :ids")
+    List<Long> findPBIdsByIdIn(@Param("ids") List<Long> ids);
+
     @Query("select r from Reservation r where r.user.id = :userId and r.status <> 'CANCEL'")
     List<Reservation> findAllByUserId(@Param("userId") Long userId);
 
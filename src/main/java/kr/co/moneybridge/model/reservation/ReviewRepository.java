@@ -19,6 +19,10 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("delete from Review r where r.reservation.id = :reservationId")
     void deleteByReservationId(@Param("reservationId") Long reservationId);
 
+    @Modifying
+    @Query("delete from Review r where r.reservation.id in :reservationIds")
+    void deleteByReservationIdIn(@Param("reservationIds") List<Long> reservationIds);
+
     @Query("select r from Review r where r.reservation.id = :reservationId")
     Optional<Review> findByReservationId(@Param("reservationId") Long reservationId);
 
@@ -13,6 +13,10 @@ public interface StyleRepository extends JpaRepository<Style, Long> {
     @Query("delete from Style s where s.review.id = :reviewId")
     void deleteByReviewId(@Param("reviewId") Long reviewId);
 
+    @Modifying
+    @Query("delete from Style s where s.review.id in (select r.id from Review r where r.reservation.id in :reservationIds)")
+    void deleteByReservationIdIn(@Param("reservationIds") List<Long> reservationIds);
+
     @Query("select s " +
             "from Style s " +
             "where s.review.id = :reviewId")
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserBookmarkRepository extends JpaRepository<UserBookmark, Long> {
@@ -14,6 +15,12 @@ public interface UserBookmarkRepository extends JpaRepository<UserBookmark, Long
     @Query("select count(u) from UserBookmark u where u.user.id = :userId")
     Long countByUserId(@Param("userId") Long userId);
 
+    @Query("select count(u) from UserBookmark u where u.pb.id = :pbId")
+    Long countByPBId(@Param("pbId") Long pbId);
+
+    @Query("select u.pb.id from UserBookmark u where u.user.id = :userId")
+    List<Long> findPBIdsByUserId(@Param("userId") Long userId);
+
     @Modifying
     @Query("delete from UserBookmark u where u.user.id = :userId")
     void deleteByUserId(@Param("userId") Long userId);
@@ -1,5 +1,8 @@
 package kr.co.moneybridge.model.user;
 
+import kr.co.moneybridge.dto.board.BoardResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,6 +11,10 @@ import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // COUNT 없이 한 페이지만 (전체 개수는 CountCache에서)
+    @Query("select u from User u")
+    Slice<User> findSliceAll(Pageable pageable);
+
     @Query("select u from User u where u.email = :email")
     Optional<User> findByEmail(@Param("email") String email);
 
@@ -21,4 +28,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "join Review rev on rev.reservation.id = res.id " +
             "where rev.id = :reviewId")
     User findUserByReviewId(@Param("reviewId") Long reviewId);
-}
\ No newline at end of file
+
+    @Query("select new kr.co.moneybridge.dto.board.BoardResponse$ReplyAuthorDTO(u.id, u.name) from User u where u.id in :ids")
+    List<BoardResponse.ReplyAuthorDTO> findReplyAuthorsByIdIn(@Param("ids") List<Long> ids);
+}
@@ -1,13 +1,15 @@
 package kr.co.moneybridge.service;
 
 import kr.co.moneybridge.core.annotation.MyLog;
+import kr.co.moneybridge.core.cache.CountCache;
+import kr.co.moneybridge.core.event.BranchChangedEvent;
+import kr.co.moneybridge.core.event.PBChangedEvent;
 import kr.co.moneybridge.core.exception.Exception400;
 import kr.co.moneybridge.core.exception.Exception404;
 import kr.co.moneybridge.core.exception.Exception500;
 import kr.co.moneybridge.core.util.GeoCodingUtil;
 import kr.co.moneybridge.core.util.MyMemberUtil;
 import kr.co.moneybridge.core.util.MyMsgUtil;
-import kr.co.moneybridge.core.util.S3Util;
 import kr.co.moneybridge.dto.PageDTO;
 import kr.co.moneybridge.dto.backOffice.BackOfficeRequest;
 import kr.co.moneybridge.dto.backOffice.BackOfficeResponse;
@@ -18,8 +20,6 @@ import kr.co.moneybridge.model.backoffice.FrequentQuestion;
 import kr.co.moneybridge.model.backoffice.FrequentQuestionRepository;
 import kr.co.moneybridge.model.backoffice.Notice;
 import kr.co.moneybridge.model.backoffice.NoticeRepository;
-import kr.co.moneybridge.model.board.BoardBookmarkRepository;
-import kr.co.moneybridge.model.board.BoardRepository;
 import kr.co.moneybridge.model.board.ReReplyRepository;
 import kr.co.moneybridge.model.board.ReplyRepository;
 import kr.co.moneybridge.model.pb.*;
@@ -28,8 +28,11 @@ import kr.co.moneybridge.model.user.User;
 import kr.co.moneybridge.model.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,6 +40,7 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.mail.internet.MimeMessage;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -44,6 +48,11 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Service
 public class BackOfficeService {
+    private static final String RESERVATION_COUNT = "reservation";
+    private static final String USER_COUNT = "user";
+    private static final String PB_ACTIVE_COUNT = "pb:ACTIVE";
+    private static final String PB_PENDING_COUNT = "pb:PENDING";
+
     private final FrequentQuestionRepository frequentQuestionRepository;
     private final NoticeRepository noticeRepository;
     private final PBRepository pbRepository;
@@ -54,14 +63,14 @@ public class BackOfficeService {
     private final ReservationRepository reservationRepository;
     private final ReviewRepository reviewRepository;
     private final StyleRepository styleRepository;
-    private final BoardRepository boardRepository;
-    private final BoardBookmarkRepository boardBookmarkRepository;
     private final ReplyRepository replyRepository;
     private final ReReplyRepository reReplyRepository;
     private final BranchRepository branchRepository;
     private final CompanyRepository companyRepository;
-    private final S3Util s3Util;
     private final GeoCodingUtil geoCodingUtil;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final CountCache countCache;
+    private final BoardPurgeService boardPurgeService;
 
     @MyLog
     @Transactional
@@ -72,12 +81,15 @@ public class BackOfficeService {
 
         try {
             // 온라인으로만 운영되는 증권사의 경우
+            Branch branch;
             if (branchInDTO.getAddress() == null || branchInDTO.getAddress().isEmpty()) {
-                branchRepository.save(branchInDTO.toDefaultEntity(company));
-                return;
+                branch = branchRepository.save(branchInDTO.toDefaultEntity(company));
+            } else {
+                FullAddress address = geoCodingUtil.getFullAddress(branchInDTO.getAddress());
+                branch = branchRepository.save(branchInDTO.toEntity(company, address));
             }
-            FullAddress address = geoCodingUtil.getFullAddress(branchInDTO.getAddress());
-            branchRepository.save(branchInDTO.toEntity(company, address));
+            // 커밋되면 검색 인덱스에 이 지점의 검색키를 한 번만 만들어 넣음
+            applicationEventPublisher.publishEvent(new BranchChangedEvent(branch.getId()));
         } catch (Exception e) {
             throw new Exception500("지점 저장 실패 : " + e);
         }
@@ -103,27 +115,13 @@ public class BackOfficeService {
     @MyLog
     @Transactional
     public void deleteBoard(Long id) {
-        // s3에서 컨텐츠 썸네일도 삭제
-        deleteThumbnail(boardRepository.findThumbnailByBoardId(id));
-
-        // board를 연관관계로 가지고 있는 boardBookmark삭제
-        boardBookmarkRepository.deleteByBoardId(id);
-
-        replyRepository.findAllByBoardId(id).stream().forEach(reply -> {
-            // reply를 지우니, reply를 연관관계로 가지고 있는 reReply도 삭제
-            reReplyRepository.deleteByReplyId(reply.getId());
-        });
-        // board를 연관관계로 가지고 있는 reply삭제
-        replyRepository.deleteByBoardId(id);
-
-        // board 삭제
-        boardRepository.deleteById(id);
+        // 삭제 표시만 하고 댓글/대댓글/북마크/본문/썸네일은 BoardPurgeScheduler가 정리
+        boardPurgeService.markDeleted(id);
     }
 
-    private void deleteThumbnail(Optional<String> thumbnail) {
-        if (thumbnail.isPresent()) {
-            s3Util.delete(thumbnail.get());
-        }
+    @MyLog
+    public BackOfficeResponse.BoardPurgeDTO getBoardPurge() {
+        return boardPurgeService.getProgress();
     }
 
     @MyLog
@@ -138,9 +136,9 @@ public class BackOfficeService {
 
     @MyLog
     @Transactional
-    public PageDTO<BackOfficeResponse.ReservationTotalDTO> getReservations(Pageable pageable) {
-        Page<Reservation> reservationPG = reservationRepository.findAll(pageable);
-        List<BackOfficeResponse.ReservationTotalDTO> list = reservationPG.getContent().stream().map(
+    public PageDTO<BackOfficeResponse.ReservationTotalDTO> getReservations(Pageable pageable, Boolean exact) {
+        Slice<Reservation> reservationSL = reservationRepository.findSliceAll(pageable);
+        List<BackOfficeResponse.ReservationTotalDTO> list = reservationSL.getContent().stream().map(
                 reservation -> {
                     BackOfficeResponse.ReviewTotalDTO reviewTotalDTO = null;
                     Optional<Review> reviewOP = reviewRepository.findByReservationId(reservation.getId());
@@ -156,16 +154,19 @@ public class BackOfficeService {
                             new BackOfficeResponse.PBDTO(reservation.getPb()),
                             reviewTotalDTO);
                 }).collect(Collectors.toList());
-        return new PageDTO<>(list, reservationPG, Reservation.class);
+        return toCachedPage(list, reservationSL, RESERVATION_COUNT, reservationRepository::count, exact);
     }
 
     @MyLog
     @Transactional
     public void forceWithdraw(Long memberId, Role role) {
-        try{
-            myMemberUtil.deleteById(memberId, role);
-        }catch (Exception e){
-
+        myMemberUtil.deleteById(memberId, role);
+        // 목록 개수 캐시는 커밋된 뒤에 보정됨
+        if (role.equals(Role.USER)) {
+            countCache.adjust(USER_COUNT, -1);
+        } else {
+            countCache.evict(PB_ACTIVE_COUNT);
+            countCache.evict(PB_PENDING_COUNT);
         }
     }
 
@@ -185,18 +186,18 @@ public class BackOfficeService {
     }
 
     @MyLog
-    public PageDTO<BackOfficeResponse.MemberOutDTO> getMembers(String type, Pageable pageable) {
+    public PageDTO<BackOfficeResponse.MemberOutDTO> getMembers(String type, Pageable pageable, Boolean exact) {
         if (type.equals("user")) {
-            Page<User> userPG = userRepository.findAll(pageable);
-            List<BackOfficeResponse.MemberOutDTO> list = userPG.getContent().stream().map(user ->
+            Slice<User> userSL = userRepository.findSliceAll(pageable);
+            List<BackOfficeResponse.MemberOutDTO> list = userSL.getContent().stream().map(user ->
                     new BackOfficeResponse.MemberOutDTO(user)).collect(Collectors.toList());
-            return new PageDTO<>(list, userPG, User.class);
+            return toCachedPage(list, userSL, USER_COUNT, userRepository::count, exact);
         }
 
-        Page<PB> pbPG = pbRepository.findAllByStatus(PBStatus.ACTIVE, pageable);
-        List<BackOfficeResponse.MemberOutDTO> list = pbPG.getContent().stream().map(pb ->
+        Slice<PB> pbSL = pbRepository.findSliceByStatus(PBStatus.ACTIVE, pageable);
+        List<BackOfficeResponse.MemberOutDTO> list = pbSL.getContent().stream().map(pb ->
                 new BackOfficeResponse.MemberOutDTO(pb)).collect(Collectors.toList());
-        return new PageDTO<>(list, pbPG, PB.class);
+        return toCachedPage(list, pbSL, PB_ACTIVE_COUNT, () -> pbRepository.countByStatus(PBStatus.ACTIVE), exact);
     }
 
     @MyLog
@@ -216,6 +217,7 @@ public class BackOfficeService {
             msg = myMsgUtil.getMsgReject();
         } else {
             pbPS.approved();
+            applicationEventPublisher.publishEvent(new PBChangedEvent(pbId));
         }
         // 이메일 알림
         try {
@@ -224,15 +226,36 @@ public class BackOfficeService {
         } catch (Exception e) {
             throw new Exception500("이메일 알림 전송 실패 " + e.getMessage());
         }
+        // 승인 대기에서 빠진 만큼 목록 개수 캐시 보정 (커밋된 뒤에 반영)
+        countCache.adjust(PB_PENDING_COUNT, -1);
+        if (approve) {
+            countCache.adjust(PB_ACTIVE_COUNT, 1);
+        }
     }
 
     @MyLog
-    public PageDTO<BackOfficeResponse.PBPendingDTO> getPBPending(Pageable pageable) {
-        Page<PB> pbPG = pbRepository.findAllByStatus(PBStatus.PENDING, pageable);
-        List<BackOfficeResponse.PBPendingDTO> list = pbPG.getContent().stream().map(pb ->
+    public PageDTO<BackOfficeResponse.PBPendingDTO> getPBPending(Pageable pageable, Boolean exact) {
+        Slice<PB> pbSL = pbRepository.findSliceByStatus(PBStatus.PENDING, pageable);
+        List<BackOfficeResponse.PBPendingDTO> list = pbSL.getContent().stream().map(pb ->
                         new BackOfficeResponse.PBPendingDTO(pb, pb.getBranch().getName()))
                 .collect(Collectors.toList());
-        return new PageDTO<>(list, pbPG, PB.class);
+        return toCachedPage(list, pbSL, PB_PENDING_COUNT, () -> pbRepository.countByStatus(PBStatus.PENDING), exact);
+    }
+
+    // 페이지 내용은 COUNT 없이 가져오고 전체 개수는 캐시에서, exact면 다시 셈
+    // 캐시값이 현재 페이지와 맞지 않으면(마지막 페이지인데 더 크거나, 다음이 있는데 작거나) 페이지 기준으로 보정
+    private <T, K> PageDTO<T> toCachedPage(List<T> list, Slice<K> slice, String key, LongSupplier counter, Boolean exact) {
+        CountCache.Count count = Boolean.TRUE.equals(exact) ? countCache.recount(key, counter) : countCache.get(key, counter);
+        long seen = slice.getPageable().getOffset() + slice.getNumberOfElements();
+        long total = count.getValue();
+        if (!slice.hasNext() && !slice.getContent().isEmpty()) {
+            total = seen;
+        } else if (slice.hasNext()) {
+            total = Math.max(total, seen + 1);
+        }
+        PageDTO<T> pageDTO = new PageDTO<>(list, new PageImpl<>(list, slice.getPageable(), total));
+        pageDTO.setApproximate(count.isApproximate() && total != seen);
+        return pageDTO;
     }
 
 
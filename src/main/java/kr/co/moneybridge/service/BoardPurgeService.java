@@ -0,0 +1,113 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.dto.backOffice.BackOfficeResponse;
+import kr.co.moneybridge.model.board.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 컨텐츠 삭제
+// 요청 트랜잭션에서는 DELETED로 표시만 해서 바로 모든 조회에서 빠지게 하고,
+// 대댓글/댓글/북마크/본문은 BoardPurgeScheduler가 board_id IN (...) 묶음 단위로 지운 뒤 컨텐츠 행을 지움
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Service
+public class BoardPurgeService {
+    public static final int CHUNK_SIZE = 100;
+    public static final int MAX_ATTEMPTS = 5;
+
+    private final BoardRepository boardRepository;
+    private final BoardBodyRepository boardBodyRepository;
+    private final BoardBookmarkRepository boardBookmarkRepository;
+    private final ReplyRepository replyRepository;
+    private final ReReplyRepository reReplyRepository;
+    private final StorageDeletionService storageDeletionService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // 진행 상황 - 노드별 메모리 집계, 재시작하면 0부터 (남은 건수는 DB에서 셈)
+    private final AtomicLong purgedCount = new AtomicLong();
+    private final ConcurrentHashMap<Long, Integer> failures = new ConcurrentHashMap<>();
+
+    @Transactional
+    public void markDeleted(Long boardId) {
+        if (boardRepository.markDeleted(boardId) == 0) {
+            throw new Exception404("존재하지 않는 컨텐츠입니다.");
+        }
+        // 검색/트렌딩 인덱스에서 빼기
+        applicationEventPublisher.publishEvent(new BoardChangedEvent(boardId));
+    }
+
+    // 정리할 삭제 대기 컨텐츠 id - cursor 다음부터 id순
+    public List<Long> findPurgeTargets(Long cursor) {
+        return boardRepository.findIdsByStatusAfterId(BoardStatus.DELETED, cursor, PageRequest.of(0, CHUNK_SIZE));
+    }
+
+    // 자식부터 묶음으로 지우고, 지운 컨텐츠의 썸네일은 같은 트랜잭션에서 s3 삭제 큐에 넣음
+    @Transactional
+    public void purge(List<Long> boardIds) {
+        if (boardIds.isEmpty()) {
+            return;
+        }
+        storageDeletionService.enqueueAll(boardRepository.findThumbnailsByIdIn(boardIds));
+        reReplyRepository.deleteByBoardIdIn(boardIds);
+        replyRepository.deleteByBoardIdIn(boardIds);
+        boardBookmarkRepository.deleteByBoardIdIn(boardIds);
+        boardBodyRepository.deleteByBoardIdIn(boardIds);
+        boardRepository.deleteByIdIn(boardIds);
+    }
+
+    // PB 탈퇴 - PB 행을 지우기 전에 같은 트랜잭션에서 그 PB의 컨텐츠를 모두 지움
+    @Transactional
+    public void purgeByPBId(Long pbId) {
+        Long cursor = 0L;
+        while (true) {
+            List<Long> ids = boardRepository.findIdsByPBIdAfterId(pbId, cursor, PageRequest.of(0, CHUNK_SIZE));
+            purge(ids);
+            if (ids.size() < CHUNK_SIZE) {
+                return;
+            }
+            cursor = ids.get(ids.size() - 1);
+        }
+    }
+
+    // 재시도 한도를 넘긴 컨텐츠는 건너뜀 (조회에서는 계속 빠져 있고, 관리자 화면에서 확인)
+    public boolean isGivenUp(Long boardId) {
+        return failures.getOrDefault(boardId, 0) >= MAX_ATTEMPTS;
+    }
+
+    public void recordPurged(List<Long> boardIds) {
+        purgedCount.addAndGet(boardIds.size());
+        boardIds.forEach(failures::remove);
+    }
+
+    public void recordFailure(Long boardId, Exception e) {
+        int attempts = failures.merge(boardId, 1, Integer::sum);
+        if (attempts >= MAX_ATTEMPTS) {
+            log.error("컨텐츠 정리 포기 id=" + boardId + " : " + e.getMessage());
+        } else {
+            log.warn("컨텐츠 정리 실패 id=" + boardId + " (" + attempts + "회) : " + e.getMessage());
+        }
+    }
+
+    public BackOfficeResponse.BoardPurgeDTO getProgress() {
+        List<Long> givenUp = new ArrayList<>();
+        failures.forEach((id, attempts) -> {
+            if (attempts >= MAX_ATTEMPTS) givenUp.add(id);
+        });
+        Collections.sort(givenUp);
+        return new BackOfficeResponse.BoardPurgeDTO(
+                boardRepository.countByStatus(BoardStatus.DELETED), purgedCount.get(), failures.size(), givenUp);
+    }
+}
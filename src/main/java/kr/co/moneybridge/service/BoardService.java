@@ -2,8 +2,19 @@ package kr.co.moneybridge.service;
 
 import kr.co.moneybridge.core.annotation.MyLog;
 import kr.co.moneybridge.core.auth.session.MyUserDetails;
+import kr.co.moneybridge.core.cache.ReplyAuthorCache;
+import kr.co.moneybridge.core.counter.BoardClickCounter;
 import kr.co.moneybridge.core.exception.*;
-import kr.co.moneybridge.core.util.S3Util;
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.image.ImagePipeline;
+import kr.co.moneybridge.core.image.ImageTarget;
+import kr.co.moneybridge.core.index.BoardSearchIndex;
+import kr.co.moneybridge.core.index.BoardTrendingIndex;
+import kr.co.moneybridge.core.index.BookmarkIndex;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.upload.UploadTarget;
+import kr.co.moneybridge.core.util.MyTextUtil;
+import kr.co.moneybridge.dto.CursorDTO;
 import kr.co.moneybridge.dto.PageDTO;
 import kr.co.moneybridge.dto.board.BoardRequest;
 import kr.co.moneybridge.dto.board.BoardResponse;
@@ -19,6 +30,7 @@ import kr.co.moneybridge.model.user.UserPropensity;
 import kr.co.moneybridge.model.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,8 +39,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
@@ -38,27 +49,51 @@ public class BoardService {
     @Value("${DEFAULT_THUMBNAIL}")
     private String defaultThumbnail;
     private final BoardRepository boardRepository;
+    private final BoardBodyRepository boardBodyRepository;
     private final BoardBookmarkRepository boardBookmarkRepository;
     private final UserRepository userRepository;
     private final PBRepository pbRepository;
     private final ReplyRepository replyRepository;
     private final ReReplyRepository reReplyRepository;
-    private final S3Util s3Util;
-
-    //컨텐츠검색(PB명 + 컨텐츠제목)
+    private final BookmarkIndex bookmarkIndex;
+    private final BoardClickCounter boardClickCounter;
+    private final ReplyAuthorCache replyAuthorCache;
+    private final BoardSearchIndex boardSearchIndex;
+    private final BoardTrendingIndex boardTrendingIndex;
+    private final StorageDeletionService storageDeletionService;
+    private final ImagePipeline imagePipeline;
+    private final UploadService uploadService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final BoardPurgeService boardPurgeService;
+
+    //컨텐츠검색(제목 + 태그 + 본문 + PB명)
     public PageDTO<BoardResponse.BoardPageDTO> getBoardsWithTitle(String search, Pageable pageable) {
 
-        Page<BoardResponse.BoardPageDTO> boardPG = boardRepository.findBySearch(search, BoardStatus.ACTIVE, pageable);
-        List<BoardResponse.BoardPageDTO> list = boardPG.getContent().stream().collect(Collectors.toList());
-        return new PageDTO<>(list, boardPG);
+        Page<Long> idPG = boardSearchIndex.search(search, pageable);
+        List<BoardResponse.BoardPageDTO> list = findBoardPagesInOrder(idPG.getContent());
+        return new PageDTO<>(list, idPG, Long.class);
     }
 
     //PB 명으로 컨텐츠 검색
     public PageDTO<BoardResponse.BoardPageDTO> getBoardsWithPbName(String name, Pageable pageable) {
 
-        Page<BoardResponse.BoardPageDTO> boardPG = boardRepository.findByPbName(name, BoardStatus.ACTIVE, pageable);
-        List<BoardResponse.BoardPageDTO> list = boardPG.getContent().stream().collect(Collectors.toList());
-        return new PageDTO<>(list, boardPG);
+        Page<Long> idPG = boardSearchIndex.searchByAuthor(name, pageable);
+        List<BoardResponse.BoardPageDTO> list = findBoardPagesInOrder(idPG.getContent());
+        return new PageDTO<>(list, idPG, Long.class);
+    }
+
+    // 검색 인덱스가 정한 순서대로 해당 페이지의 컨텐츠만 조회
+    private List<BoardResponse.BoardPageDTO> findBoardPagesInOrder(List<Long> ids) {
+
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, BoardResponse.BoardPageDTO> boardMap = boardRepository.findBoardPageByIdIn(ids, BoardStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(BoardResponse.BoardPageDTO::getId, dto -> dto));
+        return ids.stream()
+                .map(boardMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     //최신컨텐츠순으로 가져오기
@@ -70,12 +105,19 @@ public class BoardService {
         return new PageDTO<>(list, boardPG);
     }
 
+    //최신컨텐츠순 커서 페이지 - 무한 스크롤용, 깊은 페이지도 첫 페이지와 같은 비용
+    public CursorDTO<BoardResponse.BoardPageDTO> getNewBoardCursor(Long cursor, int size) {
+
+        List<BoardResponse.BoardPageDTO> list = boardRepository.findPageBeforeId(BoardStatus.ACTIVE, toKey(cursor), PageRequest.of(0, size + 1));
+        return toCursor(list, size);
+    }
+
     //핫한컨테츠순으로 가져오기
     public PageDTO<BoardResponse.BoardPageDTO> getBoardWithHot(Pageable pageable) {
 
-        Page<BoardResponse.BoardPageDTO> boardPG = boardRepository.findAll(BoardStatus.ACTIVE, pageable);
-        List<BoardResponse.BoardPageDTO> list = boardPG.getContent().stream().collect(Collectors.toList());
-        return new PageDTO<>(list, boardPG);
+        Page<Long> idPG = boardTrendingIndex.page(pageable);
+        List<BoardResponse.BoardPageDTO> list = findBoardPagesInOrder(idPG.getContent());
+        return new PageDTO<>(list, idPG, Long.class);
     }
 
     //최신컨텐츠2개 + 핫한컨텐츠2개 가져오기(비로그인)
@@ -83,10 +125,9 @@ public class BoardService {
 
         List<BoardResponse.BoardPageDTO> boardList = new ArrayList<>();
         PageRequest pageRequestNew = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"));
-        PageRequest pageRequestHot = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "clickCount"));
 
         boardList.addAll(boardRepository.findTop2ByNew(BoardStatus.ACTIVE, pageRequestNew));
-        boardList.addAll(boardRepository.findTop2ByHot(BoardStatus.ACTIVE, pageRequestHot));
+        boardList.addAll(findBoardPagesInOrder(boardTrendingIndex.top(2)));
         return boardList;
     }
 
@@ -96,50 +137,52 @@ public class BoardService {
         Member member = myUserDetails.getMember();
         List<BoardResponse.BoardPageDTO> boardList = new ArrayList<>();
         PageRequest pageRequestNew = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"));
-        PageRequest pageRequestHot = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "clickCount"));
 
         boardList.addAll(boardRepository.findTop2ByNew(BoardStatus.ACTIVE, pageRequestNew));
-        boardList.addAll(boardRepository.findTop2ByHot(BoardStatus.ACTIVE, pageRequestHot));
+        boardList.addAll(findBoardPagesInOrder(boardTrendingIndex.top(2)));
 
         if (member.getRole().equals(Role.USER)) {
-            for (BoardResponse.BoardPageDTO dto : boardList) {
-                dto.setIsBookmarked(boardBookmarkRepository.existsByBookmarkerIdAndBookmarkerRoleAndBoardId(member.getId(), BookmarkerRole.USER, dto.getId()));
-            }
+            setBookmarked(boardList, bookmarkIndex.getBookmarkedBoardIds(member.getId(), BookmarkerRole.USER));
         } else if (member.getRole().equals(Role.PB)) {
-            for (BoardResponse.BoardPageDTO dto : boardList) {
-                dto.setIsBookmarked(boardBookmarkRepository.existsByBookmarkerIdAndBookmarkerRoleAndBoardId(member.getId(), BookmarkerRole.PB, dto.getId()));
-            }
+            setBookmarked(boardList, bookmarkIndex.getBookmarkedBoardIds(member.getId(), BookmarkerRole.PB));
         }
 
         return boardList;
     }
 
     //컨텐츠 상세 가져오기
-    @Transactional
     public BoardResponse.BoardDetailDTO getBoardDetail(MyUserDetails myUserDetails, Long id) {
 
         BoardResponse.BoardDetailDTO boardDetailDTO = boardRepository.findBoardWithPBReply(id, BoardStatus.ACTIVE).orElseThrow(
                 () -> new Exception404("존재하지 않는 컨텐츠입니다.")
         );
 
-        try {
-            Board board = boardRepository.findById(boardDetailDTO.getId()).get();
-            board.increaseCount();  //호출 시 클릭수 증가 로직
-        } catch (Exception e) {
-            throw new Exception500("클릭수 증가 에러");
-        }
+        boardClickCounter.increment(boardDetailDTO.getId()); // 클릭수는 버퍼에 모았다가 주기적으로 반영
+        boardTrendingIndex.recordView(boardDetailDTO.getId());
 
         Member member = myUserDetails.getMember();
         if (member.getRole().equals(Role.USER)) {
-            boardDetailDTO.setIsBookmarked(boardBookmarkRepository.existsByBookmarkerIdAndBookmarkerRoleAndBoardId(member.getId(), BookmarkerRole.USER, id));
+            boardDetailDTO.setIsBookmarked(bookmarkIndex.getBookmarkedBoardIds(member.getId(), BookmarkerRole.USER).contains(id));
         } else {
-            boardDetailDTO.setIsBookmarked(boardBookmarkRepository.existsByBookmarkerIdAndBookmarkerRoleAndBoardId(member.getId(), BookmarkerRole.PB, id));
+            boardDetailDTO.setIsBookmarked(bookmarkIndex.getBookmarkedBoardIds(member.getId(), BookmarkerRole.PB).contains(id));
         }
         boardDetailDTO.setReply(getReplies(id));
 
+        boardBodyRepository.findById(id).ifPresent(boardBody -> {
+            boardDetailDTO.setContent(boardBody.getContent());
+            boardDetailDTO.setContentHash(boardBody.getContentHash());
+        });
         return boardDetailDTO;
     }
 
+    //컨텐츠 본문만 가져오기 - ETag가 같으면 컨트롤러에서 304로 응답
+    public BoardBody getBoardBody(Long id) {
+
+        return boardBodyRepository.findByBoardIdAndStatus(id, BoardStatus.ACTIVE).orElseThrow(
+                () -> new Exception404("존재하지 않는 컨텐츠입니다.")
+        );
+    }
+
     //비회원 컨텐츠 상세보기
     public BoardResponse.BoardThumbnailDTO getBoardThumbnail(Long id) {
 
@@ -150,32 +193,62 @@ public class BoardService {
         return boardThumbnailDTO;
     }
 
-    //댓글 가져오기
+    //댓글 가져오기 - 댓글/대댓글을 한 번씩 조회하고 작성자는 캐시에서 채워 메모리에서 트리로 조립
     public List<BoardResponse.ReplyOutDTO> getReplies(Long id) {
 
-        List<BoardResponse.ReplyOutDTO> replyList = new ArrayList<>();
-        List<BoardResponse.ReplyOutDTO> userReplyList = replyRepository.findUserRepliesByBoardId(id);
-        List<BoardResponse.ReplyOutDTO> PBReplyList = replyRepository.findPBRepliesByBoardId(id);
-        replyList.addAll(userReplyList);
-        replyList.addAll(PBReplyList);
-
-        for (BoardResponse.ReplyOutDTO replyOutDTO : replyList) {
-            replyOutDTO.setReReply(getReReplies(replyOutDTO.getId()));
+        List<Reply> replies = replyRepository.findOrderedByBoardId(id);
+        if (replies.isEmpty()) {
+            return new ArrayList<>();
         }
+        return assembleReplies(replies, reReplyRepository.findOrderedByBoardId(id));
+    }
 
-        return replyList;
+    //댓글 커서 페이지 가져오기 - 댓글이 아주 많은 컨텐츠용
+    public CursorDTO<BoardResponse.ReplyOutDTO> getReplyPage(Long id, Long cursor, int size) {
+
+        List<Reply> replies = replyRepository.findPageByBoardId(id, cursor == null ? 0L : cursor, PageRequest.of(0, size + 1));
+        boolean hasNext = replies.size() > size;
+        if (hasNext) {
+            replies = replies.subList(0, size);
+        }
+        if (replies.isEmpty()) {
+            return new CursorDTO<>(new ArrayList<>(), null, false);
+        }
+        List<Long> replyIds = replies.stream().map(Reply::getId).collect(Collectors.toList());
+        List<BoardResponse.ReplyOutDTO> list = assembleReplies(replies, reReplyRepository.findOrderedByReplyIdIn(replyIds));
+        return new CursorDTO<>(list, hasNext ? replyIds.get(replyIds.size() - 1) : null, hasNext);
     }
 
-    //대댓글 가져오기
-    public List<BoardResponse.ReReplyOutDTO> getReReplies(Long replyId) {
+    // 조회된 순서(작성순)를 유지하며 트리 조립, 작성자가 없는(탈퇴한) 댓글은 기존처럼 제외
+    private List<BoardResponse.ReplyOutDTO> assembleReplies(List<Reply> replies, List<ReReply> reReplies) {
+
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> pbIds = new HashSet<>();
+        replies.forEach(reply -> (reply.getAuthorRole().equals(ReplyAuthorRole.USER) ? userIds : pbIds).add(reply.getAuthorId()));
+        reReplies.forEach(reReply -> (reReply.getAuthorRole().equals(ReplyAuthorRole.USER) ? userIds : pbIds).add(reReply.getAuthorId()));
+
+        Map<Long, BoardResponse.ReplyAuthorDTO> userMap = replyAuthorCache.getAuthors(ReplyAuthorRole.USER, userIds);
+        Map<Long, BoardResponse.ReplyAuthorDTO> pbMap = replyAuthorCache.getAuthors(ReplyAuthorRole.PB, pbIds);
 
-        List<BoardResponse.ReReplyOutDTO> reReplyList = new ArrayList<>();
-        List<BoardResponse.ReReplyOutDTO> userReReplyList = reReplyRepository.findUserReReplyByReplyId(replyId);
-        List<BoardResponse.ReReplyOutDTO> pbReReplyList = reReplyRepository.findPBReReplyByReplyId(replyId);
-        reReplyList.addAll(userReReplyList);
-        reReplyList.addAll(pbReReplyList);
+        Map<Long, List<BoardResponse.ReReplyOutDTO>> reReplyMap = new HashMap<>();
+        for (ReReply reReply : reReplies) {
+            BoardResponse.ReplyAuthorDTO author = (reReply.getAuthorRole().equals(ReplyAuthorRole.USER) ? userMap : pbMap).get(reReply.getAuthorId());
+            if (author != null) {
+                reReplyMap.computeIfAbsent(reReply.getReply().getId(), k -> new ArrayList<>())
+                        .add(new BoardResponse.ReReplyOutDTO(reReply, author));
+            }
+        }
 
-        return reReplyList;
+        List<BoardResponse.ReplyOutDTO> replyList = new ArrayList<>();
+        for (Reply reply : replies) {
+            BoardResponse.ReplyAuthorDTO author = (reply.getAuthorRole().equals(ReplyAuthorRole.USER) ? userMap : pbMap).get(reply.getAuthorId());
+            if (author != null) {
+                BoardResponse.ReplyOutDTO dto = new BoardResponse.ReplyOutDTO(reply, author);
+                dto.setReReply(reReplyMap.getOrDefault(reply.getId(), new ArrayList<>()));
+                replyList.add(dto);
+            }
+        }
+        return replyList;
     }
 
     //북마크 저장하기
@@ -197,6 +270,7 @@ public class BoardService {
                         .board(board)
                         .build();
                 boardBookmarkRepository.save(boardBookmarkUser);
+                bookmarkIndex.addBoard(member.getId(), BookmarkerRole.USER, boardId);
             } catch (Exception e) {
                 throw new Exception500("북마크 실패: " + e.getMessage());
             }
@@ -208,6 +282,7 @@ public class BoardService {
                         .board(board)
                         .build();
                 boardBookmarkRepository.save(boardBookmarkPB);
+                bookmarkIndex.addBoard(member.getId(), BookmarkerRole.PB, boardId);
             } catch (Exception e) {
                 throw new Exception500("북마크 실패: " + e.getMessage());
             }
@@ -215,6 +290,7 @@ public class BoardService {
         } else {
             throw new Exception401("권한이 없습니다.");
         }
+        boardTrendingIndex.recordBookmark(boardId);
     }
 
     //북마크 취소하기
@@ -226,6 +302,7 @@ public class BoardService {
 
         try {
             boardBookmarkRepository.deleteById(boardBookmark.getId());
+            bookmarkIndex.removeBoard(memberId, boardBookmark.getBookmarkerRole(), boardId);
         } catch (Exception e) {
             throw new Exception500("북마크 취소 실패");
         }
@@ -242,27 +319,38 @@ public class BoardService {
                 .pb(pb)
                 .title(boardInDTO.getTitle())
                 .thumbnail(defaultThumbnail)
-                .content(boardInDTO.getContent())
+                .excerpt(MyTextUtil.excerpt(boardInDTO.getContent(), Board.EXCERPT_LENGTH))
                 .tag1(boardInDTO.getTag1())
                 .tag2(boardInDTO.getTag2())
                 .clickCount(0L)
                 .status(boardStatus)
                 .build();
 
-        if (thumbnailFile == null || thumbnailFile.isEmpty()) {
+        // 썸네일은 파일로 받거나, 직접 업로드한 임시 키로 받음
+        BlobInfo thumbnailMetadata = boardInDTO.getThumbnailKey() == null ? null :
+                uploadService.claim(UploadTarget.THUMBNAIL, boardInDTO.getThumbnailKey(), "thumbnailKey");
+
+        if (thumbnailMetadata == null && (thumbnailFile == null || thumbnailFile.isEmpty())) {
             try {
                 Long id = boardRepository.save(board).getId();
+                boardBodyRepository.save(BoardBody.of(id, boardInDTO.getContent()));
+                applicationEventPublisher.publishEvent(new BoardChangedEvent(id));
 
                 return id;
             } catch (Exception e) {
                 throw new Exception500("컨텐츠 저장 실패 : " + e.getMessage());
             }
         } else {
-            //s3 업로드 로직
+            // 디폴트 썸네일로 먼저 저장하고, 이미지 파이프라인이 커밋 후에 사본을 만들어 바꿔 넣음
             try {
-                String thumbnail = s3Util.upload(s3Util.resize(thumbnailFile, 500, 500), "thumbnail");
-                board.updateThumbnail(thumbnail);
                 Long id = boardRepository.save(board).getId();
+                if (thumbnailMetadata != null) {
+                    uploadService.attachImage(UploadTarget.THUMBNAIL, boardInDTO.getThumbnailKey(), thumbnailMetadata, id, defaultThumbnail);
+                } else {
+                    imagePipeline.submit(thumbnailFile, ImageTarget.BOARD_THUMBNAIL, id, defaultThumbnail);
+                }
+                boardBodyRepository.save(BoardBody.of(id, boardInDTO.getContent()));
+                applicationEventPublisher.publishEvent(new BoardChangedEvent(id));
 
                 return id;
             } catch (Exception e) {
@@ -284,7 +372,7 @@ public class BoardService {
             BoardResponse.BoardTempDTO dto = new BoardResponse.BoardTempDTO();
             dto.setId(board.getId());
             dto.setTitle(board.getTitle());
-            dto.setContent(board.getContent());
+            dto.setContent(board.getExcerpt()); // 목록에는 본문 대신 미리 만들어 둔 요약만
             dto.setCreatedAt(board.getCreatedAt());
             dtoList.add(dto);
         }
@@ -300,7 +388,10 @@ public class BoardService {
         BoardResponse.BoardOutDTO boardOutDTO = new BoardResponse.BoardOutDTO();
 
         boardOutDTO.setTitle(board.getTitle());
-        boardOutDTO.setContent(board.getContent());
+        boardBodyRepository.findById(board.getId()).ifPresent(boardBody -> {
+            boardOutDTO.setContent(boardBody.getContent());
+            boardOutDTO.setContentHash(boardBody.getContentHash());
+        });
         boardOutDTO.setTag1(board.getTag1());
         boardOutDTO.setTag2(board.getTag2());
         boardOutDTO.setThumbnail(board.getThumbnail());
@@ -315,17 +406,24 @@ public class BoardService {
 
         PB pb = pbRepository.findById(myUserDetails.getMember().getId()).orElseThrow(() -> new Exception404("존재하지 않는 PB 입니다"));
         Board board = boardRepository.findByIdAndPbId(boardId, pb.getId()).orElseThrow(() -> new Exception404("존재하지 않는 컨텐츠입니다"));
+        BlobInfo thumbnailMetadata = boardUpdateDTO.getThumbnailKey() == null ? null :
+                uploadService.claim(UploadTarget.THUMBNAIL, boardUpdateDTO.getThumbnailKey(), "thumbnailKey");
 
         try {
+            //직접 업로드한 썸네일 키가 들어온 경우
+            if (thumbnailMetadata != null) {
+                uploadService.attachImage(UploadTarget.THUMBNAIL, boardUpdateDTO.getThumbnailKey(), thumbnailMetadata,
+                        board.getId(), board.getThumbnail());
+                board.modifyBoard(boardUpdateDTO);
             //변경할 썸네일 사진 들어온 경우
-            if (thumbnailFile != null && !thumbnailFile.isEmpty()) {
-                String thumbnail = s3Util.upload(s3Util.resize(thumbnailFile, 500, 500), "thumbnail");
-                board.updateThumbnail(thumbnail);
+            } else if (thumbnailFile != null && !thumbnailFile.isEmpty()) {
+                // 처리가 끝나면 이미지 파이프라인이 바꿔 넣고 기존 썸네일을 지움
+                imagePipeline.submit(thumbnailFile, ImageTarget.BOARD_THUMBNAIL, board.getId(), board.getThumbnail());
                 board.modifyBoard(boardUpdateDTO);
             } else {
                 //기존 썸네일 삭제 요청온 경우
                 if (boardUpdateDTO.getDeleteThumbnail()) {
-                    s3Util.delete(board.getThumbnail());
+                    storageDeletionService.enqueue(board.getThumbnail());
                     board.updateThumbnail(defaultThumbnail);
                     board.modifyBoard(boardUpdateDTO);
                     //기존 썸네일 삭제 요청 안온경우
@@ -333,6 +431,13 @@ public class BoardService {
                     board.modifyBoard(boardUpdateDTO);
                 }
             }
+            Optional<BoardBody> boardBodyOP = boardBodyRepository.findById(board.getId());
+            if (boardBodyOP.isPresent()) {
+                boardBodyOP.get().modifyContent(boardUpdateDTO.getContent());
+            } else {
+                boardBodyRepository.save(BoardBody.of(board.getId(), boardUpdateDTO.getContent()));
+            }
+            applicationEventPublisher.publishEvent(new BoardChangedEvent(board.getId()));
         } catch (Exception e) {
             throw new Exception500("컨텐츠 업데이트 실패 : " + e.getMessage());
         }
@@ -345,13 +450,8 @@ public class BoardService {
         PB pb = pbRepository.findById(myUserDetails.getMember().getId()).orElseThrow(() -> new Exception404("존재하지 않는 PB 입니다"));
         Board board = boardRepository.findByIdAndPbId(boardId, pb.getId()).orElseThrow(() -> new Exception404("존재하지 않는 컨텐츠입니다"));
 
-        try {
-            replyRepository.deleteByBoardId(board.getId());
-            boardBookmarkRepository.deleteByBoardId(board.getId());
-            boardRepository.deleteById(board.getId());
-        } catch (Exception e) {
-            throw new Exception500("컨텐츠 삭제 실패");
-        }
+        // 삭제 표시만 하고 댓글/대댓글/북마크/본문/썸네일은 BoardPurgeScheduler가 정리
+        boardPurgeService.markDeleted(board.getId());
     }
 
     //북마크한 컨텐츠 목록 가져오기
@@ -382,6 +482,27 @@ public class BoardService {
     }
 
 
+    //북마크한 컨텐츠 커서 페이지
+    public CursorDTO<BoardResponse.BoardPageDTO> getBookmarkBoardCursor(MyUserDetails myUserDetails, Long cursor, int size) {
+
+        Member member = myUserDetails.getMember();
+        BookmarkerRole bookmarkerRole;
+        if (member.getRole().equals(Role.USER)) {
+            bookmarkerRole = BookmarkerRole.USER;
+        } else if (member.getRole().equals(Role.PB)) {
+            bookmarkerRole = BookmarkerRole.PB;
+        } else {
+            throw new Exception403("권한이 없습니다.");
+        }
+
+        List<BoardResponse.BoardPageDTO> list = boardRepository.findBookmarkPageBeforeId(member.getId(), bookmarkerRole, toKey(cursor), PageRequest.of(0, size + 1));
+        CursorDTO<BoardResponse.BoardPageDTO> cursorDTO = toCursor(list, size);
+        for (BoardResponse.BoardPageDTO dto : cursorDTO.getList()) {
+            dto.setIsBookmarked(true);
+        }
+        return cursorDTO;
+    }
+
     //맞춤컨텐츠 2개 가져오기
     public List<BoardResponse.BoardPageDTO> getRecommendedBoards(MyUserDetails myUserDetails) {
 
@@ -415,9 +536,7 @@ public class BoardService {
                     PBSpeciality.WRAP);
         }
 
-        for (BoardResponse.BoardPageDTO dto : boardList) {
-            dto.setIsBookmarked(boardBookmarkRepository.existsByBookmarkerIdAndBookmarkerRoleAndBoardId(user.getId(), BookmarkerRole.USER, dto.getId()));
-        }
+        setBookmarked(boardList, bookmarkIndex.getBookmarkedBoardIds(user.getId(), BookmarkerRole.USER));
 
         return boardList;
     }
@@ -443,15 +562,44 @@ public class BoardService {
             bookmarkerRole = BookmarkerRole.PB;
         }
 
-        for (BoardResponse.BoardPageDTO dto : boardPG) {
-            dto.setIsBookmarked(boardBookmarkRepository.existsByBookmarkerIdAndBookmarkerRoleAndBoardId(myUserDetails.getMember().getId(), bookmarkerRole, dto.getId()));
-        }
-
         List<BoardResponse.BoardPageDTO> list = boardPG.getContent().stream().collect(Collectors.toList());
+        setBookmarked(list, bookmarkIndex.getBookmarkedBoardIds(myUserDetails.getMember().getId(), bookmarkerRole));
 
         return new PageDTO<>(list, boardPG);
     }
 
+    //해당 PB의 컨텐츠 커서 페이지
+    public CursorDTO<BoardResponse.BoardPageDTO> getPBBoardCursor(MyUserDetails myUserDetails, Long pbId, Long cursor, int size) {
+
+        List<BoardResponse.BoardPageDTO> list = boardRepository.findPBPageBeforeId(pbId, toKey(cursor), PageRequest.of(0, size + 1));
+        CursorDTO<BoardResponse.BoardPageDTO> cursorDTO = toCursor(list, size);
+
+        Member member = myUserDetails.getMember();
+        BookmarkerRole bookmarkerRole = member.getRole().equals(Role.USER) ? BookmarkerRole.USER : BookmarkerRole.PB;
+        setBookmarked(cursorDTO.getList(), bookmarkIndex.getBookmarkedBoardIds(member.getId(), bookmarkerRole));
+
+        return cursorDTO;
+    }
+
+    // 피드는 모두 id 역순이고 id가 유일하므로 (정렬키, id) 커서가 id 하나로 충분함, 첫 페이지는 커서 없음
+    private Long toKey(Long cursor) {
+        return cursor == null ? Long.MAX_VALUE : cursor;
+    }
+
+    // size + 1개를 조회해 다음 페이지 존재 여부를 COUNT 없이 판단
+    private CursorDTO<BoardResponse.BoardPageDTO> toCursor(List<BoardResponse.BoardPageDTO> list, int size) {
+        boolean hasNext = list.size() > size;
+        List<BoardResponse.BoardPageDTO> page = hasNext ? new ArrayList<>(list.subList(0, size)) : list;
+        Long nextCursor = hasNext ? page.get(page.size() - 1).getId() : null;
+        return new CursorDTO<>(page, nextCursor, hasNext);
+    }
+
+    private void setBookmarked(List<BoardResponse.BoardPageDTO> list, Set<Long> bookmarkedIds) {
+        for (BoardResponse.BoardPageDTO dto : list) {
+            dto.setIsBookmarked(bookmarkedIds.contains(dto.getId()));
+        }
+    }
+
     //댓글 수정하기
     @Transactional
     public void updateReply(MyUserDetails myUserDetails, Long replyId, ReplyRequest.ReplyInDTO replyInDTO) {
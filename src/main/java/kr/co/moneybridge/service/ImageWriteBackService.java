@@ -0,0 +1,56 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.image.ImageTarget;
+import kr.co.moneybridge.model.board.BoardRepository;
+import kr.co.moneybridge.model.pb.PBRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 이미지 파이프라인 처리 결과를 DB에 반영
+// 처리하는 동안 다른 사진으로 바뀌었거나 삭제됐으면 덮어쓰지 않고 방금 올린 사본을 지우고,
+// 반영되면 교체된 기존 파일을 지움 (둘 다 s3 삭제 큐로)
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Service
+public class ImageWriteBackService {
+    private final PBRepository pbRepository;
+    private final BoardRepository boardRepository;
+    private final StorageDeletionService storageDeletionService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // 작업 스레드에서 부르지만, 어떤 트랜잭션의 커밋 뒤에 불려도 거기에 섞이지 않고 따로 커밋되도록 새 트랜잭션
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean apply(ImageTarget target, Long id, String expected, String url) {
+        int updated;
+        switch (target) {
+            case PB_PROFILE:
+                updated = pbRepository.updateProfileIfUnchanged(id, expected, url);
+                break;
+            case PB_BUSINESS_CARD:
+                updated = pbRepository.updateBusinessCardIfUnchanged(id, expected, url);
+                break;
+            default:
+                updated = boardRepository.updateThumbnailIfUnchanged(id, expected, url);
+                break;
+        }
+        if (updated == 0) {
+            log.warn("이미지 반영 건너뜀 " + target + " id=" + id + " : 처리 중에 바뀌었거나 삭제됨");
+            storageDeletionService.enqueue(url);
+            return false;
+        }
+        storageDeletionService.enqueue(expected); // 디폴트 이미지면 건너뜀
+        if (target.equals(ImageTarget.BOARD_THUMBNAIL)) {
+            applicationEventPublisher.publishEvent(new BoardChangedEvent(id));
+        } else {
+            applicationEventPublisher.publishEvent(new PBChangedEvent(id));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,269 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.event.UserChangedEvent;
+import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.core.index.BookmarkIndex;
+import kr.co.moneybridge.core.util.RedisUtil;
+import kr.co.moneybridge.model.MemberPurge;
+import kr.co.moneybridge.model.MemberPurgeRepository;
+import kr.co.moneybridge.model.MemberPurgeStep;
+import kr.co.moneybridge.model.Role;
+import kr.co.moneybridge.model.board.*;
+import kr.co.moneybridge.model.pb.*;
+import kr.co.moneybridge.model.reservation.ReservationRepository;
+import kr.co.moneybridge.model.reservation.ReviewRepository;
+import kr.co.moneybridge.model.reservation.StyleRepository;
+import kr.co.moneybridge.model.user.UserAgreementRepository;
+import kr.co.moneybridge.model.user.UserBookmarkRepository;
+import kr.co.moneybridge.model.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// 회원 탈퇴/강제 탈퇴
+// 요청 트랜잭션에서는 계정을 막고(로그인/토큰 인증 불가) 정리 작업 행만 남기고,
+// 연관 데이터는 MemberPurgeScheduler가 MemberPurgeStep 순서대로 묶음 단위 set 삭제로 지움
+// 묶음 하나와 단계 진행이 같은 트랜잭션으로 커밋되므로 중간에 죽어도 저장된 단계부터 다시 이어감
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Service
+public class MemberPurgeService {
+    public static final int CHUNK_SIZE = 100;
+    public static final int MAX_ATTEMPTS = 5;
+
+    @Value("${DEFAULT_PROFILE}")
+    private String defaultProfile;
+    private final MemberPurgeRepository memberPurgeRepository;
+    private final UserRepository userRepository;
+    private final UserAgreementRepository userAgreementRepository;
+    private final UserBookmarkRepository userBookmarkRepository;
+    private final PBRepository pbRepository;
+    private final PBAgreementRepository pbAgreementRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final AwardRepository awardRepository;
+    private final CareerRepository careerRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReviewRepository reviewRepository;
+    private final StyleRepository styleRepository;
+    private final BoardRepository boardRepository;
+    private final BoardBookmarkRepository boardBookmarkRepository;
+    private final ReplyRepository replyRepository;
+    private final ReReplyRepository reReplyRepository;
+    private final BoardPurgeService boardPurgeService;
+    private final PBStatsService pbStatsService;
+    private final BookmarkIndex bookmarkIndex;
+    private final RedisUtil redisUtil;
+    private final StorageDeletionService storageDeletionService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // 투자자와 관리자는 같은 user_tb 계정이므로 USER 하나로 묶어서 다룸
+    public static Role purgeRole(Role role) {
+        return role.equals(Role.PB) ? Role.PB : Role.USER;
+    }
+
+    public boolean isPurging(Long memberId, Role role) {
+        return memberPurgeRepository.existsByMemberIdAndRole(memberId, purgeRole(role));
+    }
+
+    @Transactional
+    public void request(Long memberId, Role role) {
+        Role purgeRole = purgeRole(role);
+        if (memberPurgeRepository.existsByMemberIdAndRole(memberId, purgeRole)) {
+            return;
+        }
+        if (purgeRole.equals(Role.PB)) {
+            PB pbPS = pbRepository.findById(memberId).orElseThrow(
+                    () -> new Exception404("해당하는 PB 계정이 없습니다")
+            );
+            // 목록/검색에서 바로 빠지도록 PB와 그 컨텐츠를 먼저 숨김
+            pbPS.withdrawn();
+            boardRepository.markDeletedByPBId(memberId);
+            applicationEventPublisher.publishEvent(new PBChangedEvent(memberId));
+        } else {
+            if (!userRepository.existsById(memberId)) {
+                throw new Exception404("해당하는 투자자 계정이 없습니다");
+            }
+            applicationEventPublisher.publishEvent(new UserChangedEvent(memberId));
+        }
+        memberPurgeRepository.save(MemberPurge.of(memberId, purgeRole));
+        revokeTokens(memberId, purgeRole);
+    }
+
+    // 리프레시 토큰을 지워 재발급을 막음 - 남은 액세스 토큰은 인증 필터의 계정 조회에서 막힘
+    private void revokeTokens(Long memberId, Role purgeRole) {
+        try {
+            if (purgeRole.equals(Role.PB)) {
+                redisUtil.delete(memberId + Role.PB.toString());
+            } else {
+                redisUtil.delete(memberId + Role.USER.toString());
+                redisUtil.delete(memberId + Role.ADMIN.toString());
+            }
+        } catch (Exception e) {
+            log.error("탈퇴 계정 토큰 삭제 실패 : " + e.getMessage());
+        }
+    }
+
+    // 재시도 한도 안의 정리 작업 id
+    public List<Long> findRunnable() {
+        return memberPurgeRepository.findRunnableIds(MAX_ATTEMPTS);
+    }
+
+    // 현재 단계의 묶음 하나를 지우고, 그 단계에 남은 게 없으면 다음 단계로 넘김
+    // 더 할 일이 남았으면 true
+    @Transactional
+    public boolean runStep(Long purgeId) {
+        Optional<MemberPurge> purgeOP = memberPurgeRepository.findById(purgeId);
+        if (purgeOP.isEmpty()) {
+            return false;
+        }
+        MemberPurge purgePS = purgeOP.get();
+        Long id = purgePS.getMemberId();
+        boolean isPB = purgePS.getRole().equals(Role.PB);
+        boolean done;
+        switch (purgePS.getStep()) {
+            case FILES:
+                done = !isPB || purgeFiles(id);
+                break;
+            case RESERVATIONS:
+                done = purgeReservations(id, isPB);
+                break;
+            case REPLIES:
+                done = purgeReplies(id, isPB ? ReplyAuthorRole.PB : ReplyAuthorRole.USER);
+                break;
+            case BOARDS:
+                done = !isPB || purgeBoards(id);
+                break;
+            case BOOKMARKS:
+                done = purgeBookmarks(id, isPB);
+                break;
+            default:
+                return purgeAccount(purgePS, isPB);
+        }
+        if (done) {
+            purgePS.advance();
+        }
+        return true;
+    }
+
+    @Transactional
+    public void recordFailure(Long purgeId, Exception e) {
+        memberPurgeRepository.findById(purgeId).ifPresent(purgePS -> {
+            purgePS.fail(e.getMessage());
+            if (purgePS.getAttempts() >= MAX_ATTEMPTS) {
+                log.error("탈퇴 계정 정리 중단 id=" + purgePS.getMemberId() + " step=" + purgePS.getStep() + " : " + e.getMessage());
+            } else {
+                log.warn("탈퇴 계정 정리 실패 id=" + purgePS.getMemberId() + " step=" + purgePS.getStep() + " : " + e.getMessage());
+            }
+        });
+    }
+
+    // 액셀데이터/명함사진/프로필 사진을 s3 삭제 큐에 넣음 (컨텐츠 썸네일은 BOARDS 단계에서 컨텐츠와 같이)
+    private boolean purgeFiles(Long pbId) {
+        List<String> files = new ArrayList<>();
+        portfolioRepository.findFileByPBId(pbId).ifPresent(files::add);
+        pbRepository.findBusinessCardById(pbId).ifPresent(files::add);
+        pbRepository.findProfileById(pbId).filter(profile -> !profile.equals(defaultProfile)).ifPresent(files::add);
+        storageDeletionService.enqueueAll(files);
+        return true;
+    }
+
+    // 후기의 스타일 -> 후기 -> 예약 순으로, 예약이 걸려있던 PB들은 집계를 다시 셈
+    private boolean purgeReservations(Long id, boolean isPB) {
+        List<Long> ids = isPB ? reservationRepository.findIdsByPBId(id, chunk())
+                : reservationRepository.findIdsByUserId(id, chunk());
+        if (ids.isEmpty()) {
+            return true;
+        }
+        List<Long> pbIds = isPB ? new ArrayList<>() : reservationRepository.findPBIdsByIdIn(ids);
+        styleRepository.deleteByReservationIdIn(ids);
+        reviewRepository.deleteByReservationIdIn(ids);
+        reservationRepository.deleteAllByIdInBatch(ids);
+        pbStatsService.refresh(pbIds);
+        return ids.size() < CHUNK_SIZE;
+    }
+
+    // 작성한 댓글(달린 대댓글 포함)을 먼저, 그 다음 남의 댓글에 단 대댓글
+    private boolean purgeReplies(Long id, ReplyAuthorRole authorRole) {
+        List<Long> replyIds = replyRepository.findIdsByAuthor(id, authorRole, chunk());
+        if (!replyIds.isEmpty()) {
+            reReplyRepository.deleteByReplyIdIn(replyIds);
+            replyRepository.deleteAllByIdInBatch(replyIds);
+            if (replyIds.size() == CHUNK_SIZE) {
+                return false;
+            }
+        }
+        List<Long> reReplyIds = reReplyRepository.findIdsByAuthor(id, authorRole, chunk());
+        if (!reReplyIds.isEmpty()) {
+            reReplyRepository.deleteAllByIdInBatch(reReplyIds);
+        }
+        return reReplyIds.size() < CHUNK_SIZE;
+    }
+
+    // 이미 삭제 대기로 바꿔 둔 컨텐츠 - BoardPurgeScheduler가 먼저 지웠을 수도 있음
+    private boolean purgeBoards(Long pbId) {
+        List<Long> ids = boardRepository.findIdsByPBIdAfterId(pbId, 0L, chunk());
+        boardPurgeService.purge(ids);
+        return ids.size() < CHUNK_SIZE;
+    }
+
+    private boolean purgeBookmarks(Long id, boolean isPB) {
+        if (isPB) {
+            boardBookmarkRepository.deleteByBookmarker(id, BookmarkerRole.PB);
+            userBookmarkRepository.deleteByPBId(id);
+            return true;
+        }
+        boardBookmarkRepository.deleteByBookmarker(id, BookmarkerRole.USER);
+        List<Long> pbIds = userBookmarkRepository.findPBIdsByUserId(id);
+        userBookmarkRepository.deleteByUserId(id);
+        pbStatsService.refresh(pbIds);
+        return true;
+    }
+
+    // 앞 단계가 끝난 뒤에 생긴 예약이 있으면 계정 행이 외래키에 걸려 지워지지 않으므로
+    // RESERVATIONS 단계로 되돌려 묶음 단위로 다시 지우고, 남은 게 없을 때만 계정을 지움
+    // 더 할 일이 남았으면 true
+    private boolean purgeAccount(MemberPurge purgePS, boolean isPB) {
+        Long id = purgePS.getMemberId();
+        List<Long> lateIds = isPB ? reservationRepository.findIdsByPBId(id, PageRequest.of(0, 1))
+                : reservationRepository.findIdsByUserId(id, PageRequest.of(0, 1));
+        if (!lateIds.isEmpty()) {
+            log.info("탈퇴 계정 정리 중 새 예약 발견 id=" + id + " role=" + purgePS.getRole() + " - 예약 단계부터 다시");
+            purgePS.rewind(MemberPurgeStep.RESERVATIONS);
+            return true;
+        }
+        // 북마크는 계정 하나 분량의 set 삭제라 여기서 한 번 더 지움
+        purgeBookmarks(id, isPB);
+        if (isPB) {
+            careerRepository.deleteByPBId(id);
+            awardRepository.deleteByPBId(id);
+            pbAgreementRepository.deleteByPBId(id);
+            portfolioRepository.deleteByPBId(id);
+            pbRepository.deleteById(id);
+            pbStatsService.delete(id);
+            applicationEventPublisher.publishEvent(new PBChangedEvent(id));
+        } else {
+            userAgreementRepository.deleteByUserId(id);
+            userRepository.deleteById(id);
+            applicationEventPublisher.publishEvent(new UserChangedEvent(id));
+        }
+        bookmarkIndex.evictMember(id, purgePS.getRole());
+        memberPurgeRepository.delete(purgePS);
+        log.info("탈퇴 계정 정리 완료 id=" + id + " role=" + purgePS.getRole());
+        return false;
+    }
+
+    private Pageable chunk() {
+        return PageRequest.of(0, CHUNK_SIZE);
+    }
+}
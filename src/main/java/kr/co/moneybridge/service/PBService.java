@@ -1,24 +1,38 @@
 package kr.co.moneybridge.service;
 
+import kr.co.moneybridge.core.analytics.PortfolioAnalyzer;
+import kr.co.moneybridge.core.analytics.PortfolioMetrics;
 import kr.co.moneybridge.core.annotation.MyLog;
 import kr.co.moneybridge.core.auth.session.MyUserDetails;
+import kr.co.moneybridge.core.event.PBChangedEvent;
 import kr.co.moneybridge.core.exception.Exception400;
 import kr.co.moneybridge.core.exception.Exception404;
 import kr.co.moneybridge.core.exception.Exception500;
-import kr.co.moneybridge.core.util.S3Util;
+import kr.co.moneybridge.core.image.ImagePipeline;
+import kr.co.moneybridge.core.image.ImageTarget;
+import kr.co.moneybridge.core.index.BookmarkIndex;
+import kr.co.moneybridge.core.index.BranchSearchIndex;
+import kr.co.moneybridge.core.index.CompanyCatalog;
+import kr.co.moneybridge.core.index.PBLeaderboardIndex;
+import kr.co.moneybridge.core.index.PBLocationIndex;
+import kr.co.moneybridge.core.index.PBNameIndex;
+import kr.co.moneybridge.core.index.PBPropensityPool;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.core.upload.UploadTarget;
+import kr.co.moneybridge.core.util.MyGeoUtil;
 import kr.co.moneybridge.dto.PageDTO;
 import kr.co.moneybridge.dto.PageDTOV2;
 import kr.co.moneybridge.dto.pb.PBRequest;
 import kr.co.moneybridge.dto.pb.PBResponse;
 import kr.co.moneybridge.model.Role;
 import kr.co.moneybridge.model.pb.*;
-import kr.co.moneybridge.model.reservation.ReservationProcess;
-import kr.co.moneybridge.model.reservation.ReservationRepository;
-import kr.co.moneybridge.model.reservation.ReviewRepository;
 import kr.co.moneybridge.model.user.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -28,6 +42,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -38,19 +54,30 @@ import java.util.stream.Collectors;
 public class PBService {
     @Value("${DEFAULT_PROFILE}")
     private String defaultProfile;
+    // 명함 이미지 처리가 끝나기 전까지 보여줄 자리표시 이미지
+    @Value("${DEFAULT_BUSINESS_CARD:${DEFAULT_THUMBNAIL}}")
+    private String defaultBusinessCard;
     private final BCryptPasswordEncoder passwordEncoder;
     private final BranchRepository branchRepository;
     private final PBRepository pbRepository;
     private final PBAgreementRepository pbAgreementRepository;
     private final UserRepository userRepository;
-    private final CompanyRepository companyRepository;
-    private final ReservationRepository reservationRepository;
-    private final ReviewRepository reviewRepository;
+    private final CompanyCatalog companyCatalog;
     private final AwardRepository awardRepository;
     private final CareerRepository careerRepository;
-    private final UserBookmarkRepository userBookmarkRepository;
     private final PortfolioRepository portfolioRepository;
-    private final S3Util s3Util;
+    private final BlobStore blobStore;
+    private final StorageDeletionService storageDeletionService;
+    private final ImagePipeline imagePipeline;
+    private final UploadService uploadService;
+    private final PBStatsService pbStatsService;
+    private final PBLocationIndex pbLocationIndex;
+    private final PBNameIndex pbNameIndex;
+    private final BranchSearchIndex branchSearchIndex;
+    private final PBPropensityPool pbPropensityPool;
+    private final BookmarkIndex bookmarkIndex;
+    private final PBLeaderboardIndex pbLeaderboardIndex;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @MyLog
     @Transactional
@@ -62,32 +89,17 @@ public class PBService {
             throw new Exception404("투자 성향 정보가 없습니다. 검사 먼저 해주세요");
         }
 
-        // 1) 투자 성향 별로 해당하는 PB id 리스트 가져오기
-        List<Long> pbIds = null;
-        // 공격형 - 전문분야가 부동산만 아니면 됨
-        if(userPS.getPropensity().equals(UserPropensity.SPECULATIVE)){
-            pbIds = pbRepository.findIdsBySpecialityNotIn(Arrays.asList(PBSpeciality.REAL_ESTATE));
-        }
-        // 적극형 - 전문분야가 부동산과 파생만 아니면 됨
-        if(userPS.getPropensity().equals(UserPropensity.AGGRESSIVE)){
-            pbIds = pbRepository.findIdsBySpecialityNotIn(Arrays.asList(PBSpeciality.REAL_ESTATE, PBSpeciality.DERIVATIVE));
-        }
-        // 그 외 - 전문분야가 채권, 펀드, 랩 중에 하나를 가지면 됨
-        pbIds = pbRepository.findIdsBySpecialityIn(Arrays.asList(PBSpeciality.FUND, PBSpeciality.BOND, PBSpeciality.WRAP));
-
-        // 2) 목록을 무작위로 섞음
-        Collections.shuffle(pbIds);
-
-        // 3) 섞인 목록에서 상위 3개의 id를 선택해서 가져오기 (최대 3개 - 전체가 2개면 2개 선택)
-        List<Long> randomIds = pbIds.subList(0, Math.min(pbIds.size(), 3));
+        // 투자 성향별 PB 풀에서 서로 다른 id를 최대 3개 무작위로 뽑음 (전체가 2개면 2개)
+        List<Long> randomIds = pbPropensityPool.sample(userPS.getPropensity(), 3);
         List<PB> pbs = pbRepository.findByIdIn(randomIds);
+        Map<Long, PBStats> statsMap = pbStatsService.getStats(randomIds);
+        Set<Long> bookmarkedIds = bookmarkIndex.getBookmarkedPBIds(id);
 
         List<PBResponse.MyPropensityPBDTO> list = new ArrayList<>();
         pbs.stream().forEach(pb->{
-            Long reserveCount = reservationRepository.countByPBIdAndProcess(pb.getId(), ReservationProcess.COMPLETE);
-            Long reviewCount = reviewRepository.countByPBId(pb.getId());
-            Boolean isBookmark = userBookmarkRepository.existsByUserIdAndPBId(id, pb.getId());
-            list.add(new PBResponse.MyPropensityPBDTO(pb, reserveCount, reviewCount, isBookmark));
+            PBStats stats = statsMap.get(pb.getId());
+            Boolean isBookmark = bookmarkedIds.contains(pb.getId());
+            list.add(new PBResponse.MyPropensityPBDTO(pb, stats.getReserveCount(), stats.getReviewCount(), isBookmark));
         });
 
         return new PBResponse.MyPropensityPBOutDTO(userPS, list);
@@ -101,36 +113,29 @@ public class PBService {
         if(!pbOP.isPresent()){
             throw new Exception404("PB 계정이 없습니다");
         }
-        return new PBResponse.MyPageOutDTO(pbOP.get(),
-                reservationRepository.countByPBIdAndProcess(pbOP.get().getId(), ReservationProcess.COMPLETE),
-                reviewRepository.countByPBId(pbOP.get().getId()));
+        PBStats stats = pbStatsService.getStats(pbOP.get().getId());
+        return new PBResponse.MyPageOutDTO(pbOP.get(), stats.getReserveCount(), stats.getReviewCount());
     }
 
     @MyLog
     public PageDTO<PBResponse.BranchDTO> searchBranch(Long companyId, String keyword, Pageable pageable) {
-        Page<Branch> branchPG = branchRepository.findByCompanyIdAndKeyword(companyId, keyword, pageable);
-        List<PBResponse.BranchDTO> list = branchPG.getContent().stream()
-                .map(branch -> new PBResponse.BranchDTO(branch))
-                .collect(Collectors.toList());
-        return new PageDTO<>(list, branchPG, Branch.class);
+        Page<PBResponse.BranchDTO> branchPG = branchSearchIndex.search(companyId, keyword, pageable);
+        return new PageDTO<>(branchPG.getContent(), branchPG);
     }
 
     @MyLog
     public PBResponse.CompanyNameOutDTO getCompanyNames() {
-        List<PBResponse.CompanyNameDTO> list = new ArrayList<>();
-        companyRepository.findAll().stream().forEach(company -> {
-            list.add(new PBResponse.CompanyNameDTO(company));
-        });
-        return new PBResponse.CompanyNameOutDTO(list);
+        return new PBResponse.CompanyNameOutDTO(companyCatalog.getCompanyNames());
     }
 
     @MyLog
     public PBResponse.CompanyOutDTO getCompanies() {
-        List<PBResponse.CompanyDTO> list = new ArrayList<>();
-        companyRepository.findAll().stream().forEach(company -> {
-            list.add(new PBResponse.CompanyDTO(company));
-        });
-        return new PBResponse.CompanyOutDTO(list);
+        return new PBResponse.CompanyOutDTO(companyCatalog.getCompanies());
+    }
+
+    // 미리 직렬화해 둔 증권사 목록 응답 본문 (ETag 포함)
+    public CompanyCatalog.SerializedBody getCompaniesJson(boolean includeLogo) {
+        return companyCatalog.getCompaniesBody(includeLogo);
     }
 
     @MyLog
@@ -149,14 +154,22 @@ public class PBService {
         Branch branchPS = branchRepository.findById(joinInDTO.getBranchId()).orElseThrow(
                 () -> new Exception404("해당하는 지점이 존재하지 않습니다")
         );
-        if (businessCard == null || businessCard.isEmpty()) {
+        // 명함은 파일로 받거나, 직접 업로드한 임시 키로 받음
+        BlobInfo businessCardMetadata = null;
+        if (joinInDTO.getBusinessCardKey() != null) {
+            businessCardMetadata = uploadService.claim(UploadTarget.BUSINESS_CARD, joinInDTO.getBusinessCardKey(), "businessCardKey");
+        } else if (businessCard == null || businessCard.isEmpty()) {
             throw new Exception400("businessCard", "명함 사진이 없습니다");
         }
-        // S3에 사진 저장
         try {
-            String path = s3Util.upload(s3Util.resize(businessCard, 450, 250), "business-card"); // 명함 픽셀 450 * 250
-            System.out.println(path);
-            PB pbPS = pbRepository.save(joinInDTO.toEntity(branchPS, path, defaultProfile));
+            // 명함은 자리표시 이미지로 먼저 저장하고, 이미지 파이프라인이 커밋 후에 사본을 만들어 바꿔 넣음
+            PB pbPS = pbRepository.save(joinInDTO.toEntity(branchPS, defaultBusinessCard, defaultProfile));
+            if (businessCardMetadata != null) {
+                uploadService.attachImage(UploadTarget.BUSINESS_CARD, joinInDTO.getBusinessCardKey(), businessCardMetadata,
+                        pbPS.getId(), defaultBusinessCard);
+            } else {
+                imagePipeline.submit(businessCard, ImageTarget.PB_BUSINESS_CARD, pbPS.getId(), defaultBusinessCard);
+            }
             List<PBRequest.AgreementDTO> agreements = joinInDTO.getAgreements();
             if (agreements != null) {
                 agreements.stream().forEach(agreement ->
@@ -176,11 +189,9 @@ public class PBService {
         try {
             Page<PBResponse.PBPageDTO> pbPG = pbRepository.findByUserId(user.getId(), pageable);
 
+            // 상담/후기 수는 pb_stats_tb에서 같이 조회됨, 북마크 목록이니 모두 북마크된 PB
             for (PBResponse.PBPageDTO pbPageDTO : pbPG) {
-                Long pbId = pbPageDTO.getId();
-                pbPageDTO.setReserveCount(pbRepository.countReservationsByPbId(pbId));
-                pbPageDTO.setReviewCount(pbRepository.countReviewsByPbId(pbId));
-                pbPageDTO.setIsBookmarked(userBookmarkRepository.existsByUserIdAndPBId(user.getId(), pbId));
+                pbPageDTO.setIsBookmarked(true);
             }
 
             List<PBResponse.PBPageDTO> list = pbPG.getContent().stream().collect(Collectors.toList());
@@ -199,52 +210,104 @@ public class PBService {
     //PB 검색하기
     public PageDTO<PBResponse.PBPageDTO> getPBWithName(String name, Pageable pageable) {
 
-        Page<PBResponse.PBPageDTO> pbPG = pbRepository.findByName(name, pageable);
-        List<PBResponse.PBPageDTO> list = pbPG.getContent().stream().collect(Collectors.toList());
-        return new PageDTO<>(list, pbPG);
+        Page<Long> idPG = pbNameIndex.search(name, pageable);
+        List<PBResponse.PBPageDTO> list = findPBPagesInOrder(idPG.getContent());
+        return new PageDTO<>(list, idPG, Long.class);
+    }
+
+    //PB 이름 자동완성
+    public List<PBResponse.PBNameDTO> getPBNameAutocomplete(String name, int size) {
+
+        return pbNameIndex.autocomplete(name, size);
     }
 
     //거리순 PB리스트 가져오기(전문분야필터)
     public PageDTO<PBResponse.PBPageDTO> getSpecialityPBWithDistance(Double latitude, Double longitude, PBSpeciality speciality, Pageable pageable) {
 
-        List<PBResponse.PBPageDTO> list = pbRepository.findByPBListSpeciality(speciality);
-        list.sort(Comparator.comparing(dto -> calDistance(latitude, longitude, dto.getBranchLat(), dto.getBranchLon())));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), list.size());
-        Page<PBResponse.PBPageDTO> pbPG = new PageImpl(list.subList(start, end), pageable, list.size());
-        return new PageDTO<>(list, pbPG);
+        return getNearestPBs(latitude, longitude, speciality, null, pageable);
     }
 
     //거리순 PB리스트 가져오기(증권사필터)
     public PageDTO<PBResponse.PBPageDTO> getCompanyPBWithDistance(Double latitude, Double longitude, Long companyId, Pageable pageable) {
 
-        List<PBResponse.PBPageDTO> list = pbRepository.findByPBListCompany(companyId);
-        list.sort(Comparator.comparing(dto -> calDistance(latitude, longitude, dto.getBranchLat(), dto.getBranchLon())));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), list.size());
-        Page<PBResponse.PBPageDTO> pbPG = new PageImpl(list.subList(start, end), pageable, list.size());
-        return new PageDTO<>(list, pbPG);
+        return getNearestPBs(latitude, longitude, null, companyId, pageable);
     }
 
     //거리순 전체PB리스트 가져오기
     public PageDTO<PBResponse.PBPageDTO> getPBWithDistance(Double latitude, Double longitude, Pageable pageable) {
 
-        List<PBResponse.PBPageDTO> list = pbRepository.findAllPB();
-        list.sort(Comparator.comparing(dto -> calDistance(latitude, longitude, dto.getBranchLat(), dto.getBranchLon())));
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), list.size());
-        Page<PBResponse.PBPageDTO> pbPG = new PageImpl(list.subList(start, end), pageable, list.size());
-        return new PageDTO<>(list, pbPG);
+        return getNearestPBs(latitude, longitude, null, null, pageable);
+    }
+
+    //반경 내 PB리스트 가져오기(거리순)
+    public PageDTO<PBResponse.PBPageDTO> getPBWithinRadius(Double latitude, Double longitude, Double radius, Pageable pageable) {
+
+        // DB에서는 사각형으로 후보만 거르고, 정확한 거리 계산과 정렬은 후보에 대해서만 함
+        double[] box = MyGeoUtil.boundingBox(latitude, longitude, radius);
+        List<PBResponse.PBPageDTO> candidates = pbRepository.findPBPageInBox(box[0], box[1], box[2], box[3]);
+
+        Map<Long, Double> distanceMap = new HashMap<>();
+        List<PBResponse.PBPageDTO> inRadius = new ArrayList<>();
+        for (PBResponse.PBPageDTO dto : candidates) {
+            double distance = MyGeoUtil.distance(latitude, longitude, dto.getBranchLat(), dto.getBranchLon());
+            if (distance <= radius) {
+                distanceMap.put(dto.getId(), distance);
+                inRadius.add(dto);
+            }
+        }
+        inRadius.sort(Comparator.comparing((PBResponse.PBPageDTO dto) -> distanceMap.get(dto.getId()))
+                .thenComparing(PBResponse.PBPageDTO::getId));
+
+        int start = (int) Math.min(pageable.getOffset(), inRadius.size());
+        int end = Math.min(start + pageable.getPageSize(), inRadius.size());
+        List<PBResponse.PBPageDTO> list = new ArrayList<>(inRadius.subList(start, end));
+        return new PageDTO<>(list, new PageImpl<>(list, pageable, inRadius.size()));
     }
 
-    //거리계산 메서드
-    public static double calDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double KILL = 111.32; // 위도 1도 거리(킬로미터)
+    // 거리순 인덱스에서 해당 페이지의 id만 뽑고, 그 id들만 조회해서 거리순서대로 다시 정렬
+    private PageDTO<PBResponse.PBPageDTO> getNearestPBs(Double latitude, Double longitude, PBSpeciality speciality, Long companyId, Pageable pageable) {
 
-        double x = lat1 - lat2;
-        double y = (lon1 - lon2) * Math.cos((lat1 + lat2) / 2);
+        Page<Long> idPG = pbLocationIndex.findNearest(latitude, longitude, speciality, companyId, pageable);
+        List<PBResponse.PBPageDTO> list = findPBPagesInOrder(idPG.getContent());
+        return new PageDTO<>(list, idPG, Long.class);
+    }
+
+    private List<PBResponse.PBPageDTO> findPBPagesInOrder(List<Long> ids) {
 
-        return KILL * Math.sqrt(x * x + y * y);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, PBResponse.PBPageDTO> pbMap = pbRepository.findPBPageByIdIn(ids).stream()
+                .collect(Collectors.toMap(PBResponse.PBPageDTO::getId, dto -> dto));
+        return ids.stream()
+                .map(pbMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    //인기순 PB리스트 가져오기(전문분야/증권사 필터는 선택)
+    public PageDTO<PBResponse.PBPageDTO> getPBWithPopularity(PBSpeciality speciality, Long companyId, Pageable pageable) {
+
+        Page<PBResponse.PBPageDTO> pbPG = pbRepository.findAllPBWithPopularity(speciality, companyId, pageable);
+        List<PBResponse.PBPageDTO> list = pbPG.getContent().stream().collect(Collectors.toList());
+
+        return new PageDTO<>(list, pbPG);
+    }
+
+    //포트폴리오 지표 순위 PB리스트 가져오기(전문분야/증권사 필터는 선택)
+    public PageDTO<PBResponse.PBRankDTO> getPBLeaderboard(PortfolioMetric metric, PBSpeciality speciality, Long companyId, Pageable pageable) {
+
+        Page<PBLeaderboardIndex.Entry> entryPG = pbLeaderboardIndex.findRanked(metric, speciality, companyId, pageable);
+        List<Long> ids = entryPG.getContent().stream()
+                .map(PBLeaderboardIndex.Entry::getId)
+                .collect(Collectors.toList());
+        Map<Long, PBResponse.PBPageDTO> pbMap = findPBPagesInOrder(ids).stream()
+                .collect(Collectors.toMap(PBResponse.PBPageDTO::getId, dto -> dto));
+        List<PBResponse.PBRankDTO> list = entryPG.getContent().stream()
+                .filter(entry -> pbMap.containsKey(entry.getId()))
+                .map(entry -> new PBResponse.PBRankDTO(entry.getRank(), entry.getValue(), pbMap.get(entry.getId())))
+                .collect(Collectors.toList());
+        return new PageDTO<>(list, entryPG, PBLeaderboardIndex.Entry.class);
     }
 
     //경력순 PB리스트 가져오기(전문분야필터)
@@ -315,13 +378,11 @@ public class PBService {
     //거리순 PB 두명 가져오기
     public List<PBResponse.PBSimpleDTO> getTwoPBWithDistance(Double latitude, Double longitude) {
 
-        List<PBResponse.PBSimpleDTO> pbList = new ArrayList<>();
-        List<PBResponse.PBPageDTO> list = pbRepository.findAllPB();
-        list.sort(Comparator.comparing(dto -> calDistance(latitude, longitude, dto.getBranchLat(), dto.getBranchLon())));
-        pbList.add(new PBResponse.PBSimpleDTO(list.get(0)));
-        pbList.add(new PBResponse.PBSimpleDTO(list.get(1)));
+        Page<Long> idPG = pbLocationIndex.findNearest(latitude, longitude, null, null, PageRequest.of(0, 2));
 
-        return pbList;
+        return findPBPagesInOrder(idPG.getContent()).stream()
+                .map(PBResponse.PBSimpleDTO::new)
+                .collect(Collectors.toList());
     }
 
     //PB 프로필가져오기(비회원)
@@ -338,12 +399,12 @@ public class PBService {
         PBResponse.PBProfileDTO pbDTO = pbRepository.findPBProfile(id).orElseThrow(()-> new Exception404("해당 PB 존재하지 않습니다."));
         pbDTO.setAward(awardRepository.getAwards(id));
         pbDTO.setCareer(careerRepository.getCareers(id));
-        pbDTO.setReserveCount(reservationRepository.countByPBIdAndProcess(id, ReservationProcess.COMPLETE));
-        pbDTO.setReviewCount(reviewRepository.countByPBId(id));
+        PBStats stats = pbStatsService.getStats(id);
+        pbDTO.setReserveCount(stats.getReserveCount());
+        pbDTO.setReviewCount(stats.getReviewCount());
 
         if (myUserDetails.getMember().getRole().equals(Role.USER)) {
-            Optional<UserBookmark> bookmark = userBookmarkRepository.findByUserIdWithPbId(myUserDetails.getMember().getId(), id);
-            if (bookmark.isPresent()) pbDTO.setIsBookmarked(true);
+            pbDTO.setIsBookmarked(bookmarkIndex.getBookmarkedPBIds(myUserDetails.getMember().getId()).contains(id));
         }
 
         return pbDTO;
@@ -352,7 +413,7 @@ public class PBService {
     //PB 포트폴리오 가져오기
     public PBResponse.PortfolioOutDTO getPortfolio(Long id) {
 
-        PB pb = pbRepository.findById(id).orElseThrow(() -> new Exception404("존재하지 않는 PB입니다."));
+        PB pb = pbRepository.findNotWithdrawnById(id).orElseThrow(() -> new Exception404("존재하지 않는 PB입니다."));
 
         Optional<Portfolio> portfolioOP = portfolioRepository.findByPbId(id);
         PBResponse.PortfolioOutDTO dto = new PBResponse.PortfolioOutDTO();
@@ -364,6 +425,8 @@ public class PBService {
             dto.setMaxDrawdown(portfolio.getMaxDrawdown());
             dto.setProfitFactor(portfolio.getProfitFactor());
             dto.setAverageProfit(portfolio.getAverageProfit());
+            dto.setVolatility(portfolio.getVolatility());
+            dto.setSharpe(portfolio.getSharpe());
             dto.setFile(portfolio.getFile());
             dto.setName(pb.getName());
         }
@@ -385,6 +448,8 @@ public class PBService {
             updateDTO.setMaxDrawdown(portfolio.getMaxDrawdown());
             updateDTO.setProfitFactor(portfolio.getProfitFactor());
             updateDTO.setAverageProfit(portfolio.getAverageProfit());
+            updateDTO.setVolatility(portfolio.getVolatility());
+            updateDTO.setSharpe(portfolio.getSharpe());
             updateDTO.setPortfolio(portfolio.getFile());
         }
 
@@ -401,6 +466,23 @@ public class PBService {
 
         PB pb = pbRepository.findById(myUserDetails.getMember().getId()).orElseThrow(() -> new Exception404("해당 PB 찾을 수 없습니다."));
 
+        //직접 업로드한 파일이 있으면 먼저 확인
+        BlobInfo profileMetadata = updateDTO.getProfileKey() == null ? null :
+                uploadService.claim(UploadTarget.PROFILE, updateDTO.getProfileKey(), "profileKey");
+        BlobInfo portfolioMetadata = updateDTO.getPortfolioKey() == null ? null :
+                uploadService.claim(UploadTarget.PORTFOLIO, updateDTO.getPortfolioKey(), "portfolioKey");
+
+        //수익률 csv가 들어오면 저장하기 전에 한 번 읽어서 지표 계산 - 형식이 틀리면 아무것도 바꾸지 않고 400
+        PortfolioMetrics portfolioMetrics = null;
+        boolean portfolioReplaced = portfolioMetadata != null || (portfolioFile != null && !portfolioFile.isEmpty());
+        if (portfolioMetadata != null) {
+            if (PortfolioAnalyzer.supports(updateDTO.getPortfolioKey(), portfolioMetadata.getContentType())) {
+                portfolioMetrics = analyzePortfolio(() -> blobStore.open(updateDTO.getPortfolioKey()), "portfolioKey");
+            }
+        } else if (portfolioReplaced && PortfolioAnalyzer.supports(portfolioFile.getOriginalFilename(), portfolioFile.getContentType())) {
+            portfolioMetrics = analyzePortfolio(portfolioFile, "portfolio");
+        }
+
         //career, award 컬럼 삭제
         careerRepository.deleteByPBId(myUserDetails.getMember().getId());
         awardRepository.deleteByPBId(myUserDetails.getMember().getId());
@@ -423,7 +505,7 @@ public class PBService {
         //프로필 삭제요청시
         if (updateDTO.getDeleteProfile().equals(true)) {
             if (!pb.getProfile().equals(defaultProfile)) {
-                s3Util.delete(pb.getProfile());
+                storageDeletionService.enqueue(pb.getProfile());
                 pb.updateProfile(defaultProfile);
             }
         }
@@ -431,21 +513,40 @@ public class PBService {
         //포트폴리오파일 삭제요청시
         if (updateDTO.getDeletePortfolio().equals(true)) {
             if (portfolio.getFile() != null && !portfolio.getFile().isEmpty()) {
-                s3Util.delete(portfolio.getFile());
+                storageDeletionService.enqueue(portfolio.getFile());
                 portfolio.deleteFile();
             }
         }
 
-        //프로필 사진 들어온경우
-        if (profileFile != null && !profileFile.isEmpty()) {
-            String profilePath = s3Util.upload(s3Util.resize(profileFile,500,500), "profile");
-            pb.updateProfile(profilePath);
+        //프로필 사진 들어온경우 - 처리가 끝나면 이미지 파이프라인이 바꿔 넣고 기존 파일을 지움
+        if (profileMetadata != null) {
+            uploadService.attachImage(UploadTarget.PROFILE, updateDTO.getProfileKey(), profileMetadata, pb.getId(), pb.getProfile());
+        } else if (profileFile != null && !profileFile.isEmpty()) {
+            imagePipeline.submit(profileFile, ImageTarget.PB_PROFILE, pb.getId(), pb.getProfile());
         }
 
-        //포트폴리오파일 들어온경우
-        if (portfolioFile != null && !portfolioFile.isEmpty()) {
-            String portfolioPath = s3Util.upload(portfolioFile, "portfolio");
+        //포트폴리오파일 들어온경우 - 직접 업로드한 파일은 저장소 안에서 옮기기만 함
+        if (updateDTO.getPortfolioKey() != null) {
+            String portfolioPath = uploadService.attachFile(updateDTO.getPortfolioKey());
+            storageDeletionService.enqueue(portfolio.getFile());
             portfolio.updateFile(portfolioPath);
+        } else if (portfolioFile != null && !portfolioFile.isEmpty()) {
+            String portfolioPath = blobStore.upload(portfolioFile, "portfolio");
+            storageDeletionService.enqueue(portfolio.getFile());
+            portfolio.updateFile(portfolioPath);
+        }
+
+        //파일에서 계산한 지표는 입력값보다 우선, 계산에 쓴 파일이 지워지거나 csv가 아닌 파일로 바뀌면 변동성/샤프지수는 비움
+        if (portfolioMetrics != null) {
+            portfolio.updateCumulativeReturn(portfolioMetrics.getCumulativeReturn());
+            portfolio.updateMaxDrawdown(portfolioMetrics.getMaxDrawdown());
+            portfolio.updateProfitFactor(portfolioMetrics.getProfitFactor());
+            portfolio.updateAverageProfit(portfolioMetrics.getAverageProfit());
+            portfolio.updateVolatility(portfolioMetrics.getVolatility());
+            portfolio.updateSharpe(portfolioMetrics.getSharpe());
+        } else if (portfolioReplaced || updateDTO.getDeletePortfolio().equals(true)) {
+            portfolio.updateVolatility(null);
+            portfolio.updateSharpe(null);
         }
 
         //career, award 새로 저장
@@ -471,12 +572,23 @@ public class PBService {
         pb.updateIntro(updateDTO.getIntro());
         pb.updateMsg(updateDTO.getMsg());
 
+        applicationEventPublisher.publishEvent(new PBChangedEvent(pb.getId()));
+    }
+
+    private PortfolioMetrics analyzePortfolio(InputStreamSource source, String field) {
+        try (InputStream inputStream = source.getInputStream()) {
+            return PortfolioAnalyzer.analyze(inputStream);
+        } catch (IllegalArgumentException e) {
+            throw new Exception400(field, "수익률 파일 " + e.getMessage());
+        } catch (IOException e) {
+            throw new Exception500("포트폴리오 파일 읽기 실패: " + e.getMessage());
+        }
     }
 
     //유사 PB 2명 가져오기
     public List<PBResponse.PBPageDTO> getSamePBs(MyUserDetails myUserDetails, Long pbId) {
 
-        PB pb = pbRepository.findById(pbId).orElseThrow(() -> new Exception404("해당 PB 존재하지않습니다."));
+        PB pb = pbRepository.findNotWithdrawnById(pbId).orElseThrow(() -> new Exception404("해당 PB 존재하지않습니다."));
         PBSpeciality speciality1 = pb.getSpeciality1();
         PBSpeciality speciality2 = pb.getSpeciality2();
         List<PBResponse.PBPageDTO> list;
@@ -488,8 +600,9 @@ public class PBService {
         }
 
         if (myUserDetails.getMember().getRole().equals(Role.USER)) {
+            Set<Long> bookmarkedIds = bookmarkIndex.getBookmarkedPBIds(myUserDetails.getMember().getId());
             for (PBResponse.PBPageDTO dto : list) {
-                dto.setIsBookmarked(userBookmarkRepository.existsByUserIdAndPBId(myUserDetails.getMember().getId(), dto.getId()));
+                dto.setIsBookmarked(bookmarkedIds.contains(dto.getId()));
             }
         }
 
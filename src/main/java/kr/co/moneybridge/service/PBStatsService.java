@@ -0,0 +1,120 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.model.pb.PBStats;
+import kr.co.moneybridge.model.pb.PBStatsRepository;
+import kr.co.moneybridge.model.reservation.ReservationProcess;
+import kr.co.moneybridge.model.reservation.ReservationRepository;
+import kr.co.moneybridge.model.reservation.ReviewRepository;
+import kr.co.moneybridge.model.user.UserBookmarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// pb_stats_tb 갱신 담당
+// 호출한 쪽 트랜잭션에 합류해서 원본 데이터 변경과 집계 변경이 같이 커밋/롤백되도록 함
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Service
+public class PBStatsService {
+    private final PBStatsRepository pbStatsRepository;
+    private final ReservationRepository reservationRepository;
+    private final ReviewRepository reviewRepository;
+    private final UserBookmarkRepository userBookmarkRepository;
+
+    // 상담 완료
+    @Transactional
+    public void increaseReserveCount(Long pbId) {
+        if (pbStatsRepository.addReserveCount(pbId, 1L) == 0) insertOrAdd(pbId, 1L, 0L, 0L);
+    }
+
+    // 후기 작성
+    @Transactional
+    public void increaseReviewCount(Long pbId) {
+        if (pbStatsRepository.addReviewCount(pbId, 1L) == 0) insertOrAdd(pbId, 0L, 1L, 0L);
+    }
+
+    // 북마크
+    @Transactional
+    public void increaseBookmarkCount(Long pbId) {
+        if (pbStatsRepository.addBookmarkCount(pbId, 1L) == 0) insertOrAdd(pbId, 0L, 0L, 1L);
+    }
+
+    // 북마크 취소
+    @Transactional
+    public void decreaseBookmarkCount(Long pbId) {
+        if (pbStatsRepository.addBookmarkCount(pbId, -1L) == 0) insertOrAdd(pbId, 0L, 0L, -1L);
+    }
+
+    // 원본 테이블에서 다시 세서 덮어씀 - 집계 행이 없거나, 투자자 탈퇴처럼 여러 건이 한꺼번에 지워질 때
+    @Transactional
+    public void refresh(Long pbId) {
+        PBStats stats = count(pbId);
+        if (pbStatsRepository.overwrite(pbId, stats.getReserveCount(), stats.getReviewCount(), stats.getBookmarkCount()) == 0
+                && pbStatsRepository.insertIfAbsent(pbId, stats.getReserveCount(), stats.getReviewCount(), stats.getBookmarkCount()) == 0) {
+            pbStatsRepository.overwrite(pbId, stats.getReserveCount(), stats.getReviewCount(), stats.getBookmarkCount());
+        }
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> pbIds) {
+        pbIds.forEach(this::refresh);
+    }
+
+    @Transactional
+    public void delete(Long pbId) {
+        if (pbStatsRepository.existsById(pbId)) {
+            pbStatsRepository.deleteById(pbId);
+        }
+    }
+
+    // 집계 행이 아직 없으면 원본 테이블에서 센 값을 돌려줌(저장하지는 않음)
+    public PBStats getStats(Long pbId) {
+        return pbStatsRepository.findById(pbId).orElseGet(() -> count(pbId));
+    }
+
+    // 여러 PB의 집계를 한 번에 조회
+    public Map<Long, PBStats> getStats(Collection<Long> pbIds) {
+        Map<Long, PBStats> statsMap = pbStatsRepository.findAllById(pbIds).stream()
+                .collect(Collectors.toMap(PBStats::getPbId, stats -> stats));
+        pbIds.forEach(pbId -> statsMap.computeIfAbsent(pbId, this::count));
+        return statsMap;
+    }
+
+    // 집계 테이블이 생기기 전부터 있던 PB들의 행을 채움
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        List<Long> pbIds = pbStatsRepository.findPBIdsWithoutStats();
+        pbIds.forEach(this::refresh);
+        if (!pbIds.isEmpty()) {
+            log.info("PB 집계 초기화 : " + pbIds.size() + "명");
+        }
+    }
+
+    // 집계 행이 없어서 원본에서 센 값(이번 변경 포함)으로 넣음
+    // 그 사이 다른 트랜잭션이 먼저 넣었으면 그 행엔 이번 변경이 빠져 있으므로 변화량만 더함
+    private void insertOrAdd(Long pbId, Long reserveDelta, Long reviewDelta, Long bookmarkDelta) {
+        PBStats stats = count(pbId);
+        if (pbStatsRepository.insertIfAbsent(pbId, stats.getReserveCount(), stats.getReviewCount(), stats.getBookmarkCount()) == 0) {
+            pbStatsRepository.addCounts(pbId, reserveDelta, reviewDelta, bookmarkDelta);
+        }
+    }
+
+    private PBStats count(Long pbId) {
+        return PBStats.builder()
+                .pbId(pbId)
+                .reserveCount(reservationRepository.countByPBIdAndProcess(pbId, ReservationProcess.COMPLETE))
+                .reviewCount(reviewRepository.countByPBId(pbId))
+                .bookmarkCount(userBookmarkRepository.countByPBId(pbId))
+                .build();
+    }
+}
@@ -42,11 +42,12 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final ReviewRepository reviewRepository;
     private final StyleRepository styleRepository;
+    private final PBStatsService pbStatsService;
     private final EntityManager em;
 
     @MyLog
     public ReservationResponse.RecentInfoDTO getRecentReservationInfo(Long pbId) {
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
 
@@ -98,7 +99,7 @@ public class ReservationService {
 
     @MyLog
     public PageDTO<ReservationResponse.RecentReservationDTO> getRecentReservations(String type, int page, Long pbId) {
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
 
@@ -221,7 +222,7 @@ public class ReservationService {
         Reservation reservationPS = reservationRepository.findById(reservationId).orElseThrow(
                 () -> new Exception404("존재하지 않는 예약입니다.")
         );
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
 
@@ -290,7 +291,7 @@ public class ReservationService {
 
     @MyLog
     public ReservationResponse.BaseDTO getReservationBase(Long pbId, Long userId) {
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
         if (pbPS.getStatus().equals(PBStatus.PENDING)) {
@@ -330,7 +331,7 @@ public class ReservationService {
     public void addReservation(Long pbId,
                                ReservationRequest.ApplyDTO applyDTO,
                                Long userId) {
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
         if (pbPS.getStatus().equals(PBStatus.PENDING)) {
@@ -388,7 +389,7 @@ public class ReservationService {
                 || reservationPS.getProcess().equals(ReservationProcess.COMPLETE)) {
             throw new Exception400(String.valueOf(reservationId), "이미 완료되었거나 취소된 상담입니다.");
         }
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
 
@@ -489,6 +490,7 @@ public class ReservationService {
         try {
             reservationPS.updateProcess(ReservationProcess.COMPLETE);
             reservationPS.updateCreatedAt(); // isNewApply 등의 변수가 제대로 표시되도록 하기 위해 예약의 상태가 변할 때 createdAt도 변경
+            pbStatsService.increaseReserveCount(reservationPS.getPb().getId());
         } catch (Exception e) {
             throw new Exception500("예약 완료 실패 : " + e.getMessage());
         }
@@ -496,7 +498,7 @@ public class ReservationService {
 
     @MyLog
     public List<ReservationResponse.ReservationInfoDTO> getReservationsByDate(int year, int month, Long pbId) {
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
 
@@ -534,7 +536,7 @@ public class ReservationService {
     @MyLog
     @Transactional
     public void updateConsultTime(ReservationRequest.UpdateTimeDTO updateTimeDTO, Long pbId) {
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
 
@@ -555,7 +557,7 @@ public class ReservationService {
 
     @MyLog
     public ReservationResponse.MyConsultTimeDTO getMyConsultTime(Long pbId) {
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
         if (pbPS.getStatus().equals(PBStatus.PENDING)) {
@@ -566,7 +568,7 @@ public class ReservationService {
 
     @MyLog
     public PageDTO<ReservationResponse.ReviewDTO> getReviews(Long pbId, int page) {
-        PB pbPS = pbRepository.findById(pbId).orElseThrow(
+        PB pbPS = pbRepository.findNotWithdrawnById(pbId).orElseThrow(
                 () -> new Exception404("존재하지 않는 PB입니다.")
         );
 
@@ -597,7 +599,7 @@ public class ReservationService {
     // PB 상담 후기 최신 3개 가져오기
     public List<ReviewResponse.ReviewOutDTO> getPBRecentReviews(Long pbId) {
 
-        pbRepository.findById(pbId).orElseThrow(() -> new Exception404("존재하지 않는 PB입니다."));
+        pbRepository.findNotWithdrawnById(pbId).orElseThrow(() -> new Exception404("존재하지 않는 PB입니다."));
 
         List<ReviewResponse.ReviewOutDTO> list = reviewRepository.findReservationsByPBId(pbId, PageRequest.of(0, 3));
         for (ReviewResponse.ReviewOutDTO dto : list) {
@@ -610,7 +612,7 @@ public class ReservationService {
     // 특정 PB 상담 후기 리스트 조회
     public PageDTO<ReservationResponse.ReviewDTO> getPBReviews(Long pbId, Pageable pageable) {
 
-        PB pb = pbRepository.findById(pbId).orElseThrow(() -> new Exception404("존재하지 않는 PB입니다."));
+        PB pb = pbRepository.findNotWithdrawnById(pbId).orElseThrow(() -> new Exception404("존재하지 않는 PB입니다."));
 
         try {
             Page<Review> reviews = reviewRepository.findAllByPbIdAndProcess(pb.getId(), ReservationProcess.COMPLETE, pageable);
@@ -648,7 +650,7 @@ public class ReservationService {
     // PB 상담 스타일 TOP 3 가져오기
     public ReviewResponse.PBTopStyleDTO getPBStyles(Long pbId) {
 
-        pbRepository.findById(pbId).orElseThrow(() -> new Exception404("존재하지 않는 PB입니다."));
+        pbRepository.findNotWithdrawnById(pbId).orElseThrow(() -> new Exception404("존재하지 않는 PB입니다."));
         ReviewResponse.PBTopStyleDTO styleDTO = new ReviewResponse.PBTopStyleDTO();
 
         List<StyleStyle> styleList = styleRepository.findStylesByPbId(pbId);
@@ -699,6 +701,7 @@ public class ReservationService {
                 );
             }
             userPS.updateHasDoneReview(true);
+            pbStatsService.increaseReviewCount(reservationPS.getPb().getId());
 
             return new ReservationResponse.ReviewIdDTO(reviewPS.getId());
         } catch (Exception e) {
@@ -0,0 +1,118 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.image.ImageRendition;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.model.StorageDeletion;
+import kr.co.moneybridge.model.StorageDeletionRepository;
+import kr.co.moneybridge.model.board.BoardRepository;
+import kr.co.moneybridge.model.pb.PBRepository;
+import kr.co.moneybridge.model.pb.PortfolioRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// 저장소(s3/로컬) 파일 삭제 큐
+// 요청/정리 트랜잭션에서는 지울 키를 storage_deletion_tb에 넣기만 해서 DB 변경과 같이 커밋/롤백되게 하고,
+// StorageDeletionScheduler가 다건 삭제 요청으로 모아서 지움. 실패한 키는 횟수와 사유를 남기고 다음 주기에 재시도
+// 어디에서도 참조하지 않는 저장소 파일은 OrphanFileScheduler가 collectOrphans로 찾아서 큐에 넣음
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Service
+public class StorageDeletionService {
+    public static final int BATCH_SIZE = BlobStore.BATCH_SIZE;
+    public static final int MAX_ATTEMPTS = 5;
+    // 업로드는 DB 커밋 전에 끝나므로, 이보다 최근에 올라온 파일은 참조가 없어도 고아로 보지 않음
+    public static final Duration ORPHAN_GRACE = Duration.ofDays(1);
+    // 고아 파일 수거 대상 폴더 (default 폴더와 그 밖의 파일은 건드리지 않음), upload/ 는 확인 요청이 오지 않은 직접 업로드 임시 파일
+    public static final List<String> ORPHAN_FOLDERS = List.of("profile/", "business-card/", "portfolio/", "thumbnail/", "upload/");
+
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final PBRepository pbRepository;
+    private final PortfolioRepository portfolioRepository;
+    private final BoardRepository boardRepository;
+    private final BlobStore blobStore;
+
+    @Transactional
+    public void enqueue(String fileUrl) {
+        enqueueAll(Collections.singletonList(fileUrl));
+    }
+
+    // 디폴트 파일이나 이 저장소 파일이 아닌 url은 건너뜀, 이미지는 목록/원본 사본까지 같이
+    @Transactional
+    public void enqueueAll(Collection<String> fileUrls) {
+        List<StorageDeletion> deletions = fileUrls.stream()
+                .map(blobStore::toKey)
+                .filter(Objects::nonNull)
+                .flatMap(key -> ImageRendition.keysOf(key).stream())
+                .distinct()
+                .map(StorageDeletion::of)
+                .collect(Collectors.toList());
+        if (!deletions.isEmpty()) {
+            storageDeletionRepository.saveAll(deletions);
+        }
+    }
+
+    // 재시도 한도 안의 삭제 대기 파일 - cursor 다음부터 id순
+    public List<StorageDeletion> findBatch(Long cursor) {
+        return storageDeletionRepository.findRunnableAfterId(cursor, MAX_ATTEMPTS, PageRequest.of(0, BATCH_SIZE));
+    }
+
+    // 지운 키의 행은 지우고, 실패한 키는 횟수와 사유를 남김
+    @Transactional
+    public void complete(List<StorageDeletion> batch, Map<String, String> failedKeys) {
+        List<Long> deletedIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        batch.forEach(deletion -> (failedKeys.containsKey(deletion.getObjectKey()) ? failedIds : deletedIds).add(deletion.getId()));
+        if (!deletedIds.isEmpty()) {
+            storageDeletionRepository.deleteAllByIdInBatch(deletedIds);
+        }
+        storageDeletionRepository.findAllById(failedIds).forEach(deletionPS -> {
+            String error = failedKeys.get(deletionPS.getObjectKey());
+            deletionPS.fail(error);
+            if (deletionPS.getAttempts() >= MAX_ATTEMPTS) {
+                log.error("s3 파일 삭제 포기 " + deletionPS.getObjectKey() + " : " + error);
+            } else {
+                log.warn("s3 파일 삭제 실패 " + deletionPS.getObjectKey() + " (" + deletionPS.getAttempts() + "회) : " + error);
+            }
+        });
+    }
+
+    // 저장소 목록 한 페이지에서 pb_tb/portfolio_tb/board_tb 어디에서도 참조하지 않는 파일을 삭제 큐에 넣음
+    // 이미지 사본은 기준 키(상세 사본)의 url로 참조 여부를 봄
+    // 페이지 단위로 참조 여부를 확인하므로 저장소 크기와 상관없이 메모리는 한 페이지만큼만 씀
+    @Transactional
+    public int collectOrphans(List<BlobInfo> page, Date uploadedBefore) {
+        Map<String, String> urlByKey = new HashMap<>();
+        page.stream()
+                .filter(object -> ORPHAN_FOLDERS.stream().anyMatch(object.getKey()::startsWith))
+                .filter(object -> object.getLastModified().before(uploadedBefore))
+                .forEach(object -> urlByKey.put(object.getKey(), blobStore.toUrl(ImageRendition.baseKeyOf(object.getKey()))));
+        if (urlByKey.isEmpty()) {
+            return 0;
+        }
+        Set<String> urls = new HashSet<>(urlByKey.values());
+        Set<String> referenced = new HashSet<>();
+        referenced.addAll(pbRepository.findProfilesIn(urls));
+        referenced.addAll(pbRepository.findBusinessCardsIn(urls));
+        referenced.addAll(portfolioRepository.findFilesIn(urls));
+        referenced.addAll(boardRepository.findThumbnailsIn(urls));
+        Set<String> queued = new HashSet<>(storageDeletionRepository.findObjectKeysIn(urlByKey.keySet()));
+
+        List<StorageDeletion> orphans = urlByKey.entrySet().stream()
+                .filter(entry -> !referenced.contains(entry.getValue()) && !queued.contains(entry.getKey()))
+                .map(entry -> StorageDeletion.of(entry.getKey()))
+                .collect(Collectors.toList());
+        if (!orphans.isEmpty()) {
+            storageDeletionRepository.saveAll(orphans);
+        }
+        return orphans.size();
+    }
+}
@@ -0,0 +1,101 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.exception.Exception400;
+import kr.co.moneybridge.core.exception.Exception429;
+import kr.co.moneybridge.core.image.ImagePipeline;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.core.upload.UploadRateLimiter;
+import kr.co.moneybridge.core.upload.UploadTarget;
+import kr.co.moneybridge.dto.pb.PBRequest;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Date;
+
+// 직접 업로드 - 파일 바이트가 서버를 거치지 않게 클라이언트가 저장소(s3 또는 로컬 BlobController)에 바로 올림
+// 1. issue: upload/폴더/ 아래 임시 키로 형식/크기가 정해진 PUT url을 짧게 발급
+// 2. 클라이언트가 url로 업로드한 뒤 임시 키를 등록/수정 요청에 담아 보냄
+// 3. claim으로 키가 그 대상의 임시 키이고 실제로 올라와 있는지, 형식/크기가 맞는지 확인한 뒤
+//    이미지는 이미지 파이프라인에 넘기고, 나머지는 저장소 안에서 최종 키로 복사해서 붙임
+// 확인 요청이 오지 않은 임시 파일은 OrphanFileScheduler가 수거함
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Service
+public class UploadService {
+    public static final Duration URL_TTL = Duration.ofMinutes(10);
+
+    private final BlobStore blobStore;
+    private final ImagePipeline imagePipeline;
+    private final StorageDeletionService storageDeletionService;
+    private final UploadRateLimiter uploadRateLimiter;
+
+    // PB 회원가입 명함 - 로그인 전이라 클라이언트 IP마다 발급 횟수를 제한함
+    public PBResponse.UploadOutDTO issueForJoin(String clientIp, PBRequest.UploadInDTO uploadInDTO) {
+        if (!uploadRateLimiter.tryAcquire(clientIp)) {
+            throw new Exception429("업로드 요청이 너무 많습니다. 잠시 후 다시 시도해주세요");
+        }
+        return issue(UploadTarget.BUSINESS_CARD, uploadInDTO);
+    }
+
+    public PBResponse.UploadOutDTO issue(UploadTarget target, PBRequest.UploadInDTO uploadInDTO) {
+        if (target == null) {
+            throw new Exception400("target", "업로드 대상이 없습니다");
+        }
+        if (uploadInDTO.getSize() > target.getMaxSize()) {
+            throw new Exception400("size", "파일 크기는 " + target.getMaxSize() / (1024 * 1024) + "MB를 넘을 수 없습니다");
+        }
+        if (target.isImage() && !isImageType(uploadInDTO.getContentType())) {
+            throw new Exception400("contentType", "이미지 파일만 올릴 수 있습니다");
+        }
+        String key = blobStore.newKey(UploadTarget.STAGING_FOLDER + target.getFolder(), uploadInDTO.getFileName());
+        LocalDateTime expiresAt = LocalDateTime.now().plus(URL_TTL);
+        String url = blobStore.presignPut(key, uploadInDTO.getContentType(), uploadInDTO.getSize(),
+                Date.from(expiresAt.atZone(ZoneId.systemDefault()).toInstant())).toString();
+        return new PBResponse.UploadOutDTO(key, url,
+                Collections.singletonMap("Content-Type", uploadInDTO.getContentType()), expiresAt);
+    }
+
+    // 붙이기 전에 확인 - 잘못된 키면 400, 확인된 파일의 메타데이터를 돌려줌
+    public BlobInfo claim(UploadTarget target, String key, String field) {
+        String prefix = target.stagingPrefix();
+        if (key == null || !key.startsWith(prefix) || key.length() == prefix.length()
+                || key.indexOf('/', prefix.length()) >= 0 || key.contains("..")) {
+            throw new Exception400(field, "잘못된 업로드 키입니다");
+        }
+        BlobInfo metadata = blobStore.getMetadata(key);
+        if (metadata == null) {
+            throw new Exception400(field, "업로드된 파일이 없습니다");
+        }
+        if (metadata.getSize() > target.getMaxSize()) {
+            throw new Exception400(field, "파일 크기는 " + target.getMaxSize() / (1024 * 1024) + "MB를 넘을 수 없습니다");
+        }
+        if (target.isImage() && !isImageType(metadata.getContentType())) {
+            throw new Exception400(field, "이미지 파일만 올릴 수 있습니다");
+        }
+        return metadata;
+    }
+
+    // 확인된 이미지를 파이프라인에 넘김 - 커밋 후에 사본을 만들어 expected 자리에 바꿔 넣음
+    public void attachImage(UploadTarget target, String key, BlobInfo metadata, Long id, String expected) {
+        imagePipeline.submitStaged(key, metadata.getContentType(), target.getImageTarget(), id, expected);
+    }
+
+    // 확인된 파일을 최종 키로 복사하고 임시 파일은 삭제 큐에 넣음, 최종 파일의 url을 돌려줌
+    @Transactional
+    public String attachFile(String key) {
+        String url = blobStore.copy(key, UploadTarget.finalKeyOf(key));
+        storageDeletionService.enqueue(blobStore.toUrl(key));
+        return url;
+    }
+
+    private static boolean isImageType(String contentType) {
+        return contentType != null && contentType.startsWith("image/");
+    }
+}
@@ -7,10 +7,13 @@ import com.nimbusds.jose.util.Pair;
 import kr.co.moneybridge.core.annotation.MyLog;
 import kr.co.moneybridge.core.auth.jwt.MyJwtProvider;
 import kr.co.moneybridge.core.auth.session.MyUserDetails;
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.event.UserChangedEvent;
 import kr.co.moneybridge.core.exception.Exception400;
 import kr.co.moneybridge.core.exception.Exception401;
 import kr.co.moneybridge.core.exception.Exception404;
 import kr.co.moneybridge.core.exception.Exception500;
+import kr.co.moneybridge.core.index.BookmarkIndex;
 import kr.co.moneybridge.core.util.MyMemberUtil;
 import kr.co.moneybridge.core.util.MyMsgUtil;
 import kr.co.moneybridge.core.util.RedisUtil;
@@ -29,6 +32,7 @@ import kr.co.moneybridge.model.user.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -64,8 +68,11 @@ public class UserService {
     private final BoardRepository boardRepository;
     private final BoardBookmarkRepository boardBookmarkRepository;
     private final UserBookmarkRepository userBookmarkRepository;
+    private final PBStatsService pbStatsService;
+    private final BookmarkIndex bookmarkIndex;
     private final PBRepository pbRepository;
     private final MyMsgUtil myMsgUtil;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @MyLog
     @Transactional
@@ -109,6 +116,8 @@ public class UserService {
 
         if(updateMyInfoInDTO.getName() != null && !updateMyInfoInDTO.getName().isEmpty()) { // isEmpty()는 null이 아닐 때만 확인 가능
             memberPS.updateName(updateMyInfoInDTO.getName());
+            // 이름은 댓글 작성자/PB 검색 등에 노출되므로 커밋 후 캐시/인덱스 갱신
+            applicationEventPublisher.publishEvent(role.equals(Role.PB) ? new PBChangedEvent(id) : new UserChangedEvent(id));
         }
         if (updateMyInfoInDTO.getPhoneNumber() != null && !updateMyInfoInDTO.getPhoneNumber().isEmpty()){
             memberPS.updatePhoneNumber(updateMyInfoInDTO.getPhoneNumber());
@@ -348,7 +357,8 @@ public class UserService {
     public void bookmarkPB(MyUserDetails myUserDetails, Long pbId) {
 
         User user = userRepository.findById(myUserDetails.getMember().getId()).orElseThrow(() -> new Exception404("해당 유저 찾을 수 없습니다."));
-        PB pb = pbRepository.findById(pbId).orElseThrow(() -> new Exception404("해당 PB 찾을 수 없습니다."));
+        // 탈퇴 처리 중인 PB에 새 북마크가 생기면 계정 정리가 끝나지 않으므로 없는 PB로 취급
+        PB pb = pbRepository.findNotWithdrawnById(pbId).orElseThrow(() -> new Exception404("해당 PB 찾을 수 없습니다."));
 
         try {
             if (userBookmarkRepository.findByUserIdWithPbId(user.getId(), pbId).isEmpty()) {
@@ -356,6 +366,8 @@ public class UserService {
                         .user(user)
                         .pb(pb)
                         .build());
+                pbStatsService.increaseBookmarkCount(pbId);
+                bookmarkIndex.addPB(user.getId(), pbId);
             }
         } catch (Exception e) {
             throw new Exception500("북마크 실패 : " + e);
@@ -374,6 +386,8 @@ public class UserService {
             if (userBookmarkOP.isPresent()) {
                 UserBookmark userBookmark = userBookmarkOP.get();
                 userBookmarkRepository.delete(userBookmark);
+                pbStatsService.decreaseBookmarkCount(pbId);
+                bookmarkIndex.removePB(user.getId(), pbId);
             }
         } catch (Exception e) {
             throw new Exception500("북마크 취소 실패 : " + e);
@@ -2,6 +2,9 @@ package kr.co.moneybridge.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.co.moneybridge.core.dummy.DummyEntity;
+import kr.co.moneybridge.core.scheduler.MemberPurgeScheduler;
+import kr.co.moneybridge.model.MemberPurgeRepository;
+import kr.co.moneybridge.model.Role;
 import kr.co.moneybridge.model.backoffice.FrequentQuestionRepository;
 import kr.co.moneybridge.model.backoffice.NoticeRepository;
 import kr.co.moneybridge.model.board.*;
@@ -15,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.test.context.support.TestExecutionEvent;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.ActiveProfiles;
@@ -28,6 +32,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -70,6 +75,10 @@ public class BackOfficeControllerTest {
     private ReplyRepository replyRepository;
     @Autowired
     private ReReplyRepository reReplyRepository;
+    @Autowired
+    private MemberPurgeRepository memberPurgeRepository;
+    @Autowired
+    private MemberPurgeScheduler memberPurgeScheduler;
 
     @BeforeEach
     public void setUp() {
@@ -158,6 +167,27 @@ public class BackOfficeControllerTest {
         resultActions.andExpect(status().isOk());
     }
 
+    @WithUserDetails(value = "ADMIN-admin@nate.com", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @DisplayName("콘텐츠 삭제 정리 진행 상황 가져오기")
+    @Test
+    public void getBoardPurge() throws Exception {
+        // given
+        mvc.perform(delete("/admin/board/{id}", 1L));
+
+        // when
+        ResultActions resultActions = mvc
+                .perform(get("/admin/boards/purge"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트 : " + responseBody);
+
+        // then
+        resultActions.andExpect(jsonPath("$.status").value(200));
+        resultActions.andExpect(jsonPath("$.msg").value("ok"));
+        resultActions.andExpect(jsonPath("$.data.pending").value(1));
+        resultActions.andExpect(jsonPath("$.data.givenUp").isEmpty());
+        resultActions.andExpect(status().isOk());
+    }
+
     @WithUserDetails(value = "ADMIN-admin@nate.com", setupBefore = TestExecutionEvent.TEST_EXECUTION)
     @DisplayName("상담 현황 페이지 전체 가져오기 성공")
     @Test
@@ -235,6 +265,26 @@ public class BackOfficeControllerTest {
         resultActions.andExpect(status().isOk());
     }
 
+    @WithUserDetails(value = "ADMIN-admin@nate.com", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @DisplayName("해당 PB 강제 탈퇴 후 정리 작업이 연관 데이터까지 지움")
+    @Test
+    public void forceWithdrawPB_purge() throws Exception {
+        // given
+        Long id = 4L;
+        mvc.perform(delete("/admin/pb/{id}", id));
+        assertThat(pbRepository.findById(id).get().getStatus()).isEqualTo(PBStatus.WITHDRAWN);
+        assertThat(memberPurgeRepository.existsByMemberIdAndRole(id, Role.PB)).isTrue();
+
+        // when
+        memberPurgeScheduler.purge();
+
+        // then
+        assertThat(pbRepository.findById(id)).isEmpty();
+        assertThat(boardRepository.findAllByPBId(id)).isEmpty();
+        assertThat(reservationRepository.findIdsByPBId(id, PageRequest.of(0, 10))).isEmpty();
+        assertThat(memberPurgeRepository.count()).isEqualTo(0L);
+    }
+
     @WithUserDetails(value = "ADMIN-admin@nate.com", setupBefore = TestExecutionEvent.TEST_EXECUTION)
     @DisplayName("해당 투자자를 관리자로 등록 취소 성공")
     @Test
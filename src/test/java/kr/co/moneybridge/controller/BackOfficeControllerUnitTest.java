@@ -171,7 +171,7 @@ public class BackOfficeControllerUnitTest extends MockDummyEntity {
         PageDTO<BackOfficeResponse.ReservationTotalDTO> pageDTO = new PageDTO<>(reviewList, reservationPG, Reservation.class);
 
         // stub
-        Mockito.when(backOfficeService.getReservations(any())).thenReturn(pageDTO);
+        Mockito.when(backOfficeService.getReservations(any(), any())).thenReturn(pageDTO);
 
         // When
         ResultActions resultActions = mvc.perform(get("/admin/reservations"));
@@ -274,7 +274,7 @@ public class BackOfficeControllerUnitTest extends MockDummyEntity {
         Page<User> userPG = new PageImpl<>(Arrays.asList(user));
 
         // stub
-        Mockito.when(backOfficeService.getMembers(any(), any())).thenReturn(new PageDTO<>(userList, userPG, User.class));
+        Mockito.when(backOfficeService.getMembers(any(), any(), any())).thenReturn(new PageDTO<>(userList, userPG, User.class));
 
         // When
         ResultActions resultActions = mvc.perform(get("/admin/members"));
@@ -329,7 +329,7 @@ public class BackOfficeControllerUnitTest extends MockDummyEntity {
         Page<PB> pbPG = new PageImpl<>(Arrays.asList(pb));
         PageDTO<BackOfficeResponse.PBPendingDTO> pageDTO = new PageDTO<>(list, pbPG, PB.class);
         // stub
-        Mockito.when(backOfficeService.getPBPending(any())).thenReturn(pageDTO);
+        Mockito.when(backOfficeService.getPBPending(any(), any())).thenReturn(pageDTO);
 
         // When
         ResultActions resultActions = mvc.perform(get("/admin/pbs"));
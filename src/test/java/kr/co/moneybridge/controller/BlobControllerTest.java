@@ -0,0 +1,147 @@
+package kr.co.moneybridge.controller;
+
+import kr.co.moneybridge.core.storage.LocalBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("로컬 저장소 파일 서빙 API")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+public class BlobControllerTest {
+    private static final String KEY = "portfolio/blob-controller-test.txt";
+    private static final byte[] DATA = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private LocalBlobStore localBlobStore;
+
+    @BeforeEach
+    public void setUp() {
+        localBlobStore.upload(DATA, KEY, "text/plain");
+    }
+
+    @DisplayName("파일 전체 받기 - 캐시 검증 헤더와 함께, 이미지가 아니면 첨부로")
+    @Test
+    public void download() throws Exception {
+        mvc.perform(get("/blob/" + KEY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("application/octet-stream")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment")))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().bytes(DATA));
+    }
+
+    @DisplayName("ETag가 같으면 304")
+    @Test
+    public void download_not_modified() throws Exception {
+        String etag = mvc.perform(get("/blob/" + KEY)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = mvc.perform(get("/blob/" + KEY).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(result.getResponse().getContentAsByteArray()).isEmpty();
+    }
+
+    @DisplayName("구간 요청은 206, 범위 밖이면 416")
+    @Test
+    public void download_range() throws Exception {
+        mvc.perform(get("/blob/" + KEY).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+        mvc.perform(get("/blob/" + KEY).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+        mvc.perform(get("/blob/" + KEY).header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @DisplayName("If-Range가 현재 파일과 다르면 전체를 보냄")
+    @Test
+    public void download_if_range_changed() throws Exception {
+        mvc.perform(get("/blob/" + KEY).header(HttpHeaders.RANGE, "bytes=2-5").header(HttpHeaders.IF_RANGE, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(DATA));
+    }
+
+    @DisplayName("허용한 이미지 형식만 그대로 띄우고, svg/html은 첨부로")
+    @Test
+    public void download_content_type() throws Exception {
+        localBlobStore.upload(DATA, "profile/blob-controller-test.png", "image/png");
+        localBlobStore.upload(DATA, "portfolio/blob-controller-test.svg", "image/svg+xml");
+        localBlobStore.upload(DATA, "portfolio/blob-controller-test.html", "text/html; charset=utf-8");
+
+        mvc.perform(get("/blob/profile/blob-controller-test.png"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("image/png")))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+        mvc.perform(get("/blob/portfolio/blob-controller-test.svg"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("application/octet-stream")))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment")));
+        mvc.perform(get("/blob/portfolio/blob-controller-test.html"))
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("application/octet-stream")));
+
+        localBlobStore.deleteObjects(List.of("profile/blob-controller-test.png",
+                "portfolio/blob-controller-test.svg", "portfolio/blob-controller-test.html"));
+    }
+
+    @DisplayName("확인 전 임시 업로드는 내주지 않음")
+    @Test
+    public void download_staging() throws Exception {
+        String key = "upload/portfolio/blob-controller-test.html";
+        localBlobStore.upload(DATA, key, "text/html");
+
+        mvc.perform(get("/blob/" + key))
+                .andExpect(status().isNotFound());
+
+        localBlobStore.deleteObjects(Collections.singletonList(key));
+    }
+
+    @DisplayName("없는 파일은 404")
+    @Test
+    public void download_not_found() throws Exception {
+        mvc.perform(get("/blob/portfolio/none.txt"))
+                .andExpect(status().isNotFound());
+    }
+
+    @DisplayName("발급한 url로만 직접 업로드")
+    @Test
+    public void upload() throws Exception {
+        String key = "upload/portfolio/blob-controller-test.txt";
+        URL url = localBlobStore.presignPut(key, "text/plain", DATA.length, new Date(System.currentTimeMillis() + 600_000));
+
+        mvc.perform(put(url.getPath() + "?" + url.getQuery()).contentType("text/plain").content(DATA))
+                .andExpect(status().isOk());
+        mvc.perform(put(url.getPath() + "?" + url.getQuery()).contentType("image/png").content(DATA))
+                .andExpect(status().isForbidden());
+
+        assertThat(localBlobStore.getMetadata(key).getSize()).isEqualTo(DATA.length);
+        localBlobStore.deleteObjects(Collections.singletonList(key));
+    }
+}
@@ -3,6 +3,8 @@ package kr.co.moneybridge.controller;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.co.moneybridge.core.dummy.DummyEntity;
+import kr.co.moneybridge.core.index.BoardSearchIndex;
+import kr.co.moneybridge.core.index.BoardTrendingIndex;
 import kr.co.moneybridge.dto.board.BoardRequest;
 import kr.co.moneybridge.dto.board.ReplyRequest;
 import kr.co.moneybridge.model.board.*;
@@ -34,6 +36,7 @@ import java.nio.charset.StandardCharsets;
 import static org.springframework.mock.http.server.reactive.MockServerHttpRequest.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -64,9 +67,15 @@ public class BoardControllerTest {
     @Autowired
     private BoardRepository boardRepository;
     @Autowired
+    private BoardBodyRepository boardBodyRepository;
+    @Autowired
     private ReplyRepository replyRepository;
     @Autowired
     private ReReplyRepository reReplyRepository;
+    @Autowired
+    private BoardSearchIndex boardSearchIndex;
+    @Autowired
+    private BoardTrendingIndex boardTrendingIndex;
 
     @BeforeEach
     public void setUp() {
@@ -78,9 +87,12 @@ public class BoardControllerTest {
         Board boardPS2 = boardRepository.save(dummy.newTempBoard("임시 제목1입니다", pbPS));
         Board boardPS3 = boardRepository.save(dummy.newBoard("컨텐츠 타이들입니다", pbPS));
         Board boardPS4 = boardRepository.save(dummy.newBoard("제목2입니다", pbPS));
+        boardBodyRepository.save(dummy.newBoardBody(boardPS1));
         Reply reply1 = replyRepository.save(dummy.newPBReply(boardPS1, pbPS));
         ReReply reReply1 = reReplyRepository.save(dummy.newPBReReply(reply1, pbPS));
         em.clear();
+        boardSearchIndex.load(); // 컨텍스트 기동 후 넣은 데이터로 인덱스를 다시 만듦
+        boardTrendingIndex.load();
     }
 
     @DisplayName("컨텐츠 검색하기")
@@ -120,6 +132,29 @@ public class BoardControllerTest {
         resultActions.andExpect(jsonPath("$.data.curPage").value(0));
     }
 
+    @DisplayName("최신 컨텐츠순 커서 페이지 가져오기")
+    @Test
+    void getBoardsByNewCursor() throws Exception {
+
+        //given
+
+        //when
+        ResultActions resultActions = mvc.perform(get("/boards/cursor").param("size", "2"));
+        ResultActions nextActions = mvc.perform(get("/boards/cursor").param("cursor", "3").param("size", "2"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트 : " + responseBody);
+
+        //then
+        resultActions.andExpect(jsonPath("$.status").value(200));
+        resultActions.andExpect(jsonPath("$.data.list[0].id").value(4));
+        resultActions.andExpect(jsonPath("$.data.list[1].id").value(3));
+        resultActions.andExpect(jsonPath("$.data.nextCursor").value(3));
+        resultActions.andExpect(jsonPath("$.data.hasNext").value(true));
+        resultActions.andExpect(jsonPath("$.data.totalElements").doesNotExist());
+        nextActions.andExpect(jsonPath("$.data.list[0].id").value(1));
+        nextActions.andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
     @DisplayName("핫한 컨텐츠순 가져오기")
     @Test
     void getBoardsByHot() throws Exception {
@@ -178,6 +213,47 @@ public class BoardControllerTest {
         resultActions.andExpect(jsonPath("$.data.tag1").value("시장정보"));
         resultActions.andExpect(jsonPath("$.data.tag2").value("쉽게읽혀요"));
         resultActions.andExpect(jsonPath("$.data.title").value("제목1입니다"));
+        resultActions.andExpect(jsonPath("$.data.content").value("<p>content 입니다</p>"));
+        resultActions.andExpect(jsonPath("$.data.contentHash").exists());
+    }
+
+    @DisplayName("컨텐츠 본문 가져오기")
+    @WithUserDetails(value = "PB-이피비@nate.com", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void getBoardContent() throws Exception {
+
+        //given
+        String eTag = mvc.perform(get("/auth/board/1/content")).andReturn().getResponse().getHeader("ETag");
+
+        //when
+        ResultActions resultActions = mvc.perform(get("/auth/board/1/content"));
+        ResultActions notModified = mvc.perform(get("/auth/board/1/content").header("If-None-Match", eTag));
+
+        //then
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(content().string("<p>content 입니다</p>"));
+        notModified.andExpect(status().isNotModified());
+        mvc.perform(get("/auth/board/2/content")).andExpect(status().isNotFound());
+    }
+
+    @DisplayName("컨텐츠 댓글 커서 페이지 가져오기")
+    @WithUserDetails(value = "PB-이피비@nate.com", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void getReplies() throws Exception {
+
+        //given
+
+        //when
+        ResultActions resultActions = mvc.perform(get("/auth/board/1/replies").param("size", "10"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트 : " + responseBody);
+
+        //then
+        resultActions.andExpect(jsonPath("$.status").value(200));
+        resultActions.andExpect(jsonPath("$.data.list[0].name").value("이피비"));
+        resultActions.andExpect(jsonPath("$.data.list[0].reReply[0].name").value("이피비"));
+        resultActions.andExpect(jsonPath("$.data.hasNext").value(false));
+        resultActions.andExpect(jsonPath("$.data.nextCursor").doesNotExist());
     }
 
     @DisplayName("컨텐츠 북마크하기")
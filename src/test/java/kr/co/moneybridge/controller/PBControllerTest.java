@@ -2,8 +2,13 @@ package kr.co.moneybridge.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.co.moneybridge.core.dummy.DummyEntity;
+import kr.co.moneybridge.core.index.BranchSearchIndex;
+import kr.co.moneybridge.core.index.CompanyCatalog;
+import kr.co.moneybridge.core.index.PBLeaderboardIndex;
+import kr.co.moneybridge.core.index.PBNameIndex;
+import kr.co.moneybridge.core.index.PBPropensityPool;
+import kr.co.moneybridge.core.upload.UploadTarget;
 import kr.co.moneybridge.core.util.MyDateUtil;
-import kr.co.moneybridge.core.util.S3Util;
 import kr.co.moneybridge.dto.pb.PBRequest;
 import kr.co.moneybridge.model.Role;
 import kr.co.moneybridge.model.pb.*;
@@ -15,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.test.context.support.TestExecutionEvent;
@@ -30,6 +36,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -56,7 +64,17 @@ public class PBControllerTest {
     @Autowired
     private PBRepository pbRepository;
     @Autowired
-    private S3Util s3Util;
+    private PBPropensityPool pbPropensityPool;
+    @Autowired
+    private PBNameIndex pbNameIndex;
+    @Autowired
+    private BranchSearchIndex branchSearchIndex;
+    @Autowired
+    private CompanyCatalog companyCatalog;
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+    @Autowired
+    private PBLeaderboardIndex pbLeaderboardIndex;
 
     @BeforeEach
     public void setUp() {
@@ -85,6 +103,10 @@ public class PBControllerTest {
                 .status(PBStatus.ACTIVE)
                 .build());
         em.clear();
+        pbPropensityPool.load(); // 컨텍스트 기동 후 넣은 데이터로 풀/인덱스를 다시 만듦
+        pbNameIndex.load();
+        branchSearchIndex.load();
+        companyCatalog.load();
     }
 
     @DisplayName("나의 투자 성향 분석페이지 하단의 맞춤 PB리스트 3개 성공")
@@ -115,6 +137,63 @@ public class PBControllerTest {
         resultActions.andExpect(jsonPath("$.data.list[0].isBookmarked").value("false"));
         resultActions.andExpect(status().isOk());
     }
+    @DisplayName("포트폴리오 지표 순위 PB 리스트 가져오기 성공")
+    @Test
+    public void getPBLeaderboard() throws Exception {
+        // given
+        PB pb = pbRepository.findByEmail("jisu3148496@naver.com").get();
+        portfolioRepository.save(dummy.newPortfolio(pb));
+        pbLeaderboardIndex.load();
+
+        // when
+        ResultActions resultActions = mvc
+                .perform(get("/list/pb/leaderboard").param("metric", "PROFIT_FACTOR").param("speciality", "BOND"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트 : " + responseBody);
+
+        // then
+        resultActions.andExpect(jsonPath("$.status").value(200));
+        resultActions.andExpect(jsonPath("$.data.list[0].rank").value(1));
+        resultActions.andExpect(jsonPath("$.data.list[0].value").value(1.54));
+        resultActions.andExpect(jsonPath("$.data.list[0].pb.name").value("김pb"));
+        resultActions.andExpect(jsonPath("$.data.totalElements").value(1));
+        resultActions.andExpect(status().isOk());
+    }
+
+    @DisplayName("PB 검색하기 성공")
+    @Test
+    public void getPBWithName() throws Exception {
+        // when
+        ResultActions resultActions = mvc
+                .perform(get("/pbs").param("name", "pb"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트 : " + responseBody);
+
+        // then
+        resultActions.andExpect(jsonPath("$.status").value(200));
+        resultActions.andExpect(jsonPath("$.data.list[0].id").value("1"));
+        resultActions.andExpect(jsonPath("$.data.list[0].name").value("김pb"));
+        resultActions.andExpect(jsonPath("$.data.totalElements").value("1"));
+        resultActions.andExpect(status().isOk());
+    }
+
+    @DisplayName("PB 이름 자동완성 성공")
+    @Test
+    public void getPBNameAutocomplete() throws Exception {
+        // when
+        ResultActions resultActions = mvc
+                .perform(get("/pbs/autocomplete").param("name", "기"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트 : " + responseBody);
+
+        // then
+        resultActions.andExpect(jsonPath("$.status").value(200));
+        resultActions.andExpect(jsonPath("$.data[0].id").value("1"));
+        resultActions.andExpect(jsonPath("$.data[0].name").value("김pb"));
+        resultActions.andExpect(jsonPath("$.data[0].branchName").value("미래에셋증권 여의도점"));
+        resultActions.andExpect(status().isOk());
+    }
+
     @DisplayName("PB 마이페이지 가져오기 성공")
     @WithUserDetails(value = "PB-jisu3148496@naver.com", setupBefore = TestExecutionEvent.TEST_EXECUTION)
     @Test
@@ -140,6 +219,51 @@ public class PBControllerTest {
         resultActions.andExpect(status().isOk());
     }
 
+    @DisplayName("직접 업로드 url 발급 성공")
+    @WithUserDetails(value = "PB-jisu3148496@naver.com", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    public void issueUpload() throws Exception {
+        // given
+        PBRequest.UploadInDTO uploadInDTO = new PBRequest.UploadInDTO();
+        uploadInDTO.setTarget(UploadTarget.PORTFOLIO);
+        uploadInDTO.setFileName("portfolio.pdf");
+        uploadInDTO.setContentType("application/pdf");
+        uploadInDTO.setSize(1024L);
+
+        // when
+        ResultActions resultActions = mvc
+                .perform(post("/pb/upload").content(om.writeValueAsString(uploadInDTO))
+                        .contentType(MediaType.APPLICATION_JSON));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트 : " + responseBody);
+
+        // then
+        resultActions.andExpect(jsonPath("$.status").value(200));
+        resultActions.andExpect(jsonPath("$.data.key").value(startsWith("upload/portfolio/")));
+        resultActions.andExpect(jsonPath("$.data.url").value(containsString("signature=")));
+        resultActions.andExpect(jsonPath("$.data.headers.Content-Type").value("application/pdf"));
+        resultActions.andExpect(status().isOk());
+    }
+
+    @DisplayName("PB 회원가입용 직접 업로드 url 발급 실패 - 이미지가 아닌 명함")
+    @Test
+    public void issueJoinUpload_not_image() throws Exception {
+        // given
+        PBRequest.UploadInDTO uploadInDTO = new PBRequest.UploadInDTO();
+        uploadInDTO.setFileName("card.pdf");
+        uploadInDTO.setContentType("application/pdf");
+        uploadInDTO.setSize(1024L);
+
+        // when
+        ResultActions resultActions = mvc
+                .perform(post("/join/pb/upload").content(om.writeValueAsString(uploadInDTO))
+                        .contentType(MediaType.APPLICATION_JSON));
+
+        // then
+        resultActions.andExpect(jsonPath("$.status").value(400));
+        resultActions.andExpect(jsonPath("$.data.key").value("contentType"));
+    }
+
     @DisplayName("지점 검색 성공 -  지번 주소")
     @Test
     public void searchBranchStreet() throws Exception {
@@ -313,9 +437,6 @@ public class PBControllerTest {
         String responseBody = resultActions.andReturn().getResponse().getContentAsString();
         System.out.println("테스트 : " + responseBody);
 
-        // S3에 저장안되게 다시 삭제시켜주기
-        s3Util.deleteLatestFileWithSuffixFromS3Bucket("_businessCard.png");
-
         // then
         resultActions.andExpect(jsonPath("$.status").value(200));
         resultActions.andExpect(jsonPath("$.msg").value("ok"));
@@ -8,15 +8,18 @@ import kr.co.moneybridge.core.advice.MyValidAdvice;
 import kr.co.moneybridge.core.config.MyFilterRegisterConfig;
 import kr.co.moneybridge.core.config.MySecurityConfig;
 import kr.co.moneybridge.core.dummy.MockDummyEntity;
+import kr.co.moneybridge.core.index.CompanyCatalog;
 import kr.co.moneybridge.core.util.MyMemberUtil;
 import kr.co.moneybridge.core.util.RedisUtil;
 import kr.co.moneybridge.dto.PageDTO;
+import kr.co.moneybridge.dto.ResponseDTO;
 import kr.co.moneybridge.dto.pb.PBRequest;
 import kr.co.moneybridge.dto.pb.PBResponse;
 import kr.co.moneybridge.model.pb.Branch;
 import kr.co.moneybridge.model.pb.PBAgreementType;
 import kr.co.moneybridge.model.pb.PBSpeciality;
 import kr.co.moneybridge.service.PBService;
+import kr.co.moneybridge.service.UploadService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +30,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
@@ -41,8 +45,7 @@ import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
 @ActiveProfiles("test")
@@ -65,6 +68,8 @@ public class PBControllerUnitTest extends MockDummyEntity {
     @MockBean // 껍데기만
     private PBService pbService;
     @MockBean
+    private UploadService uploadService;
+    @MockBean
     private RedisTemplate redisTemplate;
     @MockBean
     private MyMemberUtil myMemberUtil;
@@ -214,7 +219,8 @@ public class PBControllerUnitTest extends MockDummyEntity {
         Boolean param = false;
 
         //stub
-        Mockito.when(pbService.getCompanyNames()).thenReturn(companyNameOutDTO);
+        Mockito.when(pbService.getCompaniesJson(false)).thenReturn(
+                new CompanyCatalog.SerializedBody(om.writeValueAsBytes(new ResponseDTO<>(companyNameOutDTO))));
 
         // When
         ResultActions resultActions = mvc.perform(get("/companies?includeLogo="+param));
@@ -240,13 +246,15 @@ public class PBControllerUnitTest extends MockDummyEntity {
         ));
 
         //stub
-        Mockito.when(pbService.getCompanies()).thenReturn(companyOutDTO);
+        Mockito.when(pbService.getCompaniesJson(true)).thenReturn(
+                new CompanyCatalog.SerializedBody(om.writeValueAsBytes(new ResponseDTO<>(companyOutDTO))));
 
         // When
         ResultActions resultActions = mvc.perform(get("/companies"));
 
         // Then
         resultActions.andExpect(status().isOk());
+        resultActions.andExpect(header().exists(HttpHeaders.ETAG));
         resultActions.andExpect(jsonPath("$.status").value(200));
         resultActions.andExpect(jsonPath("$.msg").value("ok"));
         resultActions.andExpect(jsonPath("$.data.list[0].id").value("1"));
@@ -256,4 +264,24 @@ public class PBControllerUnitTest extends MockDummyEntity {
         resultActions.andExpect(jsonPath("$.data.list[1].logo").value("logo.png"));
         resultActions.andExpect(jsonPath("$.data.list[1].name").value("키움증권"));
     }
+
+    @Test
+    public void getCompanies_not_modified_test() throws Exception {
+        // given
+        PBResponse.CompanyOutDTO companyOutDTO = new PBResponse.CompanyOutDTO(Arrays.asList(
+                new PBResponse.CompanyDTO(newMockCompany(1L, "미래에셋증권"))
+        ));
+        CompanyCatalog.SerializedBody body = new CompanyCatalog.SerializedBody(om.writeValueAsBytes(new ResponseDTO<>(companyOutDTO)));
+
+        //stub
+        Mockito.when(pbService.getCompaniesJson(true)).thenReturn(body);
+
+        // When
+        ResultActions resultActions = mvc.perform(get("/companies").header(HttpHeaders.IF_NONE_MATCH, body.getETag()));
+
+        // Then
+        resultActions.andExpect(status().isNotModified());
+        resultActions.andExpect(header().string(HttpHeaders.ETAG, body.getETag()));
+        resultActions.andExpect(content().string(""));
+    }
 }
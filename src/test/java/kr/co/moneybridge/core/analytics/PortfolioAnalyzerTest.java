@@ -0,0 +1,139 @@
+package kr.co.moneybridge.core.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PortfolioAnalyzerTest {
+    private static final Logger log = LoggerFactory.getLogger(PortfolioAnalyzerTest.class);
+
+    @Test
+    @DisplayName("월별 수익률로 누적수익률/MDD/profit factor/평균/변동성/샤프지수를 한 번에 계산")
+    void analyze() throws Exception {
+        // given
+        String csv = "date,return\n" +
+                "2023-01-31,2\n" +
+                "2023-02-28,-1\n" +
+                "2023-03-31,3\n" +
+                "2023-04-30,-4\n" +
+                "2023-05-31,1.5\n";
+
+        // when
+        PortfolioMetrics metrics = PortfolioAnalyzer.analyze(new StringReader(csv));
+
+        // then
+        assertThat(metrics.getRows()).isEqualTo(5);
+        assertThat(metrics.getCumulativeReturn()).isEqualTo(1.35);
+        assertThat(metrics.getMaxDrawdown()).isEqualTo(4.0);
+        assertThat(metrics.getProfitFactor()).isEqualTo(1.3);
+        assertThat(metrics.getAverageProfit()).isEqualTo(0.3);
+        assertThat(metrics.getVolatility()).isEqualTo(9.84);
+        assertThat(metrics.getSharpe()).isEqualTo(0.37);
+    }
+
+    @Test
+    @DisplayName("BOM, CRLF, 따옴표, %, 시각이 붙은 날짜, 추가 열, 빈 줄, 헤더 없는 파일도 읽음")
+    void analyze_formats() throws Exception {
+        String csv = "\uFEFF\"2023-01-31 09:00:00\",\"2%\",삼성전자\r\n" +
+                "\r\n" +
+                "2023/02/28, -1 %\r\n" +
+                "20230331,3\r\n" +
+                "2023.04.30T15:30,-4.0,\r\n" +
+                "2023-5-31,1.5";
+
+        PortfolioMetrics metrics = PortfolioAnalyzer.analyze(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(metrics.getRows()).isEqualTo(5);
+        assertThat(metrics.getCumulativeReturn()).isEqualTo(1.35);
+        assertThat(metrics.getSharpe()).isEqualTo(0.37);
+    }
+
+    @Test
+    @DisplayName("손실이 없으면 profit factor, 날짜가 하루뿐이면 변동성/샤프지수는 계산하지 않음")
+    void analyze_undefined() throws Exception {
+        PortfolioMetrics metrics = PortfolioAnalyzer.analyze(new StringReader("2023-01-02,1\n2023-01-02,2\n"));
+
+        assertThat(metrics.getCumulativeReturn()).isEqualTo(3.02);
+        assertThat(metrics.getMaxDrawdown()).isEqualTo(0.0);
+        assertThat(metrics.getProfitFactor()).isNull();
+        assertThat(metrics.getVolatility()).isNull();
+        assertThat(metrics.getSharpe()).isNull();
+    }
+
+    @Test
+    @DisplayName("형식이 틀린 행은 몇 번째 행인지 알려줌")
+    void analyze_invalid() {
+        assertThatThrownBy(() -> PortfolioAnalyzer.analyze(new StringReader("date,return\n2023-01-02,1\n2023-13-01,1\n")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("3행");
+        assertThatThrownBy(() -> PortfolioAnalyzer.analyze(new StringReader("2023-01-02,1\n2023-01-03,abc\n")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("2행");
+        assertThatThrownBy(() -> PortfolioAnalyzer.analyze(new StringReader("2023-01-03,1\n2023-01-02,1\n")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("정렬");
+        assertThatThrownBy(() -> PortfolioAnalyzer.analyze(new StringReader("2023-01-02,-100.5\n")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("-100%");
+        assertThatThrownBy(() -> PortfolioAnalyzer.analyze(new StringReader("date,return\n")))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("행이 없습니다");
+        assertThatThrownBy(() -> PortfolioAnalyzer.analyze(new StringReader("2023-01-02," + "1".repeat(5000))))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("너무 깁니다");
+    }
+
+    @Test
+    @DisplayName("csv 파일만 분석 대상")
+    void supports() {
+        assertThat(PortfolioAnalyzer.supports("upload/portfolio/uuid_returns.CSV", null)).isTrue();
+        assertThat(PortfolioAnalyzer.supports("returns", "text/csv; charset=UTF-8")).isTrue();
+        assertThat(PortfolioAnalyzer.supports("portfolio.pdf", "application/pdf")).isFalse();
+    }
+
+    // 기본 test 태스크에서는 빠지고 ./gradlew benchmark 로만 돌림
+    @Tag("benchmark")
+    @Test
+    @DisplayName("처리량 - 50만 행 파일을 메모리에 올리지 않고 한 번에 읽음 (초당 행 수 기록)")
+    void throughput() throws Exception {
+        int rows = 500_000;
+        Path file = Files.createTempFile("returns-", ".csv");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("date,return,memo\n");
+                LocalDate date = LocalDate.of(1900, 1, 1);
+                for (int row = 0; row < rows; row++) {
+                    // 평균 0.05%, -1.45% ~ 1.65% 사이를 오가는 일간 수익률
+                    double value = ((row * 7919L) % 311 - 145) / 100.0;
+                    writer.write(date.plusDays(row) + "," + value + ",\n");
+                }
+            }
+            // 워밍업
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                PortfolioAnalyzer.analyze(inputStream);
+            }
+
+            long start = System.nanoTime();
+            PortfolioMetrics metrics;
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                metrics = PortfolioAnalyzer.analyze(inputStream);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            log.info("PortfolioAnalyzer: {} rows ({} KB) in {} ms, {} rows/s",
+                    rows, Files.size(file) / 1024, elapsed / 1_000_000, String.format("%,.0f", rows / (elapsed / 1e9)));
+            assertThat(metrics.getRows()).isEqualTo(rows);
+            assertThat(metrics.getVolatility()).isNotNull();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package kr.co.moneybridge.core.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CountCacheTest {
+    private CountCache countCache;
+    private AtomicLong rows;
+    private AtomicLong counted;
+
+    @BeforeEach
+    void setUp() {
+        countCache = new CountCache();
+        ReflectionTestUtils.setField(countCache, "ttlMillis", 60000L);
+        rows = new AtomicLong(10);
+        counted = new AtomicLong();
+    }
+
+    private long count() {
+        counted.incrementAndGet();
+        return rows.get();
+    }
+
+    @Test
+    public void get_cached_test() {
+        // when
+        CountCache.Count first = countCache.get("user", this::count);
+        rows.set(11);
+        CountCache.Count second = countCache.get("user", this::count);
+
+        // then
+        assertThat(first.getValue()).isEqualTo(10);
+        assertThat(first.isApproximate()).isFalse();
+        assertThat(second.getValue()).isEqualTo(10);
+        assertThat(second.isApproximate()).isTrue();
+        assertThat(counted.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void get_expired_test() {
+        // given
+        ReflectionTestUtils.setField(countCache, "ttlMillis", 0L);
+        countCache.get("user", this::count);
+        rows.set(11);
+
+        // when
+        CountCache.Count count = countCache.get("user", this::count);
+
+        // then
+        assertThat(count.getValue()).isEqualTo(11);
+        assertThat(counted.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void recount_test() {
+        // given
+        countCache.get("user", this::count);
+        rows.set(12);
+
+        // when
+        CountCache.Count count = countCache.recount("user", this::count);
+
+        // then
+        assertThat(count.getValue()).isEqualTo(12);
+        assertThat(count.isApproximate()).isFalse();
+        assertThat(countCache.get("user", this::count).getValue()).isEqualTo(12);
+    }
+
+    @Test
+    public void adjust_evict_test() {
+        // given
+        countCache.get("pb:PENDING", this::count);
+
+        // when
+        countCache.adjust("pb:PENDING", -1);
+        countCache.adjust("pb:ACTIVE", 1); // 캐시에 없으면 무시
+
+        // then
+        assertThat(countCache.get("pb:PENDING", this::count).getValue()).isEqualTo(9);
+        countCache.evict("pb:PENDING");
+        assertThat(countCache.get("pb:PENDING", this::count).getValue()).isEqualTo(10);
+        assertThat(countCache.get("pb:ACTIVE", this::count).isApproximate()).isFalse();
+    }
+
+    @Test
+    public void adjust_after_commit_test() {
+        // given
+        countCache.get("user", this::count);
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            countCache.adjust("user", -1);
+            countCache.evict("pb:ACTIVE");
+            // then - 커밋 전에는 그대로, 롤백되면 끝까지 그대로
+            assertThat(countCache.get("user", this::count).getValue()).isEqualTo(10);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(countCache.get("user", this::count).getValue()).isEqualTo(9);
+    }
+}
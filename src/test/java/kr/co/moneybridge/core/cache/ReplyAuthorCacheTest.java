@@ -0,0 +1,89 @@
+package kr.co.moneybridge.core.cache;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.event.UserChangedEvent;
+import kr.co.moneybridge.dto.board.BoardResponse;
+import kr.co.moneybridge.model.board.ReplyAuthorRole;
+import kr.co.moneybridge.model.pb.PBRepository;
+import kr.co.moneybridge.model.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplyAuthorCacheTest {
+    @InjectMocks
+    private ReplyAuthorCache replyAuthorCache;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PBRepository pbRepository;
+
+    @Test
+    @DisplayName("없는 작성자만 한 번에 조회하고 이후엔 캐시에서")
+    void getAuthors() {
+        when(userRepository.findReplyAuthorsByIdIn(Arrays.asList(1L, 2L)))
+                .thenReturn(List.of(new BoardResponse.ReplyAuthorDTO(1L, "김투자"))); // 2번은 탈퇴
+        when(userRepository.findReplyAuthorsByIdIn(List.of(2L))).thenReturn(List.of());
+
+        Map<Long, BoardResponse.ReplyAuthorDTO> first = replyAuthorCache.getAuthors(ReplyAuthorRole.USER, Arrays.asList(1L, 2L));
+        Map<Long, BoardResponse.ReplyAuthorDTO> second = replyAuthorCache.getAuthors(ReplyAuthorRole.USER, Arrays.asList(1L, 2L));
+
+        assertThat(first).containsOnlyKeys(1L);
+        assertThat(second.get(1L).getName()).isEqualTo("김투자");
+        verify(userRepository, times(1)).findReplyAuthorsByIdIn(List.of(2L));
+        verifyNoInteractions(pbRepository);
+    }
+
+    @Test
+    @DisplayName("역할이 다르면 같은 id라도 따로 캐시")
+    void role() {
+        when(userRepository.findReplyAuthorsByIdIn(List.of(1L))).thenReturn(List.of(new BoardResponse.ReplyAuthorDTO(1L, "김투자")));
+        when(pbRepository.findReplyAuthorsByIdIn(List.of(1L))).thenReturn(List.of(new BoardResponse.ReplyAuthorDTO(1L, "김피비", "profile.png")));
+
+        assertThat(replyAuthorCache.getAuthors(ReplyAuthorRole.USER, List.of(1L)).get(1L).getName()).isEqualTo("김투자");
+        assertThat(replyAuthorCache.getAuthors(ReplyAuthorRole.PB, List.of(1L)).get(1L).getProfile()).isEqualTo("profile.png");
+        assertThat(replyAuthorCache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("이름/프로필 변경, 탈퇴 시 해당 작성자만 비움")
+    void evict() {
+        when(userRepository.findReplyAuthorsByIdIn(List.of(1L))).thenReturn(List.of(new BoardResponse.ReplyAuthorDTO(1L, "김투자")));
+        when(pbRepository.findReplyAuthorsByIdIn(List.of(1L))).thenReturn(List.of(new BoardResponse.ReplyAuthorDTO(1L, "김피비", "profile.png")));
+        replyAuthorCache.getAuthors(ReplyAuthorRole.USER, List.of(1L));
+        replyAuthorCache.getAuthors(ReplyAuthorRole.PB, List.of(1L));
+
+        replyAuthorCache.onUserChanged(new UserChangedEvent(1L));
+        assertThat(replyAuthorCache.size()).isEqualTo(1);
+        replyAuthorCache.onPBChanged(new PBChangedEvent(1L));
+        assertThat(replyAuthorCache.size()).isEqualTo(0);
+
+        replyAuthorCache.getAuthors(ReplyAuthorRole.USER, List.of(1L));
+        verify(userRepository, times(2)).findReplyAuthorsByIdIn(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("조회 쿼리가 도는 사이에 비워졌으면 읽은 값은 캐시에 넣지 않음")
+    void evict_duringLoad() {
+        when(userRepository.findReplyAuthorsByIdIn(List.of(1L))).thenAnswer(invocation -> {
+            replyAuthorCache.onUserChanged(new UserChangedEvent(1L)); // 옛 이름을 읽은 직후 이름 변경이 커밋됨
+            return List.of(new BoardResponse.ReplyAuthorDTO(1L, "옛이름"));
+        });
+
+        Map<Long, BoardResponse.ReplyAuthorDTO> authors = replyAuthorCache.getAuthors(ReplyAuthorRole.USER, List.of(1L));
+
+        assertThat(authors.get(1L).getName()).isEqualTo("옛이름");
+        assertThat(replyAuthorCache.size()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,140 @@
+package kr.co.moneybridge.core.counter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BoardClickCounterTest {
+    @InjectMocks
+    private BoardClickCounter boardClickCounter;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @SuppressWarnings("unchecked")
+    private void stubTransaction() {
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("모아둔 클릭수를 id순 배치 UPDATE 한 번으로 반영")
+    @SuppressWarnings("unchecked")
+    void flush() throws Exception {
+        stubTransaction();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> boardClickCounter.increment(2L));
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        boardClickCounter.increment(1L);
+
+        boardClickCounter.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        List<Object[]> batch = captor.getValue();
+        assertThat(batch).hasSize(2);
+        assertThat(batch.get(0)).containsExactly(1L, 1L);
+        assertThat(batch.get(1)).containsExactly(1000L, 2L);
+        assertThat(pendingOf(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("반영할 클릭이 없으면 쿼리 안 함")
+    void flush_empty() {
+        stubTransaction();
+        boardClickCounter.increment(1L);
+        boardClickCounter.flush();
+        boardClickCounter.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("반영 실패 시 다음 주기로 되돌림")
+    void flush_fail() {
+        stubTransaction();
+        boardClickCounter.increment(1L);
+        boardClickCounter.increment(1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        boardClickCounter.flush();
+
+        assertThat(pendingOf(1L)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("한 주기 동안 클릭이 없던 컨텐츠는 버퍼에서 빠짐")
+    void flush_evictIdle() {
+        stubTransaction();
+        boardClickCounter.increment(1L);
+        boardClickCounter.increment(2L);
+        boardClickCounter.flush();
+        boardClickCounter.increment(2L);
+
+        boardClickCounter.flush();
+
+        assertThat(pending()).doesNotContainKey(1L).containsKey(2L);
+        boardClickCounter.flush();
+        assertThat(pending()).isEmpty();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("실패한 묶음의 클릭만 되돌림 - 이미 커밋된 묶음은 다시 반영하지 않음")
+    @SuppressWarnings("unchecked")
+    void flush_partialFail() {
+        stubTransaction();
+        for (long id = 1; id <= 501; id++) {
+            boardClickCounter.increment(id);
+        }
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[500])
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        boardClickCounter.flush();
+
+        assertThat(pendingOf(1L)).isZero();
+        assertThat(pendingOf(500L)).isZero();
+        assertThat(pendingOf(501L)).isEqualTo(1L);
+    }
+
+    private long pendingOf(Long boardId) {
+        LongAdder adder = pending().get(boardId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, LongAdder> pending() {
+        return (Map<Long, LongAdder>) ReflectionTestUtils.getField(boardClickCounter, "pending");
+    }
+}
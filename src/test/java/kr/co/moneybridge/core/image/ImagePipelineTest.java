@@ -0,0 +1,169 @@
+package kr.co.moneybridge.core.image;
+
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.service.ImageWriteBackService;
+import kr.co.moneybridge.service.StorageDeletionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ImagePipelineTest {
+    private ImagePipeline imagePipeline;
+    @Mock
+    private BlobStore blobStore;
+    @Mock
+    private ImageWriteBackService imageWriteBackService;
+    @Mock
+    private StorageDeletionService storageDeletionService;
+
+    @BeforeEach
+    public void setUp() {
+        imagePipeline = new ImagePipeline(blobStore, imageWriteBackService, storageDeletionService);
+        ReflectionTestUtils.setField(imagePipeline, "workers", 1);
+        ReflectionTestUtils.setField(imagePipeline, "queueCapacity", 10);
+        imagePipeline.init();
+        lenient().when(blobStore.newKey(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(0) + "/uuid_" + invocation.getArgument(1));
+    }
+
+    @Test
+    @DisplayName("한 번 디코딩해서 목록/상세 사본을 만들고 원본은 그대로 올린 뒤 상세 url을 반영")
+    void submit() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("thumbnailFile", "a.png", "image/png", png(2000, 1200));
+        when(blobStore.toUrl("thumbnail/uuid_a.png")).thenReturn("https://cdn/thumbnail/uuid_a.png");
+
+        // when
+        imagePipeline.submit(file, ImageTarget.BOARD_THUMBNAIL, 1L, "default.svg");
+        imagePipeline.shutdown();
+
+        // then
+        verify(blobStore).upload(any(File.class), eq("thumbnail/original/uuid_a.png"), eq("image/png"));
+        ArgumentCaptor<byte[]> list = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> detail = ArgumentCaptor.forClass(byte[].class);
+        verify(blobStore).upload(list.capture(), eq("thumbnail/list/uuid_a.png"), eq("image/png"));
+        verify(blobStore).upload(detail.capture(), eq("thumbnail/uuid_a.png"), eq("image/png"));
+        assertSize(list.getValue(), 250, 250);
+        assertSize(detail.getValue(), 500, 500);
+        verify(imageWriteBackService).apply(ImageTarget.BOARD_THUMBNAIL, 1L, "default.svg", "https://cdn/thumbnail/uuid_a.png");
+    }
+
+    @Test
+    @DisplayName("디코딩할 수 없는 파일은 원본을 모든 사본으로")
+    void submit_not_image() throws Exception {
+        // given
+        MockMultipartFile file = new MockMultipartFile("profileFile", "a.svg", "image/svg+xml", "<svg/>".getBytes());
+        when(blobStore.toUrl("profile/uuid_a.svg")).thenReturn("https://cdn/profile/uuid_a.svg");
+
+        // when
+        imagePipeline.submit(file, ImageTarget.PB_PROFILE, 1L, "default.svg");
+        imagePipeline.shutdown();
+
+        // then
+        verify(blobStore, times(3)).upload(any(File.class), anyString(), eq("image/svg+xml"));
+        verify(blobStore, never()).upload(any(byte[].class), anyString(), anyString());
+        verify(imageWriteBackService).apply(ImageTarget.PB_PROFILE, 1L, "default.svg", "https://cdn/profile/uuid_a.svg");
+    }
+
+    @Test
+    @DisplayName("업로드가 실패하면 반영하지 않음")
+    void submit_upload_failed() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("profileFile", "a.png", "image/png", png(10, 10));
+        when(blobStore.upload(any(File.class), anyString(), anyString())).thenThrow(new RuntimeException("s3 down"));
+
+        imagePipeline.submit(file, ImageTarget.PB_PROFILE, 1L, "default.svg");
+        imagePipeline.shutdown();
+
+        verifyNoInteractions(imageWriteBackService);
+    }
+
+    @Test
+    @DisplayName("직접 업로드된 이미지는 임시 키에서 내려받아 처리하고, 원본은 버킷 안에서 복사한 뒤 임시 파일을 삭제 큐에 넣음")
+    void submitStaged() throws Exception {
+        // given
+        byte[] data = png(2000, 1200);
+        doAnswer(invocation -> {
+            Files.write(((File) invocation.getArgument(1)).toPath(), data);
+            return null;
+        }).when(blobStore).download(eq("upload/thumbnail/uuid_a.png"), any(File.class));
+        when(blobStore.toUrl(anyString())).thenAnswer(invocation -> "https://cdn/" + invocation.getArgument(0));
+
+        // when
+        imagePipeline.submitStaged("upload/thumbnail/uuid_a.png", "image/png", ImageTarget.BOARD_THUMBNAIL, 1L, "default.svg");
+        imagePipeline.shutdown();
+
+        // then
+        verify(blobStore).copy("upload/thumbnail/uuid_a.png", "thumbnail/original/uuid_a.png");
+        verify(blobStore, never()).upload(any(File.class), anyString(), anyString());
+        ArgumentCaptor<byte[]> detail = ArgumentCaptor.forClass(byte[].class);
+        verify(blobStore).upload(detail.capture(), eq("thumbnail/uuid_a.png"), eq("image/png"));
+        assertSize(detail.getValue(), 500, 500);
+        verify(imageWriteBackService).apply(ImageTarget.BOARD_THUMBNAIL, 1L, "default.svg", "https://cdn/thumbnail/uuid_a.png");
+        verify(storageDeletionService).enqueue("https://cdn/upload/thumbnail/uuid_a.png");
+    }
+
+    @Test
+    @DisplayName("대기열이 차면 요청 스레드는 기다리기만 하고 처리는 모두 작업 스레드에서")
+    void submit_queueFull() throws Exception {
+        // given
+        imagePipeline.shutdown();
+        ReflectionTestUtils.setField(imagePipeline, "queueCapacity", 1);
+        imagePipeline.init();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(blobStore.toUrl(anyString())).thenReturn("https://cdn/thumbnail/uuid_a.png");
+        when(imageWriteBackService.apply(any(), anyLong(), anyString(), anyString())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return true;
+        });
+
+        // when
+        for (long id = 1; id <= 5; id++) {
+            imagePipeline.submit(new MockMultipartFile("thumbnailFile", "a.png", "image/png", png(10, 10)),
+                    ImageTarget.BOARD_THUMBNAIL, id, "default.svg");
+        }
+        imagePipeline.shutdown();
+
+        // then
+        verify(imageWriteBackService, times(5)).apply(any(), anyLong(), anyString(), anyString());
+        assertThat(threads).allMatch(name -> name.startsWith("image-"));
+    }
+
+    @Test
+    public void subsampling_test() {
+        assertThat(ImagePipeline.subsampling(4000, 3000, 500, 500)).isEqualTo(6);
+        assertThat(ImagePipeline.subsampling(4000, 600, 500, 500)).isEqualTo(1);
+        assertThat(ImagePipeline.subsampling(300, 300, 500, 500)).isEqualTo(1);
+    }
+
+    private byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private void assertSize(byte[] data, int width, int height) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+        assertThat(image.getWidth()).isEqualTo(width);
+        assertThat(image.getHeight()).isEqualTo(height);
+    }
+}
@@ -0,0 +1,32 @@
+package kr.co.moneybridge.core.image;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ImageRenditionTest {
+
+    @Test
+    public void keyOf_test() {
+        assertThat(ImageRendition.DETAIL.keyOf("thumbnail/uuid_a.png")).isEqualTo("thumbnail/uuid_a.png");
+        assertThat(ImageRendition.LIST.keyOf("thumbnail/uuid_a.png")).isEqualTo("thumbnail/list/uuid_a.png");
+        assertThat(ImageRendition.ORIGINAL.keyOf("profile/uuid_a.png")).isEqualTo("profile/original/uuid_a.png");
+    }
+
+    @Test
+    public void keysOf_test() {
+        assertThat(ImageRendition.keysOf("business-card/uuid_a.png")).containsExactly(
+                "business-card/list/uuid_a.png", "business-card/uuid_a.png", "business-card/original/uuid_a.png");
+        // 이미지가 아닌 파일이나 사본 키는 그 키 하나만
+        assertThat(ImageRendition.keysOf("portfolio/uuid_a.xlsx")).containsExactly("portfolio/uuid_a.xlsx");
+        assertThat(ImageRendition.keysOf("profile/list/uuid_a.png")).containsExactly("profile/list/uuid_a.png");
+    }
+
+    @Test
+    public void baseKeyOf_test() {
+        assertThat(ImageRendition.baseKeyOf("thumbnail/list/uuid_a.png")).isEqualTo("thumbnail/uuid_a.png");
+        assertThat(ImageRendition.baseKeyOf("thumbnail/original/uuid_a.png")).isEqualTo("thumbnail/uuid_a.png");
+        assertThat(ImageRendition.baseKeyOf("thumbnail/uuid_a.png")).isEqualTo("thumbnail/uuid_a.png");
+        assertThat(ImageRendition.baseKeyOf("portfolio/list/uuid_a.xlsx")).isEqualTo("portfolio/list/uuid_a.xlsx");
+    }
+}
@@ -0,0 +1,127 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.board.BoardResponse;
+import kr.co.moneybridge.model.board.Board;
+import kr.co.moneybridge.model.board.BoardBody;
+import kr.co.moneybridge.model.board.BoardRepository;
+import kr.co.moneybridge.model.board.BoardStatus;
+import kr.co.moneybridge.model.pb.PB;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BoardSearchIndexTest {
+    @InjectMocks
+    private BoardSearchIndex boardSearchIndex;
+    @Mock
+    private BoardRepository boardRepository;
+
+    private BoardResponse.BoardSearchDTO newDocument(Long id, Long pbId, String pbName, String title, String content) {
+        PB pb = PB.builder().id(pbId).name(pbName).build();
+        Board board = Board.builder().id(id).pb(pb).title(title).tag1("시장정보").tag2("쉽게읽혀요").build();
+        return new BoardResponse.BoardSearchDTO(board, pb, BoardBody.of(id, content));
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(boardRepository.findAllSearchDocuments(BoardStatus.ACTIVE)).thenReturn(Arrays.asList(
+                newDocument(1L, 1L, "김피비", "채권 투자 입문", "<p>금리가 오르면 <b>채권</b> 가격은 내립니다</p>"),
+                newDocument(2L, 1L, "김피비", "미국주식 전망", "<p>빅테크 실적과 채권 금리</p>"),
+                newDocument(3L, 2L, "이피비", "ETF로 시작하는 분산투자", "<p>채권 ETF와 주식 ETF를 섞어서</p>"),
+                newDocument(4L, 2L, "이피비", "부동산 리츠", "<p>배당 이야기</p>")));
+        boardSearchIndex.load();
+    }
+
+    @Test
+    @DisplayName("제목에 있는 단어가 본문에만 있는 단어보다 먼저")
+    void search_ranking() {
+        // when
+        Page<Long> page = boardSearchIndex.search("채권", PageRequest.of(0, 10));
+
+        // then
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getContent().get(0)).isEqualTo(1L);
+        assertThat(page.getContent()).doesNotContain(4L);
+    }
+
+    @Test
+    @DisplayName("본문(HTML 제거), 태그, 작성자 이름도 검색")
+    void search_fields() {
+        assertThat(boardSearchIndex.search("빅테크", PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+        assertThat(boardSearchIndex.search("etf", PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+        assertThat(boardSearchIndex.search("이피비", PageRequest.of(0, 10)).getContent()).containsExactly(4L, 3L);
+        assertThat(boardSearchIndex.search("시장정보", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(4);
+        assertThat(boardSearchIndex.search("<b>", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("모든 검색어를 포함한 컨텐츠만, 페이지 나눔")
+    void search_and() {
+        assertThat(boardSearchIndex.search("채권 주식", PageRequest.of(0, 10)).getContent()).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(boardSearchIndex.search("없는단어", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(boardSearchIndex.search(" ", PageRequest.of(0, 10)).getContent()).isEmpty();
+        Page<Long> second = boardSearchIndex.search("시장정보", PageRequest.of(1, 3));
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("작성 PB 이름으로 검색 - 최신순")
+    void searchByAuthor() {
+        assertThat(boardSearchIndex.searchByAuthor("피비", PageRequest.of(0, 10)).getContent()).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(boardSearchIndex.searchByAuthor("김", PageRequest.of(0, 10)).getContent()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("컨텐츠 수정/삭제가 인덱스에 반영")
+    void onBoardChanged() {
+        // stub
+        when(boardRepository.findSearchDocumentById(1L, BoardStatus.ACTIVE))
+                .thenReturn(Optional.of(newDocument(1L, 1L, "김피비", "달러 투자 입문", "<p>환율 이야기</p>")));
+        when(boardRepository.findSearchDocumentById(3L, BoardStatus.ACTIVE)).thenReturn(Optional.empty());
+
+        // when
+        boardSearchIndex.onBoardChanged(new BoardChangedEvent(1L));
+        boardSearchIndex.onBoardChanged(new BoardChangedEvent(3L));
+
+        // then
+        assertThat(boardSearchIndex.search("채권", PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+        assertThat(boardSearchIndex.search("환율", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+        assertThat(boardSearchIndex.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("PB 이름 변경/탈퇴가 그 PB의 컨텐츠에 반영")
+    void onPBChanged() {
+        // stub
+        when(boardRepository.findSearchDocumentsByPBId(1L, BoardStatus.ACTIVE)).thenReturn(Arrays.asList(
+                newDocument(1L, 1L, "박피비", "채권 투자 입문", "<p>금리</p>"),
+                newDocument(2L, 1L, "박피비", "미국주식 전망", "<p>빅테크</p>")));
+        when(boardRepository.findSearchDocumentsByPBId(2L, BoardStatus.ACTIVE)).thenReturn(new ArrayList<>());
+
+        // when
+        boardSearchIndex.onPBChanged(new PBChangedEvent(1L));
+        boardSearchIndex.onPBChanged(new PBChangedEvent(2L));
+
+        // then
+        assertThat(boardSearchIndex.search("박피비", PageRequest.of(0, 10)).getContent()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(boardSearchIndex.searchByAuthor("김피비", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(boardSearchIndex.size()).isEqualTo(2);
+    }
+}
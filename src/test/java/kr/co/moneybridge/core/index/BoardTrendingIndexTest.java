@@ -0,0 +1,123 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.board.BoardResponse;
+import kr.co.moneybridge.model.board.BoardRepository;
+import kr.co.moneybridge.model.board.BoardStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BoardTrendingIndexTest {
+    @InjectMocks
+    private BoardTrendingIndex boardTrendingIndex;
+    @Mock
+    private BoardRepository boardRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        when(boardRepository.findAllTrendDocuments(BoardStatus.ACTIVE)).thenReturn(Arrays.asList(
+                new BoardResponse.BoardTrendDTO(1L, 1L, now.minusDays(30), 100000L, 500L), // 오래된 인기글
+                new BoardResponse.BoardTrendDTO(2L, 1L, now.minusHours(2), 30L, 1L),
+                new BoardResponse.BoardTrendDTO(3L, 2L, now.minusHours(1), 10L, 0L),
+                new BoardResponse.BoardTrendDTO(4L, 2L, now.minusHours(1), 10L, 0L)));
+        boardTrendingIndex.load();
+    }
+
+    @Test
+    @DisplayName("누적 조회수가 많아도 오래된 글은 최근 글보다 아래, 동점이면 최신 id 먼저")
+    void load() {
+        assertThat(boardTrendingIndex.top(4)).containsExactly(2L, 4L, 3L, 1L);
+        assertThat(boardTrendingIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("최근 조회/북마크가 순위를 올림")
+    void record() {
+        long nowMillis = now.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (int i = 0; i < 30; i++) {
+            boardTrendingIndex.record(3L, 1);
+        }
+        assertThat(boardTrendingIndex.top(2)).containsExactly(2L, 4L); // 반영 전에는 순위가 그대로
+        boardTrendingIndex.apply(nowMillis);
+        assertThat(boardTrendingIndex.top(2)).containsExactly(3L, 2L);
+
+        boardTrendingIndex.record(99L, 1); // 인덱스에 없는 글은 무시
+        boardTrendingIndex.apply(nowMillis);
+        assertThat(boardTrendingIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("북마크는 커밋된 뒤에만 점수에 더함")
+    void recordBookmark() {
+        long nowMillis = now.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (int i = 0; i < 10; i++) {
+                boardTrendingIndex.recordBookmark(3L);
+            }
+            boardTrendingIndex.apply(nowMillis);
+            assertThat(boardTrendingIndex.top(1)).containsExactly(2L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        boardTrendingIndex.apply(nowMillis);
+        assertThat(boardTrendingIndex.top(1)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("페이지")
+    void page() {
+        Page<Long> page = boardTrendingIndex.page(PageRequest.of(1, 3));
+
+        assertThat(page.getContent()).containsExactly(1L);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("컨텐츠 추가/삭제")
+    void onBoardChanged() {
+        when(boardRepository.findTrendDocumentById(5L, BoardStatus.ACTIVE))
+                .thenReturn(Optional.of(new BoardResponse.BoardTrendDTO(5L, 2L, now, 0L, 0L)));
+        when(boardRepository.findTrendDocumentById(2L, BoardStatus.ACTIVE)).thenReturn(Optional.empty());
+
+        boardTrendingIndex.onBoardChanged(new BoardChangedEvent(5L));
+        boardTrendingIndex.onBoardChanged(new BoardChangedEvent(2L));
+
+        assertThat(boardTrendingIndex.top(5)).containsExactly(4L, 3L, 5L, 1L);
+    }
+
+    @Test
+    @DisplayName("PB 탈퇴 - 지워진 컨텐츠 제거")
+    void onPBChanged() {
+        when(boardRepository.findTrendDocumentsByPBId(2L, BoardStatus.ACTIVE)).thenReturn(List.of());
+
+        boardTrendingIndex.onPBChanged(new PBChangedEvent(2L));
+
+        assertThat(boardTrendingIndex.top(5)).containsExactly(2L, 1L);
+    }
+}
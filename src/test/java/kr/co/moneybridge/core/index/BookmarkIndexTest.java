@@ -0,0 +1,75 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.model.Role;
+import kr.co.moneybridge.model.board.BoardBookmarkRepository;
+import kr.co.moneybridge.model.board.BookmarkerRole;
+import kr.co.moneybridge.model.user.UserBookmarkRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookmarkIndexTest {
+    @InjectMocks
+    private BookmarkIndex bookmarkIndex;
+    @Mock
+    private BoardBookmarkRepository boardBookmarkRepository;
+    @Mock
+    private UserBookmarkRepository userBookmarkRepository;
+
+    @Test
+    @DisplayName("회원별 북마크 id는 처음 한 번만 조회")
+    void getBookmarkedBoardIds_cached() {
+        // stub
+        when(boardBookmarkRepository.findBoardIdsByBookmarker(1L, BookmarkerRole.USER)).thenReturn(Arrays.asList(1L, 3L));
+
+        // when
+        Set<Long> first = bookmarkIndex.getBookmarkedBoardIds(1L, BookmarkerRole.USER);
+        Set<Long> second = bookmarkIndex.getBookmarkedBoardIds(1L, BookmarkerRole.USER);
+
+        // then
+        assertThat(first).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(second).isEqualTo(first);
+        verify(boardBookmarkRepository, times(1)).findBoardIdsByBookmarker(1L, BookmarkerRole.USER);
+    }
+
+    @Test
+    @DisplayName("북마크/북마크 취소가 캐시에 반영")
+    void addPB_removePB() {
+        // stub
+        when(userBookmarkRepository.findPBIdsByUserId(1L)).thenReturn(Arrays.asList(2L));
+        bookmarkIndex.getBookmarkedPBIds(1L);
+
+        // when
+        bookmarkIndex.addPB(1L, 5L);
+        bookmarkIndex.removePB(1L, 2L);
+
+        // then
+        assertThat(bookmarkIndex.getBookmarkedPBIds(1L)).containsExactly(5L);
+        verify(userBookmarkRepository, times(1)).findPBIdsByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("탈퇴한 회원은 다시 조회")
+    void evictMember() {
+        // stub
+        when(boardBookmarkRepository.findBoardIdsByBookmarker(1L, BookmarkerRole.PB)).thenReturn(Arrays.asList(1L));
+        bookmarkIndex.getBookmarkedBoardIds(1L, BookmarkerRole.PB);
+
+        // when
+        bookmarkIndex.evictMember(1L, Role.PB);
+        bookmarkIndex.getBookmarkedBoardIds(1L, BookmarkerRole.PB);
+
+        // then
+        verify(boardBookmarkRepository, times(2)).findBoardIdsByBookmarker(1L, BookmarkerRole.PB);
+    }
+}
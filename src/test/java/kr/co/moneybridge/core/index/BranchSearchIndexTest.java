@@ -0,0 +1,93 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.BranchChangedEvent;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.Branch;
+import kr.co.moneybridge.model.pb.BranchRepository;
+import kr.co.moneybridge.model.pb.Company;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BranchSearchIndexTest {
+    @InjectMocks
+    private BranchSearchIndex branchSearchIndex;
+    @Mock
+    private BranchRepository branchRepository;
+
+    private final Company mirae = Company.builder().id(1L).name("미래에셋증권").build();
+    private final Company kb = Company.builder().id(2L).name("KB증권").build();
+
+    private Branch newBranch(Long id, Company company, String name, String roadAddress, String streetAddress) {
+        return Branch.builder().id(id).company(company).name(name)
+                .roadAddress(roadAddress).streetAddress(streetAddress).latitude(37.0).longitude(127.0).build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(branchRepository.findAll()).thenReturn(Arrays.asList(
+                newBranch(1L, mirae, "미래에셋증권 여의도점", "서울 영등포구 국제금융로 56", "여의도동 23-9"),
+                newBranch(2L, mirae, "미래에셋증권 강남대로점", "서울 강남구 강남대로 390", "역삼동 825"),
+                newBranch(3L, kb, "KB증권 여의도점", "서울 영등포구 여의나루로 50", "여의도동 23-7")));
+        branchSearchIndex.load();
+    }
+
+    @Test
+    @DisplayName("지점명/주소 부분일치 - 공백 무시, 증권사별")
+    void search() {
+        assertThat(ids(branchSearchIndex.search(1L, "여의도", PageRequest.of(0, 10)))).containsExactly(1L);
+        assertThat(ids(branchSearchIndex.search(1L, "강남 대로", PageRequest.of(0, 10)))).containsExactly(2L);
+        assertThat(ids(branchSearchIndex.search(1L, "서울", PageRequest.of(0, 10)))).containsExactly(1L, 2L);
+        assertThat(ids(branchSearchIndex.search(2L, "kb", PageRequest.of(0, 10)))).containsExactly(3L);
+        assertThat(ids(branchSearchIndex.search(1L, "동", PageRequest.of(0, 10)))).containsExactly(1L, 2L);
+        assertThat(branchSearchIndex.search(1L, "부산", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(branchSearchIndex.search(3L, "서울", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("필드를 넘나드는 문자열은 일치로 보지 않음")
+    void search_acrossFields() {
+        assertThat(branchSearchIndex.search(1L, "여의도점서울", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("페이지 나눔")
+    void search_page() {
+        Page<PBResponse.BranchDTO> page = branchSearchIndex.search(1L, "서울", PageRequest.of(1, 1));
+
+        assertThat(ids(page)).containsExactly(2L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("지점 추가가 그 증권사 인덱스에 반영")
+    void onBranchChanged() {
+        // stub
+        when(branchRepository.findById(4L)).thenReturn(Optional.of(newBranch(4L, mirae, "미래에셋증권 부산점", "부산 해운대구 센텀중앙로 79", "우동 1505")));
+
+        // when
+        branchSearchIndex.onBranchChanged(new BranchChangedEvent(4L));
+
+        // then
+        assertThat(ids(branchSearchIndex.search(1L, "부산", PageRequest.of(0, 10)))).containsExactly(4L);
+        assertThat(branchSearchIndex.search(2L, "부산", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    private static List<Long> ids(Page<PBResponse.BranchDTO> page) {
+        return page.map(PBResponse.BranchDTO::getId).getContent();
+    }
+}
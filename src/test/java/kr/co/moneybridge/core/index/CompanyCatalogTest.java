@@ -0,0 +1,82 @@
+package kr.co.moneybridge.core.index;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.co.moneybridge.model.pb.Company;
+import kr.co.moneybridge.model.pb.CompanyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CompanyCatalogTest {
+    @InjectMocks
+    private CompanyCatalog companyCatalog;
+    @Mock
+    private CompanyRepository companyRepository;
+    @Spy
+    private ObjectMapper om = new ObjectMapper();
+
+    private final Company mirae = Company.builder().id(1L).name("미래에셋증권").logo("logo.png").build();
+    private final Company kb = Company.builder().id(2L).name("KB증권").logo("kb.png").build();
+
+    @BeforeEach
+    void setUp() {
+        when(companyRepository.findAll()).thenReturn(Arrays.asList(kb, mirae));
+        companyCatalog.load();
+    }
+
+    @Test
+    @DisplayName("스냅샷 - id순 목록")
+    void snapshot() {
+        assertThat(companyCatalog.getCompanies()).extracting("id").containsExactly(1L, 2L);
+        assertThat(companyCatalog.getCompanyNames()).extracting("name").containsExactly("미래에셋증권", "KB증권");
+    }
+
+    @Test
+    @DisplayName("미리 직렬화한 본문 - 로고 포함 여부")
+    void serializedBody() {
+        String withLogo = new String(companyCatalog.getCompaniesBody(true).getBody(), StandardCharsets.UTF_8);
+        String withoutLogo = new String(companyCatalog.getCompaniesBody(false).getBody(), StandardCharsets.UTF_8);
+
+        assertThat(withLogo).contains("\"status\":200").contains("\"logo\":\"logo.png\"");
+        assertThat(withoutLogo).contains("\"name\":\"KB증권\"").doesNotContain("logo");
+    }
+
+    @Test
+    @DisplayName("ETag - 내용이 같으면 유지, 바뀌면 변경")
+    void eTag() {
+        CompanyCatalog.SerializedBody before = companyCatalog.getCompaniesBody(true);
+        companyCatalog.load();
+        assertThat(companyCatalog.getCompaniesBody(true).getETag()).isEqualTo(before.getETag());
+
+        when(companyRepository.findAll()).thenReturn(List.of(mirae));
+        companyCatalog.load();
+        assertThat(companyCatalog.getCompaniesBody(true).getETag()).isNotEqualTo(before.getETag());
+    }
+
+    @Test
+    @DisplayName("If-None-Match 비교")
+    void matches() {
+        CompanyCatalog.SerializedBody body = companyCatalog.getCompaniesBody(true);
+        String eTag = body.getETag();
+
+        assertThat(body.matches(eTag)).isTrue();
+        assertThat(body.matches("W/" + eTag)).isTrue();
+        assertThat(body.matches("\"other\", " + eTag)).isTrue();
+        assertThat(body.matches("*")).isTrue();
+        assertThat(body.matches("\"other\"")).isFalse();
+        assertThat(body.matches(null)).isFalse();
+    }
+}
@@ -0,0 +1,86 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.util.MyGeoUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GeoKdTreeTest {
+
+    // 기준이 되는 대권거리(haversine)
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * MyGeoUtil.EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    @Test
+    @DisplayName("best-first 탐색 결과가 전체 정렬 결과와 같음")
+    void nearest_matches_brute_force() {
+        // given
+        Random random = new Random(42);
+        int n = 500;
+        long[] ids = new long[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+            latitudes[i] = 33.0 + random.nextDouble() * 5.5;
+            longitudes[i] = 125.0 + random.nextDouble() * 4.5;
+        }
+        GeoKdTree tree = GeoKdTree.build(ids, latitudes, longitudes);
+        double lat = 37.5326;
+        double lon = 126.9246;
+
+        List<Long> expected = new ArrayList<>();
+        for (long id : ids) expected.add(id);
+        expected.sort(Comparator.comparingDouble(id -> haversine(lat, lon, latitudes[(int) (id - 1)], longitudes[(int) (id - 1)])));
+
+        // when
+        List<GeoKdTree.Neighbor> page = tree.nearest(lat, lon, 20, 10);
+
+        // then
+        assertThat(tree.size()).isEqualTo(n);
+        assertThat(page.stream().map(GeoKdTree.Neighbor::getId).collect(Collectors.toList()))
+                .isEqualTo(expected.subList(20, 30));
+        GeoKdTree.Neighbor first = page.get(0);
+        assertThat(first.getDistance()).isCloseTo(
+                haversine(lat, lon, latitudes[(int) (first.getId() - 1)], longitudes[(int) (first.getId() - 1)]),
+                org.assertj.core.data.Offset.offset(1e-6));
+    }
+
+    @Test
+    @DisplayName("남은 개수보다 많이 요청하면 있는 만큼만 반환")
+    void nearest_last_page() {
+        // given
+        GeoKdTree tree = GeoKdTree.build(new long[]{1L, 2L, 3L},
+                new double[]{37.5, 35.1, 36.3}, new double[]{127.0, 129.0, 127.3});
+
+        // when
+        List<GeoKdTree.Neighbor> page = tree.nearest(37.5, 127.0, 2, 10);
+
+        // then
+        assertThat(page).hasSize(1);
+        assertThat(page.get(0).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("빈 트리")
+    void nearest_empty() {
+        // given
+        GeoKdTree tree = GeoKdTree.build(new long[0], new double[0], new double[0]);
+
+        // when
+        Iterator<GeoKdTree.Neighbor> iterator = tree.nearest(37.5, 127.0);
+
+        // then
+        assertThat(iterator.hasNext()).isFalse();
+        assertThat(tree.nearest(37.5, 127.0, 0, 10)).isEmpty();
+    }
+}
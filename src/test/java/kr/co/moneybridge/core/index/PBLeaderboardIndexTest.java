@@ -0,0 +1,194 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.Company;
+import kr.co.moneybridge.model.pb.PB;
+import kr.co.moneybridge.model.pb.PBSpeciality;
+import kr.co.moneybridge.model.pb.Portfolio;
+import kr.co.moneybridge.model.pb.PortfolioMetric;
+import kr.co.moneybridge.model.pb.PortfolioRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PBLeaderboardIndexTest {
+    @InjectMocks
+    private PBLeaderboardIndex pbLeaderboardIndex;
+    @Mock
+    private PortfolioRepository portfolioRepository;
+
+    private PBResponse.PBPortfolioRankDTO newRank(Long id, Long companyId, PBSpeciality speciality1, PBSpeciality speciality2,
+                                                  Double cumulativeReturn, Double maxDrawdown, Double profitFactor) {
+        return new PBResponse.PBPortfolioRankDTO(
+                PB.builder().id(id).speciality1(speciality1).speciality2(speciality2).build(),
+                Company.builder().id(companyId).build(),
+                Portfolio.builder().cumulativeReturn(cumulativeReturn).maxDrawdown(maxDrawdown).profitFactor(profitFactor).build());
+    }
+
+    private List<Long> ids(Page<PBLeaderboardIndex.Entry> page) {
+        return page.getContent().stream().map(PBLeaderboardIndex.Entry::getId).collect(Collectors.toList());
+    }
+
+    private List<Long> ranks(Page<PBLeaderboardIndex.Entry> page) {
+        return page.getContent().stream().map(PBLeaderboardIndex.Entry::getRank).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("지표별 순위 - 누적수익률/profit factor는 높은 순, MDD는 낮은 순, 값이 없는 PB는 빠짐")
+    void findRanked() {
+        // stub
+        when(portfolioRepository.findAllRanks()).thenReturn(Arrays.asList(
+                newRank(1L, 1L, PBSpeciality.BOND, null, 10.0, 5.0, 1.2),
+                newRank(2L, 1L, PBSpeciality.ETF, PBSpeciality.BOND, 30.0, 20.0, null),
+                newRank(3L, 2L, PBSpeciality.ETF, null, 20.0, 1.0, 2.5)));
+        pbLeaderboardIndex.load();
+
+        // when, then
+        Page<PBLeaderboardIndex.Entry> page = pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, null, null, PageRequest.of(0, 10));
+        assertThat(ids(page)).containsExactly(2L, 3L, 1L);
+        assertThat(ranks(page)).containsExactly(1L, 2L, 3L);
+        assertThat(page.getContent().get(0).getValue()).isEqualTo(30.0);
+        assertThat(ids(pbLeaderboardIndex.findRanked(PortfolioMetric.MAX_DRAWDOWN, null, null, PageRequest.of(0, 10))))
+                .containsExactly(3L, 1L, 2L);
+        assertThat(ids(pbLeaderboardIndex.findRanked(PortfolioMetric.PROFIT_FACTOR, null, null, PageRequest.of(0, 10))))
+                .containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("전문분야(1, 2 모두)/증권사로 거른 순위")
+    void findRanked_filter() {
+        // stub
+        when(portfolioRepository.findAllRanks()).thenReturn(Arrays.asList(
+                newRank(1L, 1L, PBSpeciality.BOND, null, 10.0, 5.0, 1.2),
+                newRank(2L, 1L, PBSpeciality.ETF, PBSpeciality.BOND, 30.0, 20.0, null),
+                newRank(3L, 2L, PBSpeciality.ETF, null, 20.0, 1.0, 2.5)));
+        pbLeaderboardIndex.load();
+
+        // when, then
+        Page<PBLeaderboardIndex.Entry> bond = pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, PBSpeciality.BOND, null, PageRequest.of(0, 10));
+        assertThat(ids(bond)).containsExactly(2L, 1L);
+        assertThat(ranks(bond)).containsExactly(1L, 2L);
+        assertThat(ids(pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, null, 2L, PageRequest.of(0, 10))))
+                .containsExactly(3L);
+        assertThat(pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, PBSpeciality.WRAP, null, PageRequest.of(0, 10)).getTotalElements())
+                .isEqualTo(0);
+        assertThat(pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, null, 9L, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 값은 같은 순위 - 다음 페이지 첫 행도 앞 페이지와 같은 값이면 같은 순위")
+    void findRanked_ties() {
+        // stub
+        List<PBResponse.PBPortfolioRankDTO> list = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            list.add(newRank(id, 1L, PBSpeciality.BOND, null, id <= 12 ? 50.0 : 10.0, null, null));
+        }
+        when(portfolioRepository.findAllRanks()).thenReturn(list);
+        pbLeaderboardIndex.load();
+
+        // when
+        Page<PBLeaderboardIndex.Entry> first = pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, null, null, PageRequest.of(0, 10));
+        Page<PBLeaderboardIndex.Entry> second = pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, null, null, PageRequest.of(1, 10));
+
+        // then
+        assertThat(first.getTotalElements()).isEqualTo(25);
+        assertThat(first.getTotalPages()).isEqualTo(3);
+        assertThat(ids(first).get(0)).isEqualTo(12L); // 같은 값이면 최근 가입 먼저
+        assertThat(ranks(first)).allMatch(rank -> rank == 1L);
+        assertThat(ranks(second)).containsExactly(1L, 1L, 13L, 13L, 13L, 13L, 13L, 13L, 13L, 13L);
+    }
+
+    @Test
+    @DisplayName("지표 변경/전문분야 변경/탈퇴가 해당 배열에만 반영")
+    void onPBChanged() {
+        // stub
+        when(portfolioRepository.findAllRanks()).thenReturn(Arrays.asList(
+                newRank(1L, 1L, PBSpeciality.BOND, null, 10.0, 5.0, 1.2),
+                newRank(2L, 1L, PBSpeciality.ETF, null, 30.0, 20.0, null),
+                newRank(3L, 2L, PBSpeciality.ETF, null, 20.0, 1.0, 2.5)));
+        when(portfolioRepository.findRankByPbId(1L)).thenReturn(Optional.of(
+                newRank(1L, 1L, PBSpeciality.ETF, null, 40.0, 5.0, null)));
+        when(portfolioRepository.findRankByPbId(2L)).thenReturn(Optional.empty());
+        when(portfolioRepository.findRankByPbId(4L)).thenReturn(Optional.empty());
+        pbLeaderboardIndex.load();
+
+        // when
+        pbLeaderboardIndex.onPBChanged(new PBChangedEvent(1L));
+        pbLeaderboardIndex.onPBChanged(new PBChangedEvent(2L));
+        pbLeaderboardIndex.onPBChanged(new PBChangedEvent(4L));
+
+        // then
+        assertThat(ids(pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, null, null, PageRequest.of(0, 10))))
+                .containsExactly(1L, 3L);
+        assertThat(ids(pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, PBSpeciality.ETF, null, PageRequest.of(0, 10))))
+                .containsExactly(1L, 3L);
+        assertThat(pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, PBSpeciality.BOND, null, PageRequest.of(0, 10))).isEmpty();
+        assertThat(ids(pbLeaderboardIndex.findRanked(PortfolioMetric.PROFIT_FACTOR, null, null, PageRequest.of(0, 10))))
+                .containsExactly(3L);
+        assertThat(ids(pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, null, 1L, PageRequest.of(0, 10))))
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("하나씩 넣고 뺀 결과가 처음부터 다시 만든 순위와 같음")
+    void onPBChanged_matchesRebuild() {
+        // given
+        Random random = new Random(7);
+        List<PBResponse.PBPortfolioRankDTO> current = new ArrayList<>();
+        when(portfolioRepository.findAllRanks()).thenReturn(new ArrayList<>());
+        pbLeaderboardIndex.load();
+
+        // when - 200명을 무작위 값으로 넣고, 그중 절반을 값 변경/삭제
+        for (long id = 1; id <= 200; id++) {
+            PBResponse.PBPortfolioRankDTO dto = newRank(id, (long) random.nextInt(3), PBSpeciality.values()[random.nextInt(3)], null,
+                    (double) random.nextInt(20), (double) random.nextInt(20), random.nextBoolean() ? null : (double) random.nextInt(5));
+            when(portfolioRepository.findRankByPbId(id)).thenReturn(Optional.of(dto));
+            pbLeaderboardIndex.onPBChanged(new PBChangedEvent(id));
+            current.add(dto);
+        }
+        for (long id = 1; id <= 200; id += 2) {
+            if (id % 4 == 1) {
+                PBResponse.PBPortfolioRankDTO dto = newRank(id, 1L, PBSpeciality.BOND, PBSpeciality.FUND,
+                        (double) random.nextInt(20), null, 1.0);
+                when(portfolioRepository.findRankByPbId(id)).thenReturn(Optional.of(dto));
+                current.set((int) id - 1, dto);
+            } else {
+                when(portfolioRepository.findRankByPbId(id)).thenReturn(Optional.empty());
+                current.set((int) id - 1, null);
+            }
+            pbLeaderboardIndex.onPBChanged(new PBChangedEvent(id));
+        }
+
+        // then
+        PBLeaderboardIndex rebuilt = new PBLeaderboardIndex(portfolioRepository);
+        when(portfolioRepository.findAllRanks()).thenReturn(current.stream().filter(dto -> dto != null).collect(Collectors.toList()));
+        rebuilt.load();
+        for (PortfolioMetric metric : PortfolioMetric.values()) {
+            for (PBSpeciality speciality : new PBSpeciality[]{null, PBSpeciality.BOND, PBSpeciality.FUND}) {
+                Page<PBLeaderboardIndex.Entry> expected = rebuilt.findRanked(metric, speciality, null, PageRequest.of(0, 300));
+                Page<PBLeaderboardIndex.Entry> actual = pbLeaderboardIndex.findRanked(metric, speciality, null, PageRequest.of(0, 300));
+                assertThat(ids(actual)).isEqualTo(ids(expected));
+                assertThat(ranks(actual)).isEqualTo(ranks(expected));
+            }
+            assertThat(ids(pbLeaderboardIndex.findRanked(metric, null, 1L, PageRequest.of(0, 300))))
+                    .isEqualTo(ids(rebuilt.findRanked(metric, null, 1L, PageRequest.of(0, 300))));
+        }
+    }
+}
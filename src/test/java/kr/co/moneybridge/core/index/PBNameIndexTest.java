@@ -0,0 +1,101 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.Branch;
+import kr.co.moneybridge.model.pb.PB;
+import kr.co.moneybridge.model.pb.PBRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PBNameIndexTest {
+    @InjectMocks
+    private PBNameIndex pbNameIndex;
+    @Mock
+    private PBRepository pbRepository;
+
+    private PBResponse.PBNameDTO newName(Long id, String name) {
+        return new PBResponse.PBNameDTO(PB.builder().id(id).name(name).build(), Branch.builder().name("여의도점").build());
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(pbRepository.findAllNames()).thenReturn(Arrays.asList(
+                newName(1L, "김피비"),
+                newName(2L, "이피비"),
+                newName(3L, "김철수"),
+                newName(4L, "피비"),
+                newName(5L, "김비피")));
+        pbNameIndex.load();
+    }
+
+    @Test
+    @DisplayName("부분일치 - 전체 일치, 접두어 일치 순으로 정렬")
+    void search() {
+        // when
+        Page<Long> page = pbNameIndex.search("피비", PageRequest.of(0, 10));
+
+        // then
+        assertThat(page.getContent()).containsExactly(4L, 2L, 1L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("한 글자 검색과 페이지")
+    void search_oneLetter() {
+        // when
+        Page<Long> first = pbNameIndex.search("김", PageRequest.of(0, 2));
+        Page<Long> second = pbNameIndex.search("김", PageRequest.of(1, 2));
+
+        // then
+        assertThat(first.getContent()).containsExactly(5L, 3L);
+        assertThat(second.getContent()).containsExactly(1L);
+        assertThat(first.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("bigram은 모두 있어도 연속하지 않으면 제외")
+    void search_notContiguous() {
+        assertThat(pbNameIndex.search("피비피", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(pbNameIndex.search("없는이름", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("입력 중인 글자까지 자모 접두어로 자동완성")
+    void autocomplete() {
+        assertThat(pbNameIndex.autocomplete("김ㅍ", 10)).extracting(PBResponse.PBNameDTO::getId).containsExactly(1L);
+        assertThat(pbNameIndex.autocomplete("기", 10)).extracting(PBResponse.PBNameDTO::getId).containsExactly(5L, 1L, 3L);
+        assertThat(pbNameIndex.autocomplete("피", 2)).extracting(PBResponse.PBNameDTO::getId).containsExactly(4L, 2L);
+        assertThat(pbNameIndex.autocomplete(" ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("PB 변경/탈퇴가 인덱스에 반영")
+    void onPBChanged() {
+        // stub
+        when(pbRepository.findNameById(3L)).thenReturn(Optional.of(newName(3L, "박피비")));
+        when(pbRepository.findNameById(4L)).thenReturn(Optional.empty());
+
+        // when
+        pbNameIndex.onPBChanged(new PBChangedEvent(3L));
+        pbNameIndex.onPBChanged(new PBChangedEvent(4L));
+
+        // then
+        assertThat(pbNameIndex.search("피비", PageRequest.of(0, 10)).getContent()).containsExactly(3L, 2L, 1L);
+        assertThat(pbNameIndex.size()).isEqualTo(4);
+    }
+}
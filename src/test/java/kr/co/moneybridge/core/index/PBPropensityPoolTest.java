@@ -0,0 +1,98 @@
+package kr.co.moneybridge.core.index;
+
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import kr.co.moneybridge.model.pb.PB;
+import kr.co.moneybridge.model.pb.PBRepository;
+import kr.co.moneybridge.model.pb.PBSpeciality;
+import kr.co.moneybridge.model.user.UserPropensity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PBPropensityPoolTest {
+    @InjectMocks
+    private PBPropensityPool pbPropensityPool;
+    @Mock
+    private PBRepository pbRepository;
+
+    private PBResponse.PBSpecialityDTO newSpeciality(Long id, PBSpeciality speciality1, PBSpeciality speciality2) {
+        return new PBResponse.PBSpecialityDTO(PB.builder().id(id).speciality1(speciality1).speciality2(speciality2).build());
+    }
+
+    @Test
+    @DisplayName("투자성향별 풀 구성")
+    void load() {
+        // stub
+        when(pbRepository.findAllSpecialities()).thenReturn(Arrays.asList(
+                newSpeciality(1L, PBSpeciality.BOND, null),
+                newSpeciality(2L, PBSpeciality.REAL_ESTATE, null),
+                newSpeciality(3L, PBSpeciality.DERIVATIVE, PBSpeciality.FUND),
+                newSpeciality(4L, PBSpeciality.US_STOCK, null)));
+
+        // when
+        pbPropensityPool.load();
+
+        // then
+        assertThat(pbPropensityPool.sample(UserPropensity.SPECULATIVE, 10)).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(pbPropensityPool.sample(UserPropensity.AGGRESSIVE, 10)).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(pbPropensityPool.sample(UserPropensity.CONSERVATIVE, 10)).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("서로 다른 id를 최대 k개 뽑음")
+    void sample() {
+        // stub
+        List<PBResponse.PBSpecialityDTO> list = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            list.add(newSpeciality(id, PBSpeciality.BOND, null));
+        }
+        when(pbRepository.findAllSpecialities()).thenReturn(list);
+        pbPropensityPool.load();
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            List<Long> ids = pbPropensityPool.sample(UserPropensity.BALANCED, 3);
+
+            // then
+            assertThat(ids).hasSize(3).doesNotHaveDuplicates();
+            assertThat(ids).allMatch(id -> id >= 1 && id <= 100);
+        }
+    }
+
+    @Test
+    @DisplayName("빈 풀이면 빈 목록")
+    void sample_empty() {
+        assertThat(pbPropensityPool.sample(UserPropensity.CAUTIOUS, 3)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("PB 전문분야 변경/탈퇴가 풀에 반영")
+    void onPBChanged() {
+        // stub
+        when(pbRepository.findAllSpecialities()).thenReturn(Arrays.asList(newSpeciality(1L, PBSpeciality.BOND, null)));
+        when(pbRepository.findSpecialityById(1L)).thenReturn(Optional.of(newSpeciality(1L, PBSpeciality.REAL_ESTATE, null)));
+        when(pbRepository.findSpecialityById(2L)).thenReturn(Optional.of(newSpeciality(2L, PBSpeciality.WRAP, null)));
+        pbPropensityPool.load();
+
+        // when
+        pbPropensityPool.onPBChanged(new PBChangedEvent(1L));
+        pbPropensityPool.onPBChanged(new PBChangedEvent(2L));
+
+        // then
+        assertThat(pbPropensityPool.sample(UserPropensity.SPECULATIVE, 3)).containsExactly(2L);
+        assertThat(pbPropensityPool.size(UserPropensity.CONSERVATIVE)).isEqualTo(1);
+    }
+}
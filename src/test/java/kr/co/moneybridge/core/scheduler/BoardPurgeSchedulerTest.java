@@ -0,0 +1,71 @@
+package kr.co.moneybridge.core.scheduler;
+
+import kr.co.moneybridge.service.BoardPurgeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BoardPurgeSchedulerTest {
+    @InjectMocks
+    private BoardPurgeScheduler boardPurgeScheduler;
+    @Mock
+    private BoardPurgeService boardPurgeService;
+
+    @Test
+    @DisplayName("삭제 대기 컨텐츠를 묶음 단위로 정리")
+    void purge() {
+        List<Long> full = LongStream.rangeClosed(1, BoardPurgeService.CHUNK_SIZE).boxed().collect(Collectors.toList());
+        List<Long> rest = Arrays.asList(201L, 202L);
+        when(boardPurgeService.findPurgeTargets(0L)).thenReturn(full);
+        when(boardPurgeService.findPurgeTargets((long) BoardPurgeService.CHUNK_SIZE)).thenReturn(rest);
+
+        boardPurgeScheduler.purge();
+
+        verify(boardPurgeService, times(2)).purge(any());
+        verify(boardPurgeService).recordPurged(full);
+        verify(boardPurgeService).recordPurged(rest);
+    }
+
+    @Test
+    @DisplayName("묶음이 실패하면 한 건씩 재시도해서 실패한 컨텐츠만 기록")
+    void purge_retry_one_by_one() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(boardPurgeService.findPurgeTargets(0L)).thenReturn(ids);
+        doThrow(new DataIntegrityViolationException("fk")).when(boardPurgeService).purge(ids);
+        doNothing().when(boardPurgeService).purge(Collections.singletonList(1L));
+        doThrow(new DataIntegrityViolationException("fk")).when(boardPurgeService).purge(Collections.singletonList(2L));
+
+        boardPurgeScheduler.purge();
+
+        verify(boardPurgeService).recordPurged(Collections.singletonList(1L));
+        verify(boardPurgeService).recordFailure(eq(2L), any(DataIntegrityViolationException.class));
+    }
+
+    @Test
+    @DisplayName("재시도 한도를 넘긴 컨텐츠는 건너뜀")
+    void purge_skip_given_up() {
+        when(boardPurgeService.findPurgeTargets(0L)).thenReturn(Arrays.asList(1L));
+        when(boardPurgeService.isGivenUp(1L)).thenReturn(true);
+
+        boardPurgeScheduler.purge();
+
+        verify(boardPurgeService, never()).purge(any());
+        verify(boardPurgeService, never()).recordFailure(anyLong(), any());
+    }
+}
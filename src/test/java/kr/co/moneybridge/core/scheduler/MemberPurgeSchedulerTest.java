@@ -0,0 +1,51 @@
+package kr.co.moneybridge.core.scheduler;
+
+import kr.co.moneybridge.service.MemberPurgeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MemberPurgeSchedulerTest {
+    @InjectMocks
+    private MemberPurgeScheduler memberPurgeScheduler;
+    @Mock
+    private MemberPurgeService memberPurgeService;
+
+    @Test
+    @DisplayName("작업마다 남은 단계가 없을 때까지 묶음을 반복")
+    void purge() {
+        when(memberPurgeService.findRunnable()).thenReturn(Arrays.asList(1L, 2L));
+        when(memberPurgeService.runStep(1L)).thenReturn(true, true, false);
+        when(memberPurgeService.runStep(2L)).thenReturn(false);
+
+        memberPurgeScheduler.purge();
+
+        verify(memberPurgeService, times(3)).runStep(1L);
+        verify(memberPurgeService, times(1)).runStep(2L);
+        verify(memberPurgeService, never()).recordFailure(any(), any());
+    }
+
+    @Test
+    @DisplayName("실패한 작업은 기록하고 다음 작업으로 넘어감")
+    void purge_failure() {
+        when(memberPurgeService.findRunnable()).thenReturn(Arrays.asList(1L, 2L));
+        when(memberPurgeService.runStep(1L)).thenThrow(new DataIntegrityViolationException("fk"));
+        when(memberPurgeService.runStep(2L)).thenReturn(false);
+
+        memberPurgeScheduler.purge();
+
+        verify(memberPurgeService).recordFailure(eq(1L), any(DataIntegrityViolationException.class));
+        verify(memberPurgeService, times(1)).runStep(2L);
+    }
+}
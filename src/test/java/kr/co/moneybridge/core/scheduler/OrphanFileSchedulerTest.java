@@ -0,0 +1,49 @@
+package kr.co.moneybridge.core.scheduler;
+
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.BlobPage;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.service.StorageDeletionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OrphanFileSchedulerTest {
+    @InjectMocks
+    private OrphanFileScheduler orphanFileScheduler;
+    @Mock
+    private StorageDeletionService storageDeletionService;
+    @Mock
+    private BlobStore blobStore;
+
+    @Test
+    @DisplayName("저장소 목록을 다음 페이지가 없을 때까지 페이지마다 수거")
+    void collect() {
+        BlobPage first = page("profile/a.png", "next");
+        BlobPage last = page("profile/b.png", null);
+        when(blobStore.listObjects(isNull())).thenReturn(first);
+        when(blobStore.listObjects("next")).thenReturn(last);
+
+        orphanFileScheduler.collect();
+
+        verify(storageDeletionService).collectOrphans(eq(first.getItems()), any());
+        verify(storageDeletionService).collectOrphans(eq(last.getItems()), any());
+        verify(blobStore, times(2)).listObjects(any());
+    }
+
+    private BlobPage page(String key, String nextToken) {
+        return new BlobPage(Collections.singletonList(new BlobInfo(key, 1L, null, new Date())), nextToken);
+    }
+}
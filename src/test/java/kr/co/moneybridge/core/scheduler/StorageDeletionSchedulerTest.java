@@ -0,0 +1,77 @@
+package kr.co.moneybridge.core.scheduler;
+
+import com.amazonaws.SdkClientException;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.model.StorageDeletion;
+import kr.co.moneybridge.service.StorageDeletionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StorageDeletionSchedulerTest {
+    @InjectMocks
+    private StorageDeletionScheduler storageDeletionScheduler;
+    @Mock
+    private StorageDeletionService storageDeletionService;
+    @Mock
+    private BlobStore blobStore;
+
+    @Test
+    @DisplayName("삭제 대기 파일을 1000개씩 다건 삭제 요청으로 지움")
+    void delete() {
+        List<StorageDeletion> full = LongStream.rangeClosed(1, StorageDeletionService.BATCH_SIZE)
+                .mapToObj(id -> deletion(id, "profile/" + id + ".png")).collect(Collectors.toList());
+        List<StorageDeletion> rest = Collections.singletonList(deletion(1001L, "thumbnail/a.png"));
+        when(storageDeletionService.findBatch(0L)).thenReturn(full);
+        when(storageDeletionService.findBatch((long) StorageDeletionService.BATCH_SIZE)).thenReturn(rest);
+        when(blobStore.deleteObjects(any())).thenReturn(Collections.emptyMap());
+
+        storageDeletionScheduler.delete();
+
+        verify(blobStore, times(2)).deleteObjects(any());
+        verify(storageDeletionService).complete(full, Collections.emptyMap());
+        verify(storageDeletionService).complete(rest, Collections.emptyMap());
+    }
+
+    @Test
+    @DisplayName("요청 자체가 실패하면 묶음 전체를 실패로 남김")
+    void delete_request_failed() {
+        List<StorageDeletion> batch = Arrays.asList(deletion(1L, "profile/a.png"), deletion(2L, "profile/b.png"));
+        when(storageDeletionService.findBatch(0L)).thenReturn(batch);
+        when(blobStore.deleteObjects(any())).thenThrow(new SdkClientException("timeout"));
+
+        storageDeletionScheduler.delete();
+
+        Map<String, String> failed = new HashMap<>();
+        failed.put("profile/a.png", "timeout");
+        failed.put("profile/b.png", "timeout");
+        verify(storageDeletionService).complete(batch, failed);
+        verify(storageDeletionService, never()).findBatch(2L);
+    }
+
+    @Test
+    @DisplayName("대기 중인 파일이 없으면 요청 안 함")
+    void delete_empty() {
+        when(storageDeletionService.findBatch(anyLong())).thenReturn(Collections.emptyList());
+
+        storageDeletionScheduler.delete();
+
+        verifyNoInteractions(blobStore);
+    }
+
+    private StorageDeletion deletion(Long id, String key) {
+        return StorageDeletion.builder().id(id).objectKey(key).attempts(0).build();
+    }
+}
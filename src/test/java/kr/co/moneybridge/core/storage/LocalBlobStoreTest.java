@@ -0,0 +1,165 @@
+package kr.co.moneybridge.core.storage;
+
+import kr.co.moneybridge.core.exception.Exception400;
+import kr.co.moneybridge.core.exception.Exception500;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LocalBlobStoreTest {
+    private static final String BASE_URL = "http://localhost:8000/blob";
+
+    @TempDir
+    Path root;
+    private LocalBlobStore localBlobStore;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        localBlobStore = new LocalBlobStore();
+        ReflectionTestUtils.setField(localBlobStore, "root", root.toString());
+        ReflectionTestUtils.setField(localBlobStore, "baseUrl", BASE_URL);
+        ReflectionTestUtils.setField(localBlobStore, "secret", "secret");
+        localBlobStore.init();
+    }
+
+    @Test
+    @DisplayName("스트림을 키 경로에 저장하고 형식/크기를 돌려줌, 임시 파일은 남지 않음")
+    void upload() throws Exception {
+        byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+
+        String url = localBlobStore.upload(new ByteArrayInputStream(data), data.length, "portfolio/uuid_a.pdf", "application/pdf");
+
+        assertThat(url).isEqualTo(BASE_URL + "/portfolio/uuid_a.pdf");
+        assertThat(Files.readAllBytes(root.resolve("portfolio/uuid_a.pdf"))).isEqualTo(data);
+        BlobInfo info = localBlobStore.getMetadata("portfolio/uuid_a.pdf");
+        assertThat(info.getSize()).isEqualTo(5L);
+        assertThat(info.getContentType()).isIn("application/pdf", "application/octet-stream");
+        assertThat(Files.list(root.resolve("portfolio")).count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("받은 크기가 알려준 크기와 다르면 저장하지 않음")
+    void upload_size_mismatch() {
+        byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> localBlobStore.upload(new ByteArrayInputStream(data), 10, "portfolio/a.pdf", "application/pdf"))
+                .isInstanceOf(Exception500.class);
+        assertThatThrownBy(() -> localBlobStore.upload(new ByteArrayInputStream(data), 3, "portfolio/a.pdf", "application/pdf"))
+                .isInstanceOf(Exception500.class);
+        assertThat(localBlobStore.getMetadata("portfolio/a.pdf")).isNull();
+    }
+
+    @Test
+    @DisplayName("루트 밖을 가리키는 키는 거절")
+    void resolve_outside_root() {
+        assertThatThrownBy(() -> localBlobStore.getMetadata("../a.png")).isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> localBlobStore.upload(new byte[1], "profile/../../a.png", "image/png")).isInstanceOf(Exception400.class);
+    }
+
+    @Test
+    @DisplayName("루트 안이라도 정규화하면 달라지는 키는 거절")
+    void resolve_not_normalized() {
+        assertThatThrownBy(() -> localBlobStore.upload(new byte[1], "x/../default/a.png", "image/png")).isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> localBlobStore.upload(new byte[1], "profile/./a.png", "image/png")).isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> localBlobStore.upload(new byte[1], "profile//a.png", "image/png")).isInstanceOf(Exception400.class);
+        assertThat(Files.exists(root.resolve("default/a.png"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("새 키는 원래 파일명의 경로 구분자/.. 를 지워서 폴더 바로 아래에 만듦")
+    void newKey() {
+        String key = localBlobStore.newKey("profile", "x/../../default/a.png");
+
+        assertThat(key).startsWith("profile/");
+        assertThat(key.indexOf('/', "profile/".length())).isEqualTo(-1);
+        assertThat(key).doesNotContain("..");
+        assertThat(key).endsWith("_x_____default_a.png");
+        assertThat(localBlobStore.newKey("profile", null)).endsWith("_file");
+    }
+
+    @Test
+    @DisplayName("복사, 내려받기, 다건 삭제(없는 키도 성공)")
+    void copy_download_delete() throws Exception {
+        localBlobStore.upload("abc".getBytes(StandardCharsets.UTF_8), "upload/portfolio/uuid_a.pdf", "application/pdf");
+
+        String url = localBlobStore.copy("upload/portfolio/uuid_a.pdf", "portfolio/uuid_a.pdf");
+        File file = File.createTempFile("blob-", null);
+        localBlobStore.download("portfolio/uuid_a.pdf", file);
+
+        assertThat(url).isEqualTo(BASE_URL + "/portfolio/uuid_a.pdf");
+        assertThat(Files.readString(file.toPath())).isEqualTo("abc");
+        assertThat(localBlobStore.deleteObjects(Arrays.asList("upload/portfolio/uuid_a.pdf", "portfolio/none.pdf"))).isEmpty();
+        assertThat(localBlobStore.getMetadata("upload/portfolio/uuid_a.pdf")).isNull();
+        file.delete();
+    }
+
+    @Test
+    @DisplayName("키 순서로 1000개씩 페이지 조회")
+    void listObjects() {
+        IntStream.range(0, 1001).forEach(i -> localBlobStore.upload(new byte[1], String.format("profile/%04d.png", i), "image/png"));
+
+        BlobPage first = localBlobStore.listObjects(null);
+        BlobPage last = localBlobStore.listObjects(first.getNextToken());
+
+        assertThat(first.getItems()).hasSize(1000);
+        assertThat(first.getItems().get(0).getKey()).isEqualTo("profile/0000.png");
+        assertThat(first.getNextToken()).isEqualTo("profile/0999.png");
+        List<String> lastKeys = last.getItems().stream().map(BlobInfo::getKey).collect(Collectors.toList());
+        assertThat(lastKeys).containsExactly("profile/1000.png");
+        assertThat(last.getNextToken()).isNull();
+    }
+
+    @Test
+    @DisplayName("여러 폴더에 걸쳐도 키 문자열 순서 그대로, 토큰 이후만")
+    void listObjects_nested() {
+        List<String> keys = Arrays.asList("a.txt", "a/b/c.png", "a/b.png", "a0.png", "profile/x.png", "upload/profile/y.png");
+        keys.forEach(key -> localBlobStore.upload(new byte[1], key, "image/png"));
+
+        List<String> all = localBlobStore.listObjects(null).getItems().stream().map(BlobInfo::getKey).collect(Collectors.toList());
+        List<String> after = localBlobStore.listObjects("a/b/c.png").getItems().stream().map(BlobInfo::getKey).collect(Collectors.toList());
+
+        assertThat(all).isEqualTo(keys.stream().sorted().collect(Collectors.toList()));
+        assertThat(after).containsExactly("a0.png", "profile/x.png", "upload/profile/y.png");
+    }
+
+    @Test
+    @DisplayName("url <-> 키, 디폴트 폴더나 외부 url은 null")
+    void toKey() {
+        assertThat(localBlobStore.toKey(BASE_URL + "/profile/a.png")).isEqualTo("profile/a.png");
+        assertThat(localBlobStore.toKey(BASE_URL + "/default/profile.svg")).isNull();
+        assertThat(localBlobStore.toKey("https://d2ky5wm6akosox.cloudfront.net/profile/a.png")).isNull();
+    }
+
+    @Test
+    @DisplayName("발급한 PUT url만 통과 - 형식/크기/키가 다르거나 만료되면 거절")
+    void presignPut() {
+        Date expiration = new Date(System.currentTimeMillis() + 600_000);
+        URL url = localBlobStore.presignPut("upload/profile/uuid_a.png", "image/png", 1024L, expiration);
+        long expires = expiration.getTime() / 1000;
+        String signature = url.getQuery().substring(url.getQuery().indexOf("signature=") + "signature=".length());
+
+        assertThat(url.toString()).startsWith(BASE_URL + "/upload/profile/uuid_a.png?size=1024&expires=" + expires);
+        assertThat(localBlobStore.verifyPut("upload/profile/uuid_a.png", "image/png", 1024L, expires, signature)).isTrue();
+        assertThat(localBlobStore.verifyPut("upload/profile/uuid_a.png", "image/gif", 1024L, expires, signature)).isFalse();
+        assertThat(localBlobStore.verifyPut("upload/profile/uuid_a.png", "image/png", 2048L, expires, signature)).isFalse();
+        assertThat(localBlobStore.verifyPut("upload/profile/uuid_b.png", "image/png", 1024L, expires, signature)).isFalse();
+        assertThat(localBlobStore.verifyPut("upload/profile/uuid_a.png", "image/png", 1024L, 1L, signature)).isFalse();
+    }
+}
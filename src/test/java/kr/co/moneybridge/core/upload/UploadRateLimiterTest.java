@@ -0,0 +1,42 @@
+package kr.co.moneybridge.core.upload;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UploadRateLimiterTest {
+    private UploadRateLimiter uploadRateLimiter;
+
+    @BeforeEach
+    public void setUp() {
+        uploadRateLimiter = new UploadRateLimiter();
+        ReflectionTestUtils.setField(uploadRateLimiter, "limit", 3);
+        ReflectionTestUtils.setField(uploadRateLimiter, "windowMillis", 60_000L);
+    }
+
+    @Test
+    @DisplayName("IP마다 창 안에서 한도까지만 허용")
+    void tryAcquire() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(uploadRateLimiter.tryAcquire("10.0.0.1")).isTrue();
+        }
+        assertThat(uploadRateLimiter.tryAcquire("10.0.0.1")).isFalse();
+        assertThat(uploadRateLimiter.tryAcquire("10.0.0.2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("창이 끝나면 다시 허용하고, 끝난 창은 지움")
+    void window() {
+        ReflectionTestUtils.setField(uploadRateLimiter, "windowMillis", 0L);
+        for (int i = 0; i < 5; i++) {
+            assertThat(uploadRateLimiter.tryAcquire("10.0.0.1")).isTrue();
+        }
+
+        uploadRateLimiter.evictExpired();
+
+        assertThat(uploadRateLimiter.size()).isZero();
+    }
+}
@@ -0,0 +1,37 @@
+package kr.co.moneybridge.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MyCompressUtilTest {
+
+    @Test
+    public void deflate_inflate_test() {
+        // given
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            sb.append("<p>채권 투자 입문 ").append(i).append("편</p>");
+        }
+        String html = sb.toString();
+
+        // when
+        byte[] data = MyCompressUtil.deflate(html);
+
+        // then
+        assertThat(data.length).isLessThan(html.getBytes().length / 4);
+        assertThat(MyCompressUtil.inflate(data)).isEqualTo(html);
+        assertThat(MyCompressUtil.inflate(MyCompressUtil.deflate(""))).isEmpty();
+    }
+
+    @Test
+    public void inflate_broken_test() {
+        byte[] data = MyCompressUtil.deflate("<p>내용</p>");
+
+        assertThatThrownBy(() -> MyCompressUtil.inflate(Arrays.copyOf(data, data.length / 2)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,38 @@
+package kr.co.moneybridge.core.util;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MyGeoUtilTest {
+
+    @Test
+    public void distance_test() {
+        // given 서울역 - 부산역
+        double seoulLat = 37.5547, seoulLon = 126.9707;
+        double busanLat = 35.1151, busanLon = 129.0422;
+
+        // when
+        double distance = MyGeoUtil.distance(seoulLat, seoulLon, busanLat, busanLon);
+
+        // then
+        assertThat(distance).isCloseTo(325.0, Offset.offset(5.0));
+        assertThat(MyGeoUtil.distance(seoulLat, seoulLon, seoulLat, seoulLon)).isZero();
+    }
+
+    @Test
+    public void boundingBox_test() {
+        // given
+        double latitude = 37.5326, longitude = 126.9246, radius = 10;
+
+        // when
+        double[] box = MyGeoUtil.boundingBox(latitude, longitude, radius);
+
+        // then 사각형 경계의 동서남북 점은 모두 반경 이상 떨어져 있어야 원을 다 덮음
+        assertThat(MyGeoUtil.distance(latitude, longitude, box[0], longitude)).isGreaterThanOrEqualTo(radius - 1e-9);
+        assertThat(MyGeoUtil.distance(latitude, longitude, box[1], longitude)).isGreaterThanOrEqualTo(radius - 1e-9);
+        assertThat(MyGeoUtil.distance(latitude, longitude, latitude, box[2])).isGreaterThanOrEqualTo(radius - 1e-9);
+        assertThat(MyGeoUtil.distance(latitude, longitude, latitude, box[3])).isGreaterThanOrEqualTo(radius - 1e-9);
+    }
+}
@@ -0,0 +1,39 @@
+package kr.co.moneybridge.core.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MyHangulUtilTest {
+
+    @Test
+    @DisplayName("음절을 자모로 풀어씀")
+    void decompose() {
+        assertThat(MyHangulUtil.decompose("김피비")).isEqualTo("ㄱㅣㅁㅍㅣㅂㅣ");
+        assertThat(MyHangulUtil.decompose("pb")).isEqualTo("pb");
+    }
+
+    @Test
+    @DisplayName("겹모음/겹받침은 입력 순서대로 풀어서 입력 중인 글자가 접두어가 됨")
+    void decompose_compound() {
+        assertThat(MyHangulUtil.decompose("관")).isEqualTo("ㄱㅗㅏㄴ");
+        assertThat(MyHangulUtil.decompose("관")).startsWith(MyHangulUtil.decompose("고"));
+        assertThat(MyHangulUtil.decompose("닭")).isEqualTo("ㄷㅏㄹㄱ");
+        assertThat(MyHangulUtil.decompose("ㅘ")).isEqualTo("ㅗㅏ");
+        assertThat(MyHangulUtil.decompose("김피")).startsWith(MyHangulUtil.decompose("김ㅍ"));
+    }
+
+    @Test
+    void normalize() {
+        assertThat(MyHangulUtil.normalize(" 김 PB ")).isEqualTo("김pb");
+        assertThat(MyHangulUtil.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void bigrams() {
+        assertThat(MyHangulUtil.bigrams("김피비")).containsExactly("김피", "피비");
+        assertThat(MyHangulUtil.bigrams("김")).containsExactly("김");
+        assertThat(MyHangulUtil.bigrams("")).isEmpty();
+    }
+}
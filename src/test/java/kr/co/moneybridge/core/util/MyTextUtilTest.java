@@ -0,0 +1,37 @@
+package kr.co.moneybridge.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MyTextUtilTest {
+
+    @Test
+    public void stripHtml_test() {
+        // given
+        String html = "<p>채권&nbsp;투자 <b>입문</b></p><img src=\"a.png\">&lt;1편&gt; &#50504;&#xB155;";
+
+        // when
+        String text = MyTextUtil.stripHtml(html);
+
+        // then
+        assertThat(text).doesNotContain("<p>", "<b>", "src", "&nbsp;");
+        assertThat(text).contains("채권 투자", "입문", "<1편>", "안녕");
+    }
+
+    @Test
+    public void excerpt_test() {
+        assertThat(MyTextUtil.excerpt("<p>채권&nbsp;&nbsp;투자</p>\n<p>입문</p>", 20)).isEqualTo("채권 투자 입문");
+        assertThat(MyTextUtil.excerpt("<p>가나다라마바사</p>", 5)).isEqualTo("가나다라…");
+        assertThat(MyTextUtil.excerpt(null, 5)).isEmpty();
+    }
+
+    @Test
+    public void tokenize_test() {
+        assertThat(MyTextUtil.tokenize("미국주식 ETF 2023")).containsExactly("미국", "국주", "주식", "etf", "2023");
+        assertThat(MyTextUtil.tokenize("제목1입니다")).containsExactly("제목", "1", "입니", "니다");
+        assertThat(MyTextUtil.tokenize("펀드, 펀드")).containsExactly("펀드", "펀드");
+        assertThat(MyTextUtil.tokenize("김 !")).containsExactly("김");
+        assertThat(MyTextUtil.tokenize(null)).isEmpty();
+    }
+}
@@ -0,0 +1,223 @@
+package kr.co.moneybridge.core.util;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.*;
+import kr.co.moneybridge.core.exception.Exception500;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class S3UtilTest {
+    private static final String DOMAIN = "https://d2ky5wm6akosox.cloudfront.net";
+
+    private final S3Util s3Util = new S3Util();
+    @Mock
+    private AmazonS3 s3Client;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(s3Util, "s3Client", s3Client);
+        ReflectionTestUtils.setField(s3Util, "bucket", "money-bridge");
+    }
+
+    @Test
+    @DisplayName("url -> 키, 디폴트 폴더나 외부 url은 null")
+    void toKey() {
+        assertThat(s3Util.toKey(DOMAIN + "/profile/a.png")).isEqualTo("profile/a.png");
+        assertThat(s3Util.toKey(DOMAIN + "/default/profile.svg")).isNull();
+        assertThat(s3Util.toKey("https://other.net/profile/a.png")).isNull();
+        assertThat(s3Util.toKey(null)).isNull();
+        assertThat(s3Util.toUrl("profile/a.png")).isEqualTo(DOMAIN + "/profile/a.png");
+    }
+
+    @Test
+    @DisplayName("로컬 S3 호환 서버로 형식/크기가 서명된 PUT url 발급 (서명은 로컬 계산이라 서버 없이도 됨)")
+    void presignPut() {
+        // given
+        S3Util local = new S3Util();
+        ReflectionTestUtils.setField(local, "accessKey", "test");
+        ReflectionTestUtils.setField(local, "secretKey", "test");
+        ReflectionTestUtils.setField(local, "bucket", "money-bridge");
+        ReflectionTestUtils.setField(local, "region", "ap-northeast-2");
+        ReflectionTestUtils.setField(local, "endpoint", "http://localhost:9000");
+        local.setS3Client();
+
+        // when
+        URL url = local.presignPut("upload/profile/uuid_a.png", "image/png", 1024L, new Date(System.currentTimeMillis() + 600_000));
+
+        // then
+        assertThat(url.getHost()).isEqualTo("localhost");
+        assertThat(url.getPath()).isEqualTo("/money-bridge/upload/profile/uuid_a.png");
+        assertThat(url.getQuery()).contains("X-Amz-Signature=").contains("content-length").contains("content-type");
+        local.shutdown();
+    }
+
+    @Test
+    @DisplayName("없는 파일의 메타데이터는 null")
+    void getMetadata_not_found() {
+        AmazonS3Exception notFound = new AmazonS3Exception("Not Found");
+        notFound.setStatusCode(404);
+        when(s3Client.getObjectMetadata("money-bridge", "upload/profile/none.png")).thenThrow(notFound);
+
+        assertThat(s3Util.getMetadata("upload/profile/none.png")).isNull();
+    }
+
+    @Test
+    @DisplayName("버킷 안에서 공개 읽기로 복사")
+    void copy() {
+        String url = s3Util.copy("upload/portfolio/uuid_a.pdf", "portfolio/uuid_a.pdf");
+
+        verify(s3Client).copyObject(argThat((CopyObjectRequest request) ->
+                request.getSourceKey().equals("upload/portfolio/uuid_a.pdf")
+                        && request.getDestinationKey().equals("portfolio/uuid_a.pdf")
+                        && request.getCannedAccessControlList() == CannedAccessControlList.PublicRead));
+        assertThat(url).isEqualTo(DOMAIN + "/portfolio/uuid_a.pdf");
+    }
+
+    @Test
+    @DisplayName("1000개씩 나눠 다건 삭제하고 실패한 키와 사유를 돌려줌")
+    void deleteObjects() {
+        // given
+        List<String> keys = IntStream.range(0, 1500).mapToObj(i -> "profile/" + i + ".png").collect(Collectors.toList());
+        MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+        error.setKey("profile/1200.png");
+        error.setCode("AccessDenied");
+        error.setMessage("Access Denied");
+        when(s3Client.deleteObjects(any(DeleteObjectsRequest.class)))
+                .thenReturn(null)
+                .thenThrow(new MultiObjectDeleteException(Collections.singletonList(error), Collections.emptyList()));
+
+        // when
+        Map<String, String> failed = s3Util.deleteObjects(keys);
+
+        // then
+        verify(s3Client).deleteObjects(argThat((DeleteObjectsRequest request) -> request.getKeys().size() == 1000));
+        verify(s3Client).deleteObjects(argThat((DeleteObjectsRequest request) -> request.getKeys().size() == 500));
+        assertThat(failed).containsOnlyKeys("profile/1200.png");
+        assertThat(failed.get("profile/1200.png")).isEqualTo("AccessDenied Access Denied");
+    }
+
+    @Test
+    @DisplayName("첫 페이지 너머까지 훑어서 suffix로 끝나는 가장 최근 파일 삭제")
+    void deleteLatestFileWithSuffixFromS3Bucket() {
+        // given
+        ListObjectsV2Result first = new ListObjectsV2Result();
+        first.getObjectSummaries().add(object("business-card/old_businessCard.png", 1L));
+        first.getObjectSummaries().add(object("profile/a.png", 3L));
+        first.setTruncated(true);
+        first.setNextContinuationToken("next");
+        ListObjectsV2Result last = new ListObjectsV2Result();
+        last.getObjectSummaries().add(object("business-card/new_businessCard.png", 2L));
+        when(s3Client.listObjectsV2(any(ListObjectsV2Request.class))).thenReturn(first, last);
+
+        // when
+        s3Util.deleteLatestFileWithSuffixFromS3Bucket("_businessCard.png");
+
+        // then
+        verify(s3Client).deleteObject(argThat((DeleteObjectRequest request) ->
+                request.getKey().equals("business-card/new_businessCard.png")));
+    }
+
+    @Test
+    @DisplayName("조각 크기 이하는 한 번에 업로드")
+    void upload_small() {
+        byte[] data = new byte[1024];
+
+        String url = s3Util.upload(new ByteArrayInputStream(data), data.length, "portfolio/a.pdf", "application/pdf");
+
+        assertThat(url).isEqualTo(DOMAIN + "/portfolio/a.pdf");
+        verify(s3Client).putObject(any(PutObjectRequest.class));
+        verify(s3Client, never()).initiateMultipartUpload(any());
+    }
+
+    @Test
+    @DisplayName("큰 파일은 조각마다 MD5를 붙여 멀티파트로 올리고 완료")
+    void upload_multipart() {
+        // given
+        int size = S3Util.PART_SIZE * 2 + 1000;
+        byte[] data = new byte[size];
+        new Random(1).nextBytes(data);
+        stubMultipart();
+        when(s3Client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> partResult(invocation.getArgument(0)));
+
+        // when
+        String url = s3Util.upload(new ByteArrayInputStream(data), size, "portfolio/a.xlsx", "application/vnd.ms-excel");
+
+        // then
+        assertThat(url).isEqualTo(DOMAIN + "/portfolio/a.xlsx");
+        ArgumentCaptor<UploadPartRequest> parts = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(3)).uploadPart(parts.capture());
+        assertThat(parts.getAllValues()).extracting(UploadPartRequest::getPartSize)
+                .containsExactlyInAnyOrder((long) S3Util.PART_SIZE, (long) S3Util.PART_SIZE, 1000L);
+        assertThat(parts.getAllValues()).allMatch(part -> part.getMd5Digest() != null && part.getUploadId().equals("upload-1"));
+        verify(s3Client).completeMultipartUpload(argThat((CompleteMultipartUploadRequest request) ->
+                request.getPartETags().stream().map(PartETag::getPartNumber).collect(Collectors.toList()).equals(List.of(1, 2, 3))));
+        verify(s3Client, never()).abortMultipartUpload(any());
+        assertThat(availableBuffers()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("조각이 실패하면 업로드를 취소하고 버퍼를 모두 돌려줌")
+    void upload_multipart_abort() {
+        // given
+        int size = S3Util.PART_SIZE * 3;
+        stubMultipart();
+        when(s3Client.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgument(0);
+            if (request.getPartNumber() == 2) throw new AmazonS3Exception("BadDigest");
+            return partResult(request);
+        });
+
+        // when
+        assertThatThrownBy(() -> s3Util.upload(new ByteArrayInputStream(new byte[size]), size, "portfolio/a.xlsx", "application/vnd.ms-excel"))
+                .isInstanceOf(Exception500.class);
+
+        // then
+        verify(s3Client).abortMultipartUpload(argThat((AbortMultipartUploadRequest request) -> request.getUploadId().equals("upload-1")));
+        verify(s3Client, never()).completeMultipartUpload(any());
+        assertThat(availableBuffers()).isEqualTo(4);
+    }
+
+    private void stubMultipart() {
+        InitiateMultipartUploadResult initiated = new InitiateMultipartUploadResult();
+        initiated.setUploadId("upload-1");
+        when(s3Client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initiated);
+    }
+
+    private UploadPartResult partResult(UploadPartRequest request) {
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(request.getPartNumber());
+        result.setETag("etag-" + request.getPartNumber());
+        return result;
+    }
+
+    private int availableBuffers() {
+        return ((Semaphore) ReflectionTestUtils.getField(s3Util, "partPermits")).availablePermits();
+    }
+
+    private S3ObjectSummary object(String key, long lastModified) {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setKey(key);
+        summary.setLastModified(new Date(lastModified));
+        return summary;
+    }
+}
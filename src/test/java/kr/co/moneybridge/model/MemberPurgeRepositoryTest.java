@@ -0,0 +1,75 @@
+package kr.co.moneybridge.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ActiveProfiles("test")
+@DataJpaTest
+public class MemberPurgeRepositoryTest {
+    @Autowired
+    private MemberPurgeRepository memberPurgeRepository;
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    public void setUp() {
+        em.createNativeQuery("ALTER TABLE member_purge_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        memberPurgeRepository.save(MemberPurge.of(1L, Role.USER));
+        MemberPurge stuck = memberPurgeRepository.save(MemberPurge.of(1L, Role.PB));
+        for (int i = 0; i < 5; i++) {
+            stuck.fail("fk");
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void findRunnableIds() {
+        // when
+        List<Long> ids = memberPurgeRepository.findRunnableIds(5);
+
+        // then
+        assertThat(ids).containsExactly(1L);
+    }
+
+    @Test
+    public void existsByMemberIdAndRole() {
+        assertThat(memberPurgeRepository.existsByMemberIdAndRole(1L, Role.USER)).isTrue();
+        assertThat(memberPurgeRepository.existsByMemberIdAndRole(2L, Role.USER)).isFalse();
+    }
+
+    @Test
+    public void advance() {
+        // given
+        MemberPurge purgePS = memberPurgeRepository.findByMemberIdAndRole(1L, Role.PB).get();
+
+        // when
+        purgePS.advance();
+        em.flush();
+        em.clear();
+
+        // then
+        MemberPurge advanced = memberPurgeRepository.findById(purgePS.getId()).get();
+        assertThat(advanced.getStep()).isEqualTo(MemberPurgeStep.RESERVATIONS);
+        assertThat(advanced.getAttempts()).isEqualTo(0);
+        assertThat(advanced.getLastError()).isNull();
+    }
+
+    @Test
+    public void unique_member() {
+        assertThatThrownBy(() -> {
+            memberPurgeRepository.save(MemberPurge.of(1L, Role.USER));
+            em.flush();
+        }).isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package kr.co.moneybridge.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@DataJpaTest
+public class StorageDeletionRepositoryTest {
+    @Autowired
+    private StorageDeletionRepository storageDeletionRepository;
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    public void setUp() {
+        em.createNativeQuery("ALTER TABLE storage_deletion_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        storageDeletionRepository.save(StorageDeletion.of("profile/a.png"));
+        StorageDeletion stuck = storageDeletionRepository.save(StorageDeletion.of("profile/b.png"));
+        for (int i = 0; i < 5; i++) {
+            stuck.fail("AccessDenied");
+        }
+        storageDeletionRepository.save(StorageDeletion.of("thumbnail/c.png"));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void findRunnableAfterId() {
+        // when
+        List<StorageDeletion> batch = storageDeletionRepository.findRunnableAfterId(0L, 5, PageRequest.of(0, 10));
+        List<StorageDeletion> next = storageDeletionRepository.findRunnableAfterId(1L, 5, PageRequest.of(0, 10));
+
+        // then
+        assertThat(batch.stream().map(StorageDeletion::getObjectKey).collect(Collectors.toList()))
+                .containsExactly("profile/a.png", "thumbnail/c.png");
+        assertThat(next).extracting(StorageDeletion::getId).containsExactly(3L);
+    }
+
+    @Test
+    public void findObjectKeysIn() {
+        // when
+        List<String> keys = storageDeletionRepository.findObjectKeysIn(Arrays.asList("profile/a.png", "profile/z.png"));
+
+        // then
+        assertThat(keys).containsExactly("profile/a.png");
+    }
+
+    @Test
+    public void fail() {
+        // when
+        StorageDeletion stuck = storageDeletionRepository.findById(2L).get();
+
+        // then
+        assertThat(stuck.getAttempts()).isEqualTo(5);
+        assertThat(stuck.getLastError()).isEqualTo("AccessDenied");
+    }
+}
@@ -0,0 +1,114 @@
+package kr.co.moneybridge.model.board;
+
+import kr.co.moneybridge.core.dummy.DummyEntity;
+import kr.co.moneybridge.model.pb.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(BCryptPasswordEncoder.class)
+@ActiveProfiles("test")
+@DataJpaTest
+public class BoardBodyRepositoryTest extends DummyEntity {
+    @Autowired
+    private BoardBodyRepository boardBodyRepository;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private PBRepository pbRepository;
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    public void setUp() {
+        em.createNativeQuery("ALTER TABLE board_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        em.createNativeQuery("ALTER TABLE company_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        em.createNativeQuery("ALTER TABLE branch_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        em.createNativeQuery("ALTER TABLE pb_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        Company c = companyRepository.save(newCompany("미래에셋증권"));
+        Branch b = branchRepository.save(newBranch(c, 0));
+        PB pb = pbRepository.save(newPB("김피비", b));
+        PB pb2 = pbRepository.save(newPB("김피비2", b));
+        Board board = boardRepository.save(newBoard("게시글", pb));
+        Board board2 = boardRepository.save(newTempBoard("게시글2", pb));
+        Board board3 = boardRepository.save(newBoard("게시글3", pb2));
+        boardBodyRepository.save(newBoardBody(board));
+        boardBodyRepository.save(newBoardBody(board2));
+        boardBodyRepository.save(newBoardBody(board3));
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void save_and_find() {
+        // when
+        Optional<BoardBody> boardBody = boardBodyRepository.findById(1L);
+
+        // then
+        assertThat(boardBody).isPresent();
+        assertThat(boardBody.get().getContent()).isEqualTo("<p>content 입니다</p>");
+        assertThat(boardBody.get().getContentHash()).hasSize(32);
+    }
+
+    @Test
+    public void modifyContent() {
+        // given
+        BoardBody boardBody = boardBodyRepository.findById(1L).get();
+        String oldHash = boardBody.getContentHash();
+
+        // when
+        boardBody.modifyContent("<p>수정된 본문</p>");
+        em.flush();
+        em.clear();
+
+        // then
+        BoardBody modified = boardBodyRepository.findById(1L).get();
+        assertThat(modified.getContent()).isEqualTo("<p>수정된 본문</p>");
+        assertThat(modified.getContentHash()).isNotEqualTo(oldHash);
+        assertThat(modified.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    public void findByBoardIdAndStatus() {
+        // when
+        Optional<BoardBody> active = boardBodyRepository.findByBoardIdAndStatus(1L, BoardStatus.ACTIVE);
+        Optional<BoardBody> temp = boardBodyRepository.findByBoardIdAndStatus(2L, BoardStatus.ACTIVE);
+
+        // then
+        assertThat(active).isPresent();
+        assertThat(temp).isEmpty();
+    }
+
+    @Test
+    public void deleteByBoardId() {
+        // when
+        boardBodyRepository.deleteByBoardId(1L);
+
+        // then
+        assertThat(boardBodyRepository.findById(1L)).isEmpty();
+        assertThat(boardBodyRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void deleteByPBId() {
+        // when
+        boardBodyRepository.deleteByPBId(1L);
+
+        // then
+        assertThat(boardBodyRepository.findAll()).extracting(BoardBody::getBoardId).containsExactly(3L);
+    }
+}
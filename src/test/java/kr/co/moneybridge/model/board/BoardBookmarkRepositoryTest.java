@@ -13,6 +13,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import javax.persistence.EntityManager;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -75,6 +76,17 @@ public class BoardBookmarkRepositoryTest extends DummyEntity {
         assertThat(count).isEqualTo(1);
     }
 
+    @Test
+    void findBoardIdsByBookmarker() {
+        //when
+        List<Long> boardIds = boardBookmarkRepository.findBoardIdsByBookmarker(1L, BookmarkerRole.USER);
+        List<Long> empty = boardBookmarkRepository.findBoardIdsByBookmarker(1L, BookmarkerRole.PB);
+
+        //then
+        assertThat(boardIds).containsExactly(1L);
+        assertThat(empty).isEmpty();
+    }
+
     @Test
     void findWithUserAndBoard() {
         //when
@@ -19,6 +19,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import javax.persistence.EntityManager;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +42,8 @@ public class BoardRepositoryTest extends DummyEntity {
     @Autowired
     private BoardBookmarkRepository boardBookmarkRepository;
     @Autowired
+    private BoardBodyRepository boardBodyRepository;
+    @Autowired
     private EntityManager em;
 
     @BeforeEach
@@ -58,6 +61,7 @@ public class BoardRepositoryTest extends DummyEntity {
         Board board = boardRepository.save(newBoard("게시글", pb));
         Board board2 = boardRepository.save(newBoard("게시글2", pb));
         Board board3 = boardRepository.save(newBoard("게시글3", pb2));
+        boardBodyRepository.save(newBoardBody(board));
         User user = userRepository.save(newUser("lee"));
         boardBookmarkRepository.save(newBoardBookmark(user, board));
 
@@ -89,6 +93,62 @@ public class BoardRepositoryTest extends DummyEntity {
         assertThat(board).isEmpty();
     }
 
+    @Test
+    void markDeleted() {
+        //given
+        Long id = 1L;
+
+        //when
+        int updated = boardRepository.markDeleted(id);
+        int again = boardRepository.markDeleted(id);
+        em.clear();
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(again).isEqualTo(0);
+        assertThat(boardRepository.findById(id)).isEmpty();
+        assertThat(boardRepository.findByIdAndPbId(id, 1L)).isEmpty();
+        assertThat(boardRepository.findBookmarkBoardsWithUserId(1L, PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(boardRepository.countByStatus(BoardStatus.DELETED)).isEqualTo(1L);
+    }
+
+    @Test
+    void findIdsByStatusAfterId() {
+        //given
+        boardRepository.markDeleted(1L);
+        boardRepository.markDeleted(3L);
+
+        //when
+        List<Long> first = boardRepository.findIdsByStatusAfterId(BoardStatus.DELETED, 0L, PageRequest.of(0, 1));
+        List<Long> next = boardRepository.findIdsByStatusAfterId(BoardStatus.DELETED, 1L, PageRequest.of(0, 1));
+
+        //then
+        assertThat(first).containsExactly(1L);
+        assertThat(next).containsExactly(3L);
+    }
+
+    @Test
+    void findIdsByPBIdAfterId() {
+        //when
+        List<Long> ids = boardRepository.findIdsByPBIdAfterId(1L, 0L, PageRequest.of(0, 10));
+
+        //then
+        assertThat(ids).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void deleteByIdIn() {
+        //given
+        List<String> thumbnails = boardRepository.findThumbnailsByIdIn(Arrays.asList(2L, 3L));
+
+        //when
+        boardRepository.deleteByIdIn(Arrays.asList(2L, 3L));
+
+        //then
+        assertThat(thumbnails).hasSize(2);
+        assertThat(boardRepository.findAll()).extracting(Board::getId).containsExactly(1L);
+    }
+
     @Test
     void findAllByPBId() {
         //given
@@ -129,23 +189,87 @@ public class BoardRepositoryTest extends DummyEntity {
     }
 
     @Test
-    void findByTitle() {
+    void findBoardPageByIdIn() {
         //when
-        Page<BoardResponse.BoardPageDTO> page = boardRepository.findBySearch("게시글", BoardStatus.ACTIVE, PageRequest.of(0, 2));
+        List<BoardResponse.BoardPageDTO> list = boardRepository.findBoardPageByIdIn(Arrays.asList(1L, 3L), BoardStatus.ACTIVE);
 
         //then
-        assertThat(page).isNotEmpty();
-        assertThat(page.getContent().get(0).getTitle()).contains("게시글");
+        assertThat(list).extracting(BoardResponse.BoardPageDTO::getId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(list).extracting(BoardResponse.BoardPageDTO::getTitle).contains("게시글");
     }
 
     @Test
-    void findByPbName() {
+    void findAllSearchDocuments() {
         //when
-        Page<BoardResponse.BoardPageDTO> page = boardRepository.findByPbName("김피비", BoardStatus.ACTIVE, PageRequest.of(0, 2));
+        List<BoardResponse.BoardSearchDTO> list = boardRepository.findAllSearchDocuments(BoardStatus.ACTIVE);
 
         //then
-        assertThat(page).isNotEmpty();
-        assertThat(page.getContent().get(0).getTitle()).contains("게시글");
+        assertThat(list).hasSize(3);
+        assertThat(list.get(0).getPbName()).isEqualTo("김피비");
+        // 본문이 있으면 본문, 없으면 요약
+        assertThat(list).filteredOn(dto -> dto.getId().equals(1L)).extracting(BoardResponse.BoardSearchDTO::getContent)
+                .containsExactly("<p>content 입니다</p>");
+        assertThat(list).filteredOn(dto -> dto.getId().equals(2L)).extracting(BoardResponse.BoardSearchDTO::getContent)
+                .containsExactly("content 입니다");
+    }
+
+    @Test
+    void findSearchDocumentById() {
+        //when
+        Optional<BoardResponse.BoardSearchDTO> active = boardRepository.findSearchDocumentById(1L, BoardStatus.ACTIVE);
+        Optional<BoardResponse.BoardSearchDTO> temp = boardRepository.findSearchDocumentById(1L, BoardStatus.TEMP);
+
+        //then
+        assertThat(active).isPresent();
+        assertThat(active.get().getTitle()).isEqualTo("게시글");
+        assertThat(temp).isEmpty();
+    }
+
+    @Test
+    void findSearchDocumentsByPBId() {
+        //when
+        List<BoardResponse.BoardSearchDTO> list = boardRepository.findSearchDocumentsByPBId(1L, BoardStatus.ACTIVE);
+
+        //then
+        assertThat(list).extracting(BoardResponse.BoardSearchDTO::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void findAllTrendDocuments() {
+        //when
+        List<BoardResponse.BoardTrendDTO> list = boardRepository.findAllTrendDocuments(BoardStatus.ACTIVE);
+
+        //then
+        assertThat(list).hasSize(3);
+        assertThat(list).filteredOn(dto -> dto.getId().equals(1L)).first()
+                .satisfies(dto -> {
+                    assertThat(dto.getBookmarkCount()).isEqualTo(1L);
+                    assertThat(dto.getClickCount()).isEqualTo(0L);
+                    assertThat(dto.getCreatedAt()).isNotNull();
+                });
+        assertThat(list).filteredOn(dto -> dto.getId().equals(3L)).first()
+                .satisfies(dto -> assertThat(dto.getBookmarkCount()).isEqualTo(0L));
+    }
+
+    @Test
+    void findTrendDocumentById() {
+        //when
+        Optional<BoardResponse.BoardTrendDTO> active = boardRepository.findTrendDocumentById(2L, BoardStatus.ACTIVE);
+        Optional<BoardResponse.BoardTrendDTO> temp = boardRepository.findTrendDocumentById(2L, BoardStatus.TEMP);
+
+        //then
+        assertThat(active).isPresent();
+        assertThat(active.get().getPbId()).isEqualTo(1L);
+        assertThat(temp).isEmpty();
+    }
+
+    @Test
+    void findTrendDocumentsByPBId() {
+        //when
+        List<BoardResponse.BoardTrendDTO> list = boardRepository.findTrendDocumentsByPBId(2L, BoardStatus.ACTIVE);
+
+        //then
+        assertThat(list).extracting(BoardResponse.BoardTrendDTO::getId).containsExactly(3L);
     }
 
     @Test
@@ -166,4 +290,49 @@ public class BoardRepositoryTest extends DummyEntity {
         //then
         assertThat(board).isPresent();
     }
+
+    @Test
+    void findPageBeforeId() {
+        //when
+        List<BoardResponse.BoardPageDTO> first = boardRepository.findPageBeforeId(BoardStatus.ACTIVE, Long.MAX_VALUE, PageRequest.of(0, 2));
+        List<BoardResponse.BoardPageDTO> next = boardRepository.findPageBeforeId(BoardStatus.ACTIVE, 2L, PageRequest.of(0, 2));
+
+        //then
+        assertThat(first).extracting(BoardResponse.BoardPageDTO::getId).containsExactly(3L, 2L);
+        assertThat(next).extracting(BoardResponse.BoardPageDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void findPBPageBeforeId() {
+        //when
+        List<BoardResponse.BoardPageDTO> list = boardRepository.findPBPageBeforeId(1L, Long.MAX_VALUE, PageRequest.of(0, 10));
+
+        //then
+        assertThat(list).extracting(BoardResponse.BoardPageDTO::getId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void findBookmarkPageBeforeId() {
+        //when
+        List<BoardResponse.BoardPageDTO> list = boardRepository.findBookmarkPageBeforeId(1L, BookmarkerRole.USER, Long.MAX_VALUE, PageRequest.of(0, 10));
+        List<BoardResponse.BoardPageDTO> empty = boardRepository.findBookmarkPageBeforeId(1L, BookmarkerRole.USER, 1L, PageRequest.of(0, 10));
+
+        //then
+        assertThat(list).extracting(BoardResponse.BoardPageDTO::getId).containsExactly(1L);
+        assertThat(empty).isEmpty();
+    }
+
+    @Test
+    void updateThumbnailIfUnchanged() {
+        //when
+        int updated = boardRepository.updateThumbnailIfUnchanged(1L, "thumbnail.png", "new.png");
+        int stale = boardRepository.updateThumbnailIfUnchanged(2L, "other.png", "new.png");
+        em.clear();
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isEqualTo(0);
+        assertThat(boardRepository.findThumbnailByBoardId(1L)).hasValue("new.png");
+        assertThat(boardRepository.findThumbnailsIn(List.of("new.png", "none.png"))).containsExactly("new.png");
+    }
 }
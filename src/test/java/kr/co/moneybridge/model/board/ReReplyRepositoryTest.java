@@ -1,7 +1,6 @@
 package kr.co.moneybridge.model.board;
 
 import kr.co.moneybridge.core.dummy.DummyEntity;
-import kr.co.moneybridge.dto.board.BoardResponse;
 import kr.co.moneybridge.model.pb.*;
 import kr.co.moneybridge.model.user.User;
 import kr.co.moneybridge.model.user.UserRepository;
@@ -10,11 +9,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import javax.persistence.EntityManager;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -72,6 +73,30 @@ class ReReplyRepositoryTest extends DummyEntity {
         assertThat(list.size()).isEqualTo(0);
     }
 
+    @Test
+    void deleteByBoardIdIn() {
+        //when
+        reReplyRepository.deleteByBoardIdIn(Arrays.asList(1L, 2L));
+        replyRepository.deleteByBoardIdIn(Arrays.asList(1L, 2L));
+
+        //then
+        assertThat(reReplyRepository.findAll()).isEmpty();
+        assertThat(replyRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void findIdsByAuthor() {
+        //when
+        List<Long> reReplyIds = reReplyRepository.findIdsByAuthor(1L, ReplyAuthorRole.USER, PageRequest.of(0, 10));
+        List<Long> replyIds = replyRepository.findIdsByAuthor(1L, ReplyAuthorRole.USER, PageRequest.of(0, 10));
+        reReplyRepository.deleteByReplyIdIn(replyIds);
+
+        //then
+        assertThat(reReplyIds).containsExactly(2L);
+        assertThat(replyIds).containsExactly(1L);
+        assertThat(reReplyRepository.findAll()).isEmpty();
+    }
+
     @Test
     void deleteByAuthor() {
         //when
@@ -83,20 +108,23 @@ class ReReplyRepositoryTest extends DummyEntity {
     }
 
     @Test
-    void findUserReReplyByReplyId() {
+    void findOrderedByBoardId() {
         //when
-        List<BoardResponse.ReReplyOutDTO> list = reReplyRepository.findUserReReplyByReplyId(1L);
+        List<ReReply> list = reReplyRepository.findOrderedByBoardId(1L);
 
         //then
-        assertThat(list.size()).isEqualTo(1);
+        assertThat(list).extracting(ReReply::getId).containsExactly(1L, 2L);
+        assertThat(list.get(0).getReply().getId()).isEqualTo(1L);
     }
 
     @Test
-    void findPBReReplyByReplyId() {
+    void findOrderedByReplyIdIn() {
         //when
-        List<BoardResponse.ReReplyOutDTO> list = reReplyRepository.findPBReReplyByReplyId(1L);
+        List<ReReply> list = reReplyRepository.findOrderedByReplyIdIn(List.of(1L));
+        List<ReReply> empty = reReplyRepository.findOrderedByReplyIdIn(List.of(2L));
 
         //then
-        assertThat(list.size()).isEqualTo(1);
+        assertThat(list).extracting(ReReply::getAuthorRole).containsExactly(ReplyAuthorRole.PB, ReplyAuthorRole.USER);
+        assertThat(empty).isEmpty();
     }
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package kr.co.moneybridge.model.board;
 
 import kr.co.moneybridge.core.dummy.DummyEntity;
-import kr.co.moneybridge.dto.board.BoardResponse;
 import kr.co.moneybridge.model.pb.*;
 import kr.co.moneybridge.model.user.User;
 import kr.co.moneybridge.model.user.UserRepository;
@@ -10,6 +9,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -58,21 +58,26 @@ class ReplyRepositoryTest extends DummyEntity {
     }
 
     @Test
-    void findUserRepliesByBoardId() {
+    void findOrderedByBoardId() {
         //when
-        List<BoardResponse.ReplyOutDTO> list = replyRepository.findUserRepliesByBoardId(1L);
+        List<Reply> list = replyRepository.findOrderedByBoardId(1L);
 
         //then
-        assertThat(list.size()).isEqualTo(1);
+        assertThat(list).extracting(Reply::getAuthorRole).containsExactly(ReplyAuthorRole.USER, ReplyAuthorRole.PB);
     }
 
     @Test
-    void findPBRepliesByBoardId() {
+    void findPageByBoardId() {
+        //given
+        Long firstId = replyRepository.findOrderedByBoardId(1L).get(0).getId();
+
         //when
-        List<BoardResponse.ReplyOutDTO> list = replyRepository.findPBRepliesByBoardId(1L);
+        List<Reply> first = replyRepository.findPageByBoardId(1L, 0L, PageRequest.of(0, 1));
+        List<Reply> next = replyRepository.findPageByBoardId(1L, firstId, PageRequest.of(0, 1));
 
         //then
-        assertThat(list.size()).isEqualTo(1);
+        assertThat(first).extracting(Reply::getId).containsExactly(firstId);
+        assertThat(next).extracting(Reply::getAuthorRole).containsExactly(ReplyAuthorRole.PB);
     }
 
     @Test
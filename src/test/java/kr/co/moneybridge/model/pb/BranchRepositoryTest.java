@@ -48,22 +48,6 @@ public class BranchRepositoryTest extends DummyEntity {
         Assertions.assertThat(branch.get().getName()).contains("여의도");
     }
 
-    @Test
-    public void findByCompanyIdAndKeyword() {
-        // when
-        Long companyId = 1L;
-        String keyword = "지번주소";
-        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
-        Page<Branch> branchPG = branchRepository.findByCompanyIdAndKeyword(companyId, keyword, pageable);
-
-        // then
-        Assertions.assertThat(branchPG.getContent().get(0).getId()).isEqualTo(1L);
-        Assertions.assertThat(branchPG.getContent().get(0).getName()).isEqualTo("미래에셋증권 여의도점");
-        Assertions.assertThat(branchPG.getContent().get(0).getCompany().getName()).isEqualTo("미래에셋증권");
-        Assertions.assertThat(branchPG.getContent().get(0).getRoadAddress()).isEqualTo("미래에셋증권 도로명주소");
-        Assertions.assertThat(branchPG.getContent().get(0).getStreetAddress()).isEqualTo("미래에셋증권 지번주소");
-    }
-
     @Test
     void findByName() {
         //when
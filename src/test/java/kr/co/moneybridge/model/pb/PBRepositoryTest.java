@@ -3,9 +3,11 @@ package kr.co.moneybridge.model.pb;
 import kr.co.moneybridge.core.dummy.DummyEntity;
 import kr.co.moneybridge.core.exception.Exception404;
 import kr.co.moneybridge.core.util.MyDateUtil;
+import kr.co.moneybridge.dto.board.BoardResponse;
 import kr.co.moneybridge.dto.pb.PBResponse;
 import kr.co.moneybridge.dto.user.UserResponse;
 import kr.co.moneybridge.model.Role;
+import kr.co.moneybridge.model.board.ReplyAuthorRole;
 import kr.co.moneybridge.model.user.User;
 import kr.co.moneybridge.model.user.UserBookmarkRepository;
 import kr.co.moneybridge.model.user.UserRepository;
@@ -17,6 +19,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
@@ -44,6 +47,8 @@ public class PBRepositoryTest extends DummyEntity {
     @Autowired
     private UserBookmarkRepository userBookmarkRepository;
     @Autowired
+    private PBStatsRepository pbStatsRepository;
+    @Autowired
     private EntityManager em;
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
@@ -138,6 +143,38 @@ public class PBRepositoryTest extends DummyEntity {
         assertThat(pbPS.getUpdatedAt()).isNull();
     }
 
+    @Test
+    public void findNotWithdrawnById() {
+        // given
+        pbRepository.findById(3L).get().withdrawn();
+        em.flush();
+        em.clear();
+
+        // when
+        Optional<PB> active = pbRepository.findNotWithdrawnById(1L);
+        Optional<PB> pending = pbRepository.findNotWithdrawnById(2L);
+        Optional<PB> withdrawn = pbRepository.findNotWithdrawnById(3L);
+
+        // then
+        assertThat(active).isPresent();
+        assertThat(pending).isPresent();
+        assertThat(withdrawn).isEmpty();
+    }
+
+    @Test
+    public void findSliceByStatus() {
+        // given
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
+
+        // when
+        Slice<PB> pbSL = pbRepository.findSliceByStatus(PBStatus.PENDING, pageable);
+
+        // then
+        assertThat(pbSL.getContent().get(0).getName()).isEqualTo("김대기");
+        assertThat(pbSL.getContent()).allMatch(pb -> pb.getStatus() == PBStatus.PENDING);
+        assertThat(pbSL.hasNext()).isFalse();
+    }
+
     @Test
     public void findAllByStatus() {
         // given
@@ -373,13 +410,38 @@ public class PBRepositoryTest extends DummyEntity {
     }
 
     @Test
-    void findByName() {
+    void findAllNames() {
         //when
-        Page<PBResponse.PBPageDTO> dto = pbRepository.findByName("피비", PageRequest.of(0, 10));
+        List<PBResponse.PBNameDTO> list = pbRepository.findAllNames();
 
         //then
-        assertThat(dto.getTotalElements()).isInstanceOf(Long.class);
-        assertThat(dto.getContent().get(0).getName()).isEqualTo("김피비");
+        assertThat(list).extracting(PBResponse.PBNameDTO::getId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(list.get(0).getName()).isEqualTo("김피비");
+        assertThat(list.get(0).getBranchName()).isNotNull();
+    }
+
+    @Test
+    void findNameById() {
+        //when
+        Optional<PBResponse.PBNameDTO> active = pbRepository.findNameById(1L);
+        Optional<PBResponse.PBNameDTO> pending = pbRepository.findNameById(2L);
+
+        //then
+        assertThat(active).isPresent();
+        assertThat(active.get().getName()).isEqualTo("김피비");
+        assertThat(pending).isEmpty();
+    }
+
+    @Test
+    void findReplyAuthorsByIdIn() {
+        //when
+        List<BoardResponse.ReplyAuthorDTO> list = pbRepository.findReplyAuthorsByIdIn(List.of(1L));
+
+        //then
+        assertThat(list).hasSize(1);
+        assertThat(list.get(0).getName()).isEqualTo("김피비");
+        assertThat(list.get(0).getProfile()).isEqualTo("profile.png");
+        assertThat(list.get(0).getRole()).isEqualTo(ReplyAuthorRole.PB);
     }
 
     @Test
@@ -409,6 +471,100 @@ public class PBRepositoryTest extends DummyEntity {
         assertThat(list.size()).isGreaterThanOrEqualTo(2);
     }
 
+    @Test
+    void findPBPageByIdIn() {
+        //when
+        List<PBResponse.PBPageDTO> list = pbRepository.findPBPageByIdIn(Arrays.asList(1L, 2L, 3L));
+
+        //then
+        assertThat(list).hasSize(2); // PENDING인 2번은 제외
+        assertThat(list).extracting(PBResponse.PBPageDTO::getId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void findAllLocations() {
+        //when
+        List<PBResponse.PBLocationDTO> list = pbRepository.findAllLocations();
+
+        //then
+        assertThat(list).hasSize(2);
+        assertThat(list.get(0).getCompanyId()).isEqualTo(1L);
+        assertThat(list.get(0).getLatitude()).isNotNull();
+        assertThat(list.get(0).getLongitude()).isNotNull();
+    }
+
+    @Test
+    void findLocationById() {
+        //when
+        Optional<PBResponse.PBLocationDTO> active = pbRepository.findLocationById(1L);
+        Optional<PBResponse.PBLocationDTO> pending = pbRepository.findLocationById(2L);
+
+        //then
+        assertThat(active).isPresent();
+        assertThat(active.get().getSpeciality1()).isEqualTo(PBSpeciality.BOND);
+        assertThat(pending).isEmpty();
+    }
+
+    @Test
+    void findAllSpecialities() {
+        //when
+        List<PBResponse.PBSpecialityDTO> list = pbRepository.findAllSpecialities();
+
+        //then
+        assertThat(list).extracting(PBResponse.PBSpecialityDTO::getId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(list.get(0).getSpeciality1()).isEqualTo(PBSpeciality.BOND);
+    }
+
+    @Test
+    void findSpecialityById() {
+        //when
+        Optional<PBResponse.PBSpecialityDTO> active = pbRepository.findSpecialityById(1L);
+        Optional<PBResponse.PBSpecialityDTO> pending = pbRepository.findSpecialityById(2L);
+
+        //then
+        assertThat(active).isPresent();
+        assertThat(active.get().getSpeciality1()).isEqualTo(PBSpeciality.BOND);
+        assertThat(pending).isEmpty();
+    }
+
+    @Test
+    void findPBPageInBox() {
+        // given
+        Branch branch = branchRepository.findById(1L).get();
+
+        //when
+        List<PBResponse.PBPageDTO> in = pbRepository.findPBPageInBox(branch.getLatitude() - 0.1, branch.getLatitude() + 0.1,
+                branch.getLongitude() - 0.1, branch.getLongitude() + 0.1);
+        List<PBResponse.PBPageDTO> out = pbRepository.findPBPageInBox(branch.getLatitude() + 0.1, branch.getLatitude() + 0.2,
+                branch.getLongitude() - 0.1, branch.getLongitude() + 0.1);
+
+        //then
+        assertThat(in).extracting(PBResponse.PBPageDTO::getId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(out).isEmpty();
+    }
+
+    @Test
+    void findAllPBWithPopularity() {
+        // given
+        PB pb3 = pbRepository.findById(3L).get();
+        pbStatsRepository.save(newPBStats(pb3, 5L, 2L, 1L));
+        em.flush();
+        em.clear();
+
+        //when
+        Page<PBResponse.PBPageDTO> all = pbRepository.findAllPBWithPopularity(null, null, PageRequest.of(0, 10));
+        Page<PBResponse.PBPageDTO> byCompany = pbRepository.findAllPBWithPopularity(null, 2L, PageRequest.of(0, 10));
+
+        //then
+        assertThat(all.getTotalElements()).isEqualTo(2);
+        assertThat(all.getContent().get(0).getId()).isEqualTo(3L);
+        assertThat(all.getContent().get(0).getReserveCount()).isEqualTo(5L);
+        assertThat(all.getContent().get(0).getReviewCount()).isEqualTo(2L);
+        assertThat(all.getContent().get(1).getId()).isEqualTo(1L);
+        assertThat(all.getContent().get(1).getReserveCount()).isEqualTo(0L); // 집계 행이 없으면 0
+        assertThat(byCompany.getContent()).isEmpty();
+    }
+
     @Test
     void findBySpecialityOrderedByCareer() {
         //when
@@ -428,4 +584,32 @@ public class PBRepositoryTest extends DummyEntity {
         assertThat(dto.getTotalElements()).isGreaterThanOrEqualTo(2);
         assertThat(dto.getContent().get(0).getName()).isEqualTo("김피비");
     }
+
+    @Test
+    void updateProfileIfUnchanged() {
+        //when
+        int updated = pbRepository.updateProfileIfUnchanged(1L, "profile.png", "new.png");
+        int stale = pbRepository.updateProfileIfUnchanged(3L, "other.png", "new.png");
+        int card = pbRepository.updateBusinessCardIfUnchanged(1L, "card.png", "new-card.png");
+        em.clear();
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(stale).isEqualTo(0);
+        assertThat(card).isEqualTo(1);
+        assertThat(pbRepository.findById(1L).get().getProfile()).isEqualTo("new.png");
+        assertThat(pbRepository.findById(1L).get().getBusinessCard()).isEqualTo("new-card.png");
+        assertThat(pbRepository.findById(3L).get().getProfile()).isEqualTo("profile.png");
+    }
+
+    @Test
+    void findProfilesIn() {
+        //when
+        List<String> profiles = pbRepository.findProfilesIn(List.of("profile.png", "none.png"));
+        List<String> cards = pbRepository.findBusinessCardsIn(List.of("none.png"));
+
+        //then
+        assertThat(profiles).containsOnly("profile.png");
+        assertThat(cards).isEmpty();
+    }
 }
@@ -0,0 +1,135 @@
+package kr.co.moneybridge.model.pb;
+
+import kr.co.moneybridge.core.dummy.DummyEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Import(BCryptPasswordEncoder.class)
+@ActiveProfiles("test")
+@DataJpaTest
+public class PBStatsRepositoryTest extends DummyEntity {
+    @Autowired
+    private CompanyRepository companyRepository;
+    @Autowired
+    private BranchRepository branchRepository;
+    @Autowired
+    private PBRepository pbRepository;
+    @Autowired
+    private PBStatsRepository pbStatsRepository;
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    public void setUp() {
+        em.createNativeQuery("ALTER TABLE pb_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        em.createNativeQuery("ALTER TABLE company_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        em.createNativeQuery("ALTER TABLE branch_tb ALTER COLUMN `id` RESTART WITH 1").executeUpdate();
+        Company c = companyRepository.save(newCompany("미래에셋증권"));
+        Branch b = branchRepository.save(newBranch(c, 0));
+        PB pb = pbRepository.save(newPB("김피비", b));
+        pbRepository.save(newPB("김피비2", b));
+        pbStatsRepository.save(newPBStats(pb, 3L, 1L, 2L));
+        em.flush(); // pbId를 직접 넣는 엔티티라 save 시점에 insert 되지 않음
+        em.clear();
+    }
+
+    @Test
+    void addReserveCount() {
+        //when
+        int updated = pbStatsRepository.addReserveCount(1L, 1L);
+        em.clear();
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(pbStatsRepository.findById(1L).get().getReserveCount()).isEqualTo(4L);
+    }
+
+    @Test
+    void addReviewCount() {
+        //when
+        int updated = pbStatsRepository.addReviewCount(1L, 1L);
+        em.clear();
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(pbStatsRepository.findById(1L).get().getReviewCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void addBookmarkCount() {
+        //when
+        int updated = pbStatsRepository.addBookmarkCount(1L, -1L);
+        int missing = pbStatsRepository.addBookmarkCount(2L, 1L);
+        em.clear();
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isEqualTo(0); // 집계 행이 없으면 0건 갱신
+        assertThat(pbStatsRepository.findById(1L).get().getBookmarkCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void addCounts() {
+        //when
+        int updated = pbStatsRepository.addCounts(1L, 1L, 0L, -1L);
+        em.clear();
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        PBStats stats = pbStatsRepository.findById(1L).get();
+        assertThat(stats.getReserveCount()).isEqualTo(4L);
+        assertThat(stats.getReviewCount()).isEqualTo(1L);
+        assertThat(stats.getBookmarkCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void overwrite() {
+        //when
+        int updated = pbStatsRepository.overwrite(1L, 7L, 0L, 5L);
+        int missing = pbStatsRepository.overwrite(2L, 1L, 1L, 1L);
+        em.clear();
+
+        //then
+        assertThat(updated).isEqualTo(1);
+        assertThat(missing).isEqualTo(0);
+        PBStats stats = pbStatsRepository.findById(1L).get();
+        assertThat(stats.getReserveCount()).isEqualTo(7L);
+        assertThat(stats.getReviewCount()).isEqualTo(0L);
+        assertThat(stats.getBookmarkCount()).isEqualTo(5L);
+    }
+
+    @Test
+    void insertIfAbsent() {
+        //when
+        int inserted = pbStatsRepository.insertIfAbsent(2L, 1L, 0L, 4L);
+        int existing = pbStatsRepository.insertIfAbsent(1L, 9L, 9L, 9L); // 이미 있으면 건드리지 않음
+        int noPB = pbStatsRepository.insertIfAbsent(3L, 1L, 1L, 1L);
+        em.clear();
+
+        //then
+        assertThat(inserted).isEqualTo(1);
+        assertThat(existing).isEqualTo(0);
+        assertThat(noPB).isEqualTo(0);
+        assertThat(pbStatsRepository.findById(2L).get().getBookmarkCount()).isEqualTo(4L);
+        assertThat(pbStatsRepository.findById(1L).get().getReserveCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void findPBIdsWithoutStats() {
+        //when
+        List<Long> pbIds = pbStatsRepository.findPBIdsWithoutStats();
+
+        //then
+        assertThat(pbIds).containsExactly(2L);
+    }
+}
@@ -1,6 +1,7 @@
 package kr.co.moneybridge.model.pb;
 
 import kr.co.moneybridge.core.dummy.DummyEntity;
+import kr.co.moneybridge.dto.pb.PBResponse;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import javax.persistence.EntityManager;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -67,4 +69,32 @@ class PortfolioRepositoryTest extends DummyEntity {
         Assertions.assertThat(portfolio).isPresent();
 
     }
+
+    @Test
+    void findAllRanks() {
+        //given
+        em.createNativeQuery("UPDATE pb_tb SET status = 'PENDING' WHERE id = 2").executeUpdate();
+
+        //when
+        List<PBResponse.PBPortfolioRankDTO> ranks = portfolioRepository.findAllRanks();
+
+        //then
+        assertThat(ranks).hasSize(1);
+        assertThat(ranks.get(0).getId()).isEqualTo(1L);
+        assertThat(ranks.get(0).getCompanyId()).isEqualTo(1L);
+        assertThat(ranks.get(0).getSpeciality1()).isEqualTo(PBSpeciality.BOND);
+        assertThat(ranks.get(0).valueOf(PortfolioMetric.CUMULATIVE_RETURN)).isEqualTo(90.0);
+        assertThat(ranks.get(0).valueOf(PortfolioMetric.MAX_DRAWDOWN)).isEqualTo(101.1);
+        assertThat(ranks.get(0).valueOf(PortfolioMetric.PROFIT_FACTOR)).isEqualTo(1.54);
+    }
+
+    @Test
+    void findRankByPbId() {
+        //given
+        em.createNativeQuery("UPDATE pb_tb SET status = 'PENDING' WHERE id = 2").executeUpdate();
+
+        //when, then
+        assertThat(portfolioRepository.findRankByPbId(1L)).isPresent();
+        assertThat(portfolioRepository.findRankByPbId(2L)).isEmpty();
+    }
 }
\ No newline at end of file
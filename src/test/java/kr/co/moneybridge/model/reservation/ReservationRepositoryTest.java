@@ -112,6 +112,33 @@ public class ReservationRepositoryTest extends DummyEntity {
         Assertions.assertThat(reservations).isEmpty();
     }
 
+    @Test
+    public void find_ids_by_user_id_test() {
+        // when
+        List<Long> first = reservationRepository.findIdsByUserId(1L, PageRequest.of(0, 3));
+        List<Long> all = reservationRepository.findIdsByUserId(1L, PageRequest.of(0, 100));
+
+        // then
+        Assertions.assertThat(first).containsExactly(1L, 2L, 3L);
+        Assertions.assertThat(all).hasSize(9); // 취소된 예약 포함
+        Assertions.assertThat(reservationRepository.findPBIdsByIdIn(all)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    public void delete_by_reservation_id_in_test() {
+        // given
+        List<Long> ids = reservationRepository.findIdsByPBId(1L, PageRequest.of(0, 100));
+
+        // when
+        reviewRepository.deleteByReservationIdIn(ids);
+        reservationRepository.deleteAllByIdInBatch(ids);
+
+        // then
+        Assertions.assertThat(reviewRepository.count()).isEqualTo(0L);
+        Assertions.assertThat(reservationRepository.findIdsByPBId(1L, PageRequest.of(0, 100))).isEmpty();
+        Assertions.assertThat(reservationRepository.findIdsByPBId(2L, PageRequest.of(0, 100))).hasSize(1);
+    }
+
     @Test
     public void find_all_by_user_id_test() {
         // given
@@ -12,6 +12,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import javax.persistence.EntityManager;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -76,6 +77,15 @@ public class StyleRepositoryTest extends DummyEntity {
     }
 
 
+    @Test
+    public void delete_by_reservation_id_in_test() {
+        // when
+        styleRepository.deleteByReservationIdIn(Arrays.asList(1L));
+
+        // then
+        assertThat(styleRepository.findAll()).isEmpty();
+    }
+
     @Test
     public void find_all_by_reviewId_test() {
         // given
@@ -11,6 +11,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import javax.persistence.EntityManager;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -51,6 +52,24 @@ public class UserBookmarkRepositoryTest extends DummyEntity {
         em.clear();
     }
 
+    @Test
+    void countByPBId() {
+        //when
+        Long count = userBookmarkRepository.countByPBId(1L);
+
+        //then
+        assertThat(count).isEqualTo(2L);
+    }
+
+    @Test
+    void findPBIdsByUserId() {
+        //when
+        List<Long> pbIds = userBookmarkRepository.findPBIdsByUserId(1L);
+
+        //then
+        assertThat(pbIds).containsExactlyInAnyOrder(1L, 2L);
+    }
+
     @Test
     void deleteByPBId() {
         //given
@@ -3,7 +3,9 @@ package kr.co.moneybridge.model.user;
 import kr.co.moneybridge.core.dummy.DummyEntity;
 import kr.co.moneybridge.core.exception.Exception400;
 import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.dto.board.BoardResponse;
 import kr.co.moneybridge.model.Role;
+import kr.co.moneybridge.model.board.ReplyAuthorRole;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
@@ -56,6 +59,32 @@ public class UserRepositoryTest extends DummyEntity {
         assertThat(userRepository.findById(id)).isEmpty();
     }
 
+    @Test
+    public void findReplyAuthorsByIdIn() {
+        // when
+        List<BoardResponse.ReplyAuthorDTO> list = userRepository.findReplyAuthorsByIdIn(List.of(1L, 3L));
+
+        // then
+        assertThat(list).hasSize(1);
+        assertThat(list.get(0).getName()).isEqualTo("김투자");
+        assertThat(list.get(0).getProfile()).isNull();
+        assertThat(list.get(0).getRole()).isEqualTo(ReplyAuthorRole.USER);
+    }
+
+    @Test
+    public void findSliceAll() {
+        // given
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id"));
+
+        // when
+        Slice<User> userSL = userRepository.findSliceAll(pageable);
+
+        // then
+        Assertions.assertThat(userSL.getContent()).hasSize(1);
+        Assertions.assertThat(userSL.getContent().get(0).getName()).isEqualTo("김투자");
+        Assertions.assertThat(userSL.hasNext()).isEqualTo(userRepository.count() > 1);
+    }
+
     @Test
     public void findAll() {
         // given
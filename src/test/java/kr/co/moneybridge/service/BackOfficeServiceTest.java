@@ -1,6 +1,8 @@
 package kr.co.moneybridge.service;
 
+import kr.co.moneybridge.core.cache.CountCache;
 import kr.co.moneybridge.core.dummy.MockDummyEntity;
+import kr.co.moneybridge.core.event.PBChangedEvent;
 import kr.co.moneybridge.core.util.MyMemberUtil;
 import kr.co.moneybridge.core.util.MyMsgUtil;
 import kr.co.moneybridge.dto.PageDTO;
@@ -21,10 +23,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.mail.internet.MimeMessage;
 import java.time.LocalDate;
@@ -65,13 +70,15 @@ class BackOfficeServiceTest extends MockDummyEntity {
     @Mock
     StyleRepository styleRepository;
     @Mock
-    BoardRepository boardRepository;
+    BoardPurgeService boardPurgeService;
     @Mock
     ReplyRepository replyRepository;
     @Mock
     ReReplyRepository reReplyRepository;
     @Mock
-    BoardBookmarkRepository boardBookmarkRepository;
+    ApplicationEventPublisher applicationEventPublisher;
+    @Spy
+    CountCache countCache;
 
     @Test
     @DisplayName("대댓글 강제 삭제")
@@ -117,29 +124,29 @@ class BackOfficeServiceTest extends MockDummyEntity {
     void deleteBoard() {
         // given
         Long id = 1L;
-        Company company = newMockCompany(1L, "미래에셋증권");
-        Branch branch = newMockBranch(1L, company, 1);
-        PB pb = newMockPB(1L, "pblee", branch);
-        Board board = newMockBoard(id, "title", pb);
-        Reply reply = newMockPBReply(1L, board, pb);
-        ReReply reReply = newMockPBReReply(1L, reply, pb);
-        User user = newMockUser(1L, "user");
-        BoardBookmark boardBookmark = newMockBoardBookmark(1L, user, board);
-
-        //stub
-        when(replyRepository.findAllByBoardId(id)).thenReturn(Arrays.asList(reply));
 
         // when
         backOfficeService.deleteBoard(id);
 
         // then
-        verify(boardRepository, times(1)).findThumbnailByBoardId(id);
-        verify(boardBookmarkRepository, times(1)).deleteByBoardId(id);
-        verify(replyRepository, times(1)).findAllByBoardId(id);
-        verify(replyRepository, times(1)).findAllByBoardId(id);
-        verify(reReplyRepository, times(1)).deleteByReplyId(any());
-        verify(replyRepository, times(1)).deleteByBoardId(id);
-        verify(boardRepository, times(1)).deleteById(id);
+        verify(boardPurgeService, times(1)).markDeleted(id);
+    }
+
+    @Test
+    @DisplayName("콘텐츠 삭제 정리 진행 상황 가져오기")
+    void getBoardPurge() {
+        // stub
+        when(boardPurgeService.getProgress()).thenReturn(
+                new BackOfficeResponse.BoardPurgeDTO(2L, 10L, 1, Arrays.asList(7L)));
+
+        // when
+        BackOfficeResponse.BoardPurgeDTO boardPurgeDTO = backOfficeService.getBoardPurge();
+
+        // then
+        assertThat(boardPurgeDTO.getPending()).isEqualTo(2L);
+        assertThat(boardPurgeDTO.getPurged()).isEqualTo(10L);
+        assertThat(boardPurgeDTO.getFailed()).isEqualTo(1);
+        assertThat(boardPurgeDTO.getGivenUp()).containsExactly(7L);
     }
 
     @Test
@@ -152,16 +159,16 @@ class BackOfficeServiceTest extends MockDummyEntity {
         PB pb = newMockPB(1L, "pblee", branch);
         User user = newMockUser(1L, "user");
         Reservation reservation = newMockCallReservation(1L, user, pb, ReservationProcess.COMPLETE);
-        Page<Reservation> reservationPG = new PageImpl<>(Arrays.asList(reservation));
+        Slice<Reservation> reservationSL = new SliceImpl<>(Arrays.asList(reservation), pageable, false);
         Optional<Review> reviewOP = Optional.of(newMockReview(1L, reservation));
 
         // stub
-        when(reservationRepository.findAll(pageable)).thenReturn(reservationPG);
+        when(reservationRepository.findSliceAll(pageable)).thenReturn(reservationSL);
         when(reviewRepository.findByReservationId(any())).thenReturn(reviewOP);
         when(styleRepository.findAllByReviewId(any())).thenReturn(new ArrayList<>());
 
         // when
-        PageDTO<BackOfficeResponse.ReservationTotalDTO> pageDTO = backOfficeService.getReservations(pageable);
+        PageDTO<BackOfficeResponse.ReservationTotalDTO> pageDTO = backOfficeService.getReservations(pageable, false);
 
         // then
         assertThat(pageDTO.getList().get(0).getId()).isEqualTo(1L);
@@ -184,7 +191,7 @@ class BackOfficeServiceTest extends MockDummyEntity {
         assertThat(pageDTO.getFirst()).isEqualTo(true);
         assertThat(pageDTO.getLast()).isEqualTo(true);
         assertThat(pageDTO.getEmpty()).isEqualTo(false);
-        Mockito.verify(reservationRepository, Mockito.times(1)).findAll(pageable);
+        Mockito.verify(reservationRepository, Mockito.times(1)).findSliceAll(pageable);
         Mockito.verify(reviewRepository, Mockito.times(1)).findByReservationId(any());
         Mockito.verify(styleRepository, Mockito.times(1)).findAllByReviewId(any());
     }
@@ -266,14 +273,14 @@ class BackOfficeServiceTest extends MockDummyEntity {
         Company company = newMockCompany(1L, "미래에셋증권");
         Branch branch = newMockBranch(1L, company, 1);
         PB pb = newMockPB(1L, "pblee", branch);
-        Page<PB> pbPG = new PageImpl<>(Arrays.asList(pb));
+        Slice<PB> pbSL = new SliceImpl<>(Arrays.asList(pb), pageable, false);
         String type = "pb";
 
         // stub
-        when(pbRepository.findAllByStatus(any(), any())).thenReturn(pbPG);
+        when(pbRepository.findSliceByStatus(any(), any())).thenReturn(pbSL);
 
         // when
-        PageDTO<BackOfficeResponse.MemberOutDTO> pageDTO = backOfficeService.getMembers(type, pageable);
+        PageDTO<BackOfficeResponse.MemberOutDTO> pageDTO = backOfficeService.getMembers(type, pageable, false);
 
         // then
         assertThat(pageDTO.getList().get(0).getId()).isEqualTo(1);
@@ -286,7 +293,7 @@ class BackOfficeServiceTest extends MockDummyEntity {
         assertThat(pageDTO.getFirst()).isEqualTo(true);
         assertThat(pageDTO.getLast()).isEqualTo(true);
         assertThat(pageDTO.getEmpty()).isEqualTo(false);
-        Mockito.verify(pbRepository, Mockito.times(1)).findAllByStatus(any(), any());
+        Mockito.verify(pbRepository, Mockito.times(1)).findSliceByStatus(any(), any());
     }
 
     @Test
@@ -295,14 +302,14 @@ class BackOfficeServiceTest extends MockDummyEntity {
         // given
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
         User user = newMockUser(1L, "user");
-        Page<User> userPG = new PageImpl<>(Arrays.asList(user));
+        Slice<User> userSL = new SliceImpl<>(Arrays.asList(user), pageable, false);
         String type = "user";
 
         // stub
-        when(userRepository.findAll(pageable)).thenReturn(userPG);
+        when(userRepository.findSliceAll(pageable)).thenReturn(userSL);
 
         // when
-        PageDTO<BackOfficeResponse.MemberOutDTO> pageDTO = backOfficeService.getMembers(type, pageable);
+        PageDTO<BackOfficeResponse.MemberOutDTO> pageDTO = backOfficeService.getMembers(type, pageable, false);
 
         // then
         assertThat(pageDTO.getList().get(0).getId()).isEqualTo(1);
@@ -316,7 +323,32 @@ class BackOfficeServiceTest extends MockDummyEntity {
         assertThat(pageDTO.getFirst()).isEqualTo(true);
         assertThat(pageDTO.getLast()).isEqualTo(true);
         assertThat(pageDTO.getEmpty()).isEqualTo(false);
-        Mockito.verify(userRepository, Mockito.times(1)).findAll(pageable);
+        Mockito.verify(userRepository, Mockito.times(1)).findSliceAll(pageable);
+    }
+
+    @Test
+    @DisplayName("회원(투자자) 리스트 가져오기 - 캐시된 전체 개수")
+    void getMembersUser_cached_count() {
+        // given
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "id"));
+        Slice<User> userSL = new SliceImpl<>(Arrays.asList(newMockUser(1L, "user")), pageable, true);
+        ReflectionTestUtils.setField(countCache, "ttlMillis", 60000L);
+        countCache.recount("user", () -> 57L);
+
+        // stub
+        when(userRepository.findSliceAll(pageable)).thenReturn(userSL);
+        when(userRepository.count()).thenReturn(58L);
+
+        // when
+        PageDTO<BackOfficeResponse.MemberOutDTO> cached = backOfficeService.getMembers("user", pageable, false);
+        PageDTO<BackOfficeResponse.MemberOutDTO> exact = backOfficeService.getMembers("user", pageable, true);
+
+        // then
+        assertThat(cached.getTotalElements()).isEqualTo(57);
+        assertThat(cached.getApproximate()).isTrue();
+        assertThat(exact.getTotalElements()).isEqualTo(58);
+        assertThat(exact.getApproximate()).isFalse();
+        Mockito.verify(userRepository, Mockito.times(1)).count();
     }
 
     @Test
@@ -366,6 +398,7 @@ class BackOfficeServiceTest extends MockDummyEntity {
         verify(pbRepository, times(1)).findById(id);
         verify(myMsgUtil, times(1)).createMessage(any(), any(), any());
         verify(javaMailSender, times(1)).send(any(MimeMessage.class));
+        verify(applicationEventPublisher, times(1)).publishEvent(any(PBChangedEvent.class));
         assertThat(pb.getStatus()).isEqualTo(PBStatus.ACTIVE);
     }
 
@@ -377,13 +410,13 @@ class BackOfficeServiceTest extends MockDummyEntity {
         Company company = newMockCompany(1L, "미래에셋증권");
         Branch branch = newMockBranch(1L, company, 1);
         PB pb = newMockPB(1L, "pblee", branch);
-        Page<PB> pbPG = new PageImpl<>(Arrays.asList(pb));
+        Slice<PB> pbSL = new SliceImpl<>(Arrays.asList(pb), pageable, false);
 
         // stub
-        when(pbRepository.findAllByStatus(any(), any())).thenReturn(pbPG);
+        when(pbRepository.findSliceByStatus(any(), any())).thenReturn(pbSL);
 
         // when
-        PageDTO<BackOfficeResponse.PBPendingDTO> pageDTO = backOfficeService.getPBPending(pageable);
+        PageDTO<BackOfficeResponse.PBPendingDTO> pageDTO = backOfficeService.getPBPending(pageable, false);
 
         // then
         assertThat(pageDTO.getList().get(0).getId()).isEqualTo(1L);
@@ -401,7 +434,7 @@ class BackOfficeServiceTest extends MockDummyEntity {
         assertThat(pageDTO.getFirst()).isEqualTo(true);
         assertThat(pageDTO.getLast()).isEqualTo(true);
         assertThat(pageDTO.getEmpty()).isEqualTo(false);
-        Mockito.verify(pbRepository, Mockito.times(1)).findAllByStatus(any(), any());
+        Mockito.verify(pbRepository, Mockito.times(1)).findSliceByStatus(any(), any());
     }
 
     @Test
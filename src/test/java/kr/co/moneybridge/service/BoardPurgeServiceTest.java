@@ -0,0 +1,123 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.dto.backOffice.BackOfficeResponse;
+import kr.co.moneybridge.model.board.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BoardPurgeServiceTest {
+    @InjectMocks
+    private BoardPurgeService boardPurgeService;
+    @Mock
+    private BoardRepository boardRepository;
+    @Mock
+    private BoardBodyRepository boardBodyRepository;
+    @Mock
+    private BoardBookmarkRepository boardBookmarkRepository;
+    @Mock
+    private ReplyRepository replyRepository;
+    @Mock
+    private ReReplyRepository reReplyRepository;
+    @Mock
+    private StorageDeletionService storageDeletionService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Test
+    @DisplayName("삭제 표시 후 인덱스 갱신 이벤트 발행")
+    void markDeleted() {
+        when(boardRepository.markDeleted(1L)).thenReturn(1);
+
+        boardPurgeService.markDeleted(1L);
+
+        verify(applicationEventPublisher).publishEvent(any(BoardChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("없거나 이미 삭제된 컨텐츠는 404")
+    void markDeleted_not_found() {
+        when(boardRepository.markDeleted(1L)).thenReturn(0);
+
+        assertThatThrownBy(() -> boardPurgeService.markDeleted(1L)).isInstanceOf(Exception404.class);
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("대댓글 -> 댓글 -> 북마크 -> 본문 -> 컨텐츠 순으로 묶음 삭제하고 썸네일은 s3 삭제 큐에")
+    void purge() {
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(boardRepository.findThumbnailsByIdIn(ids)).thenReturn(Arrays.asList("a.png"));
+
+        boardPurgeService.purge(ids);
+
+        InOrder inOrder = inOrder(reReplyRepository, replyRepository, boardBookmarkRepository, boardBodyRepository, boardRepository);
+        inOrder.verify(reReplyRepository).deleteByBoardIdIn(ids);
+        inOrder.verify(replyRepository).deleteByBoardIdIn(ids);
+        inOrder.verify(boardBookmarkRepository).deleteByBoardIdIn(ids);
+        inOrder.verify(boardBodyRepository).deleteByBoardIdIn(ids);
+        inOrder.verify(boardRepository).deleteByIdIn(ids);
+        verify(storageDeletionService).enqueueAll(Arrays.asList("a.png"));
+    }
+
+    @Test
+    @DisplayName("빈 묶음은 쿼리 안 함")
+    void purge_empty() {
+        boardPurgeService.purge(Collections.emptyList());
+        verifyNoInteractions(boardRepository, reReplyRepository, replyRepository, storageDeletionService);
+    }
+
+    @Test
+    @DisplayName("PB 탈퇴 - 그 PB의 컨텐츠를 묶음이 빌 때까지 정리")
+    void purgeByPBId() {
+        List<Long> full = LongStream.rangeClosed(1, BoardPurgeService.CHUNK_SIZE).boxed().collect(Collectors.toList());
+        PageRequest chunk = PageRequest.of(0, BoardPurgeService.CHUNK_SIZE);
+        when(boardRepository.findIdsByPBIdAfterId(1L, 0L, chunk)).thenReturn(full);
+        when(boardRepository.findIdsByPBIdAfterId(1L, (long) BoardPurgeService.CHUNK_SIZE, chunk)).thenReturn(Collections.emptyList());
+
+        boardPurgeService.purgeByPBId(1L);
+
+        verify(boardRepository, times(1)).deleteByIdIn(full);
+        verify(boardRepository, times(1)).deleteByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("실패 횟수가 한도를 넘으면 포기 목록에 올림")
+    void recordFailure() {
+        when(boardRepository.countByStatus(BoardStatus.DELETED)).thenReturn(2L);
+        for (int i = 0; i < BoardPurgeService.MAX_ATTEMPTS; i++) {
+            boardPurgeService.recordFailure(7L, new IllegalStateException("fk"));
+        }
+        boardPurgeService.recordFailure(8L, new IllegalStateException("fk"));
+        boardPurgeService.recordPurged(Arrays.asList(8L, 9L));
+
+        BackOfficeResponse.BoardPurgeDTO progress = boardPurgeService.getProgress();
+
+        assertThat(boardPurgeService.isGivenUp(7L)).isTrue();
+        assertThat(boardPurgeService.isGivenUp(8L)).isFalse();
+        assertThat(progress.getPending()).isEqualTo(2L);
+        assertThat(progress.getPurged()).isEqualTo(2L);
+        assertThat(progress.getFailed()).isEqualTo(1);
+        assertThat(progress.getGivenUp()).containsExactly(7L);
+    }
+}
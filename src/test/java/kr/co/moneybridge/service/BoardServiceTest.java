@@ -3,7 +3,15 @@ package kr.co.moneybridge.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.co.moneybridge.core.auth.session.MyUserDetails;
 import kr.co.moneybridge.core.dummy.MockDummyEntity;
-import kr.co.moneybridge.core.util.S3Util;
+import kr.co.moneybridge.core.cache.ReplyAuthorCache;
+import kr.co.moneybridge.core.counter.BoardClickCounter;
+import kr.co.moneybridge.core.index.BoardSearchIndex;
+import kr.co.moneybridge.core.index.BoardTrendingIndex;
+import kr.co.moneybridge.core.index.BookmarkIndex;
+import kr.co.moneybridge.core.image.ImagePipeline;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.upload.UploadTarget;
+import kr.co.moneybridge.dto.CursorDTO;
 import kr.co.moneybridge.dto.PageDTO;
 import kr.co.moneybridge.dto.board.BoardRequest;
 import kr.co.moneybridge.dto.board.BoardResponse;
@@ -20,8 +28,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
@@ -42,6 +52,8 @@ class BoardServiceTest extends MockDummyEntity {
     @Mock
     private BoardRepository boardRepository;
     @Mock
+    private BoardBodyRepository boardBodyRepository;
+    @Mock
     private BoardBookmarkRepository boardBookmarkRepository;
     @Mock
     private UserRepository userRepository;
@@ -66,7 +78,25 @@ class BoardServiceTest extends MockDummyEntity {
     @Mock
     private MultipartFile multipartFile;
     @Mock
-    private S3Util s3Util;
+    private ImagePipeline imagePipeline;
+    @Mock
+    private StorageDeletionService storageDeletionService;
+    @Mock
+    private UploadService uploadService;
+    @Mock
+    private BookmarkIndex bookmarkIndex;
+    @Mock
+    private BoardClickCounter boardClickCounter;
+    @Mock
+    private ReplyAuthorCache replyAuthorCache;
+    @Mock
+    private BoardSearchIndex boardSearchIndex;
+    @Mock
+    private BoardTrendingIndex boardTrendingIndex;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+    @Mock
+    private BoardPurgeService boardPurgeService;
     @Spy
     private ObjectMapper om;
 
@@ -95,17 +125,43 @@ class BoardServiceTest extends MockDummyEntity {
         list.add(new BoardResponse.BoardPageDTO(board3, pb2, company));
         list.add(new BoardResponse.BoardPageDTO(board4, pb2, company));
 
-        Page<BoardResponse.BoardPageDTO> page = new PageImpl<>(list, pageable, list.size());
+        List<Long> ids = Arrays.asList(4L, 3L, 2L, 1L);
 
         //stub
-        Mockito.when(boardRepository.findBySearch(title, BoardStatus.ACTIVE, pageable)).thenReturn(page);
+        Mockito.when(boardSearchIndex.search(title, pageable)).thenReturn(new PageImpl<>(ids, pageable, ids.size()));
+        Mockito.when(boardRepository.findBoardPageByIdIn(ids, BoardStatus.ACTIVE)).thenReturn(list);
 
         //when
         PageDTO<BoardResponse.BoardPageDTO> result = boardService.getBoardsWithTitle(title, pageable);
 
         //then
         assertEquals(list.size(), result.getList().size());
-        assertEquals(list.get(0).getTitle(), result.getList().get(0).getTitle());
+        assertEquals(list.get(3).getTitle(), result.getList().get(0).getTitle());
+        assertEquals(4, result.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("PB 명으로 컨텐츠 검색")
+    void getBoardsWithPbName() {
+        //given
+        Company company = newMockCompany(1L, "미래에셋");
+        Branch branch = newMockBranch(1L, company, 1);
+        PB pb1 = newMockPB(1L, "이피비", branch);
+        Board board1 = newMockBoard(1L, "제목1.", pb1);
+        Pageable pageable = PageRequest.of(0, 10);
+        List<Long> ids = Arrays.asList(1L);
+
+        //stub
+        Mockito.when(boardSearchIndex.searchByAuthor("이피비", pageable)).thenReturn(new PageImpl<>(ids, pageable, 1));
+        Mockito.when(boardRepository.findBoardPageByIdIn(ids, BoardStatus.ACTIVE))
+                .thenReturn(Arrays.asList(new BoardResponse.BoardPageDTO(board1, pb1, company)));
+
+        //when
+        PageDTO<BoardResponse.BoardPageDTO> result = boardService.getBoardsWithPbName("이피비", pageable);
+
+        //then
+        assertEquals(1, result.getList().size());
+        assertEquals("이피비", result.getList().get(0).getPbName());
     }
 
     @Test
@@ -143,6 +199,35 @@ class BoardServiceTest extends MockDummyEntity {
         Assertions.assertThat(result.getList().get(3).getTitle()).isEqualTo("타이틀2");
     }
 
+    @Test
+    @DisplayName("최신컨텐츠순 커서 페이지 가져오기")
+    void getNewBoardCursor() {
+        //given
+        Company company = newMockCompany(1L, "미래에셋");
+        Branch branch = newMockBranch(1L, company, 1);
+        PB pb = newMockPB(1L, "이피비", branch);
+        List<BoardResponse.BoardPageDTO> rows = new ArrayList<>();
+        for (long id = 9L; id >= 7L; id--) {
+            rows.add(new BoardResponse.BoardPageDTO(newMockBoard(id, "제목" + id, pb), pb, company));
+        }
+
+        //stub
+        Mockito.when(boardRepository.findPageBeforeId(BoardStatus.ACTIVE, Long.MAX_VALUE, PageRequest.of(0, 3))).thenReturn(rows);
+        Mockito.when(boardRepository.findPageBeforeId(BoardStatus.ACTIVE, 8L, PageRequest.of(0, 3))).thenReturn(rows.subList(2, 3));
+
+        //when
+        CursorDTO<BoardResponse.BoardPageDTO> first = boardService.getNewBoardCursor(null, 2);
+        CursorDTO<BoardResponse.BoardPageDTO> last = boardService.getNewBoardCursor(first.getNextCursor(), 2);
+
+        //then
+        Assertions.assertThat(first.getList()).extracting(BoardResponse.BoardPageDTO::getId).containsExactly(9L, 8L);
+        Assertions.assertThat(first.getHasNext()).isTrue();
+        Assertions.assertThat(first.getNextCursor()).isEqualTo(8L);
+        Assertions.assertThat(last.getList()).extracting(BoardResponse.BoardPageDTO::getId).containsExactly(7L);
+        Assertions.assertThat(last.getHasNext()).isFalse();
+        Assertions.assertThat(last.getNextCursor()).isNull();
+    }
+
     @Test
     @DisplayName("핫한컨테츠순으로 가져오기")
     void getBoardWithHot() {
@@ -163,10 +248,11 @@ class BoardServiceTest extends MockDummyEntity {
         list.add(new BoardResponse.BoardPageDTO(board3, pb2, company));
         list.add(new BoardResponse.BoardPageDTO(board4, pb2, company));
 
-        Page<BoardResponse.BoardPageDTO> page = new PageImpl<>(list, pageable, list.size());
+        List<Long> ids = Arrays.asList(1L, 2L, 3L, 4L);
 
         //stub
-        Mockito.when(boardRepository.findAll(BoardStatus.ACTIVE, pageable)).thenReturn(page);
+        Mockito.when(boardTrendingIndex.page(pageable)).thenReturn(new PageImpl<>(ids, pageable, ids.size()));
+        Mockito.when(boardRepository.findBoardPageByIdIn(ids, BoardStatus.ACTIVE)).thenReturn(list);
 
         //when
         PageDTO<BoardResponse.BoardPageDTO> result = boardService.getBoardWithHot(pageable);
@@ -191,7 +277,6 @@ class BoardServiceTest extends MockDummyEntity {
         Board board3 = newMockBoard(3L, "타이틀1", pb2);
         Board board4 = newMockBoard(4L, "타이틀2", pb2);
         Pageable pageable1 = PageRequest.of(0, 2, Sort.by("id").descending());
-        Pageable pageable2 = PageRequest.of(0, 2, Sort.by("clickCount").descending());
         List<BoardResponse.BoardPageDTO> list = new ArrayList<>();
         list.add(new BoardResponse.BoardPageDTO(board1,pb1,company));
         list.add(new BoardResponse.BoardPageDTO(board2,pb1,company));
@@ -200,7 +285,8 @@ class BoardServiceTest extends MockDummyEntity {
 
         //stub
         Mockito.when(boardRepository.findTop2ByNew(BoardStatus.ACTIVE, pageable1)).thenReturn(list);
-        Mockito.when(boardRepository.findTop2ByHot(BoardStatus.ACTIVE, pageable2)).thenReturn(list);
+        Mockito.when(boardTrendingIndex.top(2)).thenReturn(Arrays.asList(4L, 3L));
+        Mockito.when(boardRepository.findBoardPageByIdIn(Arrays.asList(4L, 3L), BoardStatus.ACTIVE)).thenReturn(list.subList(2, 4));
 
         //when
         List<BoardResponse.BoardPageDTO> result = boardService.getNewHotContents();
@@ -208,6 +294,8 @@ class BoardServiceTest extends MockDummyEntity {
         //then
         Assertions.assertThat(result.get(0).getTitle()).isEqualTo("제목1");
         Assertions.assertThat(result.get(1).getId()).isEqualTo(2L);
+        Assertions.assertThat(result.get(4).getId()).isEqualTo(4L);
+        Assertions.assertThat(result.get(5).getId()).isEqualTo(3L);
     }
 
     @Test
@@ -224,14 +312,19 @@ class BoardServiceTest extends MockDummyEntity {
 
         //stub
         Mockito.when(boardRepository.findBoardWithPBReply(1L, BoardStatus.ACTIVE)).thenReturn(Optional.of(boardDetailDTO));
-        Mockito.when(boardRepository.findById(1L)).thenReturn(Optional.of(board));
-        Mockito.when(boardBookmarkRepository.existsByBookmarkerIdAndBookmarkerRoleAndBoardId(1L, BookmarkerRole.USER, 1L)).thenReturn(true);
+        Mockito.when(bookmarkIndex.getBookmarkedBoardIds(1L, BookmarkerRole.USER)).thenReturn(Set.of(1L));
+        Mockito.when(boardBodyRepository.findById(1L)).thenReturn(Optional.of(BoardBody.of(1L, "<p>본문입니다</p>")));
 
         //when
         BoardResponse.BoardDetailDTO result = boardService.getBoardDetail(myUserDetails1,1L);
 
         //then
         Assertions.assertThat(result).isEqualTo(boardDetailDTO);
+        Assertions.assertThat(result.getIsBookmarked()).isTrue();
+        Assertions.assertThat(result.getContent()).isEqualTo("<p>본문입니다</p>");
+        Assertions.assertThat(result.getContentHash()).hasSize(32);
+        Mockito.verify(boardClickCounter, Mockito.times(1)).increment(1L);
+        Mockito.verify(boardTrendingIndex, Mockito.times(1)).recordView(1L);
     }
 
     @Test
@@ -244,61 +337,58 @@ class BoardServiceTest extends MockDummyEntity {
         Board board = newMockBoard(1L, "컨텐츠입니다", pb);
         User user = newMockUser(1L, "투자자A");
         Reply reply1 = newMockUserReply(1L, board, user);
-        Reply reply2 = newMockPBReply(1L, board, pb);
-        ReReply reReply = newMockUserReReply(1L, reply1, user);
-
-        BoardResponse.ReplyOutDTO userReplyDTO = new BoardResponse.ReplyOutDTO(reply1, user);
-        BoardResponse.ReplyOutDTO pbReplyDTO = new BoardResponse.ReplyOutDTO(reply2, pb);
-        BoardResponse.ReReplyOutDTO reReplyOutDTO = new BoardResponse.ReReplyOutDTO(reReply, user);
-
-        List<BoardResponse.ReReplyOutDTO> reReplyOutDTOList = new ArrayList<>();
-        reReplyOutDTOList.add(reReplyOutDTO);
-        userReplyDTO.setReReply(reReplyOutDTOList);
-
-        List<BoardResponse.ReplyOutDTO> userReplyList = new ArrayList<>();
-        List<BoardResponse.ReplyOutDTO> pbReplyList = new ArrayList<>();
-        userReplyList.add(userReplyDTO);
-        pbReplyList.add(pbReplyDTO);
+        Reply reply2 = newMockPBReply(2L, board, pb);
+        ReReply reReply1 = newMockPBReReply(1L, reply1, pb);
+        ReReply reReply2 = newMockUserReReply(2L, reply1, user);
 
         //stub
-        Mockito.when(replyRepository.findUserRepliesByBoardId(1L)).thenReturn(userReplyList);
-        Mockito.when(replyRepository.findPBRepliesByBoardId(1L)).thenReturn(pbReplyList);
+        Mockito.when(replyRepository.findOrderedByBoardId(1L)).thenReturn(Arrays.asList(reply1, reply2));
+        Mockito.when(reReplyRepository.findOrderedByBoardId(1L)).thenReturn(Arrays.asList(reReply1, reReply2));
+        Mockito.when(replyAuthorCache.getAuthors(ReplyAuthorRole.USER, Set.of(1L)))
+                .thenReturn(Map.of(1L, new BoardResponse.ReplyAuthorDTO(1L, "투자자A")));
+        Mockito.when(replyAuthorCache.getAuthors(ReplyAuthorRole.PB, Set.of(1L)))
+                .thenReturn(Map.of(1L, new BoardResponse.ReplyAuthorDTO(1L, "이피비", "profile.png")));
 
         //when
         List<BoardResponse.ReplyOutDTO> result = boardService.getReplies(1L);
 
         //then
-        Assertions.assertThat(result).hasSize(2);
-        Assertions.assertThat(result).contains(userReplyDTO, pbReplyDTO);
-//        Assertions.assertThat(result.get(1).getReReply()).hasSize(1);
+        Assertions.assertThat(result).extracting(BoardResponse.ReplyOutDTO::getId).containsExactly(1L, 2L);
+        Assertions.assertThat(result.get(0).getName()).isEqualTo("투자자A");
+        Assertions.assertThat(result.get(1).getName()).isEqualTo("이피비");
+        Assertions.assertThat(result.get(0).getReReply()).extracting(BoardResponse.ReReplyOutDTO::getId).containsExactly(1L, 2L);
+        Assertions.assertThat(result.get(1).getReReply()).isEmpty();
+        Assertions.assertThat(result.get(1).getProfile()).isEqualTo("profile.png");
     }
 
     @Test
-    @DisplayName("대댓글 가져오기")
-    void getReReplies() {
+    @DisplayName("댓글 커서 페이지 가져오기")
+    void getReplyPage() {
         //given
         Company company = newMockCompany(1L, "미래에셋");
         Branch branch = newMockBranch(1L, company, 1);
         PB pb = newMockPB(1L, "이피비", branch);
         Board board = newMockBoard(1L, "컨텐츠입니다", pb);
         User user = newMockUser(1L, "투자자A");
-        Reply reply = newMockUserReply(1L, board, user);
-        ReReply reReply = newMockUserReReply(1L, reply, user);
-
-        BoardResponse.ReReplyOutDTO reReplyOutDTO = new BoardResponse.ReReplyOutDTO(reReply, user);
-        List<BoardResponse.ReReplyOutDTO> reReplyOutDTOList = new ArrayList<>();
-        reReplyOutDTOList.add(reReplyOutDTO);
+        Reply reply3 = newMockUserReply(3L, board, user);
+        Reply reply4 = newMockUserReply(4L, board, user);
+        Reply reply5 = newMockUserReply(5L, board, user);
+        ReReply reReply = newMockUserReReply(1L, reply4, user);
 
         //stub
-        Mockito.when(reReplyRepository.findUserReReplyByReplyId(1L)).thenReturn(reReplyOutDTOList);
-        Mockito.when(reReplyRepository.findPBReReplyByReplyId(1L)).thenReturn(reReplyOutDTOList);
+        Mockito.when(replyRepository.findPageByBoardId(1L, 2L, PageRequest.of(0, 3))).thenReturn(Arrays.asList(reply3, reply4, reply5));
+        Mockito.when(reReplyRepository.findOrderedByReplyIdIn(Arrays.asList(3L, 4L))).thenReturn(List.of(reReply));
+        Mockito.when(replyAuthorCache.getAuthors(ReplyAuthorRole.USER, Set.of(1L)))
+                .thenReturn(Map.of(1L, new BoardResponse.ReplyAuthorDTO(1L, "투자자A")));
 
         //when
-        List<BoardResponse.ReReplyOutDTO> result = boardService.getReReplies(1L);
-        System.out.println(result.get(0).getContent());
-        System.out.println(result.get(1).getContent());
+        CursorDTO<BoardResponse.ReplyOutDTO> result = boardService.getReplyPage(1L, 2L, 2);
+
         //then
-        Assertions.assertThat(result).hasSize(2);
+        Assertions.assertThat(result.getList()).extracting(BoardResponse.ReplyOutDTO::getId).containsExactly(3L, 4L);
+        Assertions.assertThat(result.getList().get(1).getReReply()).hasSize(1);
+        Assertions.assertThat(result.getHasNext()).isTrue();
+        Assertions.assertThat(result.getNextCursor()).isEqualTo(4L);
     }
 
     @Test
@@ -357,6 +447,37 @@ class BoardServiceTest extends MockDummyEntity {
 
         //then
         Assertions.assertThatCode(() -> boardService.saveBoard(multipartFile, boardInDTO, myUserDetails, BoardStatus.ACTIVE)).doesNotThrowAnyException();
+        Mockito.verify(boardBodyRepository).save(ArgumentMatchers.argThat(boardBody -> boardBody.getContent().equals("컨텐츠입니다")));
+    }
+
+    @Test
+    @DisplayName("컨텐츠 저장하기 - 직접 업로드한 썸네일 키")
+    void saveBoard_thumbnailKey() {
+        //given
+        BoardRequest.BoardInDTO boardInDTO = new BoardRequest.BoardInDTO();
+        boardInDTO.setTitle("제목입니다");
+        boardInDTO.setContent("컨텐츠입니다");
+        boardInDTO.setThumbnailKey("upload/thumbnail/uuid_a.png");
+        BlobInfo metadata = new BlobInfo("upload/thumbnail/uuid_a.png", 1024L, "image/png", new Date());
+
+        //stub
+        Mockito.when(myUserDetails.getMember()).thenReturn(member);
+        Mockito.when(member.getId()).thenReturn(1L);
+        Mockito.when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
+        Mockito.when(uploadService.claim(UploadTarget.THUMBNAIL, "upload/thumbnail/uuid_a.png", "thumbnailKey")).thenReturn(metadata);
+        Mockito.when(boardRepository.save(ArgumentMatchers.any(Board.class))).thenAnswer(i -> {
+            Board board = i.getArgument(0);
+            ReflectionTestUtils.setField(board, "id", 1L);
+            return board;
+        });
+
+        //when
+        boardService.saveBoard(null, boardInDTO, myUserDetails, BoardStatus.ACTIVE);
+
+        //then
+        Mockito.verify(uploadService).attachImage(ArgumentMatchers.eq(UploadTarget.THUMBNAIL), ArgumentMatchers.eq("upload/thumbnail/uuid_a.png"),
+                ArgumentMatchers.eq(metadata), ArgumentMatchers.eq(1L), ArgumentMatchers.any());
+        Mockito.verifyNoInteractions(imagePipeline);
     }
 
     @Test
@@ -367,7 +488,7 @@ class BoardServiceTest extends MockDummyEntity {
                 .id(1L)
                 .pb(pb)
                 .title("타이틀입니다.")
-                .content("컨텐츠입니다.")
+                .excerpt("컨텐츠입니다.")
                 .createdAt(LocalDateTime.now())
                 .status(BoardStatus.TEMP)
                 .build();
@@ -388,7 +509,8 @@ class BoardServiceTest extends MockDummyEntity {
         Assertions.assertThat(result).isNotNull().isNotEmpty().hasSize(1);
         Assertions.assertThat(result.get(0)).hasFieldOrPropertyWithValue("id", board.getId());
         Assertions.assertThat(result.get(0)).hasFieldOrPropertyWithValue("title", board.getTitle());
-        Assertions.assertThat(result.get(0)).hasFieldOrPropertyWithValue("content", board.getContent());
+        Assertions.assertThat(result.get(0)).hasFieldOrPropertyWithValue("content", board.getExcerpt());
+        Mockito.verifyNoInteractions(boardBodyRepository);
     }
 
     @Test
@@ -399,7 +521,7 @@ class BoardServiceTest extends MockDummyEntity {
                 .id(1L)
                 .pb(pb)
                 .title("타이틀입니다.")
-                .content("컨텐츠입니다.")
+                .excerpt("컨텐츠입니다.")
                 .createdAt(LocalDateTime.now())
                 .status(BoardStatus.TEMP)
                 .build();
@@ -410,6 +532,7 @@ class BoardServiceTest extends MockDummyEntity {
         Mockito.when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
         Mockito.when(pb.getId()).thenReturn(1L);
         Mockito.when(boardRepository.findByIdAndPbId(1L, 1L)).thenReturn(Optional.ofNullable(board));
+        Mockito.when(boardBodyRepository.findById(1L)).thenReturn(Optional.of(BoardBody.of(1L, "<p>컨텐츠입니다.</p>")));
 
         //when
         BoardResponse.BoardOutDTO result = boardService.getBoard(myUserDetails, 1L);
@@ -417,7 +540,8 @@ class BoardServiceTest extends MockDummyEntity {
         //then
         Assertions.assertThat(result).isNotNull();
         Assertions.assertThat(result).hasFieldOrPropertyWithValue("title", board.getTitle());
-        Assertions.assertThat(result).hasFieldOrPropertyWithValue("content", board.getContent());
+        Assertions.assertThat(result).hasFieldOrPropertyWithValue("content", "<p>컨텐츠입니다.</p>");
+        Assertions.assertThat(result.getContentHash()).isNotNull();
         Assertions.assertThat(result).hasFieldOrPropertyWithValue("status", board.getStatus());
     }
 
@@ -429,14 +553,16 @@ class BoardServiceTest extends MockDummyEntity {
                 .id(1L)
                 .pb(pb)
                 .title("타이틀입니다.")
-                .content("컨텐츠입니다.")
+                .excerpt("컨텐츠입니다.")
                 .createdAt(LocalDateTime.now())
                 .status(BoardStatus.TEMP)
                 .build();
 
         BoardRequest.BoardUpdateDTO boardUpdateDTO = new BoardRequest.BoardUpdateDTO();
         boardUpdateDTO.setTitle("업데이트된 타이틀입니다.");
-        boardUpdateDTO.setContent("업데이트된 제목입니다.");
+        boardUpdateDTO.setContent("<p>업데이트된 제목입니다.</p>");
+        BoardBody boardBody = BoardBody.of(1L, "<p>컨텐츠입니다.</p>");
+        String oldHash = boardBody.getContentHash();
 
         //stub
         Mockito.when(myUserDetails.getMember()).thenReturn(member);
@@ -444,13 +570,16 @@ class BoardServiceTest extends MockDummyEntity {
         Mockito.when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
         Mockito.when(pb.getId()).thenReturn(1L);
         Mockito.when(boardRepository.findByIdAndPbId(1L, 1L)).thenReturn(Optional.ofNullable(board));
+        Mockito.when(boardBodyRepository.findById(1L)).thenReturn(Optional.of(boardBody));
 
         //when
         Assertions.assertThatCode(() -> boardService.putBoard(multipartFile, myUserDetails, boardUpdateDTO, 1L)).doesNotThrowAnyException();
 
         //then
         Assertions.assertThat(board).hasFieldOrPropertyWithValue("title", boardUpdateDTO.getTitle());
-        Assertions.assertThat(board).hasFieldOrPropertyWithValue("content", boardUpdateDTO.getContent());
+        Assertions.assertThat(board).hasFieldOrPropertyWithValue("excerpt", "업데이트된 제목입니다.");
+        Assertions.assertThat(boardBody.getContent()).isEqualTo(boardUpdateDTO.getContent());
+        Assertions.assertThat(boardBody.getContentHash()).isNotEqualTo(oldHash);
     }
 
     @Test
@@ -461,7 +590,7 @@ class BoardServiceTest extends MockDummyEntity {
                 .id(1L)
                 .pb(pb)
                 .title("타이틀입니다.")
-                .content("컨텐츠입니다.")
+                .excerpt("컨텐츠입니다.")
                 .createdAt(LocalDateTime.now())
                 .status(BoardStatus.TEMP)
                 .build();
@@ -472,17 +601,13 @@ class BoardServiceTest extends MockDummyEntity {
         Mockito.when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
         Mockito.when(pb.getId()).thenReturn(1L);
         Mockito.when(boardRepository.findByIdAndPbId(1L, 1L)).thenReturn(Optional.ofNullable(board));
-        Mockito.doNothing().when(replyRepository).deleteByBoardId(1L);
-        Mockito.doNothing().when(boardBookmarkRepository).deleteByBoardId(1L);
-        Mockito.doNothing().when(boardRepository).deleteById(1L);
 
         //when
 
         //then
         Assertions.assertThatCode(() -> boardService.deleteBoard(myUserDetails, 1L)).doesNotThrowAnyException();
-        Mockito.verify(replyRepository, Mockito.times(1)).deleteByBoardId(1L);
-        Mockito.verify(boardBookmarkRepository).deleteByBoardId(1L);
-        Mockito.verify(boardRepository).deleteById(1L);
+        Mockito.verify(boardPurgeService).markDeleted(1L);
+        Mockito.verify(replyRepository, Mockito.never()).deleteByBoardId(1L);
     }
 
     @Test
@@ -508,6 +633,58 @@ class BoardServiceTest extends MockDummyEntity {
         Assertions.assertThat(result.getList().size()).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("북마크한 컨텐츠 커서 페이지 가져오기")
+    void getBookmarkBoardCursor() {
+        //given
+        Company company = newMockCompany(1L, "미래에셋");
+        Branch branch = newMockBranch(1L, company, 1);
+        PB pb = newMockPB(1L, "이피비", branch);
+        List<BoardResponse.BoardPageDTO> rows = new ArrayList<>();
+        rows.add(new BoardResponse.BoardPageDTO(newMockBoard(3L, "제목3", pb), pb, company));
+
+        //stub
+        Mockito.when(myUserDetails.getMember()).thenReturn(member);
+        Mockito.when(member.getRole()).thenReturn(Role.PB);
+        Mockito.when(member.getId()).thenReturn(1L);
+        Mockito.when(boardRepository.findBookmarkPageBeforeId(1L, BookmarkerRole.PB, 5L, PageRequest.of(0, 11))).thenReturn(rows);
+
+        //when
+        CursorDTO<BoardResponse.BoardPageDTO> result = boardService.getBookmarkBoardCursor(myUserDetails, 5L, 10);
+
+        //then
+        Assertions.assertThat(result.getList()).hasSize(1);
+        Assertions.assertThat(result.getList().get(0).getIsBookmarked()).isTrue();
+        Assertions.assertThat(result.getHasNext()).isFalse();
+        Mockito.verifyNoInteractions(userRepository, pbRepository);
+    }
+
+    @Test
+    @DisplayName("해당 PB의 컨텐츠 커서 페이지 가져오기")
+    void getPBBoardCursor() {
+        //given
+        Company company = newMockCompany(1L, "미래에셋");
+        Branch branch = newMockBranch(1L, company, 1);
+        PB pb = newMockPB(1L, "이피비", branch);
+        List<BoardResponse.BoardPageDTO> rows = new ArrayList<>();
+        rows.add(new BoardResponse.BoardPageDTO(newMockBoard(2L, "제목2", pb), pb, company));
+        rows.add(new BoardResponse.BoardPageDTO(newMockBoard(1L, "제목1", pb), pb, company));
+
+        //stub
+        Mockito.when(myUserDetails.getMember()).thenReturn(member);
+        Mockito.when(member.getRole()).thenReturn(Role.USER);
+        Mockito.when(member.getId()).thenReturn(1L);
+        Mockito.when(boardRepository.findPBPageBeforeId(1L, Long.MAX_VALUE, PageRequest.of(0, 11))).thenReturn(rows);
+        Mockito.when(bookmarkIndex.getBookmarkedBoardIds(1L, BookmarkerRole.USER)).thenReturn(Set.of(1L));
+
+        //when
+        CursorDTO<BoardResponse.BoardPageDTO> result = boardService.getPBBoardCursor(myUserDetails, 1L, null, 10);
+
+        //then
+        Assertions.assertThat(result.getList()).extracting(BoardResponse.BoardPageDTO::getIsBookmarked).containsExactly(false, true);
+        Assertions.assertThat(result.getNextCursor()).isNull();
+    }
+
     @Test
     @DisplayName("맞춤컨텐츠 2개 가져오기")
     void getRecommendedBoards() {
@@ -525,12 +702,16 @@ class BoardServiceTest extends MockDummyEntity {
         when(userRepository.findById(any(Long.class))).thenReturn(Optional.of(user));
         when(boardRepository.findRecommendedBoards(any(PageRequest.class), any(PBSpeciality.class),
                 any(PBSpeciality.class), any(PBSpeciality.class))).thenReturn(list);
+        when(bookmarkIndex.getBookmarkedBoardIds(memberId, BookmarkerRole.USER)).thenReturn(Set.of(2L));
 
         //when
         List<BoardResponse.BoardPageDTO> result = boardService.getRecommendedBoards(myUserDetails);
 
         //then
         assertThat(result).isEqualTo(list);
+        assertThat(result.get(0).getIsBookmarked()).isFalse();
+        assertThat(result.get(1).getIsBookmarked()).isTrue();
+        Mockito.verify(bookmarkIndex, Mockito.times(1)).getBookmarkedBoardIds(memberId, BookmarkerRole.USER);
     }
 
     @Test
@@ -0,0 +1,66 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.event.BoardChangedEvent;
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.image.ImageTarget;
+import kr.co.moneybridge.model.board.BoardRepository;
+import kr.co.moneybridge.model.pb.PBRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ImageWriteBackServiceTest {
+    @InjectMocks
+    private ImageWriteBackService imageWriteBackService;
+    @Mock
+    private PBRepository pbRepository;
+    @Mock
+    private BoardRepository boardRepository;
+    @Mock
+    private StorageDeletionService storageDeletionService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Test
+    @DisplayName("반영되면 교체된 기존 파일을 삭제 큐에 넣고 인덱스 갱신 이벤트 발행")
+    void apply_profile() {
+        when(pbRepository.updateProfileIfUnchanged(1L, "old.png", "new.png")).thenReturn(1);
+
+        assertThat(imageWriteBackService.apply(ImageTarget.PB_PROFILE, 1L, "old.png", "new.png")).isTrue();
+
+        verify(storageDeletionService).enqueue("old.png");
+        verify(applicationEventPublisher).publishEvent(any(PBChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("썸네일 반영")
+    void apply_thumbnail() {
+        when(boardRepository.updateThumbnailIfUnchanged(1L, "default.svg", "new.png")).thenReturn(1);
+
+        imageWriteBackService.apply(ImageTarget.BOARD_THUMBNAIL, 1L, "default.svg", "new.png");
+
+        verify(storageDeletionService).enqueue("default.svg");
+        verify(applicationEventPublisher).publishEvent(any(BoardChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("처리 중에 바뀌었으면 덮어쓰지 않고 방금 올린 사본을 지움")
+    void apply_changed() {
+        when(pbRepository.updateBusinessCardIfUnchanged(1L, "default.svg", "new.png")).thenReturn(0);
+
+        assertThat(imageWriteBackService.apply(ImageTarget.PB_BUSINESS_CARD, 1L, "default.svg", "new.png")).isFalse();
+
+        verify(storageDeletionService).enqueue("new.png");
+        verify(storageDeletionService, never()).enqueue("default.svg");
+        verifyNoInteractions(applicationEventPublisher);
+    }
+}
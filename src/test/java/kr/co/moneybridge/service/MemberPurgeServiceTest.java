@@ -0,0 +1,319 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.dummy.MockDummyEntity;
+import kr.co.moneybridge.core.event.PBChangedEvent;
+import kr.co.moneybridge.core.event.UserChangedEvent;
+import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.core.index.BookmarkIndex;
+import kr.co.moneybridge.core.util.RedisUtil;
+import kr.co.moneybridge.model.MemberPurge;
+import kr.co.moneybridge.model.MemberPurgeRepository;
+import kr.co.moneybridge.model.MemberPurgeStep;
+import kr.co.moneybridge.model.Role;
+import kr.co.moneybridge.model.board.*;
+import kr.co.moneybridge.model.pb.*;
+import kr.co.moneybridge.model.reservation.ReservationRepository;
+import kr.co.moneybridge.model.reservation.ReviewRepository;
+import kr.co.moneybridge.model.reservation.StyleRepository;
+import kr.co.moneybridge.model.user.UserAgreementRepository;
+import kr.co.moneybridge.model.user.UserBookmarkRepository;
+import kr.co.moneybridge.model.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+public class MemberPurgeServiceTest extends MockDummyEntity {
+    @InjectMocks
+    private MemberPurgeService memberPurgeService;
+    @Mock
+    private MemberPurgeRepository memberPurgeRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserAgreementRepository userAgreementRepository;
+    @Mock
+    private UserBookmarkRepository userBookmarkRepository;
+    @Mock
+    private PBRepository pbRepository;
+    @Mock
+    private PBAgreementRepository pbAgreementRepository;
+    @Mock
+    private PortfolioRepository portfolioRepository;
+    @Mock
+    private AwardRepository awardRepository;
+    @Mock
+    private CareerRepository careerRepository;
+    @Mock
+    private ReservationRepository reservationRepository;
+    @Mock
+    private ReviewRepository reviewRepository;
+    @Mock
+    private StyleRepository styleRepository;
+    @Mock
+    private BoardRepository boardRepository;
+    @Mock
+    private BoardBookmarkRepository boardBookmarkRepository;
+    @Mock
+    private ReplyRepository replyRepository;
+    @Mock
+    private ReReplyRepository reReplyRepository;
+    @Mock
+    private BoardPurgeService boardPurgeService;
+    @Mock
+    private PBStatsService pbStatsService;
+    @Mock
+    private BookmarkIndex bookmarkIndex;
+    @Mock
+    private RedisUtil redisUtil;
+    @Mock
+    private StorageDeletionService storageDeletionService;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private final PageRequest chunk = PageRequest.of(0, MemberPurgeService.CHUNK_SIZE);
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(memberPurgeService, "defaultProfile", "default.png");
+    }
+
+    private MemberPurge purgeAt(Long memberId, Role role, MemberPurgeStep step) {
+        MemberPurge purge = MemberPurge.builder()
+                .id(1L).memberId(memberId).role(role).step(step).attempts(0).build();
+        when(memberPurgeRepository.findById(1L)).thenReturn(Optional.of(purge));
+        return purge;
+    }
+
+    @Test
+    @DisplayName("PB 탈퇴 요청 - 계정/컨텐츠를 숨기고 토큰을 지운 뒤 정리 작업만 남김")
+    void request_pb() {
+        // given
+        PB pb = newMockPB(1L, "lee", newMockBranch(1L, newMockCompany(1L, "미래에셋증권"), 0));
+
+        // stub
+        when(memberPurgeRepository.existsByMemberIdAndRole(1L, Role.PB)).thenReturn(false);
+        when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
+
+        // when
+        memberPurgeService.request(1L, Role.PB);
+
+        // then
+        assertThat(pb.getStatus()).isEqualTo(PBStatus.WITHDRAWN);
+        verify(boardRepository).markDeletedByPBId(1L);
+        verify(memberPurgeRepository).save(any(MemberPurge.class));
+        verify(redisUtil).delete("1PB");
+        verify(applicationEventPublisher).publishEvent(any(PBChangedEvent.class));
+        verify(pbRepository, never()).deleteById(any());
+        verifyNoInteractions(storageDeletionService, reservationRepository, replyRepository);
+    }
+
+    @Test
+    @DisplayName("관리자 계정도 USER 작업으로 묶고 두 키의 토큰을 지움")
+    void request_admin() {
+        // stub
+        when(memberPurgeRepository.existsByMemberIdAndRole(1L, Role.USER)).thenReturn(false);
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        // when
+        memberPurgeService.request(1L, Role.ADMIN);
+
+        // then
+        verify(memberPurgeRepository).save(argThat(purge -> purge.getRole().equals(Role.USER)
+                && purge.getStep().equals(MemberPurgeStep.FILES)));
+        verify(redisUtil).delete("1USER");
+        verify(redisUtil).delete("1ADMIN");
+        verify(applicationEventPublisher).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("이미 정리 중인 계정은 다시 요청해도 그대로")
+    void request_already() {
+        when(memberPurgeRepository.existsByMemberIdAndRole(1L, Role.USER)).thenReturn(true);
+
+        memberPurgeService.request(1L, Role.USER);
+
+        verify(memberPurgeRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("없는 계정은 404")
+    void request_not_found() {
+        when(memberPurgeRepository.existsByMemberIdAndRole(1L, Role.USER)).thenReturn(false);
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThatThrownBy(() -> memberPurgeService.request(1L, Role.USER)).isInstanceOf(Exception404.class);
+    }
+
+    @Test
+    @DisplayName("투자자는 파일 단계를 바로 넘김")
+    void runStep_files_user() {
+        MemberPurge purge = purgeAt(1L, Role.USER, MemberPurgeStep.FILES);
+
+        assertThat(memberPurgeService.runStep(1L)).isTrue();
+
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.RESERVATIONS);
+        verifyNoInteractions(storageDeletionService);
+    }
+
+    @Test
+    @DisplayName("PB 파일 단계 - 디폴트 프로필은 남기고 나머지 파일을 s3 삭제 큐에 넣음")
+    void runStep_files_pb() {
+        MemberPurge purge = purgeAt(1L, Role.PB, MemberPurgeStep.FILES);
+        when(portfolioRepository.findFileByPBId(1L)).thenReturn(Optional.empty());
+        when(pbRepository.findBusinessCardById(1L)).thenReturn(Optional.of("card.png"));
+        when(pbRepository.findProfileById(1L)).thenReturn(Optional.of("default.png"));
+
+        memberPurgeService.runStep(1L);
+
+        verify(storageDeletionService).enqueueAll(Arrays.asList("card.png"));
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.RESERVATIONS);
+    }
+
+    @Test
+    @DisplayName("예약 단계 - 스타일 -> 후기 -> 예약 순 묶음 삭제 후 걸려있던 PB 집계 갱신")
+    void runStep_reservations() {
+        MemberPurge purge = purgeAt(1L, Role.USER, MemberPurgeStep.RESERVATIONS);
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(reservationRepository.findIdsByUserId(1L, chunk)).thenReturn(ids);
+        when(reservationRepository.findPBIdsByIdIn(ids)).thenReturn(Arrays.asList(3L));
+
+        memberPurgeService.runStep(1L);
+
+        InOrder inOrder = inOrder(styleRepository, reviewRepository, reservationRepository, pbStatsService);
+        inOrder.verify(styleRepository).deleteByReservationIdIn(ids);
+        inOrder.verify(reviewRepository).deleteByReservationIdIn(ids);
+        inOrder.verify(reservationRepository).deleteAllByIdInBatch(ids);
+        inOrder.verify(pbStatsService).refresh(Arrays.asList(3L));
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.REPLIES);
+    }
+
+    @Test
+    @DisplayName("묶음이 꽉 차면 같은 단계를 이어서 진행")
+    void runStep_reservations_full_chunk() {
+        MemberPurge purge = purgeAt(1L, Role.PB, MemberPurgeStep.RESERVATIONS);
+        List<Long> ids = LongStream.rangeClosed(1, MemberPurgeService.CHUNK_SIZE).boxed().collect(Collectors.toList());
+        when(reservationRepository.findIdsByPBId(1L, chunk)).thenReturn(ids);
+
+        assertThat(memberPurgeService.runStep(1L)).isTrue();
+
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.RESERVATIONS);
+        verify(reservationRepository, never()).findPBIdsByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("댓글 단계 - 작성한 댓글과 거기 달린 대댓글, 그 다음 작성한 대댓글")
+    void runStep_replies() {
+        MemberPurge purge = purgeAt(1L, Role.USER, MemberPurgeStep.REPLIES);
+        when(replyRepository.findIdsByAuthor(1L, ReplyAuthorRole.USER, chunk)).thenReturn(Arrays.asList(1L));
+        when(reReplyRepository.findIdsByAuthor(1L, ReplyAuthorRole.USER, chunk)).thenReturn(Arrays.asList(5L));
+
+        memberPurgeService.runStep(1L);
+
+        verify(reReplyRepository).deleteByReplyIdIn(Arrays.asList(1L));
+        verify(replyRepository).deleteAllByIdInBatch(Arrays.asList(1L));
+        verify(reReplyRepository).deleteAllByIdInBatch(Arrays.asList(5L));
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.BOARDS);
+    }
+
+    @Test
+    @DisplayName("컨텐츠 단계 - PB 컨텐츠를 컨텐츠 정리와 같은 방식으로 삭제")
+    void runStep_boards() {
+        MemberPurge purge = purgeAt(1L, Role.PB, MemberPurgeStep.BOARDS);
+        when(boardRepository.findIdsByPBIdAfterId(1L, 0L, chunk)).thenReturn(Arrays.asList(1L, 2L));
+
+        memberPurgeService.runStep(1L);
+
+        verify(boardPurgeService).purge(Arrays.asList(1L, 2L));
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.BOOKMARKS);
+    }
+
+    @Test
+    @DisplayName("북마크 단계 - 투자자가 북마크했던 PB 집계 갱신")
+    void runStep_bookmarks() {
+        MemberPurge purge = purgeAt(1L, Role.USER, MemberPurgeStep.BOOKMARKS);
+        when(userBookmarkRepository.findPBIdsByUserId(1L)).thenReturn(Arrays.asList(2L));
+
+        memberPurgeService.runStep(1L);
+
+        verify(boardBookmarkRepository).deleteByBookmarker(1L, BookmarkerRole.USER);
+        verify(userBookmarkRepository).deleteByUserId(1L);
+        verify(pbStatsService).refresh(Arrays.asList(2L));
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.ACCOUNT);
+    }
+
+    @Test
+    @DisplayName("계정 단계 - 남은 행과 계정을 지우고 작업 행도 지움")
+    void runStep_account_pb() {
+        MemberPurge purge = purgeAt(1L, Role.PB, MemberPurgeStep.ACCOUNT);
+
+        assertThat(memberPurgeService.runStep(1L)).isFalse();
+
+        verify(careerRepository).deleteByPBId(1L);
+        verify(awardRepository).deleteByPBId(1L);
+        verify(pbAgreementRepository).deleteByPBId(1L);
+        verify(portfolioRepository).deleteByPBId(1L);
+        verify(pbRepository).deleteById(1L);
+        verify(pbStatsService).delete(1L);
+        verify(bookmarkIndex).evictMember(1L, Role.PB);
+        verify(memberPurgeRepository).delete(purge);
+        verify(applicationEventPublisher).publishEvent(any(PBChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("계정 단계 - 앞 단계 이후에 생긴 예약이 있으면 계정을 지우지 않고 예약 단계로 되돌림")
+    void runStep_account_lateRows() {
+        MemberPurge purge = purgeAt(1L, Role.PB, MemberPurgeStep.ACCOUNT);
+        when(reservationRepository.findIdsByPBId(1L, PageRequest.of(0, 1))).thenReturn(Arrays.asList(7L));
+
+        assertThat(memberPurgeService.runStep(1L)).isTrue();
+
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.RESERVATIONS);
+        verify(reservationRepository, never()).deleteAllByIdInBatch(any());
+        verify(pbRepository, never()).deleteById(any());
+        verify(memberPurgeRepository, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("실패 기록 - 시도 횟수와 마지막 에러를 남기고 단계는 그대로")
+    void recordFailure() {
+        MemberPurge purge = purgeAt(1L, Role.USER, MemberPurgeStep.REPLIES);
+
+        memberPurgeService.recordFailure(1L, new IllegalStateException("lock timeout"));
+
+        assertThat(purge.getAttempts()).isEqualTo(1);
+        assertThat(purge.getLastError()).isEqualTo("lock timeout");
+        assertThat(purge.getStep()).isEqualTo(MemberPurgeStep.REPLIES);
+    }
+
+    @Test
+    @DisplayName("이미 끝난 작업은 건너뜀")
+    void runStep_gone() {
+        when(memberPurgeRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(memberPurgeService.runStep(1L)).isFalse();
+        verify(memberPurgeRepository, never()).delete(any());
+        verifyNoInteractions(userRepository, pbRepository, boardPurgeService);
+    }
+}
@@ -2,7 +2,19 @@ package kr.co.moneybridge.service;
 
 import kr.co.moneybridge.core.auth.session.MyUserDetails;
 import kr.co.moneybridge.core.dummy.MockDummyEntity;
-import kr.co.moneybridge.core.util.S3Util;
+import kr.co.moneybridge.core.exception.Exception400;
+import kr.co.moneybridge.core.image.ImagePipeline;
+import kr.co.moneybridge.core.image.ImageTarget;
+import kr.co.moneybridge.core.upload.UploadTarget;
+import kr.co.moneybridge.core.index.BookmarkIndex;
+import kr.co.moneybridge.core.index.BranchSearchIndex;
+import kr.co.moneybridge.core.index.CompanyCatalog;
+import kr.co.moneybridge.core.index.PBLeaderboardIndex;
+import kr.co.moneybridge.core.index.PBLocationIndex;
+import kr.co.moneybridge.core.index.PBNameIndex;
+import kr.co.moneybridge.core.index.PBPropensityPool;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.BlobStore;
 import kr.co.moneybridge.dto.PageDTO;
 import kr.co.moneybridge.dto.PageDTOV2;
 import kr.co.moneybridge.dto.pb.PBRequest;
@@ -10,10 +22,7 @@ import kr.co.moneybridge.dto.pb.PBResponse;
 import kr.co.moneybridge.model.Member;
 import kr.co.moneybridge.model.Role;
 import kr.co.moneybridge.model.pb.*;
-import kr.co.moneybridge.model.reservation.ReservationRepository;
-import kr.co.moneybridge.model.reservation.ReviewRepository;
 import kr.co.moneybridge.model.user.User;
-import kr.co.moneybridge.model.user.UserBookmarkRepository;
 import kr.co.moneybridge.model.user.UserPropensity;
 import kr.co.moneybridge.model.user.UserRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -24,20 +33,27 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ActiveProfiles("test")
@@ -51,19 +67,23 @@ class PBServiceTest extends MockDummyEntity {
     @Mock
     UserRepository userRepository;
     @Mock
-    CompanyRepository companyRepository;
+    CompanyCatalog companyCatalog;
     @Mock
     BranchRepository branchRepository;
     @Mock
-    ReservationRepository reservationRepository;
-    @Mock
-    ReviewRepository reviewRepository;
-    @Mock
     AwardRepository awardRepository;
     @Mock
     CareerRepository careerRepository;
     @Mock
-    UserBookmarkRepository userBookmarkRepository;
+    BookmarkIndex bookmarkIndex;
+    @Mock
+    PBLeaderboardIndex pbLeaderboardIndex;
+    @Mock
+    PBPropensityPool pbPropensityPool;
+    @Mock
+    PBNameIndex pbNameIndex;
+    @Mock
+    BranchSearchIndex branchSearchIndex;
     @Mock
     PortfolioRepository portfolioRepository;
     @Mock
@@ -79,7 +99,19 @@ class PBServiceTest extends MockDummyEntity {
     @Mock
     Pageable pageable;
     @Mock
-    S3Util s3Util;
+    BlobStore blobStore;
+    @Mock
+    ImagePipeline imagePipeline;
+    @Mock
+    StorageDeletionService storageDeletionService;
+    @Mock
+    UploadService uploadService;
+    @Mock
+    PBStatsService pbStatsService;
+    @Mock
+    PBLocationIndex pbLocationIndex;
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
 
     // 진짜 객체를 만들어서 Mockito 환경에 Load
     @Spy
@@ -123,7 +155,6 @@ class PBServiceTest extends MockDummyEntity {
         when(branchRepository.findById(any())).thenReturn(Optional.of(branch));
         when(pbRepository.save(any())).thenReturn(pb);
         when(pbAgreementRepository.save(any())).thenReturn(pbAgreement);
-        when(s3Util.upload(any(), any())).thenReturn("mock-path");
 
         //when
         PBResponse.JoinOutDTO joinOutDTO = pbService.joinPB(businessCard, joinInDTO);
@@ -134,7 +165,35 @@ class PBServiceTest extends MockDummyEntity {
         Mockito.verify(branchRepository, Mockito.times(1)).findById(any());
         Mockito.verify(pbRepository, Mockito.times(1)).save(any());
         Mockito.verify(pbAgreementRepository, Mockito.times(2)).save(any());
-        Mockito.verify(s3Util, Mockito.times(1)).upload(any(), any());
+        Mockito.verify(imagePipeline, Mockito.times(1)).submit(eq(businessCard), eq(ImageTarget.PB_BUSINESS_CARD), eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("PB 회원가입 - 직접 업로드한 명함 키")
+    void joinPB_businessCardKey() {
+        //given
+        PBRequest.JoinInDTO joinInDTO = new PBRequest.JoinInDTO();
+        joinInDTO.setEmail("김pb@nate.com");
+        joinInDTO.setPassword("password1234");
+        joinInDTO.setBranchId(1L);
+        joinInDTO.setBusinessCardKey("upload/business-card/uuid_card.png");
+        Branch branch = newMockBranch(1L, newMockCompany(1L, "미래에셋증권"), 0);
+        PB pb = newMockPB(1L, "김pb", branch);
+        BlobInfo metadata = new BlobInfo("upload/business-card/uuid_card.png", 1024L, "image/png", new Date());
+
+        //stub
+        when(pbRepository.findByEmail(any())).thenReturn(Optional.empty());
+        when(branchRepository.findById(any())).thenReturn(Optional.of(branch));
+        when(uploadService.claim(UploadTarget.BUSINESS_CARD, "upload/business-card/uuid_card.png", "businessCardKey")).thenReturn(metadata);
+        when(pbRepository.save(any())).thenReturn(pb);
+
+        //when
+        PBResponse.JoinOutDTO joinOutDTO = pbService.joinPB(null, joinInDTO);
+
+        //then
+        assertThat(joinOutDTO.getId()).isEqualTo(1L);
+        Mockito.verify(uploadService).attachImage(eq(UploadTarget.BUSINESS_CARD), eq("upload/business-card/uuid_card.png"), eq(metadata), eq(1L), any());
+        Mockito.verifyNoInteractions(imagePipeline);
     }
 
     @Test
@@ -148,12 +207,10 @@ class PBServiceTest extends MockDummyEntity {
         List<Long> pbIds = Arrays.asList(1L);
         // stub
         when(userRepository.findById(any())).thenReturn(userOP);
-        when(pbRepository.findIdsBySpecialityNotIn(any())).thenReturn(pbIds);
-        when(pbRepository.findIdsBySpecialityIn(any())).thenReturn(pbIds);
+        when(pbPropensityPool.sample(UserPropensity.AGGRESSIVE, 3)).thenReturn(pbIds);
         when(pbRepository.findByIdIn(any())).thenReturn(Arrays.asList(pb));
-        when(reservationRepository.countByPBIdAndProcess(any(), any())).thenReturn(0L);
-        when(reviewRepository.countByPBId(any())).thenReturn(0L);
-        when(userBookmarkRepository.existsByUserIdAndPBId(any(), any())).thenReturn(false);
+        when(pbStatsService.getStats(pbIds)).thenReturn(Map.of(1L, newMockPBStats(1L, 0L, 0L, 0L)));
+        when(bookmarkIndex.getBookmarkedPBIds(id)).thenReturn(Set.of());
 
         // when
         PBResponse.MyPropensityPBOutDTO myPropensityPBOutDTO =
@@ -173,12 +230,10 @@ class PBServiceTest extends MockDummyEntity {
         assertThat(myPropensityPBOutDTO.getList().get(0).getReviewCount()).isEqualTo(0);
         assertThat(myPropensityPBOutDTO.getList().get(0).getIsBookmarked()).isEqualTo(false);
         Mockito.verify(userRepository, Mockito.times(1)).findById(any());
-        Mockito.verify(pbRepository, Mockito.times(1)).findIdsBySpecialityNotIn(any());
-        Mockito.verify(pbRepository, Mockito.times(1)).findIdsBySpecialityIn(any());
+        Mockito.verify(pbPropensityPool, Mockito.times(1)).sample(UserPropensity.AGGRESSIVE, 3);
         Mockito.verify(pbRepository, Mockito.times(1)).findByIdIn(any());
-        Mockito.verify(reservationRepository, Mockito.times(1)).countByPBIdAndProcess(any(), any());
-        Mockito.verify(reviewRepository, Mockito.times(1)).countByPBId(any());
-        Mockito.verify(userBookmarkRepository, Mockito.times(1)).existsByUserIdAndPBId(any(), any());
+        Mockito.verify(pbStatsService, Mockito.times(1)).getStats(pbIds);
+        Mockito.verify(bookmarkIndex, Mockito.times(1)).getBookmarkedPBIds(id);
     }
 
     @Test
@@ -190,8 +245,7 @@ class PBServiceTest extends MockDummyEntity {
         //stub
         when(myUserDetails.getMember()).thenReturn(pbOP.get());
         when(pbRepository.findByEmail(any())).thenReturn(pbOP);
-        when(reservationRepository.countByPBIdAndProcess(any(), any())).thenReturn(0L);
-        when(reviewRepository.countByPBId(any())).thenReturn(0L);
+        when(pbStatsService.getStats(1L)).thenReturn(newMockPBStats(1L, 0L, 0L, 0L));
 
         //when
         PBResponse.MyPageOutDTO myPageOutDTO = pbService.getMyPage(myUserDetails);
@@ -208,8 +262,7 @@ class PBServiceTest extends MockDummyEntity {
         assertThat(myPageOutDTO.getReviewCount()).isEqualTo(0);
         Mockito.verify(myUserDetails, Mockito.times(1)).getMember();
         Mockito.verify(pbRepository, Mockito.times(1)).findByEmail(any());
-        Mockito.verify(reservationRepository, Mockito.times(1)).countByPBIdAndProcess(any(), any());
-        Mockito.verify(reviewRepository, Mockito.times(1)).countByPBId(any());
+        Mockito.verify(pbStatsService, Mockito.times(1)).getStats(1L);
     }
 
     @Test
@@ -220,50 +273,51 @@ class PBServiceTest extends MockDummyEntity {
         String keyword = "지번 주소";
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "id"));
         Branch branch = newMockBranch(1L, newMockCompany(1L, "미래에셋증권"), 0);
-        Page<Branch> branchPG =  new PageImpl<>(Arrays.asList(branch));
+        Page<PBResponse.BranchDTO> branchPG = new PageImpl<>(Arrays.asList(new PBResponse.BranchDTO(branch)), pageable, 1);
 
         //stub
-        when(branchRepository.findByCompanyIdAndKeyword(any(), any(), any())).thenReturn(branchPG);
+        when(branchSearchIndex.search(companyId, keyword, pageable)).thenReturn(branchPG);
 
         //when
         PageDTO<PBResponse.BranchDTO> pageDTO = pbService.searchBranch(companyId, keyword, pageable);
 
         //then
         assertThat(pageDTO.getList().size()).isEqualTo(branchPG.getContent().size());
-        Mockito.verify(branchRepository, Mockito.times(1)).findByCompanyIdAndKeyword(any(), any(), any());
+        assertThat(pageDTO.getTotalElements()).isEqualTo(1);
+        Mockito.verify(branchSearchIndex, Mockito.times(1)).search(companyId, keyword, pageable);
     }
 
     @Test
     @DisplayName("증권사 리스트 이름만 가져오기")
     void getCompanyNames() {
         //given
-        List<Company> companies = Arrays.asList(
-                newMockCompany(1L, "미래에셋증권"),
-                newMockCompany(2L, "키움증권")
+        List<PBResponse.CompanyNameDTO> companies = Arrays.asList(
+                new PBResponse.CompanyNameDTO(newMockCompany(1L, "미래에셋증권")),
+                new PBResponse.CompanyNameDTO(newMockCompany(2L, "키움증권"))
         );
 
         //stub
-        when(companyRepository.findAll()).thenReturn(companies);
+        when(companyCatalog.getCompanyNames()).thenReturn(companies);
 
         //when
         PBResponse.CompanyNameOutDTO companyNameOutDTO = pbService.getCompanyNames();
 
         //then
         assertThat(companyNameOutDTO.getList().size()).isEqualTo(companies.size());
-        Mockito.verify(companyRepository, Mockito.times(1)).findAll();
+        Mockito.verify(companyCatalog, Mockito.times(1)).getCompanyNames();
     }
 
     @Test
     @DisplayName("증권사 리스트 가져오기")
     void getCompanies() {
         //given
-        List<Company> companies = Arrays.asList(
-                newMockCompany(1L, "미래에셋증권"),
-                newMockCompany(2L, "키움증권")
+        List<PBResponse.CompanyDTO> companies = Arrays.asList(
+                new PBResponse.CompanyDTO(newMockCompany(1L, "미래에셋증권")),
+                new PBResponse.CompanyDTO(newMockCompany(2L, "키움증권"))
         );
 
         //stub
-        when(companyRepository.findAll()).thenReturn(companies);
+        when(companyCatalog.getCompanies()).thenReturn(companies);
 
         //when
         PBResponse.CompanyOutDTO companyOutDTO = pbService.getCompanies();
@@ -271,94 +325,204 @@ class PBServiceTest extends MockDummyEntity {
         //then
         assertThat(companyOutDTO.getList().size()).isEqualTo(companies.size());
         assertThat(companyOutDTO.getList().get(0).getLogo()).isEqualTo("logo.png");
-        Mockito.verify(companyRepository, Mockito.times(1)).findAll();
+        Mockito.verify(companyCatalog, Mockito.times(1)).getCompanies();
     }
 
     @Test
     @DisplayName("PB 검색하기")
     void getPBWithName() {
         //given
-        String name = "김피비";
-        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
-        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(pb, branch, company);
-        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(pb, branch, company);
-        List<PBResponse.PBPageDTO> pbList = Arrays.asList(pbPageDTO1, pbPageDTO2);
-        Page<PBResponse.PBPageDTO> pbPage = new PageImpl<>(pbList, pageable, pbList.size());
+        String name = "피비";
+        Pageable pageable = PageRequest.of(0, 10);
+        Company company = newMockCompany(1L, "미래에셋증권");
+        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(newMockPB(1L, "김피비", newMockBranch(1L, company, 0)), newMockBranch(1L, company, 0), company);
+        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(newMockPB(2L, "이피비", newMockBranch(2L, company, 1)), newMockBranch(2L, company, 1), company);
 
         //stub
-        when(pbRepository.findByName(name, pageable)).thenReturn(pbPage);
+        when(pbNameIndex.search(name, pageable)).thenReturn(new PageImpl<>(Arrays.asList(2L, 1L), pageable, 2));
+        when(pbRepository.findPBPageByIdIn(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(pbPageDTO1, pbPageDTO2));
 
         //when
         PageDTO<PBResponse.PBPageDTO> result = pbService.getPBWithName(name, pageable);
 
         //then
-        assertThat(result.getList().size()).isEqualTo(pbPage.getContent().size());
-        Mockito.verify(pbRepository, Mockito.times(1)).findByName(name, pageable);
+        assertThat(result.getList()).extracting(PBResponse.PBPageDTO::getId).containsExactly(2L, 1L);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        Mockito.verify(pbNameIndex, Mockito.times(1)).search(name, pageable);
+        Mockito.verify(pbRepository, Mockito.times(1)).findPBPageByIdIn(Arrays.asList(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("PB 이름 자동완성")
+    void getPBNameAutocomplete() {
+        //given
+        PBResponse.PBNameDTO nameDTO = new PBResponse.PBNameDTO(newMockPB(1L, "김피비", branch), branch);
+
+        //stub
+        when(pbNameIndex.autocomplete("김ㅍ", 10)).thenReturn(Arrays.asList(nameDTO));
+
+        //when
+        List<PBResponse.PBNameDTO> result = pbService.getPBNameAutocomplete("김ㅍ", 10);
+
+        //then
+        assertThat(result).extracting(PBResponse.PBNameDTO::getName).containsExactly("김피비");
+        Mockito.verify(pbNameIndex, Mockito.times(1)).autocomplete("김ㅍ", 10);
     }
 
     @Test
     @DisplayName("거리순 PB리스트 가져오기(전문분야필터)")
     void getSpecialityPBWithDistance() {
         //given
-        Double latitude = 112.1414;
-        Double longitude = 87.1234;
-        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(pb, branch, company);
-        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(pb, branch, company);
-        List<PBResponse.PBPageDTO> list = Arrays.asList(pbPageDTO1, pbPageDTO2);
+        Double latitude = 37.5326;
+        Double longitude = 126.9246;
+        Pageable pageable = PageRequest.of(0, 10);
+        Company company = newMockCompany(1L, "미래에셋증권");
+        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(newMockPB(1L, "김pb", newMockBranch(1L, company, 0)), newMockBranch(1L, company, 0), company);
+        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(newMockPB(2L, "이pb", newMockBranch(2L, company, 1)), newMockBranch(2L, company, 1), company);
         PBSpeciality speciality = PBSpeciality.BOND;
 
         //stub
-        when(pbRepository.findByPBListSpeciality(speciality)).thenReturn(list);
+        when(pbLocationIndex.findNearest(latitude, longitude, speciality, null, pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(2L, 1L), pageable, 2));
+        when(pbRepository.findPBPageByIdIn(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(pbPageDTO1, pbPageDTO2));
 
         //when
         PageDTO<PBResponse.PBPageDTO> result = pbService.getSpecialityPBWithDistance(latitude, longitude, speciality, pageable);
 
         //then
-        assertThat(result.getTotalElements()).isEqualTo(list.size());
-        assertThat(result.getList()).isEqualTo(list);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getList()).containsExactly(pbPageDTO2, pbPageDTO1);
     }
 
     @Test
     @DisplayName("거리순 PB리스트 가져오기(증권사필터)")
     void getCompanyPBWithDistance() {
         //given
-        Double latitude = 112.1414;
-        Double longitude = 87.1234;
-        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(pb, branch, company);
-        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(pb, branch, company);
-        List<PBResponse.PBPageDTO> list = Arrays.asList(pbPageDTO1, pbPageDTO2);
+        Double latitude = 37.5326;
+        Double longitude = 126.9246;
+        Pageable pageable = PageRequest.of(0, 10);
+        Company company = newMockCompany(1L, "미래에셋증권");
+        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(newMockPB(1L, "김pb", newMockBranch(1L, company, 0)), newMockBranch(1L, company, 0), company);
+        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(newMockPB(2L, "이pb", newMockBranch(2L, company, 1)), newMockBranch(2L, company, 1), company);
         Long companyId = 1L;
 
         //stub
-        when(pbRepository.findByPBListCompany(anyLong())).thenReturn(list);
+        when(pbLocationIndex.findNearest(latitude, longitude, null, companyId, pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(1L, 2L), pageable, 2));
+        when(pbRepository.findPBPageByIdIn(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(pbPageDTO2, pbPageDTO1));
 
         //when
         PageDTO<PBResponse.PBPageDTO> result = pbService.getCompanyPBWithDistance(latitude, longitude, companyId, pageable);
 
         //then
-        assertThat(result.getTotalElements()).isEqualTo(list.size());
-        assertThat(result.getList()).isEqualTo(list);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getList()).containsExactly(pbPageDTO1, pbPageDTO2);
     }
 
     @Test
     @DisplayName("거리순 전체PB리스트 가져오기")
     void getPBWithDistance() {
         //given
-        Double latitude = 112.1414;
-        Double longitude = 87.1234;
-        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(pb, branch, company);
-        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(pb, branch, company);
-        List<PBResponse.PBPageDTO> list = Arrays.asList(pbPageDTO1, pbPageDTO2);
+        Double latitude = 37.5326;
+        Double longitude = 126.9246;
+        Pageable pageable = PageRequest.of(1, 1);
+        Company company = newMockCompany(1L, "미래에셋증권");
+        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(newMockPB(2L, "이pb", newMockBranch(2L, company, 1)), newMockBranch(2L, company, 1), company);
 
         //stub
-        when(pbRepository.findAllPB()).thenReturn(list);
+        when(pbLocationIndex.findNearest(latitude, longitude, null, null, pageable))
+                .thenReturn(new PageImpl<>(Arrays.asList(2L), pageable, 2));
+        when(pbRepository.findPBPageByIdIn(Arrays.asList(2L))).thenReturn(Arrays.asList(pbPageDTO2));
 
         //when
         PageDTO<PBResponse.PBPageDTO> result = pbService.getPBWithDistance(latitude, longitude, pageable);
 
         //then
-        assertThat(result.getTotalElements()).isEqualTo(list.size());
-        assertThat(result.getList()).isEqualTo(list);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getCurPage()).isEqualTo(1);
+        assertThat(result.getLast()).isTrue();
+        assertThat(result.getList()).containsExactly(pbPageDTO2);
+    }
+
+    @Test
+    @DisplayName("반경 내 PB리스트 가져오기")
+    void getPBWithinRadius() {
+        //given
+        Double latitude = 36.36671;
+        Double longitude = 127.34451;
+        Pageable pageable = PageRequest.of(0, 10);
+        Company company = newMockCompany(1L, "미래에셋증권");
+        Branch near = newMockBranch(1L, company, 0);
+        Branch far = newMockBranch(2L, company, 1); // 약 140km 떨어짐
+        PBResponse.PBPageDTO nearDTO = new PBResponse.PBPageDTO(newMockPB(1L, "김pb", near), near, company);
+        PBResponse.PBPageDTO farDTO = new PBResponse.PBPageDTO(newMockPB(2L, "이pb", far), far, company);
+
+        //stub
+        when(pbRepository.findPBPageInBox(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(Arrays.asList(farDTO, nearDTO));
+
+        //when
+        PageDTO<PBResponse.PBPageDTO> within5 = pbService.getPBWithinRadius(latitude, longitude, 5.0, pageable);
+        PageDTO<PBResponse.PBPageDTO> within200 = pbService.getPBWithinRadius(latitude, longitude, 200.0, pageable);
+
+        //then
+        assertThat(within5.getTotalElements()).isEqualTo(1);
+        assertThat(within5.getList()).containsExactly(nearDTO);
+        assertThat(within200.getTotalElements()).isEqualTo(2);
+        assertThat(within200.getList()).containsExactly(nearDTO, farDTO);
+    }
+
+    @Test
+    @DisplayName("인기순 PB리스트 가져오기")
+    void getPBWithPopularity() {
+        //given
+        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(pb, branch, company, 5L, 2L);
+        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(pb, branch, company, null, null);
+        List<PBResponse.PBPageDTO> list = Arrays.asList(pbPageDTO1, pbPageDTO2);
+        Page<PBResponse.PBPageDTO> pbPG = new PageImpl<>(list, pageable, list.size());
+
+        //stub
+        when(pbRepository.findAllPBWithPopularity(null, 1L, pageable)).thenReturn(pbPG);
+
+        //when
+        PageDTO<PBResponse.PBPageDTO> result = pbService.getPBWithPopularity(null, 1L, pageable);
+
+        //then
+        assertThat(result.getList()).containsExactly(pbPageDTO1, pbPageDTO2);
+        assertThat(result.getList().get(0).getReserveCount()).isEqualTo(5L);
+        assertThat(result.getList().get(1).getReserveCount()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("포트폴리오 지표 순위 PB리스트 가져오기")
+    void getPBLeaderboard() {
+        //given
+        Branch branch = newMockBranch(1L, newMockCompany(1L, "미래에셋"), 1);
+        PB pb1 = newMockPB(1L, "김피비", branch);
+        PB pb2 = newMockPB(2L, "이피비", branch);
+        Pageable pageable = PageRequest.of(0, 10);
+        List<PBLeaderboardIndex.Entry> entries = Arrays.asList(
+                new PBLeaderboardIndex.Entry(2L, 1L, 30.0),
+                new PBLeaderboardIndex.Entry(1L, 2L, 10.0),
+                new PBLeaderboardIndex.Entry(3L, 3L, 5.0));
+
+        //stub
+        when(pbLeaderboardIndex.findRanked(PortfolioMetric.CUMULATIVE_RETURN, PBSpeciality.BOND, null, pageable))
+                .thenReturn(new PageImpl<>(entries, pageable, 3));
+        when(pbRepository.findPBPageByIdIn(Arrays.asList(2L, 1L, 3L))).thenReturn(Arrays.asList(
+                new PBResponse.PBPageDTO(pb1, branch, branch.getCompany(), 0L, 0L),
+                new PBResponse.PBPageDTO(pb2, branch, branch.getCompany(), 0L, 0L)));
+
+        //when
+        PageDTO<PBResponse.PBRankDTO> result = pbService.getPBLeaderboard(PortfolioMetric.CUMULATIVE_RETURN, PBSpeciality.BOND, null, pageable);
+
+        //then
+        assertThat(result.getTotalElements()).isEqualTo(3);
+        assertThat(result.getList()).hasSize(2); // 인덱스 반영 전에 탈퇴한 PB는 빠짐
+        assertThat(result.getList().get(0).getPb().getName()).isEqualTo("이피비");
+        assertThat(result.getList().get(0).getRank()).isEqualTo(1L);
+        assertThat(result.getList().get(0).getValue()).isEqualTo(30.0);
+        assertThat(result.getList().get(1).getPb().getId()).isEqualTo(1L);
     }
 
     @Test
@@ -455,22 +619,22 @@ class PBServiceTest extends MockDummyEntity {
     @DisplayName("거리순 PB 두명 가져오기")
     void getTwoPBWithDistance() {
         //given
-        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(pb, branch, company);
-        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(pb, branch, company);
-        PBResponse.PBSimpleDTO pbSimpleDTO1 = new PBResponse.PBSimpleDTO(pbPageDTO1);
-        PBResponse.PBSimpleDTO pbSimpleDTO2 = new PBResponse.PBSimpleDTO(pbPageDTO2);
-
-        List<PBResponse.PBPageDTO> list = Arrays.asList(pbPageDTO1, pbPageDTO2);
-        List<PBResponse.PBSimpleDTO> simpleList = Arrays.asList(pbSimpleDTO1, pbSimpleDTO2);
+        Company company = newMockCompany(1L, "미래에셋증권");
+        PBResponse.PBPageDTO pbPageDTO1 = new PBResponse.PBPageDTO(newMockPB(1L, "김pb", newMockBranch(1L, company, 0)), newMockBranch(1L, company, 0), company);
+        PBResponse.PBPageDTO pbPageDTO2 = new PBResponse.PBPageDTO(newMockPB(2L, "이pb", newMockBranch(2L, company, 1)), newMockBranch(2L, company, 1), company);
 
         //stub
-        when(pbRepository.findAllPB()).thenReturn(list);
+        when(pbLocationIndex.findNearest(anyDouble(), anyDouble(), any(), any(), any()))
+                .thenReturn(new PageImpl<>(Arrays.asList(2L, 1L), PageRequest.of(0, 2), 2));
+        when(pbRepository.findPBPageByIdIn(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(pbPageDTO1, pbPageDTO2));
 
         //when
         List<PBResponse.PBSimpleDTO> result = pbService.getTwoPBWithDistance(100.0000, 99.9999);
 
         //then
         assertThat(result).hasSize(2);
+        assertThat(result.get(0).getId()).isEqualTo(2L);
+        assertThat(result.get(1).getId()).isEqualTo(1L);
     }
 
     @Test
@@ -512,13 +676,15 @@ class PBServiceTest extends MockDummyEntity {
         when(pbRepository.findPBProfile(id)).thenReturn(Optional.of(dto));
         when(awardRepository.getAwards(id)).thenReturn(new ArrayList<>());
         when(careerRepository.getCareers(id)).thenReturn(new ArrayList<>());
-        when(reviewRepository.countByPBId(id)).thenReturn(1L);
+        when(pbStatsService.getStats(id)).thenReturn(newMockPBStats(id, 3L, 1L, 2L));
 
         //when
         PBResponse.PBProfileDTO result = pbService.getPBProfile(myUserDetails, id);
 
         //then
         assertThat(result).isEqualTo(dto);
+        assertThat(result.getReserveCount()).isEqualTo(3L);
+        assertThat(result.getReviewCount()).isEqualTo(1L);
     }
     @Test
     @DisplayName("PB 포트폴리오 가져오기")
@@ -532,7 +698,7 @@ class PBServiceTest extends MockDummyEntity {
         Portfolio portfolio = newMockPortfolio(1L, pb);
 
         //stub
-        when(pbRepository.findById(id)).thenReturn(Optional.of(pb));
+        when(pbRepository.findNotWithdrawnById(id)).thenReturn(Optional.of(pb));
         when(portfolioRepository.findByPbId(id)).thenReturn(Optional.of(portfolio));
 
         //when
@@ -544,6 +710,72 @@ class PBServiceTest extends MockDummyEntity {
         assertThat(result.getAverageProfit()).isEqualTo(portfolio.getAverageProfit());
     }
 
+    @Test
+    @DisplayName("수익률 csv 포트폴리오를 올리면 파일에서 계산한 지표로 저장")
+    void updateProfile_portfolioCsv() {
+        //given
+        Branch branch = newMockBranch(1L, newMockCompany(1L, "미래에셋"), 1);
+        PB pb = newMockPB(1L, "김피비", branch);
+        Portfolio portfolio = newMockPortfolio(1L, pb);
+        MyUserDetails myUserDetails = new MyUserDetails(pb);
+        PBRequest.UpdateProfileInDTO updateDTO = updateProfileInDTO(branch.getName());
+        MockMultipartFile portfolioFile = new MockMultipartFile("portfolio", "returns.csv", "text/csv",
+                "date,return\n2023-01-02,10\n2023-01-03,-5\n".getBytes(StandardCharsets.UTF_8));
+
+        //stub
+        when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
+        when(portfolioRepository.findByPbId(1L)).thenReturn(Optional.of(portfolio));
+        when(blobStore.upload(portfolioFile, "portfolio")).thenReturn("https://cdn/portfolio/uuid_returns.csv");
+        when(branchRepository.findByName(branch.getName())).thenReturn(Optional.of(branch));
+
+        //when
+        pbService.updateProfile(myUserDetails, updateDTO, null, portfolioFile);
+
+        //then
+        assertThat(portfolio.getFile()).isEqualTo("https://cdn/portfolio/uuid_returns.csv");
+        assertThat(portfolio.getCumulativeReturn()).isEqualTo(4.5);
+        assertThat(portfolio.getMaxDrawdown()).isEqualTo(5.0);
+        assertThat(portfolio.getProfitFactor()).isEqualTo(2.0);
+        assertThat(portfolio.getAverageProfit()).isEqualTo(2.5);
+        assertThat(portfolio.getVolatility()).isNotNull();
+        assertThat(portfolio.getSharpe()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("수익률 csv 형식이 틀리면 아무것도 바꾸지 않고 400")
+    void updateProfile_portfolioCsv_invalid() {
+        //given
+        Branch branch = newMockBranch(1L, newMockCompany(1L, "미래에셋"), 1);
+        PB pb = newMockPB(1L, "김피비", branch);
+        MyUserDetails myUserDetails = new MyUserDetails(pb);
+        PBRequest.UpdateProfileInDTO updateDTO = updateProfileInDTO(branch.getName());
+        MockMultipartFile portfolioFile = new MockMultipartFile("portfolio", "returns.csv", "text/csv",
+                "date,return\n2023-01-02,10\n2023-01-03,열\n".getBytes(StandardCharsets.UTF_8));
+
+        //stub
+        when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
+
+        //when, then
+        assertThatThrownBy(() -> pbService.updateProfile(myUserDetails, updateDTO, null, portfolioFile))
+                .isInstanceOf(Exception400.class)
+                .hasMessageContaining("3행");
+        Mockito.verifyNoInteractions(careerRepository, portfolioRepository, blobStore);
+    }
+
+    private PBRequest.UpdateProfileInDTO updateProfileInDTO(String branchName) {
+        PBRequest.UpdateProfileInDTO updateDTO = new PBRequest.UpdateProfileInDTO();
+        updateDTO.setBranchName(branchName);
+        updateDTO.setCareer(10);
+        updateDTO.setSpeciality1(PBSpeciality.BOND);
+        updateDTO.setCumulativeReturn(1.0);
+        updateDTO.setMaxDrawdown(1.0);
+        updateDTO.setProfitFactor(1.0);
+        updateDTO.setAverageProfit(1.0);
+        updateDTO.setDeleteProfile(false);
+        updateDTO.setDeletePortfolio(false);
+        return updateDTO;
+    }
+
     @Test
     @DisplayName("PB 프로필 수정용 데이터 가져오기")
     void getPBProfileForUpdate() {
@@ -589,7 +821,7 @@ class PBServiceTest extends MockDummyEntity {
         list.add(dto);
 
         //stub
-        when(pbRepository.findById(id)).thenReturn(Optional.of(pb));
+        when(pbRepository.findNotWithdrawnById(id)).thenReturn(Optional.of(pb));
         when(pbRepository.findBySpeciality1(speciality1, PageRequest.of(0, 2))).thenReturn(list);
         //when
         List<PBResponse.PBPageDTO> result = pbService.getSamePBs(myUserDetails, id);
@@ -2,6 +2,7 @@ package kr.co.moneybridge.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kr.co.moneybridge.core.dummy.MockDummyEntity;
+import kr.co.moneybridge.core.exception.Exception404;
 import kr.co.moneybridge.core.util.MyDateUtil;
 import kr.co.moneybridge.dto.PageDTO;
 import kr.co.moneybridge.dto.reservation.ReservationRequest;
@@ -31,9 +32,10 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ActiveProfiles("test")
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +52,8 @@ public class ReservationServiceTest extends MockDummyEntity {
     private ReviewRepository reviewRepository;
     @Mock
     private StyleRepository styleRepository;
+    @Mock
+    private PBStatsService pbStatsService;
     @Spy
     private ObjectMapper om;
 
@@ -62,7 +66,7 @@ public class ReservationServiceTest extends MockDummyEntity {
         PB pb = newMockPB(1L, "이피비", branch);
 
         // stub
-        when(pbRepository.findById(anyLong())).thenReturn(Optional.of(pb));
+        when(pbRepository.findNotWithdrawnById(anyLong())).thenReturn(Optional.of(pb));
 
         // when
         ReservationResponse.MyConsultTimeDTO myConsultTimeDTO = reservationService.getMyConsultTime(pb.getId());
@@ -109,7 +113,7 @@ public class ReservationServiceTest extends MockDummyEntity {
         User user = newMockUser(1L, "lee");
 
         // stub
-        when(pbRepository.findById(anyLong()))
+        when(pbRepository.findNotWithdrawnById(anyLong()))
                 .thenReturn(Optional.of(pb));
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(user));
@@ -131,6 +135,19 @@ public class ReservationServiceTest extends MockDummyEntity {
         assertThat(baseDTO.getUserInfo().getUserEmail()).isEqualTo(user.getEmail());
     }
 
+    @Test
+    public void get_reservation_base_withdrawn_pb_test() {
+        // given
+        // stub - 탈퇴 처리 중인 PB는 조회되지 않음
+        when(pbRepository.findNotWithdrawnById(1L)).thenReturn(Optional.empty());
+
+        // when, then - 탈퇴 처리 중인 PB는 없는 PB로 취급
+        assertThatThrownBy(() -> reservationService.getReservationBase(1L, 1L)).isInstanceOf(Exception404.class);
+        assertThatThrownBy(() -> reservationService.addReservation(1L, new ReservationRequest.ApplyDTO(), 1L)).isInstanceOf(Exception404.class);
+        assertThatThrownBy(() -> reservationService.getMyConsultTime(1L)).isInstanceOf(Exception404.class);
+        verify(reservationRepository, never()).save(any());
+    }
+
 //    @Test
 //    public void apply_reservation_test() throws Exception {
 //        // given
@@ -224,7 +241,7 @@ public class ReservationServiceTest extends MockDummyEntity {
         Style style3 = newMockStyle(3L, review, StyleStyle.DIRECTIONAL);
 
         // stub
-        when(pbRepository.findById(anyLong()))
+        when(pbRepository.findNotWithdrawnById(anyLong()))
                 .thenReturn(Optional.of(pb));
         when(reviewRepository.findAllByPbIdAndProcess(anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(new ArrayList<>(Arrays.asList(
@@ -287,7 +304,7 @@ public class ReservationServiceTest extends MockDummyEntity {
         Reservation reservation5 = newMockVisitReservation(5L, user, pb, ReservationProcess.COMPLETE);
 
         // stub
-        when(pbRepository.findById(anyLong()))
+        when(pbRepository.findNotWithdrawnById(anyLong()))
                 .thenReturn(Optional.of(pb));
         when(reservationRepository.countByPBIdAndProcess(anyLong(), any()))
                 .thenReturn(10L);
@@ -359,7 +376,7 @@ public class ReservationServiceTest extends MockDummyEntity {
         Reservation reservation5 = newMockVisitReservation(5L, user, pb, ReservationProcess.COMPLETE);
 
         // stub
-        when(pbRepository.findById(anyLong()))
+        when(pbRepository.findNotWithdrawnById(anyLong()))
                 .thenReturn(Optional.of(pb));
         when(reservationRepository.findAllByPbIdAndProcess(anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(new ArrayList<>(Arrays.asList(
@@ -437,7 +454,7 @@ public class ReservationServiceTest extends MockDummyEntity {
         // stub
         when(reservationRepository.findById(anyLong()))
                 .thenReturn(Optional.of(reservation));
-        when(pbRepository.findById(anyLong()))
+        when(pbRepository.findNotWithdrawnById(anyLong()))
                 .thenReturn(Optional.of(pb));
         when(reviewRepository.countByReservationId(anyLong()))
                 .thenReturn(0L);
@@ -639,6 +656,7 @@ public class ReservationServiceTest extends MockDummyEntity {
 
         // then
         assertThat(reviewIdDTO.getId()).isEqualTo(1L);
+        verify(pbStatsService, times(1)).increaseReviewCount(pb.getId());
     }
 
     @Test
@@ -651,7 +669,7 @@ public class ReservationServiceTest extends MockDummyEntity {
         List<StyleStyle> styleList = Arrays.asList(StyleStyle.FAST, StyleStyle.KIND, StyleStyle.HONEST);
 
         //stub
-        when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
+        when(pbRepository.findNotWithdrawnById(1L)).thenReturn(Optional.of(pb));
         when(styleRepository.findStylesByPbId(1L)).thenReturn(styleList);
 
         //when
@@ -690,7 +708,7 @@ public class ReservationServiceTest extends MockDummyEntity {
 
 
         // stub
-        Mockito.when(pbRepository.findById(anyLong()))
+        Mockito.when(pbRepository.findNotWithdrawnById(anyLong()))
                 .thenReturn(Optional.of(pb));
         Mockito.when(reservationRepository.findAllByPbIdWithoutCancel(anyLong()))
                 .thenReturn(reservations);
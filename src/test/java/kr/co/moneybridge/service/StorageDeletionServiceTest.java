@@ -0,0 +1,143 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.model.StorageDeletion;
+import kr.co.moneybridge.model.StorageDeletionRepository;
+import kr.co.moneybridge.model.board.BoardRepository;
+import kr.co.moneybridge.model.pb.PBRepository;
+import kr.co.moneybridge.model.pb.PortfolioRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StorageDeletionServiceTest {
+    @InjectMocks
+    private StorageDeletionService storageDeletionService;
+    @Mock
+    private StorageDeletionRepository storageDeletionRepository;
+    @Mock
+    private PBRepository pbRepository;
+    @Mock
+    private PortfolioRepository portfolioRepository;
+    @Mock
+    private BoardRepository boardRepository;
+    @Mock
+    private BlobStore blobStore;
+
+    private static final String DOMAIN = "https://cdn.test/";
+
+    @Test
+    @DisplayName("디폴트/외부 파일은 빼고 키로 바꿔서 큐에 넣음, 이미지는 사본까지")
+    void enqueueAll() {
+        // stub
+        when(blobStore.toKey(DOMAIN + "profile/a.png")).thenReturn("profile/a.png");
+        when(blobStore.toKey(DOMAIN + "portfolio/b.xlsx")).thenReturn("portfolio/b.xlsx");
+        when(blobStore.toKey(DOMAIN + "default/profile.svg")).thenReturn(null);
+
+        // when
+        storageDeletionService.enqueueAll(Arrays.asList(DOMAIN + "profile/a.png", DOMAIN + "default/profile.svg",
+                DOMAIN + "profile/a.png", DOMAIN + "portfolio/b.xlsx"));
+
+        // then
+        verify(storageDeletionRepository).saveAll(argThat(deletions -> {
+            List<String> keys = new ArrayList<>();
+            deletions.forEach(deletion -> keys.add(deletion.getObjectKey()));
+            return keys.equals(Arrays.asList("profile/list/a.png", "profile/a.png", "profile/original/a.png", "portfolio/b.xlsx"));
+        }));
+    }
+
+    @Test
+    @DisplayName("넣을 파일이 없으면 저장 안 함")
+    void enqueue_default() {
+        when(blobStore.toKey(DOMAIN + "default/profile.svg")).thenReturn(null);
+
+        storageDeletionService.enqueue(DOMAIN + "default/profile.svg");
+
+        verify(storageDeletionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("지운 키는 행을 지우고 실패한 키는 횟수와 사유를 남김")
+    void complete() {
+        // given
+        StorageDeletion deleted = deletion(1L, "profile/a.png");
+        StorageDeletion failed = deletion(2L, "profile/b.png");
+        when(storageDeletionRepository.findAllById(Collections.singletonList(2L))).thenReturn(Collections.singletonList(failed));
+
+        // when
+        storageDeletionService.complete(Arrays.asList(deleted, failed), Collections.singletonMap("profile/b.png", "AccessDenied"));
+
+        // then
+        verify(storageDeletionRepository).deleteAllByIdInBatch(Collections.singletonList(1L));
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("AccessDenied");
+    }
+
+    @Test
+    @DisplayName("고아 파일 수거 - 참조되거나(사본은 기준 키로) 이미 대기 중이거나 최근에 올라온 파일, 수거 대상이 아닌 폴더는 건너뜀")
+    void collectOrphans() {
+        // given
+        Date uploadedBefore = Date.from(Instant.parse("2023-06-02T00:00:00Z"));
+        Date old = Date.from(Instant.parse("2023-06-01T00:00:00Z"));
+        Date recent = Date.from(Instant.parse("2023-06-03T00:00:00Z"));
+        List<BlobInfo> page = Arrays.asList(
+                object("profile/used.png", old),
+                object("profile/list/used.png", old),
+                object("thumbnail/original/orphan.png", old),
+                object("thumbnail/orphan.png", old),
+                object("portfolio/queued.xlsx", old),
+                object("business-card/new.png", recent),
+                object("default/profile.svg", old),
+                object("etc/keep.txt", old)
+        );
+        when(blobStore.toUrl(anyString())).thenAnswer(invocation -> DOMAIN + invocation.getArgument(0));
+        when(pbRepository.findProfilesIn(anyCollection())).thenReturn(Collections.singletonList(DOMAIN + "profile/used.png"));
+        when(pbRepository.findBusinessCardsIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(portfolioRepository.findFilesIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(boardRepository.findThumbnailsIn(anyCollection())).thenReturn(Collections.emptyList());
+        when(storageDeletionRepository.findObjectKeysIn(anyCollection())).thenReturn(Collections.singletonList("portfolio/queued.xlsx"));
+
+        // when
+        int collected = storageDeletionService.collectOrphans(page, uploadedBefore);
+
+        // then
+        assertThat(collected).isEqualTo(2);
+        verify(storageDeletionRepository).saveAll(argThat(deletions -> {
+            Set<String> keys = new HashSet<>();
+            deletions.forEach(deletion -> keys.add(deletion.getObjectKey()));
+            return keys.equals(Set.of("thumbnail/orphan.png", "thumbnail/original/orphan.png"));
+        }));
+    }
+
+    @Test
+    @DisplayName("수거 대상이 없는 페이지는 조회 안 함")
+    void collectOrphans_empty() {
+        int collected = storageDeletionService.collectOrphans(
+                Collections.singletonList(object("default/profile.svg", new Date(0))), new Date());
+
+        assertThat(collected).isEqualTo(0);
+        verifyNoInteractions(pbRepository, portfolioRepository, boardRepository, storageDeletionRepository);
+    }
+
+    private StorageDeletion deletion(Long id, String key) {
+        return StorageDeletion.builder().id(id).objectKey(key).attempts(0).build();
+    }
+
+    private BlobInfo object(String key, Date lastModified) {
+        return new BlobInfo(key, 1L, null, lastModified);
+    }
+}
@@ -0,0 +1,147 @@
+package kr.co.moneybridge.service;
+
+import kr.co.moneybridge.core.exception.Exception400;
+import kr.co.moneybridge.core.exception.Exception429;
+import kr.co.moneybridge.core.image.ImagePipeline;
+import kr.co.moneybridge.core.image.ImageTarget;
+import kr.co.moneybridge.core.storage.BlobInfo;
+import kr.co.moneybridge.core.storage.BlobStore;
+import kr.co.moneybridge.core.upload.UploadRateLimiter;
+import kr.co.moneybridge.core.upload.UploadTarget;
+import kr.co.moneybridge.dto.pb.PBRequest;
+import kr.co.moneybridge.dto.pb.PBResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URL;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UploadServiceTest {
+    @InjectMocks
+    private UploadService uploadService;
+    @Mock
+    private BlobStore blobStore;
+    @Mock
+    private ImagePipeline imagePipeline;
+    @Mock
+    private StorageDeletionService storageDeletionService;
+    @Mock
+    private UploadRateLimiter uploadRateLimiter;
+
+    @Test
+    @DisplayName("임시 폴더 아래 키로 형식/크기가 정해진 PUT url 발급")
+    void issue() throws Exception {
+        // given
+        PBRequest.UploadInDTO uploadInDTO = uploadInDTO("내 사진 (1).png", "image/png", 1024L);
+        when(blobStore.newKey("upload/profile", "내 사진 (1).png")).thenReturn("upload/profile/uuid_내_사진__1_.png");
+        when(blobStore.presignPut(eq("upload/profile/uuid_내_사진__1_.png"), eq("image/png"), eq(1024L), any(Date.class)))
+                .thenReturn(new URL("http://localhost:9000/money-bridge/upload/profile/uuid_a.png?X-Amz-Signature=s"));
+
+        // when
+        PBResponse.UploadOutDTO uploadOutDTO = uploadService.issue(UploadTarget.PROFILE, uploadInDTO);
+
+        // then
+        assertThat(uploadOutDTO.getKey()).isEqualTo("upload/profile/uuid_내_사진__1_.png");
+        assertThat(uploadOutDTO.getUrl()).startsWith("http://localhost:9000/money-bridge/upload/profile/");
+        assertThat(uploadOutDTO.getHeaders()).containsEntry("Content-Type", "image/png");
+        assertThat(uploadOutDTO.getExpiresAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("회원가입 명함 url은 IP별 발급 한도를 넘으면 429")
+    void issueForJoin_limited() {
+        when(uploadRateLimiter.tryAcquire("10.0.0.1")).thenReturn(false);
+
+        assertThatThrownBy(() -> uploadService.issueForJoin("10.0.0.1", uploadInDTO("card.png", "image/png", 1024L)))
+                .isInstanceOf(Exception429.class);
+        verifyNoInteractions(blobStore);
+    }
+
+    @Test
+    @DisplayName("크기 제한을 넘거나 이미지 대상에 이미지가 아닌 형식이면 발급하지 않음")
+    void issue_invalid() {
+        assertThatThrownBy(() -> uploadService.issue(UploadTarget.THUMBNAIL, uploadInDTO("a.png", "image/png", 20L * 1024 * 1024)))
+                .isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> uploadService.issue(UploadTarget.BUSINESS_CARD, uploadInDTO("a.pdf", "application/pdf", 1024L)))
+                .isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> uploadService.issue(null, uploadInDTO("a.png", "image/png", 1024L)))
+                .isInstanceOf(Exception400.class);
+        verifyNoInteractions(blobStore);
+    }
+
+    @Test
+    @DisplayName("대상의 임시 키이고 실제로 올라온 파일이면 확인")
+    void claim() {
+        // given
+        BlobInfo metadata = metadata("image/png", 1024L);
+        when(blobStore.getMetadata("upload/profile/uuid_a.png")).thenReturn(metadata);
+
+        // when, then
+        assertThat(uploadService.claim(UploadTarget.PROFILE, "upload/profile/uuid_a.png", "profileKey")).isSameAs(metadata);
+    }
+
+    @Test
+    @DisplayName("다른 대상/폴더의 키, 올라오지 않은 파일, 제한을 넘은 파일은 거절")
+    void claim_invalid() {
+        assertThatThrownBy(() -> uploadService.claim(UploadTarget.PROFILE, "profile/uuid_a.png", "profileKey"))
+                .isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> uploadService.claim(UploadTarget.PROFILE, "upload/thumbnail/uuid_a.png", "profileKey"))
+                .isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> uploadService.claim(UploadTarget.PROFILE, "upload/profile/../pb/uuid_a.png", "profileKey"))
+                .isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> uploadService.claim(UploadTarget.PROFILE, "upload/profile/", "profileKey"))
+                .isInstanceOf(Exception400.class);
+
+        when(blobStore.getMetadata("upload/profile/none.png")).thenReturn(null);
+        when(blobStore.getMetadata("upload/profile/big.png")).thenReturn(metadata("image/png", 11L * 1024 * 1024));
+        when(blobStore.getMetadata("upload/profile/a.pdf")).thenReturn(metadata("application/pdf", 1024L));
+        assertThatThrownBy(() -> uploadService.claim(UploadTarget.PROFILE, "upload/profile/none.png", "profileKey"))
+                .isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> uploadService.claim(UploadTarget.PROFILE, "upload/profile/big.png", "profileKey"))
+                .isInstanceOf(Exception400.class);
+        assertThatThrownBy(() -> uploadService.claim(UploadTarget.PROFILE, "upload/profile/a.pdf", "profileKey"))
+                .isInstanceOf(Exception400.class);
+    }
+
+    @Test
+    @DisplayName("이미지는 임시 키 그대로 이미지 파이프라인에 넘김")
+    void attachImage() {
+        uploadService.attachImage(UploadTarget.THUMBNAIL, "upload/thumbnail/uuid_a.png", metadata("image/png", 1024L), 1L, "default.svg");
+
+        verify(imagePipeline).submitStaged("upload/thumbnail/uuid_a.png", "image/png", ImageTarget.BOARD_THUMBNAIL, 1L, "default.svg");
+    }
+
+    @Test
+    @DisplayName("파일은 최종 키로 복사하고 임시 파일은 삭제 큐에 넣음")
+    void attachFile() {
+        when(blobStore.copy("upload/portfolio/uuid_a.pdf", "portfolio/uuid_a.pdf")).thenReturn("https://cdn/portfolio/uuid_a.pdf");
+        when(blobStore.toUrl("upload/portfolio/uuid_a.pdf")).thenReturn("https://cdn/upload/portfolio/uuid_a.pdf");
+
+        assertThat(uploadService.attachFile("upload/portfolio/uuid_a.pdf")).isEqualTo("https://cdn/portfolio/uuid_a.pdf");
+
+        verify(storageDeletionService).enqueue("https://cdn/upload/portfolio/uuid_a.pdf");
+    }
+
+    private PBRequest.UploadInDTO uploadInDTO(String fileName, String contentType, Long size) {
+        PBRequest.UploadInDTO uploadInDTO = new PBRequest.UploadInDTO();
+        uploadInDTO.setFileName(fileName);
+        uploadInDTO.setContentType(contentType);
+        uploadInDTO.setSize(size);
+        return uploadInDTO;
+    }
+
+    private BlobInfo metadata(String contentType, long size) {
+        return new BlobInfo("upload/profile/uuid_a.png", size, contentType, new Date());
+    }
+}
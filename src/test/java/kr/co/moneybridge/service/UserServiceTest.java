@@ -6,8 +6,11 @@ import com.nimbusds.jose.util.Pair;
 import kr.co.moneybridge.core.auth.jwt.MyJwtProvider;
 import kr.co.moneybridge.core.auth.jwt.MyJwtProviderTest;
 import kr.co.moneybridge.core.auth.session.MyUserDetails;
+import kr.co.moneybridge.core.event.UserChangedEvent;
 import kr.co.moneybridge.core.dummy.MockDummyEntity;
 import kr.co.moneybridge.core.exception.Exception401;
+import kr.co.moneybridge.core.exception.Exception404;
+import kr.co.moneybridge.core.index.BookmarkIndex;
 import kr.co.moneybridge.core.util.MyMemberUtil;
 import kr.co.moneybridge.core.util.MyMsgUtil;
 import kr.co.moneybridge.core.util.RedisUtil;
@@ -30,6 +33,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.Authentication;
@@ -88,6 +92,12 @@ public class UserServiceTest extends MockDummyEntity {
     private JavaMailSender javaMailSender;
     @Mock
     private MyMsgUtil myMsgUtil;
+    @Mock
+    private PBStatsService pbStatsService;
+    @Mock
+    private BookmarkIndex bookmarkIndex;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     // 진짜 객체를 만들어서 Mockito 환경에 Load
     @Spy
@@ -180,6 +190,25 @@ public class UserServiceTest extends MockDummyEntity {
         Assertions.assertThat(mockUser.getPhoneNumber()).isEqualTo(newPhoneNumber);
     }
 
+    @Test
+    public void updateMyInfo_name_test() {
+        // given
+        UserRequest.UpdateMyInfoInDTO updateMyInfoInDTO = new UserRequest.UpdateMyInfoInDTO();
+        updateMyInfoInDTO.setName("김투자");
+
+        // stub
+        User mockUser = newMockUser(1L, "lee");
+        when(myUserDetails.getMember()).thenReturn(mockUser);
+        when(myMemberUtil.findById(any(), any())).thenReturn(mockUser);
+
+        // when
+        userService.updateMyInfo(updateMyInfoInDTO, myUserDetails);
+
+        // then
+        Assertions.assertThat(mockUser.getName()).isEqualTo("김투자");
+        verify(applicationEventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
     @Test
     public void getMyInfo_test() {
         // stub
@@ -593,7 +622,7 @@ public class UserServiceTest extends MockDummyEntity {
         when(mockUserDetails.getMember()).thenReturn(mockMember);
         when(mockMember.getId()).thenReturn(1L);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(pbRepository.findById(1L)).thenReturn(Optional.of(pb));
+        when(pbRepository.findNotWithdrawnById(1L)).thenReturn(Optional.of(pb));
         when(userBookmarkRepository.findByUserIdWithPbId(1L, 1L)).thenReturn(Optional.empty());
 
         //when
@@ -601,6 +630,26 @@ public class UserServiceTest extends MockDummyEntity {
 
         //then
         verify(userBookmarkRepository, times(1)).save(any(UserBookmark.class));
+        verify(pbStatsService, times(1)).increaseBookmarkCount(1L);
+        verify(bookmarkIndex, times(1)).addPB(1L, 1L);
+    }
+
+    @Test
+    void bookmarkPB_withdrawn() {
+        //given
+        MyUserDetails mockUserDetails = mock(MyUserDetails.class);
+        Member mockMember = mock(Member.class);
+        User user = newMockUser(1L, "김투자");
+
+        //stub - 탈퇴 처리 중인 PB는 조회되지 않음
+        when(mockUserDetails.getMember()).thenReturn(mockMember);
+        when(mockMember.getId()).thenReturn(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(pbRepository.findNotWithdrawnById(1L)).thenReturn(Optional.empty());
+
+        //when, then - 탈퇴 처리 중인 PB에는 새 북마크를 만들지 않음
+        assertThrows(Exception404.class, () -> userService.bookmarkPB(mockUserDetails, 1L));
+        verify(userBookmarkRepository, never()).save(any(UserBookmark.class));
     }
 
     @Test
@@ -627,5 +676,7 @@ public class UserServiceTest extends MockDummyEntity {
 
         //then
         verify(userBookmarkRepository, times(1)).delete(any(UserBookmark.class));
+        verify(pbStatsService, times(1)).decreaseBookmarkCount(1L);
+        verify(bookmarkIndex, times(1)).removePB(1L, 1L);
     }
 }